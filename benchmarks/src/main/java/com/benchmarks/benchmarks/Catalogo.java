@@ -0,0 +1,58 @@
+package com.benchmarks.benchmarks;
+
+import com.data_service.data_service.entity.Categoria;
+import com.data_service.data_service.entity.Inventario;
+import com.data_service.data_service.entity.Producto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Arma catálogos de prueba con la misma forma que devuelven los repositorios: cada producto
+ * con su categoría y su inventario cargados.
+ */
+final class Catalogo {
+    private static final int CATEGORIAS = 10;
+
+    private Catalogo(){
+    }
+
+    static List<Producto> productos(int tamanio){
+        List<Categoria> categorias = categorias();
+        List<Producto> productos = new ArrayList<>(tamanio);
+        for (int i = 0; i < tamanio; i++) {
+            Producto producto = new Producto();
+            producto.setId((long) i + 1);
+            producto.setNombre("Producto " + (i + 1));
+            producto.setDescripcion("Descripción del producto " + (i + 1));
+            producto.setPrecio(BigDecimal.valueOf(1000 + i, 2));
+            producto.setCategoria(categorias.get(i % CATEGORIAS));
+            producto.setVersion(0L);
+
+            Inventario inventario = new Inventario();
+            inventario.setId((long) i + 1);
+            inventario.setCantidad(i % 20);
+            inventario.setStockMinimo(5);
+            inventario.setFechaActualizacion(LocalDateTime.of(2025, 1, 1, 0, 0));
+            inventario.setProducto(producto);
+            inventario.setVersion(0L);
+            producto.setInventario(inventario);
+            productos.add(producto);
+        }
+        return productos;
+    }
+
+    static List<Categoria> categorias(){
+        List<Categoria> categorias = new ArrayList<>(CATEGORIAS);
+        for (int i = 0; i < CATEGORIAS; i++) {
+            Categoria categoria = new Categoria();
+            categoria.setId((long) i + 1);
+            categoria.setNombre("Categoria " + (i + 1));
+            categoria.setDescripcion("Descripción de la categoría " + (i + 1));
+            categorias.add(categoria);
+        }
+        return categorias;
+    }
+}
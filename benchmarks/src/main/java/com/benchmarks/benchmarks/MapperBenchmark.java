@@ -0,0 +1,112 @@
+package com.benchmarks.benchmarks;
+
+import com.data_service.data_service.dto.CategoriaDTO;
+import com.data_service.data_service.dto.InventarioDTO;
+import com.data_service.data_service.dto.ProductoDTO;
+import com.data_service.data_service.dto.ProductoRequest;
+import com.data_service.data_service.entity.Categoria;
+import com.data_service.data_service.entity.Inventario;
+import com.data_service.data_service.entity.Producto;
+import com.data_service.data_service.mapper.CategoriaMapper;
+import com.data_service.data_service.mapper.InventarioMapper;
+import com.data_service.data_service.mapper.ProductoMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de convertir listas completas entre entidades y DTOs, como lo hace cada endpoint
+ * que devuelve una lista.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    private int tamanio;
+
+    private List<Producto> productos;
+    private List<ProductoRequest> requests;
+    private List<Inventario> inventarios;
+    private List<InventarioDTO> inventariosDTO;
+    private List<Categoria> categorias;
+    private List<CategoriaDTO> categoriasDTO;
+
+    @Setup
+    public void setUp(){
+        productos = Catalogo.productos(tamanio);
+        requests = new ArrayList<>(tamanio);
+        inventarios = new ArrayList<>(tamanio);
+        inventariosDTO = new ArrayList<>(tamanio);
+        categorias = new ArrayList<>(tamanio);
+        categoriasDTO = new ArrayList<>(tamanio);
+        for (Producto producto : productos) {
+            requests.add(new ProductoRequest(producto.getNombre(), producto.getDescripcion(), producto.getPrecio(),
+                    producto.getInventario().getCantidad(), producto.getCategoria().getId(), null));
+            inventarios.add(producto.getInventario());
+            inventariosDTO.add(InventarioMapper.toDTO(producto.getInventario()));
+            categorias.add(producto.getCategoria());
+            categoriasDTO.add(CategoriaMapper.toDTO(producto.getCategoria()));
+        }
+    }
+
+    @Benchmark
+    public List<ProductoDTO> productoToDTO(){
+        List<ProductoDTO> resultado = new ArrayList<>(productos.size());
+        for (Producto producto : productos) {
+            resultado.add(ProductoMapper.toDTO(producto));
+        }
+        return resultado;
+    }
+
+    @Benchmark
+    public List<Producto> productoToEntity(){
+        List<Producto> resultado = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            resultado.add(ProductoMapper.toEntity(requests.get(i), categorias.get(i)));
+        }
+        return resultado;
+    }
+
+    @Benchmark
+    public List<InventarioDTO> inventarioToDTO(){
+        List<InventarioDTO> resultado = new ArrayList<>(inventarios.size());
+        for (Inventario inventario : inventarios) {
+            resultado.add(InventarioMapper.toDTO(inventario));
+        }
+        return resultado;
+    }
+
+    @Benchmark
+    public List<Inventario> inventarioToEntity(){
+        List<Inventario> resultado = new ArrayList<>(inventariosDTO.size());
+        for (InventarioDTO dto : inventariosDTO) {
+            resultado.add(InventarioMapper.toEntity(dto));
+        }
+        return resultado;
+    }
+
+    @Benchmark
+    public List<CategoriaDTO> categoriaToDTO(){
+        List<CategoriaDTO> resultado = new ArrayList<>(categorias.size());
+        for (Categoria categoria : categorias) {
+            resultado.add(CategoriaMapper.toDTO(categoria));
+        }
+        return resultado;
+    }
+
+    @Benchmark
+    public List<Categoria> categoriaToEntity(){
+        List<Categoria> resultado = new ArrayList<>(categoriasDTO.size());
+        for (CategoriaDTO dto : categoriasDTO) {
+            resultado.add(CategoriaMapper.toEntity(dto));
+        }
+        return resultado;
+    }
+}
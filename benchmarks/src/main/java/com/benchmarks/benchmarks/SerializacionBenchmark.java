@@ -0,0 +1,54 @@
+package com.benchmarks.benchmarks;
+
+import com.data_service.data_service.dto.ProductoDTO;
+import com.data_service.data_service.mapper.ProductoMapper;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización con Jackson de la respuesta de GET /data/productos. El ObjectMapper se arma
+ * como en la aplicación (con los módulos del classpath) y se reutiliza entre llamadas.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializacionBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    private int tamanio;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private List<ProductoDTO> productos;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        TypeReference<List<ProductoDTO>> tipo = new TypeReference<>() {};
+        writer = objectMapper.writerFor(tipo);
+        reader = objectMapper.readerFor(tipo);
+        productos = Catalogo.productos(tamanio).stream().map(ProductoMapper::toDTO).toList();
+        json = writer.writeValueAsBytes(productos);
+    }
+
+    @Benchmark
+    public byte[] serializeProductos() throws IOException {
+        return writer.writeValueAsBytes(productos);
+    }
+
+    @Benchmark
+    public List<ProductoDTO> deserializeProductos() throws IOException {
+        return reader.readValue(json);
+    }
+}
@@ -0,0 +1,215 @@
+package com.business_service.business_service.client;
+
+import com.business_service.business_service.dto.CategoriaDTO;
+import com.business_service.business_service.dto.DisponibilidadDTO;
+import com.business_service.business_service.dto.InventarioDTO;
+import com.business_service.business_service.dto.PaginaDTO;
+import com.business_service.business_service.dto.ProductoDTO;
+import com.business_service.business_service.dto.ValorCategoriaDTO;
+import com.business_service.business_service.exception.MicroserviceCommunicationException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.FeignException;
+import feign.Request;
+import feign.Response;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.transport.RequestReplySenderContext;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Cliente no bloqueante de las lecturas de data-service, sobre el HttpClient del JDK: ningún
+ * hilo queda esperando la respuesta, así que una consulta compuesta puede lanzar varias
+ * llamadas a la vez.
+ * Se comporta como DataServiceClient: los errores HTTP llegan como la misma FeignException
+ * (NotFound, Conflict, ...), usa los mismos circuit breaker y bulkhead por método, el timeout
+ * del time limiter del método y publica data.service.async.requests con el contexto de traza.
+ * Los rechazos y los errores de red completan con MicroserviceCommunicationException.
+ */
+@Slf4j
+public class AsyncDataServiceClient {
+    public static final String OBSERVACION = "data.service.async.requests";
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final BulkheadRegistry bulkheads;
+    private final TimeLimiterRegistry timeLimiters;
+    private final ObservationRegistry observationRegistry;
+
+    public AsyncDataServiceClient(HttpClient httpClient, ObjectMapper objectMapper, String baseUrl,
+                                  CircuitBreakerRegistry circuitBreakers, BulkheadRegistry bulkheads,
+                                  TimeLimiterRegistry timeLimiters, ObservationRegistry observationRegistry){
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl;
+        this.circuitBreakers = circuitBreakers;
+        this.bulkheads = bulkheads;
+        this.timeLimiters = timeLimiters;
+        this.observationRegistry = observationRegistry;
+    }
+
+    public CompletableFuture<PaginaDTO<ProductoDTO>> findAllProducts(Integer page, Integer size, Long afterId){
+        List<String> parametros = new ArrayList<>();
+        if (page != null) parametros.add("page=" + page);
+        if (size != null) parametros.add("size=" + size);
+        if (afterId != null) parametros.add("afterId=" + afterId);
+        String query = parametros.isEmpty() ? "" : "?" + String.join("&", parametros);
+        return get("findAllProducts", "/data/productos" + query, new TypeReference<>() {});
+    }
+
+    public CompletableFuture<ProductoDTO> findProductById(Long id){
+        return get("findProductById", "/data/productos/" + id, new TypeReference<>() {});
+    }
+
+    public CompletableFuture<List<CategoriaDTO>> findAllCategory(){
+        return get("findAllCategory", "/data/categoria", new TypeReference<>() {});
+    }
+
+    public CompletableFuture<InventarioDTO> findInventoriesByProductId(Long productoId){
+        return get("findInventoriesByProductId", "/data/inventario/" + productoId, new TypeReference<>() {});
+    }
+
+    public CompletableFuture<DisponibilidadDTO> checkAvailability(Long productoId, Integer cantidad){
+        return get("checkAvailability", "/data/inventario/" + productoId + "/disponibilidad?cantidad=" + cantidad,
+                new TypeReference<>() {});
+    }
+
+    public CompletableFuture<BigDecimal> calculateTotalValue(){
+        return get("calculateTotalValue", "/data/inventario/valor", new TypeReference<>() {});
+    }
+
+    public CompletableFuture<List<ValorCategoriaDTO>> calculateTotalValueByCategory(){
+        return get("calculateTotalValueByCategory", "/data/inventario/valor/categoria", new TypeReference<>() {});
+    }
+
+    /**
+     * Traduce los errores de una llamada como los servicios traducen los de DataServiceClient:
+     * los errores HTTP terminan en MicroserviceCommunicationException (y se registran con mensaje),
+     * salvo un 404 si se indica siNoExiste; las demás RuntimeException llegan sin cambios.
+     */
+    public static <T> CompletableFuture<T> traducirErrores(CompletableFuture<T> llamada, String mensaje,
+                                                           Supplier<? extends RuntimeException> siNoExiste){
+        return llamada.exceptionally(error -> {
+            throw switch (causa(error)) {
+                case FeignException.NotFound e when siNoExiste != null -> siNoExiste.get();
+                case FeignException e -> {
+                    log.error(mensaje, e);
+                    yield new MicroserviceCommunicationException();
+                }
+                case RuntimeException e -> e;
+                case Throwable e -> new CompletionException(e);
+            };
+        });
+    }
+
+    public static <T> CompletableFuture<T> traducirErrores(CompletableFuture<T> llamada, String mensaje){
+        return traducirErrores(llamada, mensaje, null);
+    }
+
+    /** Desenvuelve CompletionException/ExecutionException para ver el error original de la llamada. */
+    public static Throwable causa(Throwable error){
+        while ((error instanceof CompletionException || error instanceof ExecutionException) && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
+    }
+
+    private <T> CompletableFuture<T> get(String metodo, String ruta, TypeReference<T> tipo){
+        Supplier<CompletionStage<T>> llamada = Bulkhead.decorateCompletionStage(bulkheads.bulkhead(metodo),
+                CircuitBreaker.decorateCompletionStage(circuitBreakers.circuitBreaker(metodo), () -> enviar(metodo, ruta, tipo)));
+        CompletableFuture<T> resultado = new CompletableFuture<>();
+        llamada.get().whenComplete((valor, error) -> {
+            if (error == null) {
+                resultado.complete(valor);
+                return;
+            }
+            Throwable causa = causa(error);
+            if (causa instanceof CallNotPermittedException || causa instanceof BulkheadFullException || causa instanceof IOException) {
+                log.warn("{} falló sin respuesta del servicio de datos: {}", metodo, causa.toString());
+                resultado.completeExceptionally(new MicroserviceCommunicationException(metodo + ": " + causa.getMessage()));
+            } else {
+                resultado.completeExceptionally(causa);
+            }
+        });
+        return resultado;
+    }
+
+    private <T> CompletableFuture<T> enviar(String metodo, String ruta, TypeReference<T> tipo){
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + ruta))
+                .timeout(timeLimiters.timeLimiter(metodo).getTimeLimiterConfig().getTimeoutDuration())
+                .header("Accept", "application/json")
+                .GET();
+        RequestReplySenderContext<HttpRequest.Builder, HttpResponse<byte[]>> contexto =
+                new RequestReplySenderContext<>((carrier, clave, valor) -> carrier.header(clave, valor));
+        contexto.setCarrier(builder);
+        Observation observation = Observation.createNotStarted(OBSERVACION, () -> contexto, observationRegistry)
+                .contextualName("HTTP GET")
+                .lowCardinalityKeyValue("method", metodo)
+                .start();
+
+        CompletableFuture<T> resultado = new CompletableFuture<>();
+        httpClient.sendAsync(builder.build(), HttpResponse.BodyHandlers.ofByteArray()).whenComplete((response, error) -> {
+            try {
+                if (error != null) {
+                    observation.lowCardinalityKeyValue(KeyValue.of("status", "IO_ERROR")).error(causa(error));
+                    resultado.completeExceptionally(causa(error));
+                    return;
+                }
+                contexto.setResponse(response);
+                observation.lowCardinalityKeyValue(KeyValue.of("status", String.valueOf(response.statusCode())));
+                if (response.statusCode() >= 400) {
+                    FeignException excepcion = FeignException.errorStatus("AsyncDataServiceClient#" + metodo, feignResponse(response));
+                    observation.error(excepcion);
+                    resultado.completeExceptionally(excepcion);
+                    return;
+                }
+                byte[] cuerpo = response.body();
+                resultado.complete(cuerpo == null || cuerpo.length == 0 ? null : objectMapper.readValue(cuerpo, tipo));
+            } catch (IOException e) {
+                observation.error(e);
+                resultado.completeExceptionally(e);
+            } finally {
+                observation.stop();
+            }
+        });
+        return resultado;
+    }
+
+    private static Response feignResponse(HttpResponse<byte[]> response){
+        Request request = Request.create(Request.HttpMethod.GET, response.request().uri().toString(), Map.of(), null,
+                StandardCharsets.UTF_8, null);
+        return Response.builder()
+                .status(response.statusCode())
+                .request(request)
+                .headers(new HashMap<>(response.headers().map()))
+                .body(response.body())
+                .build();
+    }
+}
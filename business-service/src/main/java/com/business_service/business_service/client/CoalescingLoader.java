@@ -0,0 +1,140 @@
+package com.business_service.business_service.client;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Junta las búsquedas por ID que llegan en paralelo dentro de una ventana corta y las
+ * resuelve con una sola llamada por lote al servicio de datos.
+ * Si no hay ninguna llamada en curso el pedido se despacha en el momento, sin esperar la
+ * ventana. Mientras hay llamadas en curso, el primer pedido espera la ventana y despacha el
+ * lote en su propio hilo; los demás esperan el resultado. Si el lote llega al tamaño máximo
+ * lo despacha el hilo que lo completó, sin esperar el resto de la ventana.
+ * Un lote con un solo ID usa la búsqueda individual, así se conserva su semántica
+ * (por ejemplo el 404 cuando no existe).
+ * Si el lote no trae un ID, su búsqueda devuelve null.
+ */
+public class CoalescingLoader<V> {
+    private final Function<Long, V> busquedaIndividual;
+    private final Function<List<Long>, List<V>> busquedaPorLote;
+    private final Function<V, Long> id;
+    private final long ventanaNanos;
+    private final int tamanioMaximo;
+
+    private final Object lock = new Object();
+    private Map<Long, CompletableFuture<V>> pendientes = new LinkedHashMap<>();
+    // Lotes despachados que todavía no terminaron
+    private int enCurso;
+
+    public CoalescingLoader(Function<Long, V> busquedaIndividual, Function<List<Long>, List<V>> busquedaPorLote,
+                            Function<V, Long> id, Duration ventana, int tamanioMaximo){
+        this.busquedaIndividual = busquedaIndividual;
+        this.busquedaPorLote = busquedaPorLote;
+        this.id = id;
+        this.ventanaNanos = ventana.toNanos();
+        this.tamanioMaximo = tamanioMaximo;
+    }
+
+    public V load(Long clave){
+        CompletableFuture<V> future;
+        Map<Long, CompletableFuture<V>> loteLiderado = null;
+        Map<Long, CompletableFuture<V>> loteCompleto = null;
+        synchronized (lock) {
+            future = pendientes.get(clave);
+            if (future == null) {
+                future = new CompletableFuture<>();
+                pendientes.put(clave, future);
+                if (pendientes.size() == 1 && enCurso == 0) {
+                    // Sin contención no hay con quién juntarse
+                    loteCompleto = tomarPendientes();
+                } else if (pendientes.size() == 1) {
+                    loteLiderado = pendientes;
+                } else if (pendientes.size() >= tamanioMaximo) {
+                    loteCompleto = tomarPendientes();
+                }
+            }
+        }
+        if (loteCompleto != null) {
+            despachar(loteCompleto);
+        } else if (loteLiderado != null) {
+            esperarVentana(future);
+            Map<Long, CompletableFuture<V>> lote = Map.of();
+            synchronized (lock) {
+                // Si el lote se llenó antes, ya lo despachó otro hilo
+                if (pendientes == loteLiderado) {
+                    lote = tomarPendientes();
+                }
+            }
+            despachar(lote);
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    private Map<Long, CompletableFuture<V>> tomarPendientes(){
+        Map<Long, CompletableFuture<V>> lote = pendientes;
+        pendientes = new LinkedHashMap<>();
+        enCurso++;
+        return lote;
+    }
+
+    private void esperarVentana(CompletableFuture<V> future){
+        if (ventanaNanos <= 0) {
+            return;
+        }
+        try {
+            future.get(ventanaNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            // Terminó la ventana, o el lote ya se resolvió porque se llenó
+        } catch (InterruptedException e) {
+            // Se despacha lo acumulado sin esperar el resto de la ventana
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void despachar(Map<Long, CompletableFuture<V>> lote){
+        if (lote.isEmpty()) {
+            return;
+        }
+        try {
+            buscar(lote);
+        } finally {
+            synchronized (lock) {
+                enCurso--;
+            }
+        }
+    }
+
+    private void buscar(Map<Long, CompletableFuture<V>> lote){
+        try {
+            if (lote.size() == 1) {
+                Map.Entry<Long, CompletableFuture<V>> unico = lote.entrySet().iterator().next();
+                unico.getValue().complete(busquedaIndividual.apply(unico.getKey()));
+                return;
+            }
+            Map<Long, V> encontrados = new HashMap<>();
+            for (V valor : busquedaPorLote.apply(new ArrayList<>(lote.keySet()))) {
+                encontrados.put(id.apply(valor), valor);
+            }
+            lote.forEach((clave, future) -> future.complete(encontrados.get(clave)));
+        } catch (RuntimeException e) {
+            lote.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+}
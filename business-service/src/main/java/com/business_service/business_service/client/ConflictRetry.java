@@ -0,0 +1,52 @@
+package com.business_service.business_service.client;
+
+import feign.FeignException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Reintenta una escritura que el servicio de datos rechazó con 409 porque otra transacción
+ * cambió la fila entre la lectura y el UPDATE. Sólo tiene sentido para escrituras que no
+ * fijan versión: si el cliente mandó una versión vieja, reintentar devuelve el mismo 409.
+ * Entre intentos espera un tiempo que crece con cada intento, con un poco de azar para que
+ * los escritores en conflicto no vuelvan a chocar al mismo tiempo.
+ */
+@Slf4j
+public class ConflictRetry {
+    private final int maxIntentos;
+    private final long esperaNanos;
+
+    public ConflictRetry(int maxIntentos, Duration espera){
+        this.maxIntentos = Math.max(1, maxIntentos);
+        this.esperaNanos = espera.toNanos();
+    }
+
+    public <T> T execute(Supplier<T> escritura){
+        for (int intento = 1; ; intento++) {
+            try {
+                return escritura.get();
+            } catch (FeignException.Conflict e) {
+                if (intento >= maxIntentos) {
+                    throw e;
+                }
+                log.debug("Conflicto de versión en el intento {} de {}, se reintenta", intento, maxIntentos);
+                esperar(intento);
+            }
+        }
+    }
+
+    private void esperar(int intento){
+        if (esperaNanos <= 0) {
+            return;
+        }
+        long base = esperaNanos * intento;
+        try {
+            Thread.sleep(Duration.ofNanos(base + ThreadLocalRandom.current().nextLong(base)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,26 +1,46 @@
 package com.business_service.business_service.client;
 
+import com.business_service.business_service.dto.ReservaDTO;
+import com.business_service.business_service.dto.ReservaRequest;
+import com.business_service.business_service.dto.DisponibilidadDTO;
 import com.business_service.business_service.dto.CategoriaDTO;
 import com.business_service.business_service.dto.InventarioDTO;
+import com.business_service.business_service.dto.PaginaDTO;
 import com.business_service.business_service.dto.ProductoDTO;
 import com.business_service.business_service.dto.ProductoRequest;
+import com.business_service.business_service.dto.ResultadoCargaDTO;
+import com.business_service.business_service.dto.ValorCategoriaDTO;
+import com.business_service.business_service.dto.ValorRangoPrecioDTO;
+import feign.Response;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 @FeignClient(name = "data-service", url = "${data.service.url}")
 public interface DataServiceClient {
 
      @GetMapping("/data/productos")
-     List<ProductoDTO> findAllProducts();
+     PaginaDTO<ProductoDTO> findAllProducts(@RequestParam(value = "page", required = false) Integer page,
+                                            @RequestParam(value = "size", required = false) Integer size,
+                                            @RequestParam(value = "afterId", required = false) Long afterId);
+
+     @GetMapping("/data/productos/export")
+     Response exportProducts();
 
      @GetMapping("/data/productos/{id}")
      ProductoDTO findProductById(@PathVariable Long id);
 
+     @PostMapping("/data/productos/batch")
+     List<ProductoDTO> findProductsByIds(@RequestBody List<Long> ids);
+
      @PostMapping("/data/productos")
      ProductoDTO saveProduct(@RequestBody ProductoRequest productoRequest);
 
+     @PostMapping("/data/productos/bulk")
+     ResultadoCargaDTO saveProducts(@RequestBody List<ProductoRequest> productoRequests);
+
      @PutMapping("/data/productos/{id}")
      ProductoDTO updateProduct(@PathVariable Long id, @RequestBody ProductoRequest productoRequest);
 
@@ -30,13 +50,13 @@ public interface DataServiceClient {
      @GetMapping("/data/productos/categoria/{nombre}")
      List<ProductoDTO> findProductByCategory(@PathVariable String categoriaNombre);
 
-     @GetMapping("/data/categorias")
+     @GetMapping("/data/categoria")
      List<CategoriaDTO> findAllCategory();
 
-     @PutMapping("/data/categorias/{id}")
+     @PutMapping("/data/categoria/{id}")
      CategoriaDTO updateCategory(@PathVariable Long id, @RequestBody CategoriaDTO categoriaDTO);
 
-     @DeleteMapping("/data/categorias/{id}")
+     @DeleteMapping("/data/categoria/{id}")
      void deleteCategory(@PathVariable Long id);
 
      @GetMapping("/data/inventario/stock-bajo")
@@ -45,6 +65,39 @@ public interface DataServiceClient {
     @GetMapping("/data/inventario/{productoId}")
     InventarioDTO findInventoriesByProductId(@PathVariable Long productoId);
 
+    @PostMapping("/data/inventario/batch")
+    List<InventarioDTO> findInventoriesByProductIds(@RequestBody List<Long> productoIds);
+
     @PatchMapping("/data/inventario/{productoId}")
     InventarioDTO updateInventory(@PathVariable Long productoId, @RequestBody Integer cantidad);
+
+    @PostMapping("/data/inventario/{productoId}/decrement")
+    InventarioDTO decrementStock(@PathVariable Long productoId, @RequestParam("cantidad") Integer cantidad);
+
+    @GetMapping("/data/inventario/{productoId}/disponibilidad")
+    DisponibilidadDTO checkAvailability(@PathVariable Long productoId, @RequestParam("cantidad") Integer cantidad);
+
+    @PostMapping("/data/inventario/{productoId}/increment")
+    InventarioDTO incrementStock(@PathVariable Long productoId, @RequestParam("cantidad") Integer cantidad);
+
+    @PostMapping("/data/reservas")
+    ReservaDTO reserveStock(@RequestBody ReservaRequest reservaRequest);
+
+    @GetMapping("/data/reservas/{id}")
+    ReservaDTO findReservationById(@PathVariable Long id);
+
+    @PostMapping("/data/reservas/{id}/confirmar")
+    ReservaDTO confirmReservation(@PathVariable Long id);
+
+    @PostMapping("/data/reservas/{id}/liberar")
+    ReservaDTO releaseReservation(@PathVariable Long id);
+
+    @GetMapping("/data/inventario/valor")
+    BigDecimal calculateTotalValue();
+
+    @GetMapping("/data/inventario/valor/categoria")
+    List<ValorCategoriaDTO> calculateTotalValueByCategory();
+
+    @GetMapping("/data/inventario/valor/rango-precio")
+    List<ValorRangoPrecioDTO> calculateTotalValueByPriceRange(@RequestParam("limites") List<BigDecimal> limites);
 }
@@ -0,0 +1,182 @@
+package com.business_service.business_service.client;
+
+import com.business_service.business_service.dto.EventoCambioDTO;
+import com.business_service.business_service.service.InvalidadorCaches;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Suscripción a /data/eventos de data-service (Server-Sent Events) que invalida las caches
+ * locales con cada cambio. Si la conexión se corta vuelve a conectarse con Last-Event-ID, así
+ * data-service manda los cambios que se perdieron; entre intentos fallidos la espera se duplica
+ * hasta reintentoMaximo.
+ * Cuando no hay una posición desde la que retomar (al conectarse por primera vez, o si
+ * data-service responde con un evento reinicio) no se puede saber qué cambió: se vacían todas
+ * las caches.
+ */
+@Slf4j
+public class DataServiceEventStream implements SmartLifecycle {
+    public static final String RUTA = "/data/eventos";
+    private static final Duration REINTENTO_INICIAL = Duration.ofMillis(100);
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final InvalidadorCaches invalidadorCaches;
+    private final Duration reintentoMaximo;
+
+    private volatile String ultimoEventoId;
+    private volatile boolean activo;
+    private volatile Stream<String> conexion;
+    private Thread hilo;
+
+    public DataServiceEventStream(HttpClient httpClient, ObjectMapper objectMapper, String baseUrl,
+                                  InvalidadorCaches invalidadorCaches, Duration reintentoMaximo){
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl;
+        this.invalidadorCaches = invalidadorCaches;
+        this.reintentoMaximo = reintentoMaximo;
+    }
+
+    public String ultimoEventoId(){
+        return ultimoEventoId;
+    }
+
+    @Override
+    public synchronized void start(){
+        if (!activo) {
+            activo = true;
+            hilo = Thread.ofVirtual().name("data-service-eventos").start(this::escuchar);
+        }
+    }
+
+    @Override
+    public synchronized void stop(){
+        activo = false;
+        Stream<String> actual = conexion;
+        if (actual != null) {
+            actual.close();
+        }
+        if (hilo != null) {
+            hilo.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning(){
+        return activo;
+    }
+
+    private void escuchar(){
+        Duration espera = REINTENTO_INICIAL;
+        while (activo) {
+            try {
+                conectar();
+                espera = REINTENTO_INICIAL;
+            } catch (IOException | UncheckedIOException e) {
+                if (activo) {
+                    log.warn("Se cortó la suscripción a los eventos de data-service, se reintenta en {}: {}", espera, e.getMessage());
+                }
+                espera = espera.multipliedBy(2).compareTo(reintentoMaximo) > 0 ? reintentoMaximo : espera.multipliedBy(2);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Error procesando los eventos de data-service", e);
+                espera = reintentoMaximo;
+            }
+            try {
+                Thread.sleep(espera);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void conectar() throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + RUTA))
+                .header("Accept", "text/event-stream")
+                .GET();
+        String desde = ultimoEventoId;
+        if (desde != null) {
+            request.header("Last-Event-ID", desde);
+        }
+        HttpResponse<Stream<String>> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofLines());
+        try (Stream<String> lineas = response.body()) {
+            if (response.statusCode() != 200) {
+                throw new IOException("data-service respondió " + response.statusCode());
+            }
+            conexion = lineas;
+            if (desde == null) {
+                invalidadorCaches.limpiarTodo();
+            }
+            leer(lineas.iterator());
+        } finally {
+            conexion = null;
+        }
+    }
+
+    private void leer(Iterator<String> lineas){
+        String id = null;
+        String evento = null;
+        StringBuilder datos = new StringBuilder();
+        while (activo && lineas.hasNext()) {
+            String linea = lineas.next();
+            if (linea.isEmpty()) {
+                if (evento != null || !datos.isEmpty()) {
+                    procesar(evento, datos.toString());
+                }
+                if (id != null) {
+                    ultimoEventoId = id;
+                }
+                id = null;
+                evento = null;
+                datos.setLength(0);
+                continue;
+            }
+            if (linea.startsWith(":")) {
+                continue;
+            }
+            int separador = linea.indexOf(':');
+            String campo = separador < 0 ? linea : linea.substring(0, separador);
+            String valor = separador < 0 ? "" : linea.substring(separador + 1);
+            if (valor.startsWith(" ")) {
+                valor = valor.substring(1);
+            }
+            switch (campo) {
+                case "id" -> id = valor;
+                case "event" -> evento = valor;
+                case "data" -> datos.append(datos.isEmpty() ? "" : "\n").append(valor);
+                default -> { }
+            }
+        }
+    }
+
+    private void procesar(String evento, String datos){
+        if ("reinicio".equals(evento)) {
+            log.info("data-service ya no tiene los cambios desde {}, se vacían las caches", ultimoEventoId);
+            invalidadorCaches.limpiarTodo();
+        } else if ("cambio".equals(evento)) {
+            try {
+                invalidadorCaches.aplicar(objectMapper.readValue(datos, EventoCambioDTO.class));
+            } catch (JsonProcessingException e) {
+                log.warn("Evento de cambio ilegible, se vacían las caches: {}", e.getOriginalMessage());
+                invalidadorCaches.limpiarTodo();
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.business_service.business_service.client;
+
+import feign.MethodMetadata;
+import feign.micrometer.DefaultFeignObservationConvention;
+import feign.micrometer.FeignContext;
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+
+/**
+ * Agrega a las métricas http.client.requests de Feign el método del cliente que hizo la
+ * llamada (por ejemplo findProductById), además del método HTTP, la URI, el estado y el
+ * nombre del cliente que ya etiqueta la convención por defecto.
+ */
+public class FeignMethodObservationConvention extends DefaultFeignObservationConvention {
+    public static final String METODO = "method";
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(FeignContext context){
+        MethodMetadata metadata = context.getCarrier().requestTemplate().methodMetadata();
+        String metodo = metadata != null && metadata.method() != null ? metadata.method().getName() : "UNKNOWN";
+        return super.getLowCardinalityKeyValues(context).and(KeyValue.of(METODO, metodo));
+    }
+}
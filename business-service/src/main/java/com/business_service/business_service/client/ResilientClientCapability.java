@@ -0,0 +1,120 @@
+package com.business_service.business_service.client;
+
+import com.business_service.business_service.exception.MicroserviceCommunicationException;
+import com.github.benmanes.caffeine.cache.Cache;
+import feign.Capability;
+import feign.FeignException;
+import feign.InvocationHandlerFactory;
+import feign.Response;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.context.ContextExecutorService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.GetMapping;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Envuelve cada método de los clientes Feign con un bulkhead de semáforo, un circuit breaker y
+ * un time limiter propios, con el nombre del método (por ejemplo findProductById). Se
+ * configuran en resilience4j.{circuitbreaker,bulkhead,timelimiter}.instances.{método}, y los
+ * métodos sin configuración propia toman resilience4j.*.configs.default.
+ * Los 4xx llegan al servicio sin cambios. Ante un error del servidor o una llamada rechazada
+ * (circuito abierto, bulkhead lleno o tiempo agotado) las lecturas GET devuelven la última
+ * respuesta conocida para los mismos argumentos, si la hay. Si no, los errores del servidor
+ * se propagan como siempre y los rechazos fallan enseguida con MicroserviceCommunicationException.
+ */
+@Slf4j
+public class ResilientClientCapability implements Capability {
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final BulkheadRegistry bulkheads;
+    private final TimeLimiterRegistry timeLimiters;
+    private final Cache<List<Object>, Object> respuestasPrevias;
+    // La llamada corre en otro hilo para poder cortarla por tiempo; se copia el contexto (trazas)
+    private final ExecutorService executor = ContextExecutorService.wrap(Executors.newVirtualThreadPerTaskExecutor());
+
+    public ResilientClientCapability(CircuitBreakerRegistry circuitBreakers, BulkheadRegistry bulkheads,
+                                     TimeLimiterRegistry timeLimiters, Cache<List<Object>, Object> respuestasPrevias){
+        this.circuitBreakers = circuitBreakers;
+        this.bulkheads = bulkheads;
+        this.timeLimiters = timeLimiters;
+        this.respuestasPrevias = respuestasPrevias;
+    }
+
+    @Override
+    public InvocationHandlerFactory enrich(InvocationHandlerFactory invocationHandlerFactory){
+        return (target, dispatch) -> {
+            InvocationHandler handler = invocationHandlerFactory.create(target, dispatch);
+            return (proxy, method, args) -> method.getDeclaringClass() == Object.class
+                    ? handler.invoke(proxy, method, args)
+                    : invoke(handler, proxy, method, args);
+        };
+    }
+
+    private Object invoke(InvocationHandler handler, Object proxy, Method method, Object[] args) throws Throwable {
+        String nombre = method.getName();
+        List<Object> clave = esLectura(method) ? clave(nombre, args) : null;
+        TimeLimiter timeLimiter = timeLimiters.timeLimiter(nombre);
+        Callable<Object> llamada = Bulkhead.decorateCallable(bulkheads.bulkhead(nombre),
+                CircuitBreaker.decorateCallable(circuitBreakers.circuitBreaker(nombre),
+                        () -> timeLimiter.executeFutureSupplier(() -> executor.submit(() -> invocar(handler, proxy, method, args)))));
+        try {
+            Object resultado = llamada.call();
+            if (clave != null && resultado != null) {
+                respuestasPrevias.put(clave, resultado);
+            }
+            return resultado;
+        } catch (FeignException.FeignClientException e) {
+            throw e;
+        } catch (FeignException | CallNotPermittedException | BulkheadFullException | TimeoutException e) {
+            Object previa = clave != null ? respuestasPrevias.getIfPresent(clave) : null;
+            if (previa != null) {
+                log.warn("{} falló ({}), se devuelve la última respuesta conocida", nombre, e.getClass().getSimpleName());
+                return previa;
+            }
+            if (e instanceof FeignException) {
+                throw e;
+            }
+            log.warn("{} rechazada sin llamar al servicio de datos: {}", nombre, e.getMessage());
+            throw new MicroserviceCommunicationException(nombre + ": " + e.getMessage());
+        }
+    }
+
+    private static Object invocar(InvocationHandler handler, Object proxy, Method method, Object[] args) throws Exception {
+        try {
+            return handler.invoke(proxy, method, args);
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Los streams (Response) no se pueden volver a servir
+    private static boolean esLectura(Method method){
+        return method.isAnnotationPresent(GetMapping.class) && method.getReturnType() != Response.class;
+    }
+
+    private static List<Object> clave(String nombre, Object[] args){
+        List<Object> clave = new ArrayList<>();
+        clave.add(nombre);
+        if (args != null) {
+            clave.addAll(Arrays.asList(args));
+        }
+        return clave;
+    }
+}
@@ -0,0 +1,41 @@
+package com.business_service.business_service.config;
+
+import com.business_service.business_service.client.AsyncDataServiceClient;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+/**
+ * Cliente no bloqueante de data-service para los endpoints /api/async. Comparte con Feign la
+ * URL, el timeout de conexión y los registros de Resilience4j.
+ */
+@Configuration
+public class AsyncClientConfig {
+
+    @Bean
+    public AsyncDataServiceClient asyncDataServiceClient(@Value("${data.service.url}") String url,
+                                                         @Value("${spring.cloud.openfeign.client.config.data-service.connect-timeout:2000}") long connectTimeoutMs,
+                                                         ObjectMapper objectMapper,
+                                                         CircuitBreakerRegistry circuitBreakerRegistry,
+                                                         BulkheadRegistry bulkheadRegistry,
+                                                         TimeLimiterRegistry timeLimiterRegistry,
+                                                         ObservationRegistry observationRegistry){
+        // Las respuestas se procesan en hilos virtuales; ningún hilo espera mientras la llamada está en curso
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        return new AsyncDataServiceClient(httpClient, objectMapper, url, circuitBreakerRegistry, bulkheadRegistry,
+                timeLimiterRegistry, observationRegistry);
+    }
+}
@@ -0,0 +1,22 @@
+package com.business_service.business_service.config;
+
+import com.business_service.business_service.client.CoalescingLoader;
+import com.business_service.business_service.client.DataServiceClient;
+import com.business_service.business_service.dto.ProductoDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class BatchLoaderConfig {
+
+    @Bean
+    public CoalescingLoader<ProductoDTO> productoLoader(DataServiceClient dataServiceClient,
+                                                       @Value("${business.batch.ventana:5ms}") Duration ventana,
+                                                       @Value("${business.batch.tamanio-maximo:100}") int tamanioMaximo){
+        return new CoalescingLoader<>(dataServiceClient::findProductById, dataServiceClient::findProductsByIds,
+                ProductoDTO::getId, ventana, tamanioMaximo);
+    }
+}
@@ -0,0 +1,36 @@
+package com.business_service.business_service.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
+
+/**
+ * Caches locales para las lecturas del catálogo. Cada cache toma su especificación de
+ * Caffeine de business.cache.{nombre}.spec (tamaño máximo, expiración y recordStats para
+ * exponer aciertos, fallos y desalojos en /actuator/metrics).
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String PRODUCTOS = "productos";
+    public static final String CATEGORIAS = "categorias";
+    public static final String INVENTARIOS = "inventarios";
+
+    private static final List<String> CACHES = List.of(PRODUCTOS, CATEGORIAS, INVENTARIOS);
+
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> caffeineCacheCustomizer(Environment environment){
+        return cacheManager -> {
+            for (String nombre : CACHES) {
+                String spec = environment.getRequiredProperty("business.cache." + nombre + ".spec");
+                cacheManager.registerCustomCache(nombre, Caffeine.from(spec).build());
+            }
+        };
+    }
+}
@@ -0,0 +1,34 @@
+package com.business_service.business_service.config;
+
+import com.business_service.business_service.client.DataServiceEventStream;
+import com.business_service.business_service.service.InvalidadorCaches;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * Invalidación de las caches con los cambios que publica data-service. Se apaga con
+ * business.eventos.habilitado=false; las caches quedan entonces sólo con su TTL.
+ */
+@Configuration
+@ConditionalOnProperty(name = "business.eventos.habilitado", havingValue = "true", matchIfMissing = true)
+public class EventosConfig {
+
+    @Bean
+    public DataServiceEventStream dataServiceEventStream(@Value("${data.service.url}") String url,
+                                                         @Value("${spring.cloud.openfeign.client.config.data-service.connect-timeout:2000}") long connectTimeoutMs,
+                                                         @Value("${business.eventos.reintento-maximo:30s}") Duration reintentoMaximo,
+                                                         ObjectMapper objectMapper,
+                                                         InvalidadorCaches invalidadorCaches){
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .build();
+        return new DataServiceEventStream(httpClient, objectMapper, url, invalidadorCaches, reintentoMaximo);
+    }
+}
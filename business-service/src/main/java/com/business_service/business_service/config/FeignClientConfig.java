@@ -0,0 +1,51 @@
+package com.business_service.business_service.config;
+
+import com.business_service.business_service.client.FeignMethodObservationConvention;
+import feign.micrometer.MicrometerObservationCapability;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import io.micrometer.observation.ObservationRegistry;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.apache.hc.core5.pool.ConnPoolControl;
+import org.apache.hc.core5.util.TimeValue;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.openfeign.clientconfig.HttpClient5FeignConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Ajustes del cliente HTTP (Apache HttpClient 5) que usa Feign para llamar al servicio de datos.
+ * El tamaño del pool, el TTL y los timeouts se configuran con spring.cloud.openfeign.httpclient.*;
+ * acá se agrega el desalojo de conexiones ociosas, las métricas del pool y los timers de
+ * cada llamada (http.client.requests, etiquetados por método del cliente y estado).
+ */
+@Configuration
+public class FeignClientConfig {
+
+    @Bean
+    public HttpClient5FeignConfiguration.HttpClientBuilderCustomizer idleConnectionEvictionCustomizer(
+            @Value("${business.feign.evict-idle-after:30s}") Duration inactividad){
+        return builder -> builder
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(inactividad.toMillis()));
+    }
+
+    @Bean
+    @SuppressWarnings("unchecked")
+    public MeterBinder feignConnectionPoolMetrics(ObjectProvider<HttpClientConnectionManager> hc5ConnectionManager){
+        // Publica httpcomponents.httpclient.pool.* (conexiones disponibles, en uso y pedidos en espera)
+        return registry -> hc5ConnectionManager.ifAvailable(connectionManager ->
+                new PoolingHttpClientConnectionManagerMetricsBinder(
+                        (ConnPoolControl<HttpRoute>) connectionManager, "data-service").bindTo(registry));
+    }
+
+    @Bean
+    public MicrometerObservationCapability micrometerObservationCapability(ObservationRegistry observationRegistry){
+        // Reemplaza la que registra Spring Cloud OpenFeign para sumar el método del cliente a las etiquetas
+        return new MicrometerObservationCapability(observationRegistry, new FeignMethodObservationConvention());
+    }
+}
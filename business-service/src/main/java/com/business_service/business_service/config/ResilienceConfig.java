@@ -0,0 +1,30 @@
+package com.business_service.business_service.config;
+
+import com.business_service.business_service.client.ResilientClientCapability;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Circuit breaker, bulkhead y time limiter por método de DataServiceClient (ver
+ * ResilientClientCapability). Los registros los arma resilience4j-spring-boot3 a partir de
+ * resilience4j.* y publican sus métricas (resilience4j.circuitbreaker.*, resilience4j.bulkhead.*,
+ * resilience4j.timelimiter.*). Las últimas respuestas de las lecturas se guardan según
+ * business.resiliencia.respuestas-previas.spec.
+ */
+@Configuration
+public class ResilienceConfig {
+
+    @Bean
+    public ResilientClientCapability resilientClientCapability(CircuitBreakerRegistry circuitBreakerRegistry,
+                                                               BulkheadRegistry bulkheadRegistry,
+                                                               TimeLimiterRegistry timeLimiterRegistry,
+                                                               @Value("${business.resiliencia.respuestas-previas.spec:maximumSize=10000,expireAfterWrite=1h}") String spec){
+        return new ResilientClientCapability(circuitBreakerRegistry, bulkheadRegistry, timeLimiterRegistry,
+                Caffeine.from(spec).build());
+    }
+}
@@ -0,0 +1,18 @@
+package com.business_service.business_service.config;
+
+import com.business_service.business_service.client.ConflictRetry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class RetryConfig {
+
+    @Bean
+    public ConflictRetry conflictRetry(@Value("${business.reintentos.conflicto.max-intentos:3}") int maxIntentos,
+                                       @Value("${business.reintentos.conflicto.espera:20ms}") Duration espera){
+        return new ConflictRetry(maxIntentos, espera);
+    }
+}
@@ -0,0 +1,24 @@
+package com.business_service.business_service.config;
+
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Las trazas se arman con Micrometer Tracing sobre OpenTelemetry: cada pedido HTTP, cada
+ * método de los *BusinessService (@Observed) y cada llamada Feign es un span, y el contexto
+ * viaja a data-service en el encabezado traceparent.
+ * Se exportan por OTLP cuando está configurado management.otlp.tracing.endpoint, y al log
+ * cuando business.tracing.exportar-log=true, para poder verlas sin un colector.
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "business.tracing.exportar-log", havingValue = "true")
+    public SpanExporter logSpanExporter(){
+        return LoggingSpanExporter.create();
+    }
+}
@@ -2,20 +2,31 @@ package com.business_service.business_service.controller;
 
 import com.business_service.business_service.dto.CategoriaDTO;
 import com.business_service.business_service.dto.InventarioDTO;
+import com.business_service.business_service.dto.PaginaDTO;
 import com.business_service.business_service.dto.ProductoDTO;
 import com.business_service.business_service.dto.ProductoRequest;
+import com.business_service.business_service.dto.ReservaDTO;
+import com.business_service.business_service.dto.ReservaRequest;
+import com.business_service.business_service.dto.ResultadoCargaDTO;
+import com.business_service.business_service.dto.ResumenCatalogoDTO;
+import com.business_service.business_service.dto.ValorCategoriaDTO;
+import com.business_service.business_service.dto.ValorRangoPrecioDTO;
 import com.business_service.business_service.service.CategoriaBusinessService;
 import com.business_service.business_service.service.InventarioBusinessService;
 import com.business_service.business_service.service.ProductoBusinessService;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api")
@@ -36,8 +47,22 @@ public class BusinessController {
 
 
     @GetMapping("/productos")
-    public ResponseEntity<List<ProductoDTO>> findAllProducts() {
-        return ResponseEntity.ok(productoBusinessService.findAllProducts());
+    public ResponseEntity<PaginaDTO<ProductoDTO>> findAllProducts(
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) Long afterId) {
+        return ResponseEntity.ok(productoBusinessService.findAllProducts(page, size, afterId));
+    }
+
+    @GetMapping(value = "/productos/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportProducts() {
+        InputStream export = productoBusinessService.exportProducts();
+        StreamingResponseBody body = outputStream -> {
+            try (export) {
+                export.transferTo(outputStream);
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     @GetMapping("/productos/{id}")
@@ -56,6 +81,11 @@ public class BusinessController {
         return new ResponseEntity<>(newProduct, HttpStatus.CREATED);
     }
 
+    @PostMapping("/productos/bulk")
+    public ResponseEntity<ResultadoCargaDTO> saveProducts(@RequestBody List<ProductoRequest> requests) {
+        return ResponseEntity.ok(productoBusinessService.saveProducts(requests));
+    }
+
     @PutMapping("/productos/{id}")
     public ResponseEntity<ProductoDTO> updateProduct(
             @PathVariable Long id,
@@ -100,18 +130,99 @@ public class BusinessController {
 
     @GetMapping("/inventario/{productoId}/disponibilidad")
     public ResponseEntity<Map<String, Boolean>> checkAvailability(
-            @PathVariable Long productId,
+            @PathVariable Long productoId,
             @RequestParam Integer cantidad) {
-        boolean available = inventarioBusinessService.findInventoriesByProductId(productId).getCantidad() >= cantidad;
+        boolean available = inventarioBusinessService.checkAvailability(productoId, cantidad).getDisponible();
         return ResponseEntity.ok(Collections.singletonMap("available", available));
     }
 
+    @PostMapping("/inventario/{productoId}/decrement")
+    public ResponseEntity<InventarioDTO> decrementStock(@PathVariable Long productoId, @RequestParam Integer cantidad) {
+        return ResponseEntity.ok(inventarioBusinessService.decrementStock(productoId, cantidad));
+    }
+
+    @PostMapping("/inventario/{productoId}/increment")
+    public ResponseEntity<InventarioDTO> incrementStock(@PathVariable Long productoId, @RequestParam Integer cantidad) {
+        return ResponseEntity.ok(inventarioBusinessService.incrementStock(productoId, cantidad));
+    }
+
+    @PostMapping("/reservas")
+    public ResponseEntity<ReservaDTO> reserveStock(@RequestBody ReservaRequest reservaRequest) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(inventarioBusinessService.reserveStock(reservaRequest));
+    }
+
+    @GetMapping("/reservas/{id}")
+    public ResponseEntity<ReservaDTO> findReservationById(@PathVariable Long id) {
+        return ResponseEntity.ok(inventarioBusinessService.findReservationById(id));
+    }
+
+    @PostMapping("/reservas/{id}/confirmar")
+    public ResponseEntity<ReservaDTO> confirmReservation(@PathVariable Long id) {
+        return ResponseEntity.ok(inventarioBusinessService.confirmReservation(id));
+    }
+
+    @PostMapping("/reservas/{id}/liberar")
+    public ResponseEntity<ReservaDTO> releaseReservation(@PathVariable Long id) {
+        return ResponseEntity.ok(inventarioBusinessService.releaseReservation(id));
+    }
+
     @GetMapping("/inventario/valor")
     public ResponseEntity<Map<String, BigDecimal>> getTotalInventoryValue() {
-        BigDecimal totalValue = productoBusinessService.findAllProducts().stream()
-                .map(p -> p.getPrecio().multiply(BigDecimal.valueOf(p.getInventario().getCantidad())))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
+        BigDecimal totalValue = inventarioBusinessService.calculateTotalValue();
         return ResponseEntity.ok(Collections.singletonMap("totalValue", totalValue));
     }
+
+    @GetMapping("/inventario/valor/categoria")
+    public ResponseEntity<List<ValorCategoriaDTO>> getInventoryValueByCategory() {
+        return ResponseEntity.ok(inventarioBusinessService.calculateTotalValueByCategory());
+    }
+
+    @GetMapping("/inventario/valor/rango-precio")
+    public ResponseEntity<List<ValorRangoPrecioDTO>> getInventoryValueByPriceRange(@RequestParam List<BigDecimal> limites) {
+        return ResponseEntity.ok(inventarioBusinessService.calculateTotalValueByPriceRange(limites));
+    }
+
+    // Variantes no bloqueantes: el hilo del servlet se libera mientras se espera a data-service
+
+    @GetMapping("/async/productos")
+    public CompletableFuture<ResponseEntity<PaginaDTO<ProductoDTO>>> findAllProductsAsync(
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) Long afterId) {
+        return productoBusinessService.findAllProductsAsync(page, size, afterId).thenApply(ResponseEntity::ok);
+    }
+
+    @GetMapping("/async/productos/{id}")
+    public CompletableFuture<ResponseEntity<ProductoDTO>> findProductByIdAsync(@PathVariable Long id) {
+        return productoBusinessService.findProductByIdAsync(id).thenApply(ResponseEntity::ok);
+    }
+
+    @GetMapping("/async/categorias")
+    public CompletableFuture<ResponseEntity<List<CategoriaDTO>>> findAllCategoryAsync() {
+        return categoriaBusinessService.findAllCategoryAsync().thenApply(ResponseEntity::ok);
+    }
+
+    @GetMapping("/async/inventario/{productoId}")
+    public CompletableFuture<ResponseEntity<InventarioDTO>> findInventoriesByProductIdAsync(@PathVariable Long productoId) {
+        return inventarioBusinessService.findInventoriesByProductIdAsync(productoId).thenApply(ResponseEntity::ok);
+    }
+
+    @GetMapping("/async/inventario/{productoId}/disponibilidad")
+    public CompletableFuture<ResponseEntity<Map<String, Boolean>>> checkAvailabilityAsync(
+            @PathVariable Long productoId,
+            @RequestParam Integer cantidad) {
+        return inventarioBusinessService.checkAvailabilityAsync(productoId, cantidad)
+                .thenApply(disponibilidad -> ResponseEntity.ok(Collections.singletonMap("available", disponibilidad.getDisponible())));
+    }
+
+    @GetMapping("/async/inventario/valor")
+    public CompletableFuture<ResponseEntity<Map<String, BigDecimal>>> getTotalInventoryValueAsync() {
+        return inventarioBusinessService.calculateTotalValueAsync()
+                .thenApply(totalValue -> ResponseEntity.ok(Collections.singletonMap("totalValue", totalValue)));
+    }
+
+    @GetMapping("/async/resumen")
+    public CompletableFuture<ResponseEntity<ResumenCatalogoDTO>> getCatalogSummaryAsync() {
+        return inventarioBusinessService.getCatalogSummaryAsync().thenApply(ResponseEntity::ok);
+    }
 }
@@ -38,6 +38,42 @@ public class BusinessGlobalExceptionHandler {
                 ));
     }
 
+    @ExceptionHandler(ReservaNoEncontrada.class)
+    public ResponseEntity<Map<String, Object>> handleReservaNoEncontrada(ReservaNoEncontrada ex) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Map.of(
+                        "error", "Reserva no encontrada",
+                        "detalle", ex.getMessage()
+                ));
+    }
+
+    @ExceptionHandler(ReservaNoVigente.class)
+    public ResponseEntity<Map<String, Object>> handleReservaNoVigente(ReservaNoVigente ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of(
+                        "error", "Reserva no vigente",
+                        "detalle", ex.getMessage()
+                ));
+    }
+
+    @ExceptionHandler(StockInsuficiente.class)
+    public ResponseEntity<Map<String, Object>> handleStockInsuficiente(StockInsuficiente ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of(
+                        "error", "Stock insuficiente",
+                        "detalle", ex.getMessage()
+                ));
+    }
+
+    @ExceptionHandler(ConflictoDeVersion.class)
+    public ResponseEntity<Map<String, Object>> handleConflictoDeVersion(ConflictoDeVersion ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of(
+                        "error", "Conflicto de versión",
+                        "detalle", ex.getMessage()
+                ));
+    }
+
     @ExceptionHandler(MicroserviceCommunicationException.class)
     public ResponseEntity<Map<String, Object>> handleMicroserviceCommunication(MicroserviceCommunicationException ex) {
         return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
@@ -0,0 +1,16 @@
+package com.business_service.business_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Fila rechazada de una carga masiva; fila es la posición en la lista enviada, desde 0.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ErrorCargaDTO {
+    private Integer fila;
+    private String detalle;
+}
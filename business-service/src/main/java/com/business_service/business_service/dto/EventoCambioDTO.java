@@ -0,0 +1,18 @@
+package com.business_service.business_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventoCambioDTO {
+    private Long posicion;
+    private String entidad;
+    private Long entidadId;
+    private String operacion;
+    private LocalDateTime fecha;
+}
@@ -17,4 +17,5 @@ public class ProductoDTO {
     private String categoriaNombre;
     private Boolean stockBajo;
     private InventarioDTO inventario;
+    private Long version;
 }
@@ -0,0 +1,19 @@
+package com.business_service.business_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservaDTO {
+    private Long id;
+    private Long productoId;
+    private Integer cantidad;
+    private String estado;
+    private LocalDateTime expiraEn;
+    private LocalDateTime fechaCreacion;
+}
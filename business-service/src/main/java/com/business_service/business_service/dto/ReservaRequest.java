@@ -0,0 +1,14 @@
+package com.business_service.business_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReservaRequest {
+    private Long productoId;
+    private Integer cantidad;
+    private Long ttlSegundos;
+}
@@ -0,0 +1,17 @@
+package com.business_service.business_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumenCatalogoDTO {
+    private List<CategoriaDTO> categorias;
+    private BigDecimal valorTotal;
+    private List<ValorCategoriaDTO> valorPorCategoria;
+}
@@ -0,0 +1,16 @@
+package com.business_service.business_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ValorCategoriaDTO {
+    private String categoriaNombre;
+    private Long cantidadProductos;
+    private BigDecimal valorTotal;
+}
@@ -0,0 +1,7 @@
+package com.business_service.business_service.exception;
+
+public class ConflictoDeVersion extends RuntimeException{
+    public ConflictoDeVersion(Long id){
+        super("El producto con el id: "+id+" fue modificado por otra operación, vuelva a leerlo antes de actualizarlo");
+    }
+}
@@ -4,4 +4,8 @@ public class MicroserviceCommunicationException extends RuntimeException{
     public MicroserviceCommunicationException(){
         super("Error de comunicación con el servicio de datos");
     }
+
+    public MicroserviceCommunicationException(String detalle){
+        super(detalle);
+    }
 }
@@ -0,0 +1,7 @@
+package com.business_service.business_service.exception;
+
+public class ReservaNoVigente extends RuntimeException{
+    public ReservaNoVigente(Long id){
+        super("La reserva con el id: "+id+" ya fue confirmada, liberada o venció");
+    }
+}
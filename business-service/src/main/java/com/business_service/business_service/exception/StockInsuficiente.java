@@ -0,0 +1,7 @@
+package com.business_service.business_service.exception;
+
+public class StockInsuficiente extends RuntimeException{
+    public StockInsuficiente(Long productoId, Integer cantidad){
+        super("No hay stock suficiente del producto con el id: "+productoId+" para descontar "+cantidad+" unidades");
+    }
+}
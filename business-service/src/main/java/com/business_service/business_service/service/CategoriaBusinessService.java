@@ -1,6 +1,8 @@
 package com.business_service.business_service.service;
 
+import com.business_service.business_service.client.AsyncDataServiceClient;
 import com.business_service.business_service.client.DataServiceClient;
+import com.business_service.business_service.config.CacheConfig;
 import com.business_service.business_service.dto.CategoriaDTO;
 import com.business_service.business_service.dto.ProductoDTO;
 import com.business_service.business_service.dto.ProductoRequest;
@@ -8,23 +10,32 @@ import com.business_service.business_service.exception.MicroserviceCommunication
 import com.business_service.business_service.exception.ProductoNoEncontrado;
 import com.business_service.business_service.exception.ValidacionNegocioException;
 import feign.FeignException;
+import io.micrometer.observation.annotation.Observed;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.web.bind.annotation.PathVariable;
 
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Service
+@Observed
 @Slf4j
 public class CategoriaBusinessService {
     private final DataServiceClient dataServiceClient;
+    private final AsyncDataServiceClient asyncDataServiceClient;
 
-    public CategoriaBusinessService(DataServiceClient dataServiceClient){
+    public CategoriaBusinessService(DataServiceClient dataServiceClient, AsyncDataServiceClient asyncDataServiceClient){
         this.dataServiceClient = dataServiceClient;
+        this.asyncDataServiceClient = asyncDataServiceClient;
     }
 
+    @Cacheable(CacheConfig.CATEGORIAS)
     public List<CategoriaDTO> findAllCategory(){
         try {
             return dataServiceClient.findAllCategory();
@@ -34,6 +45,16 @@ public class CategoriaBusinessService {
         }
     }
 
+    public CompletableFuture<List<CategoriaDTO>> findAllCategoryAsync(){
+        return AsyncDataServiceClient.traducirErrores(asyncDataServiceClient.findAllCategory(),
+                "Error al obtener categoría del microservicio de datos");
+    }
+
+    // Los productos cacheados llevan el nombre de la categoría
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CATEGORIAS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.PRODUCTOS, allEntries = true)
+    })
     public CategoriaDTO updateCategory(Long id, CategoriaDTO categoriaDTO){
         try {
             return dataServiceClient.updateCategory(id, categoriaDTO);
@@ -43,6 +64,12 @@ public class CategoriaBusinessService {
         }
     }
 
+    // Borrar una categoría borra en cascada sus productos e inventarios
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CATEGORIAS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.PRODUCTOS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.INVENTARIOS, allEntries = true)
+    })
     public void deleteCategory(Long id){
         try {
             dataServiceClient.deleteCategory(id);
@@ -0,0 +1,64 @@
+package com.business_service.business_service.service;
+
+import com.business_service.business_service.config.CacheConfig;
+import com.business_service.business_service.dto.EventoCambioDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+/**
+ * Aplica a las caches locales los cambios que publica data-service, incluidos los que hacen
+ * otras instancias o el propio data-service: así las entradas no esperan a vencer por TTL.
+ * Sigue las mismas reglas que las escrituras de este servicio: productos e inventarios se
+ * cachean por ID de producto, y un cambio de categoría descarta todos los productos, que
+ * llevan el nombre de su categoría.
+ */
+@Service
+@Slf4j
+public class InvalidadorCaches {
+    private final CacheManager cacheManager;
+
+    public InvalidadorCaches(CacheManager cacheManager){
+        this.cacheManager = cacheManager;
+    }
+
+    public void aplicar(EventoCambioDTO evento){
+        switch (evento.getEntidad()) {
+            case "PRODUCTO", "INVENTARIO" -> {
+                evict(CacheConfig.PRODUCTOS, evento.getEntidadId());
+                evict(CacheConfig.INVENTARIOS, evento.getEntidadId());
+            }
+            case "CATEGORIA" -> {
+                clear(CacheConfig.CATEGORIAS);
+                clear(CacheConfig.PRODUCTOS);
+                // Borrar una categoría borra en cascada sus productos y sus inventarios
+                if ("ELIMINADO".equals(evento.getOperacion())) {
+                    clear(CacheConfig.INVENTARIOS);
+                }
+            }
+            default -> {
+                log.warn("Evento de cambio desconocido: {}, se vacían las caches", evento);
+                limpiarTodo();
+            }
+        }
+    }
+
+    public void limpiarTodo(){
+        cacheManager.getCacheNames().forEach(this::clear);
+    }
+
+    private void evict(String nombre, Object clave){
+        Cache cache = cacheManager.getCache(nombre);
+        if (cache != null) {
+            cache.evict(clave);
+        }
+    }
+
+    private void clear(String nombre){
+        Cache cache = cacheManager.getCache(nombre);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
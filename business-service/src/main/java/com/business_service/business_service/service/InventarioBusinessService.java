@@ -1,25 +1,46 @@
 package com.business_service.business_service.service;
 
+import com.business_service.business_service.client.AsyncDataServiceClient;
 import com.business_service.business_service.client.DataServiceClient;
+import com.business_service.business_service.config.CacheConfig;
+import com.business_service.business_service.dto.DisponibilidadDTO;
 import com.business_service.business_service.dto.CategoriaDTO;
 import com.business_service.business_service.dto.InventarioDTO;
 import com.business_service.business_service.dto.ProductoDTO;
+import com.business_service.business_service.dto.ReservaDTO;
+import com.business_service.business_service.dto.ReservaRequest;
+import com.business_service.business_service.dto.ResumenCatalogoDTO;
+import com.business_service.business_service.dto.ValorCategoriaDTO;
+import com.business_service.business_service.dto.ValorRangoPrecioDTO;
 import com.business_service.business_service.exception.InventarioNoEncontrado;
 import com.business_service.business_service.exception.MicroserviceCommunicationException;
 import com.business_service.business_service.exception.ProductoNoEncontrado;
+import com.business_service.business_service.exception.ReservaNoEncontrada;
+import com.business_service.business_service.exception.ReservaNoVigente;
+import com.business_service.business_service.exception.StockInsuficiente;
+import com.business_service.business_service.exception.ValidacionNegocioException;
 import feign.FeignException;
+import io.micrometer.observation.annotation.Observed;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Service
+@Observed
 @Slf4j
 public class InventarioBusinessService {
     private final DataServiceClient dataServiceClient;
+    private final AsyncDataServiceClient asyncDataServiceClient;
 
-    public InventarioBusinessService(DataServiceClient dataServiceClient){
+    public InventarioBusinessService(DataServiceClient dataServiceClient, AsyncDataServiceClient asyncDataServiceClient){
         this.dataServiceClient = dataServiceClient;
+        this.asyncDataServiceClient = asyncDataServiceClient;
     }
 
     public List<InventarioDTO> findInventoriesWithLowStock(){
@@ -31,6 +52,7 @@ public class InventarioBusinessService {
         }
     }
 
+    @Cacheable(CacheConfig.INVENTARIOS)
     public InventarioDTO findInventoriesByProductId(Long productoId){
         try {
             return dataServiceClient.findInventoriesByProductId(productoId);
@@ -43,6 +65,20 @@ public class InventarioBusinessService {
         }
     }
 
+    public List<InventarioDTO> findInventoriesByProductIds(List<Long> productoIds){
+        try {
+            return dataServiceClient.findInventoriesByProductIds(productoIds);
+        } catch (FeignException e){
+            log.error("Error al obtener los inventarios del microservicio de datos", e);
+            throw new MicroserviceCommunicationException();
+        }
+    }
+
+    // El ProductoDTO cacheado incluye stockBajo, que depende de la cantidad
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.INVENTARIOS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.PRODUCTOS, key = "#id")
+    })
     public InventarioDTO updateInventory(Long id, Integer cantidad){
         try {
             return dataServiceClient.updateInventory(id, cantidad);
@@ -51,4 +87,182 @@ public class InventarioBusinessService {
             throw new MicroserviceCommunicationException();
         }
     }
+
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.INVENTARIOS, key = "#productoId"),
+            @CacheEvict(cacheNames = CacheConfig.PRODUCTOS, key = "#productoId")
+    })
+    public InventarioDTO decrementStock(Long productoId, Integer cantidad){
+        validateCantidad(cantidad);
+        try {
+            return dataServiceClient.decrementStock(productoId, cantidad);
+        } catch (FeignException.Conflict e) {
+            throw new StockInsuficiente(productoId, cantidad);
+        } catch (FeignException.NotFound e) {
+            throw new InventarioNoEncontrado(productoId);
+        } catch (FeignException e){
+            log.error("Error al descontar stock en el microservicio de datos", e);
+            throw new MicroserviceCommunicationException();
+        }
+    }
+
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.INVENTARIOS, key = "#productoId"),
+            @CacheEvict(cacheNames = CacheConfig.PRODUCTOS, key = "#productoId")
+    })
+    public InventarioDTO incrementStock(Long productoId, Integer cantidad){
+        validateCantidad(cantidad);
+        try {
+            return dataServiceClient.incrementStock(productoId, cantidad);
+        } catch (FeignException.NotFound e) {
+            throw new InventarioNoEncontrado(productoId);
+        } catch (FeignException e){
+            log.error("Error al sumar stock en el microservicio de datos", e);
+            throw new MicroserviceCommunicationException();
+        }
+    }
+
+    /**
+     * No se cachea: el stock de los productos más vendidos cambia en cada venta.
+     */
+    public DisponibilidadDTO checkAvailability(Long productoId, Integer cantidad){
+        validateCantidad(cantidad);
+        try {
+            return dataServiceClient.checkAvailability(productoId, cantidad);
+        } catch (FeignException.NotFound e) {
+            throw new InventarioNoEncontrado(productoId);
+        } catch (FeignException e){
+            log.error("Error al consultar la disponibilidad en el microservicio de datos", e);
+            throw new MicroserviceCommunicationException();
+        }
+    }
+
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.INVENTARIOS, key = "#reservaRequest.productoId"),
+            @CacheEvict(cacheNames = CacheConfig.PRODUCTOS, key = "#reservaRequest.productoId")
+    })
+    public ReservaDTO reserveStock(ReservaRequest reservaRequest){
+        validateCantidad(reservaRequest.getCantidad());
+        try {
+            return dataServiceClient.reserveStock(reservaRequest);
+        } catch (FeignException.Conflict e) {
+            throw new StockInsuficiente(reservaRequest.getProductoId(), reservaRequest.getCantidad());
+        } catch (FeignException.NotFound e) {
+            throw new InventarioNoEncontrado(reservaRequest.getProductoId());
+        } catch (FeignException e){
+            log.error("Error al reservar stock en el microservicio de datos", e);
+            throw new MicroserviceCommunicationException();
+        }
+    }
+
+    public ReservaDTO findReservationById(Long id){
+        try {
+            return dataServiceClient.findReservationById(id);
+        } catch (FeignException.NotFound e) {
+            throw new ReservaNoEncontrada(id);
+        } catch (FeignException e){
+            log.error("Error al obtener la reserva del microservicio de datos", e);
+            throw new MicroserviceCommunicationException();
+        }
+    }
+
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.INVENTARIOS, key = "#result.productoId"),
+            @CacheEvict(cacheNames = CacheConfig.PRODUCTOS, key = "#result.productoId")
+    })
+    public ReservaDTO confirmReservation(Long id){
+        try {
+            return dataServiceClient.confirmReservation(id);
+        } catch (FeignException.Conflict e) {
+            throw new ReservaNoVigente(id);
+        } catch (FeignException.NotFound e) {
+            throw new ReservaNoEncontrada(id);
+        } catch (FeignException e){
+            log.error("Error al confirmar la reserva en el microservicio de datos", e);
+            throw new MicroserviceCommunicationException();
+        }
+    }
+
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.INVENTARIOS, key = "#result.productoId"),
+            @CacheEvict(cacheNames = CacheConfig.PRODUCTOS, key = "#result.productoId")
+    })
+    public ReservaDTO releaseReservation(Long id){
+        try {
+            return dataServiceClient.releaseReservation(id);
+        } catch (FeignException.Conflict e) {
+            throw new ReservaNoVigente(id);
+        } catch (FeignException.NotFound e) {
+            throw new ReservaNoEncontrada(id);
+        } catch (FeignException e){
+            log.error("Error al liberar la reserva en el microservicio de datos", e);
+            throw new MicroserviceCommunicationException();
+        }
+    }
+
+    private void validateCantidad(Integer cantidad){
+        if (cantidad == null || cantidad <= 0) {
+            throw new ValidacionNegocioException("La cantidad debe ser mayor a cero");
+        }
+    }
+
+    public BigDecimal calculateTotalValue(){
+        try {
+            BigDecimal total = dataServiceClient.calculateTotalValue();
+            return total != null ? total : BigDecimal.ZERO;
+        } catch (FeignException e){
+            log.error("Error al obtener el valor del inventario del microservicio de datos", e);
+            throw new MicroserviceCommunicationException();
+        }
+    }
+
+    public List<ValorCategoriaDTO> calculateTotalValueByCategory(){
+        try {
+            return dataServiceClient.calculateTotalValueByCategory();
+        } catch (FeignException e){
+            log.error("Error al obtener el valor del inventario por categoría del microservicio de datos", e);
+            throw new MicroserviceCommunicationException();
+        }
+    }
+
+    public List<ValorRangoPrecioDTO> calculateTotalValueByPriceRange(List<BigDecimal> limites){
+        try {
+            return dataServiceClient.calculateTotalValueByPriceRange(limites);
+        } catch (FeignException e){
+            log.error("Error al obtener el valor del inventario por rango de precio del microservicio de datos", e);
+            throw new MicroserviceCommunicationException();
+        }
+    }
+
+    public CompletableFuture<InventarioDTO> findInventoriesByProductIdAsync(Long productoId){
+        return AsyncDataServiceClient.traducirErrores(asyncDataServiceClient.findInventoriesByProductId(productoId),
+                "Error al obtener el inventario del microservicio de datos", () -> new InventarioNoEncontrado(productoId));
+    }
+
+    public CompletableFuture<DisponibilidadDTO> checkAvailabilityAsync(Long productoId, Integer cantidad){
+        validateCantidad(cantidad);
+        return AsyncDataServiceClient.traducirErrores(asyncDataServiceClient.checkAvailability(productoId, cantidad),
+                "Error al consultar la disponibilidad en el microservicio de datos", () -> new InventarioNoEncontrado(productoId));
+    }
+
+    public CompletableFuture<BigDecimal> calculateTotalValueAsync(){
+        return AsyncDataServiceClient.traducirErrores(asyncDataServiceClient.calculateTotalValue()
+                .thenApply(total -> total != null ? total : BigDecimal.ZERO),
+                "Error al obtener el valor del inventario del microservicio de datos");
+    }
+
+    /**
+     * Categorías, valor total y valor por categoría en una sola respuesta. Las tres consultas a
+     * data-service salen a la vez, así que la respuesta tarda lo que la más lenta y no la suma.
+     */
+    public CompletableFuture<ResumenCatalogoDTO> getCatalogSummaryAsync(){
+        CompletableFuture<List<CategoriaDTO>> categorias = asyncDataServiceClient.findAllCategory();
+        CompletableFuture<BigDecimal> valorTotal = asyncDataServiceClient.calculateTotalValue();
+        CompletableFuture<List<ValorCategoriaDTO>> valorPorCategoria = asyncDataServiceClient.calculateTotalValueByCategory();
+        return AsyncDataServiceClient.traducirErrores(CompletableFuture.allOf(categorias, valorTotal, valorPorCategoria)
+                .thenApply(listo -> new ResumenCatalogoDTO(categorias.join(),
+                        valorTotal.join() != null ? valorTotal.join() : BigDecimal.ZERO, valorPorCategoria.join())),
+                "Error al obtener el resumen del catálogo del microservicio de datos");
+    }
+
 }
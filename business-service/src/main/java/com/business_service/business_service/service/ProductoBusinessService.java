@@ -1,36 +1,93 @@
 package com.business_service.business_service.service;
 
+import com.business_service.business_service.client.AsyncDataServiceClient;
+import com.business_service.business_service.client.CoalescingLoader;
+import com.business_service.business_service.client.ConflictRetry;
 import com.business_service.business_service.client.DataServiceClient;
+import com.business_service.business_service.config.CacheConfig;
+import com.business_service.business_service.dto.ErrorCargaDTO;
+import com.business_service.business_service.dto.PaginaDTO;
 import com.business_service.business_service.dto.ProductoDTO;
 import com.business_service.business_service.dto.ProductoRequest;
+import com.business_service.business_service.dto.ResultadoCargaDTO;
+import com.business_service.business_service.exception.ConflictoDeVersion;
 import com.business_service.business_service.exception.MicroserviceCommunicationException;
 import com.business_service.business_service.exception.ProductoNoEncontrado;
 import com.business_service.business_service.exception.ValidacionNegocioException;
 import feign.FeignException;
+import feign.Response;
+import io.micrometer.observation.annotation.Observed;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 @Service
+@Observed
 @Slf4j
 public class ProductoBusinessService {
     private final DataServiceClient dataServiceClient;
+    private final CoalescingLoader<ProductoDTO> productoLoader;
+    private final ConflictRetry conflictRetry;
+    private final AsyncDataServiceClient asyncDataServiceClient;
+    private final int tamanioLoteCarga;
 
-    public ProductoBusinessService(DataServiceClient dataServiceClient){
+    public ProductoBusinessService(DataServiceClient dataServiceClient, CoalescingLoader<ProductoDTO> productoLoader,
+                                   ConflictRetry conflictRetry, AsyncDataServiceClient asyncDataServiceClient,
+                                   @Value("${business.carga.tamanio-lote:1000}") int tamanioLoteCarga){
         this.dataServiceClient = dataServiceClient;
+        this.productoLoader = productoLoader;
+        this.conflictRetry = conflictRetry;
+        this.asyncDataServiceClient = asyncDataServiceClient;
+        this.tamanioLoteCarga = tamanioLoteCarga;
     }
 
-    public List<ProductoDTO> findAllProducts(){
+    public PaginaDTO<ProductoDTO> findAllProducts(Integer page, Integer size, Long afterId){
         try {
-            return dataServiceClient.findAllProducts();
+            return dataServiceClient.findAllProducts(page, size, afterId);
         }catch (FeignException e){
             log.error("Error al obtener producto del microservicio de datos", e);
             throw new MicroserviceCommunicationException();
         }
     }
 
+    /**
+     * Abre la exportación NDJSON del servicio de datos. El cuerpo no se bufferea: quien
+     * llama debe leer y cerrar el stream devuelto.
+     */
+    public InputStream exportProducts(){
+        Response response;
+        try {
+            response = dataServiceClient.exportProducts();
+        } catch (FeignException e){
+            log.error("Error al exportar los productos del microservicio de datos", e);
+            throw new MicroserviceCommunicationException();
+        }
+        if (response.status() != 200 || response.body() == null) {
+            log.error("Error al exportar los productos del microservicio de datos, estado {}", response.status());
+            response.close();
+            throw new MicroserviceCommunicationException();
+        }
+        try {
+            return response.body().asInputStream();
+        } catch (IOException e){
+            log.error("Error al leer la exportación del microservicio de datos", e);
+            response.close();
+            throw new MicroserviceCommunicationException();
+        }
+    }
+
     public List<ProductoDTO> findProductByCategory(String categoriaNombre){
         try {
             return dataServiceClient.findProductByCategory(categoriaNombre);
@@ -40,15 +97,30 @@ public class ProductoBusinessService {
         }
     }
 
+    @Cacheable(CacheConfig.PRODUCTOS)
     public ProductoDTO findProductById(Long id){
+        ProductoDTO producto;
         try {
-            return dataServiceClient.findProductById(id);
+            producto = productoLoader.load(id);
         } catch (FeignException.NotFound e) {
             throw  new ProductoNoEncontrado(id);
         } catch (FeignException e){
             log.error("Error al obtener el producto del microservicio de datos", e);
             throw new MicroserviceCommunicationException();
         }
+        if (producto == null) {
+            throw new ProductoNoEncontrado(id);
+        }
+        return producto;
+    }
+
+    public List<ProductoDTO> findProductsByIds(List<Long> ids){
+        try {
+            return dataServiceClient.findProductsByIds(ids);
+        } catch (FeignException e){
+            log.error("Error al obtener los productos del microservicio de datos", e);
+            throw new MicroserviceCommunicationException();
+        }
     }
 
     public ProductoDTO saveProduct(ProductoRequest productoRequest){
@@ -60,15 +132,66 @@ public class ProductoBusinessService {
             throw new MicroserviceCommunicationException();        }
     }
 
+    /**
+     * Valida cada fila con las mismas reglas que saveProduct y manda las válidas a data-service
+     * en llamadas de hasta business.carga.tamanio-lote filas. Las filas de los errores son las
+     * posiciones en la lista recibida, tanto las rechazadas acá como las que rechaza data-service.
+     */
+    public ResultadoCargaDTO saveProducts(List<ProductoRequest> productoRequests){
+        List<ErrorCargaDTO> errores = new ArrayList<>();
+        List<Integer> validas = new ArrayList<>();
+        for (int i = 0; i < productoRequests.size(); i++) {
+            try {
+                validateProduct(productoRequests.get(i));
+                validas.add(i);
+            } catch (ValidacionNegocioException e) {
+                errores.add(new ErrorCargaDTO(i, e.getMessage()));
+            }
+        }
+        int creados = 0;
+        for (int desde = 0; desde < validas.size(); desde += tamanioLoteCarga) {
+            List<Integer> filas = validas.subList(desde, Math.min(desde + tamanioLoteCarga, validas.size()));
+            ResultadoCargaDTO resultado;
+            try {
+                resultado = dataServiceClient.saveProducts(filas.stream().map(productoRequests::get).toList());
+            } catch (FeignException e) {
+                log.error("Error en la carga masiva de productos en el microservicio de datos, {} productos ya creados", creados, e);
+                throw new MicroserviceCommunicationException();
+            }
+            creados += resultado.getCreados();
+            resultado.getErrores().forEach(error -> errores.add(new ErrorCargaDTO(filas.get(error.getFila()), error.getDetalle())));
+        }
+        errores.sort(Comparator.comparing(ErrorCargaDTO::getFila));
+        return new ResultadoCargaDTO(productoRequests.size(), creados, errores);
+    }
+
+    /**
+     * Sin versión en el pedido la actualización es "último en escribir gana", así que un 409
+     * sólo indica una carrera con otra escritura y se reintenta. Con versión, el 409 significa
+     * que el cliente editó datos viejos y se devuelve tal cual.
+     */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PRODUCTOS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.INVENTARIOS, key = "#id")
+    })
     public ProductoDTO updateProduct(Long id, ProductoRequest productoRequest){
         validateProduct(productoRequest);
+        Supplier<ProductoDTO> escritura = () -> dataServiceClient.updateProduct(id, productoRequest);
         try {
-            return dataServiceClient.updateProduct(id, productoRequest);
+            return productoRequest.getVersion() == null ? conflictRetry.execute(escritura) : escritura.get();
+        } catch (FeignException.NotFound e) {
+            throw new ProductoNoEncontrado(id);
+        } catch (FeignException.Conflict e) {
+            throw new ConflictoDeVersion(id);
         } catch (FeignException e) {
             log.error("Error al actualizar el producto del microservicio de datos", e);
             throw new MicroserviceCommunicationException();        }
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PRODUCTOS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.INVENTARIOS, key = "#id")
+    })
     public void deleteProduct(Long id){
         try {
             dataServiceClient.deleteProduct(id);
@@ -79,7 +202,31 @@ public class ProductoBusinessService {
             throw new MicroserviceCommunicationException();        }
     }
 
+    public CompletableFuture<PaginaDTO<ProductoDTO>> findAllProductsAsync(Integer page, Integer size, Long afterId){
+        return AsyncDataServiceClient.traducirErrores(asyncDataServiceClient.findAllProducts(page, size, afterId),
+                "Error al obtener producto del microservicio de datos");
+    }
+
+    /**
+     * Variante no bloqueante de findProductById. No pasa por la caché ni por el CoalescingLoader,
+     * que son bloqueantes.
+     */
+    public CompletableFuture<ProductoDTO> findProductByIdAsync(Long id){
+        return AsyncDataServiceClient.traducirErrores(asyncDataServiceClient.findProductById(id),
+                "Error al obtener el producto del microservicio de datos", () -> new ProductoNoEncontrado(id))
+                .thenApply(producto -> {
+                    if (producto == null) {
+                        throw new ProductoNoEncontrado(id);
+                    }
+                    return producto;
+                });
+    }
+
+
     private void validateProduct(ProductoRequest productoRequest){
+        if(productoRequest.getPrecio() == null || productoRequest.getStock() == null){
+            throw new ValidacionNegocioException("El precio y el stock son obligatorios");
+        }
         if(productoRequest.getPrecio().compareTo(BigDecimal.ZERO) <=0){
             throw new ValidacionNegocioException("El precio debe ser mayor a cero");
         }
@@ -0,0 +1,67 @@
+package com.business_service.business_service.carga;
+
+import com.business_service.business_service.BusinessServiceApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Levanta business-service contra DataServiceSimulado y recorre los endpoints /api/* a tasa
+ * de llegada fija. Imprime por endpoint pedidos, tasa de error y percentiles de latencia, y
+ * deja los histogramas en target/carga. Corre sólo con -Pcarga; se configura con
+ * propiedades del sistema, por ejemplo:
+ * mvn test -Pcarga -pl business-service -Dtest=ArrivalRateLoadTest -Dcarga.tasa=800 -Dcarga.demora-ms=50
+ */
+@Tag("carga")
+class ArrivalRateLoadTest {
+    private final double tasa = Double.parseDouble(System.getProperty("carga.tasa", "100"));
+    private final Duration duracion = Duration.ofSeconds(Long.getLong("carga.duracion-s", 30));
+    private final Duration calentamiento = Duration.ofSeconds(Long.getLong("carga.calentamiento-s", 10));
+    private final int demoraMs = Integer.getInteger("carga.demora-ms", 20);
+    private final int variacionMs = Integer.getInteger("carga.variacion-ms", 10);
+    private final int productos = Integer.getInteger("carga.productos", 1000);
+    private final boolean cache = Boolean.getBoolean("carga.cache");
+    private final double maximoErrores = Double.parseDouble(System.getProperty("carga.max-errores", "0.01"));
+
+    @Test
+    void endpoints_sustainFixedArrivalRate() throws Exception {
+        try (DataServiceSimulado dataService = new DataServiceSimulado(demoraMs, variacionMs, productos, 200);
+             ConfigurableApplicationContext context = new SpringApplicationBuilder(BusinessServiceApplication.class)
+                     .run("--server.port=0",
+                             "--data.service.url=http://localhost:" + dataService.port(),
+                             "--spring.threads.virtual.enabled=true",
+                             "--spring.cache.type=" + (cache ? "caffeine" : "none"))) {
+            GeneradorCarga generador = new GeneradorCarga("http://localhost:" + context.getEnvironment().getProperty("local.server.port"))
+                    .get("GET /api/productos", id -> "/api/productos?page=0&size=20")
+                    .get("GET /api/productos/{id}", id -> "/api/productos/" + id)
+                    .get("GET /api/categorias", id -> "/api/categorias")
+                    .get("GET /api/inventario/{id}", id -> "/api/inventario/" + id)
+                    .get("GET /api/inventario/{id}/disp", id -> "/api/inventario/" + id + "/disponibilidad?cantidad=1")
+                    .post("POST /api/inventario/{id}/dec", id -> "/api/inventario/" + id + "/decrement?cantidad=1")
+                    .get("GET /api/inventario/valor", id -> "/api/inventario/valor");
+
+            generador.ejecutar(tasa, calentamiento, productos);
+            generador.reiniciar();
+            generador.ejecutar(tasa, duracion, productos);
+
+            Map<String, GeneradorCarga.Resultado> resultados = generador.resultados();
+            System.out.printf("tasa %.0f pedidos/s, %d s, demora del servicio de datos %d-%d ms, caché %s%n",
+                    tasa, duracion.toSeconds(), demoraMs, demoraMs + variacionMs, cache ? "sí" : "no");
+            GeneradorCarga.imprimir(resultados, System.out);
+            GeneradorCarga.guardar(resultados, Path.of("target", "carga"));
+
+            resultados.forEach((nombre, resultado) -> {
+                assertTrue(resultado.latencias().getTotalCount() > 0, nombre);
+                assertTrue(resultado.tasaDeError() <= maximoErrores,
+                        nombre + ": tasa de error " + resultado.tasaDeError());
+            });
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.business_service.business_service.carga;
+
+import com.business_service.business_service.dto.CategoriaDTO;
+import com.business_service.business_service.dto.InventarioDTO;
+import com.business_service.business_service.dto.PaginaDTO;
+import com.business_service.business_service.dto.ProductoDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+
+/**
+ * Reemplazo local de data-service para las pruebas de carga: responde los endpoints que usa
+ * DataServiceClient con un catálogo fijo, después de una demora configurable.
+ * Las búsquedas por ID arman la respuesta con el ID pedido (response templating); las
+ * búsquedas por lote devuelven el catálogo completo y business-service toma lo que pidió.
+ */
+class DataServiceSimulado implements AutoCloseable {
+    private static final int CATEGORIAS = 10;
+
+    private final WireMockServer servidor;
+    private final int demoraMinimaMs;
+    private final int demoraMaximaMs;
+
+    DataServiceSimulado(int demoraMs, int variacionMs, int productos, int hilos){
+        this.demoraMinimaMs = demoraMs;
+        this.demoraMaximaMs = demoraMs + variacionMs;
+        this.servidor = new WireMockServer(options()
+                .dynamicPort()
+                .containerThreads(hilos)
+                .asynchronousResponseEnabled(true)
+                .asynchronousResponseThreads(Math.max(10, hilos / 2))
+                .disableRequestJournal());
+        servidor.start();
+        registrar(productos);
+    }
+
+    int port(){
+        return servidor.port();
+    }
+
+    private void registrar(int productos){
+        ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+        List<ProductoDTO> catalogo = new ArrayList<>(productos);
+        List<InventarioDTO> inventarios = new ArrayList<>(productos);
+        for (long id = 1; id <= productos; id++) {
+            InventarioDTO inventario = new InventarioDTO(id, 100, 0, 5, null, id, 0L);
+            inventarios.add(inventario);
+            catalogo.add(new ProductoDTO(id, "Producto " + id, "Descripción del producto " + id,
+                    BigDecimal.valueOf(1000 + id, 2), "Categoria " + (id % CATEGORIAS + 1), false, inventario, 0L));
+        }
+        List<CategoriaDTO> categorias = new ArrayList<>(CATEGORIAS);
+        for (long id = 1; id <= CATEGORIAS; id++) {
+            categorias.add(new CategoriaDTO(id, "Categoria " + id, "Descripción de la categoría " + id));
+        }
+        List<ProductoDTO> pagina = catalogo.subList(0, Math.min(20, productos));
+
+        try {
+            servidor.stubFor(get(urlPathEqualTo("/data/productos"))
+                    .willReturn(json(objectMapper.writeValueAsString(
+                            new PaginaDTO<>(pagina, 0, pagina.size(), (long) productos, (productos + 19) / 20, null)))));
+            servidor.stubFor(post(urlPathEqualTo("/data/productos/batch"))
+                    .willReturn(json(objectMapper.writeValueAsString(catalogo))));
+            servidor.stubFor(get(urlPathMatching("/data/productos/\\d+"))
+                    .willReturn(json("{\"id\":{{request.pathSegments.[2]}},\"nombre\":\"Producto {{request.pathSegments.[2]}}\","
+                            + "\"precio\":10.00,\"categoriaNombre\":\"Categoria 1\",\"stockBajo\":false,\"version\":0}")
+                            .withTransformers("response-template")));
+            servidor.stubFor(get(urlPathEqualTo("/data/categoria"))
+                    .willReturn(json(objectMapper.writeValueAsString(categorias))));
+            servidor.stubFor(post(urlPathEqualTo("/data/inventario/batch"))
+                    .willReturn(json(objectMapper.writeValueAsString(inventarios))));
+            servidor.stubFor(get(urlPathMatching("/data/inventario/\\d+"))
+                    .willReturn(json("{\"id\":{{request.pathSegments.[2]}},\"cantidad\":100,\"cantidadReservada\":0,"
+                            + "\"stockMinimo\":5,\"productoId\":{{request.pathSegments.[2]}},\"version\":0}")
+                            .withTransformers("response-template")));
+            servidor.stubFor(get(urlPathMatching("/data/inventario/\\d+/disponibilidad"))
+                    .willReturn(json("{\"productoId\":{{request.pathSegments.[2]}},\"cantidadDisponible\":100,\"disponible\":true}")
+                            .withTransformers("response-template")));
+            servidor.stubFor(post(urlPathMatching("/data/inventario/\\d+/decrement"))
+                    .willReturn(json("{\"id\":{{request.pathSegments.[2]}},\"cantidad\":99,\"cantidadReservada\":0,"
+                            + "\"stockMinimo\":5,\"productoId\":{{request.pathSegments.[2]}},\"version\":1}")
+                            .withTransformers("response-template")));
+            servidor.stubFor(get(urlPathEqualTo("/data/inventario/valor"))
+                    .willReturn(json("12345.67")));
+        } catch (Exception e) {
+            throw new IllegalStateException("No se pudo armar el catálogo simulado", e);
+        }
+    }
+
+    private ResponseDefinitionBuilder json(String cuerpo){
+        ResponseDefinitionBuilder respuesta = aResponse()
+                .withHeader("Content-Type", "application/json")
+                .withBody(cuerpo);
+        if (demoraMaximaMs > demoraMinimaMs) {
+            return respuesta.withUniformRandomDelay(demoraMinimaMs, demoraMaximaMs);
+        }
+        return respuesta.withFixedDelay(demoraMinimaMs);
+    }
+
+    @Override
+    public void close(){
+        servidor.stop();
+    }
+}
@@ -0,0 +1,157 @@
+package com.business_service.business_service.carga;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongFunction;
+
+/**
+ * Genera carga a tasa de llegada fija (modelo abierto): el pedido i sale en
+ * inicio + i / tasa aunque los anteriores no hayan terminado, repartido en turno entre los
+ * endpoints. La latencia se mide desde el momento en que el pedido debía salir, así una
+ * demora del generador o del servidor no se esconde (coordinated omission).
+ */
+class GeneradorCarga {
+    private static final long LATENCIA_MAXIMA_NANOS = Duration.ofMinutes(1).toNanos();
+
+    private final String base;
+    private final HttpClient httpClient;
+    private final List<Endpoint> endpoints = new ArrayList<>();
+
+    GeneradorCarga(String base){
+        this.base = base;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    GeneradorCarga get(String nombre, LongFunction<String> ruta){
+        return agregar(nombre, "GET", ruta);
+    }
+
+    GeneradorCarga post(String nombre, LongFunction<String> ruta){
+        return agregar(nombre, "POST", ruta);
+    }
+
+    private GeneradorCarga agregar(String nombre, String metodo, LongFunction<String> ruta){
+        endpoints.add(new Endpoint(nombre, metodo, ruta,
+                new ConcurrentHistogram(LATENCIA_MAXIMA_NANOS, 3), new AtomicLong()));
+        return this;
+    }
+
+    /**
+     * Envía pedidos a la tasa indicada (pedidos por segundo, sumando todos los endpoints)
+     * durante la duración indicada y espera a que terminen todos.
+     */
+    void ejecutar(double tasa, Duration duracion, long productos){
+        long intervaloNanos = (long) (1_000_000_000L / tasa);
+        long pedidos = (long) (tasa * duracion.toNanos() / 1e9);
+        long inicio = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; i < pedidos; i++) {
+                long programado = inicio + i * intervaloNanos;
+                long espera = programado - System.nanoTime();
+                if (espera > 0) {
+                    LockSupport.parkNanos(espera);
+                }
+                Endpoint endpoint = endpoints.get((int) (i % endpoints.size()));
+                long id = (i / endpoints.size()) % productos + 1;
+                HttpRequest request = HttpRequest.newBuilder(URI.create(base + endpoint.ruta().apply(id)))
+                        .method(endpoint.metodo(), HttpRequest.BodyPublishers.noBody())
+                        .timeout(Duration.ofSeconds(30))
+                        .build();
+                executor.execute(() -> enviar(endpoint, request, programado));
+            }
+        }
+    }
+
+    private void enviar(Endpoint endpoint, HttpRequest request, long programado){
+        boolean exitoso;
+        try {
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            exitoso = response.statusCode() < 400;
+        } catch (IOException e) {
+            exitoso = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exitoso = false;
+        }
+        endpoint.latencias().recordValue(Math.min(System.nanoTime() - programado, LATENCIA_MAXIMA_NANOS));
+        if (!exitoso) {
+            endpoint.errores().incrementAndGet();
+        }
+    }
+
+    /** Descarta lo medido hasta ahora; se usa después del calentamiento. */
+    void reiniciar(){
+        for (Endpoint endpoint : endpoints) {
+            endpoint.latencias().reset();
+            endpoint.errores().set(0);
+        }
+    }
+
+    Map<String, Resultado> resultados(){
+        Map<String, Resultado> resultados = new LinkedHashMap<>();
+        for (Endpoint endpoint : endpoints) {
+            resultados.put(endpoint.nombre(), new Resultado(endpoint.latencias().copy(), endpoint.errores().get()));
+        }
+        return resultados;
+    }
+
+    static void imprimir(Map<String, Resultado> resultados, PrintStream salida){
+        salida.printf("%-28s %8s %8s %9s %9s %9s %9s %9s%n",
+                "endpoint", "pedidos", "errores", "p50 (ms)", "p90 (ms)", "p99 (ms)", "p99.9", "max (ms)");
+        resultados.forEach((nombre, resultado) -> {
+            Histogram h = resultado.latencias();
+            salida.printf("%-28s %8d %7.2f%% %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    nombre, h.getTotalCount(), resultado.tasaDeError() * 100,
+                    ms(h.getValueAtPercentile(50)), ms(h.getValueAtPercentile(90)), ms(h.getValueAtPercentile(99)),
+                    ms(h.getValueAtPercentile(99.9)), ms(h.getMaxValue()));
+        });
+    }
+
+    /**
+     * Escribe la distribución de percentiles de cada endpoint en formato .hgrm, que se puede
+     * graficar con HdrHistogram Plotter o comparar entre corridas.
+     */
+    static void guardar(Map<String, Resultado> resultados, Path directorio) throws IOException {
+        Files.createDirectories(directorio);
+        for (Map.Entry<String, Resultado> entrada : resultados.entrySet()) {
+            String archivo = entrada.getKey().replaceAll("[^A-Za-z0-9-]+", "_") + ".hgrm";
+            try (PrintStream salida = new PrintStream(new FileOutputStream(directorio.resolve(archivo).toFile()))) {
+                entrada.getValue().latencias().outputPercentileDistribution(salida, 1_000_000.0);
+            }
+        }
+    }
+
+    private static double ms(long nanos){
+        return nanos / 1e6;
+    }
+
+    private record Endpoint(String nombre, String metodo, LongFunction<String> ruta,
+                            Histogram latencias, AtomicLong errores) {}
+
+    record Resultado(Histogram latencias, long errores) {
+        double tasaDeError(){
+            return latencias.getTotalCount() == 0 ? 0 : (double) errores / latencias.getTotalCount();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.business_service.business_service.carga;
+
+import com.business_service.business_service.BusinessServiceApplication;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compara throughput y latencia p99 de business-service con hilos de plataforma
+ * (Tomcat limitado a HILOS_PLATAFORMA) y con hilos virtuales, contra un servicio de datos
+ * simulado que tarda DEMORA_MS en responder. Corre sólo con -Pcarga.
+ */
+@Tag("carga")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class VirtualThreadsLoadTest {
+    private static final int DEMORA_MS = 200;
+    private static final int HILOS_PLATAFORMA = 20;
+    private static final int PEDIDOS = 1000;
+    private static final int CONCURRENCIA = 100;
+
+    private WireMockServer dataService;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @BeforeAll
+    void setUp() {
+        dataService = new WireMockServer(options()
+                .dynamicPort()
+                .containerThreads(CONCURRENCIA + 50)
+                .asynchronousResponseEnabled(true)
+                .asynchronousResponseThreads(50)
+                .disableRequestJournal());
+        dataService.start();
+        dataService.stubFor(get(urlPathMatching("/data/inventario/\\d+"))
+                .willReturn(aResponse()
+                        .withFixedDelay(DEMORA_MS)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"id\":1,\"cantidad\":10,\"stockMinimo\":2}")));
+    }
+
+    @AfterAll
+    void tearDown() {
+        dataService.stop();
+    }
+
+    @Test
+    void virtualThreads_outperformPlatformPoolOnBlockingCalls() throws Exception {
+        Resultado plataforma = medir(false);
+        Resultado virtuales = medir(true);
+
+        System.out.printf("%-12s %10s %10s %8s%n", "modo", "pedidos/s", "p99 (ms)", "errores");
+        System.out.printf("%-12s %10.0f %10.1f %8d%n", "plataforma", plataforma.throughput(), plataforma.p99Ms(), plataforma.errores());
+        System.out.printf("%-12s %10.0f %10.1f %8d%n", "virtuales", virtuales.throughput(), virtuales.p99Ms(), virtuales.errores());
+
+        assertEquals(0, plataforma.errores());
+        assertEquals(0, virtuales.errores());
+        assertTrue(virtuales.throughput() > plataforma.throughput());
+    }
+
+    private Resultado medir(boolean hilosVirtuales) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BusinessServiceApplication.class)
+                .run("--server.port=0",
+                        "--data.service.url=http://localhost:" + dataService.port(),
+                        "--spring.threads.virtual.enabled=" + hilosVirtuales,
+                        "--server.tomcat.threads.max=" + HILOS_PLATAFORMA,
+                        "--spring.cache.type=none")) {
+            String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            ejecutar(base, CONCURRENCIA);
+            return ejecutar(base, PEDIDOS);
+        }
+    }
+
+    private Resultado ejecutar(String base, int pedidos) throws Exception {
+        List<Long> latencias = Collections.synchronizedList(new ArrayList<>(pedidos));
+        Semaphore enCurso = new Semaphore(CONCURRENCIA);
+        List<Future<Boolean>> resultados = new ArrayList<>(pedidos);
+        long inicio = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < pedidos; i++) {
+                HttpRequest request = HttpRequest.newBuilder(URI.create(base + "/api/inventario/" + (i % 1000 + 1)))
+                        .timeout(Duration.ofSeconds(30))
+                        .build();
+                enCurso.acquire();
+                resultados.add(executor.submit(() -> {
+                    long t0 = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                        latencias.add(System.nanoTime() - t0);
+                        return response.statusCode() == 200;
+                    } finally {
+                        enCurso.release();
+                    }
+                }));
+            }
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        long errores = 0;
+        for (Future<Boolean> resultado : resultados) {
+            try {
+                if (!resultado.get()) {
+                    errores++;
+                }
+            } catch (Exception e) {
+                errores++;
+            }
+        }
+        List<Long> ordenadas = new ArrayList<>(latencias);
+        Collections.sort(ordenadas);
+        double p99Ms = ordenadas.isEmpty() ? 0 : ordenadas.get((int) Math.ceil(ordenadas.size() * 0.99) - 1) / 1e6;
+        return new Resultado(pedidos / segundos, p99Ms, errores);
+    }
+
+    private record Resultado(double throughput, double p99Ms, long errores) {}
+}
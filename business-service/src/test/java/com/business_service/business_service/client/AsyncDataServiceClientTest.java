@@ -0,0 +1,141 @@
+package com.business_service.business_service.client;
+
+import com.business_service.business_service.dto.CategoriaDTO;
+import com.business_service.business_service.dto.ProductoDTO;
+import com.business_service.business_service.dto.ValorCategoriaDTO;
+import com.business_service.business_service.exception.MicroserviceCommunicationException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import feign.FeignException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncDataServiceClientTest {
+
+    private static final WireMockServer dataService = new WireMockServer(options().dynamicPort());
+
+    private final CircuitBreakerRegistry circuitBreakers = CircuitBreakerRegistry.ofDefaults();
+    private AsyncDataServiceClient cliente;
+
+    @BeforeAll
+    static void start() {
+        dataService.start();
+    }
+
+    @AfterAll
+    static void stop() {
+        dataService.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        dataService.resetAll();
+        cliente = new AsyncDataServiceClient(HttpClient.newHttpClient(), new ObjectMapper(),
+                "http://localhost:" + dataService.port(), circuitBreakers, BulkheadRegistry.ofDefaults(),
+                TimeLimiterRegistry.of(TimeLimiterConfig.custom().timeoutDuration(Duration.ofSeconds(1)).build()),
+                ObservationRegistry.NOOP);
+    }
+
+    @Test
+    void findProductById_decodesBody() {
+        dataService.stubFor(get(urlEqualTo("/data/productos/1"))
+                .willReturn(okJson("{\"id\":1,\"nombre\":\"Producto A\",\"precio\":100.00}")));
+
+        ProductoDTO producto = cliente.findProductById(1L).join();
+
+        assertEquals("Producto A", producto.getNombre());
+        assertEquals(new BigDecimal("100.00"), producto.getPrecio());
+    }
+
+    @Test
+    void findAllCategory_usesDataControllerMapping() {
+        dataService.stubFor(get(urlEqualTo("/data/categoria"))
+                .willReturn(okJson("[{\"id\":1,\"nombre\":\"Electrónica\"}]")));
+
+        List<CategoriaDTO> categorias = cliente.findAllCategory().join();
+
+        assertEquals("Electrónica", categorias.get(0).getNombre());
+        dataService.verify(1, getRequestedFor(urlEqualTo("/data/categoria")));
+    }
+
+    @Test
+    void traducirErrores_mapsNotFoundToDomainExceptionAndOtherErrorsToCommunicationFailure() {
+        dataService.stubFor(get(urlEqualTo("/data/productos/99")).willReturn(aResponse().withStatus(404)));
+        dataService.stubFor(get(urlEqualTo("/data/productos/98")).willReturn(aResponse().withStatus(500)));
+
+        CompletionException noExiste = assertThrows(CompletionException.class, () -> AsyncDataServiceClient
+                .traducirErrores(cliente.findProductById(99L), "error", () -> new IllegalStateException("99")).join());
+        CompletionException caido = assertThrows(CompletionException.class, () -> AsyncDataServiceClient
+                .traducirErrores(cliente.findProductById(98L), "error").join());
+
+        assertInstanceOf(IllegalStateException.class, AsyncDataServiceClient.causa(noExiste));
+        assertInstanceOf(MicroserviceCommunicationException.class, AsyncDataServiceClient.causa(caido));
+    }
+
+    @Test
+    void errorStatus_completesWithSameFeignExceptionAsSyncClient() {
+        dataService.stubFor(get(urlEqualTo("/data/productos/99")).willReturn(aResponse().withStatus(404)));
+
+        CompletionException e = assertThrows(CompletionException.class, () -> cliente.findProductById(99L).join());
+        assertInstanceOf(FeignException.NotFound.class, AsyncDataServiceClient.causa(e));
+    }
+
+    @Test
+    void slowResponse_isCutByTimeLimiterTimeout() {
+        dataService.stubFor(get(urlEqualTo("/data/inventario/valor"))
+                .willReturn(okJson("150.00").withFixedDelay(3000)));
+
+        long inicio = System.nanoTime();
+        CompletionException e = assertThrows(CompletionException.class, () -> cliente.calculateTotalValue().join());
+        assertInstanceOf(MicroserviceCommunicationException.class, AsyncDataServiceClient.causa(e));
+        assertTrue(System.nanoTime() - inicio < TimeUnit.SECONDS.toNanos(2));
+    }
+
+    @Test
+    void openCircuit_failsWithoutCallingDataService() {
+        circuitBreakers.circuitBreaker("findAllCategory").transitionToOpenState();
+
+        CompletionException e = assertThrows(CompletionException.class, () -> cliente.findAllCategory().join());
+        assertInstanceOf(MicroserviceCommunicationException.class, AsyncDataServiceClient.causa(e));
+        dataService.verify(0, getRequestedFor(urlEqualTo("/data/categoria")));
+    }
+
+    @Test
+    void concurrentCalls_takeAsLongAsTheSlowestNotTheSum() {
+        dataService.stubFor(get(urlEqualTo("/data/inventario/valor"))
+                .willReturn(okJson("150.00").withFixedDelay(600)));
+        dataService.stubFor(get(urlEqualTo("/data/categoria"))
+                .willReturn(okJson("[]").withFixedDelay(600)));
+        dataService.stubFor(get(urlEqualTo("/data/inventario/valor/categoria"))
+                .willReturn(okJson("[]").withFixedDelay(600)));
+
+        long inicio = System.nanoTime();
+        CompletableFuture<BigDecimal> valor = cliente.calculateTotalValue();
+        CompletableFuture<List<CategoriaDTO>> categorias = cliente.findAllCategory();
+        CompletableFuture<List<ValorCategoriaDTO>> porCategoria =
+                cliente.calculateTotalValueByCategory();
+        CompletableFuture.allOf(valor, categorias, porCategoria).join();
+
+        assertEquals(new BigDecimal("150.00"), valor.join());
+        assertTrue(System.nanoTime() - inicio < TimeUnit.MILLISECONDS.toNanos(1500));
+    }
+}
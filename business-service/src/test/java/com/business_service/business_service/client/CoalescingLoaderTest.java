@@ -0,0 +1,127 @@
+package com.business_service.business_service.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoalescingLoaderTest {
+
+    private final AtomicInteger llamadasIndividuales = new AtomicInteger();
+    private final List<List<Long>> lotes = new CopyOnWriteArrayList<>();
+    // La búsqueda individual del ID 0 queda en curso hasta que se libera
+    private final CountDownLatch liberar = new CountDownLatch(1);
+
+    private CoalescingLoader<Long> loader(Duration ventana, int tamanioMaximo) {
+        return new CoalescingLoader<>(
+                id -> {
+                    llamadasIndividuales.incrementAndGet();
+                    if (id == 0) {
+                        esperarLiberacion();
+                    }
+                    return id;
+                },
+                ids -> {
+                    lotes.add(ids);
+                    return ids.stream().filter(id -> id > 0).toList();
+                },
+                valor -> valor, ventana, tamanioMaximo);
+    }
+
+    @Test
+    void singleLoad_usesIndividualLookup() {
+        assertEquals(5L, loader(Duration.ZERO, 100).load(5L));
+        assertEquals(1, llamadasIndividuales.get());
+        assertTrue(lotes.isEmpty());
+    }
+
+    @Test
+    void loadWithNothingInFlight_doesNotWaitForWindow() {
+        CoalescingLoader<Long> loader = loader(Duration.ofSeconds(30), 100);
+
+        long inicio = System.nanoTime();
+        assertEquals(5L, loader.load(5L));
+
+        assertTrue(System.nanoTime() - inicio < TimeUnit.SECONDS.toNanos(5));
+        assertEquals(1, llamadasIndividuales.get());
+    }
+
+    @Test
+    void loadsDuringInFlightCall_areMergedIntoOneBatch() throws Exception {
+        CoalescingLoader<Long> loader = loader(Duration.ofMillis(200), 100);
+        int hilos = 8;
+        CountDownLatch inicio = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newFixedThreadPool(hilos + 1)) {
+            Future<Long> enCurso = executor.submit(() -> loader.load(0L));
+            esperarLlamadaIndividual();
+
+            List<Future<Long>> resultados = new CopyOnWriteArrayList<>();
+            for (long id = 1; id <= hilos; id++) {
+                long clave = id;
+                resultados.add(executor.submit(() -> {
+                    inicio.await();
+                    return loader.load(clave);
+                }));
+            }
+            inicio.countDown();
+            for (int i = 0; i < hilos; i++) {
+                assertEquals(i + 1L, resultados.get(i).get());
+            }
+            liberar.countDown();
+            assertEquals(0L, enCurso.get());
+        }
+        assertEquals(1, llamadasIndividuales.get());
+        assertEquals(1, lotes.size());
+        assertEquals(hilos, lotes.get(0).size());
+    }
+
+    @Test
+    void fullBatch_isDispatchedWithoutWaitingForWindowAndMissingIdIsNull() throws Exception {
+        CoalescingLoader<Long> loader = loader(Duration.ofSeconds(30), 2);
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            executor.submit(() -> loader.load(0L));
+            esperarLlamadaIndividual();
+            Future<Long> faltante = executor.submit(() -> loader.load(-1L));
+            Thread.sleep(50);
+            assertEquals(3L, loader.load(3L));
+            // La ventana es de 30 segundos: el lote sale antes porque se llenó
+            assertNull(faltante.get(5, TimeUnit.SECONDS));
+            assertEquals(List.of(-1L, 3L), lotes.get(0));
+            liberar.countDown();
+        }
+    }
+
+    @Test
+    void lookupError_isRethrownToCaller() {
+        CoalescingLoader<Long> loader = new CoalescingLoader<>(
+                id -> { throw new IllegalStateException("caído"); },
+                ids -> List.of(), valor -> valor, Duration.ZERO, 100);
+
+        assertThrows(IllegalStateException.class, () -> loader.load(1L));
+    }
+
+    private void esperarLiberacion() {
+        try {
+            liberar.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void esperarLlamadaIndividual() throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (llamadasIndividuales.get() == 0 && System.nanoTime() < limite) {
+            Thread.sleep(5);
+        }
+    }
+}
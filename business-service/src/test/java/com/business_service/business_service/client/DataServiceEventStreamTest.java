@@ -0,0 +1,112 @@
+package com.business_service.business_service.client;
+
+import com.business_service.business_service.service.InvalidadorCaches;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.matching.RequestPatternBuilder;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+class DataServiceEventStreamTest {
+
+    private static final WireMockServer dataService = new WireMockServer(options().dynamicPort());
+
+    private final InvalidadorCaches invalidadorCaches = mock(InvalidadorCaches.class);
+    private DataServiceEventStream eventStream;
+
+    @BeforeAll
+    static void start() {
+        dataService.start();
+    }
+
+    @AfterAll
+    static void stop() {
+        dataService.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        dataService.resetAll();
+        eventStream = new DataServiceEventStream(HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build(),
+                JsonMapper.builder().findAndAddModules().build(),
+                "http://localhost:" + dataService.port(), invalidadorCaches, Duration.ofMillis(200));
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventStream.stop();
+    }
+
+    @Test
+    void changes_evictCachesAndReconnectWithLastEventId() throws Exception {
+        dataService.stubFor(get(urlEqualTo("/data/eventos")).atPriority(2)
+                .willReturn(sse(": suscripto\n\n" + cambio(5, "PRODUCTO", 1))));
+        dataService.stubFor(get(urlEqualTo("/data/eventos")).atPriority(1)
+                .withHeader("Last-Event-ID", equalTo("5"))
+                .willReturn(sse(cambio(6, "INVENTARIO", 2))));
+
+        eventStream.start();
+
+        verify(invalidadorCaches, timeout(5000)).aplicar(argThat(evento -> evento.getPosicion() == 5 && evento.getEntidadId() == 1));
+        verify(invalidadorCaches, timeout(5000).atLeastOnce())
+                .aplicar(argThat(evento -> evento.getPosicion() == 6 && evento.getEntidad().equals("INVENTARIO")));
+        // Sólo la primera conexión, sin posición desde la que retomar, vacía las caches
+        verify(invalidadorCaches, times(1)).limpiarTodo();
+        esperarPedidos(getRequestedFor(urlEqualTo("/data/eventos")).withHeader("Last-Event-ID", equalTo("5")), 1);
+    }
+
+    @Test
+    void reinicio_clearsCaches() throws Exception {
+        dataService.stubFor(get(urlEqualTo("/data/eventos")).atPriority(2)
+                .willReturn(sse(cambio(3, "PRODUCTO", 1))));
+        dataService.stubFor(get(urlEqualTo("/data/eventos")).atPriority(1)
+                .withHeader("Last-Event-ID", equalTo("3"))
+                .willReturn(sse("id:40\nevent:reinicio\ndata:40\n\n")));
+
+        eventStream.start();
+
+        verify(invalidadorCaches, timeout(5000).atLeast(2)).limpiarTodo();
+        esperarPedidos(getRequestedFor(urlEqualTo("/data/eventos")).withHeader("Last-Event-ID", equalTo("40")), 1);
+    }
+
+    @Test
+    void unavailableDataService_retriesWithoutTouchingCaches() throws Exception {
+        dataService.stubFor(get(urlEqualTo("/data/eventos")).willReturn(aResponse().withStatus(503)));
+
+        eventStream.start();
+
+        esperarPedidos(getRequestedFor(urlEqualTo("/data/eventos")), 3);
+        verifyNoInteractions(invalidadorCaches);
+    }
+
+    private static void esperarPedidos(RequestPatternBuilder pedido, int minimo) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (dataService.findAll(pedido).size() < minimo && System.nanoTime() < limite) {
+            Thread.sleep(50);
+        }
+        assertTrue(dataService.findAll(pedido).size() >= minimo, "data-service no recibió " + minimo + " pedidos");
+    }
+
+    private static ResponseDefinitionBuilder sse(String cuerpo) {
+        return aResponse().withStatus(200).withHeader("Content-Type", "text/event-stream").withBody(cuerpo);
+    }
+
+    private static String cambio(long posicion, String entidad, long entidadId) {
+        return "id:" + posicion + "\nevent:cambio\ndata:{\"posicion\":" + posicion + ",\"entidad\":\"" + entidad
+                + "\",\"entidadId\":" + entidadId + ",\"operacion\":\"ACTUALIZADO\",\"fecha\":\"2025-01-01T10:00:00\"}\n\n";
+    }
+}
@@ -0,0 +1,186 @@
+package com.business_service.business_service.client;
+
+import com.business_service.business_service.exception.MicroserviceCommunicationException;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import feign.FeignException;
+import feign.InvocationHandlerFactory;
+import feign.Request;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResilientClientCapabilityTest {
+
+    interface Cliente {
+        @GetMapping("/leer/{id}")
+        String leer(Long id);
+
+        @PostMapping("/escribir/{id}")
+        String escribir(Long id);
+    }
+
+    private static final Request REQUEST = Request.create(Request.HttpMethod.GET, "/leer/1", Map.of(), null,
+            StandardCharsets.UTF_8, null);
+
+    private final AtomicInteger llamadas = new AtomicInteger();
+    private final CircuitBreakerRegistry circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+            .slidingWindowSize(4)
+            .minimumNumberOfCalls(4)
+            .failureRateThreshold(50)
+            .waitDurationInOpenState(Duration.ofMinutes(1))
+            .ignoreExceptions(FeignException.FeignClientException.class)
+            .build());
+    private final BulkheadRegistry bulkheads = BulkheadRegistry.of(BulkheadConfig.custom()
+            .maxConcurrentCalls(1)
+            .maxWaitDuration(Duration.ZERO)
+            .build());
+    private final TimeLimiterRegistry timeLimiters = TimeLimiterRegistry.of(TimeLimiterConfig.custom()
+            .timeoutDuration(Duration.ofMillis(200))
+            .build());
+
+    private Cliente cliente(Function<Object[], Object> respuesta) {
+        ResilientClientCapability capability = new ResilientClientCapability(circuitBreakers, bulkheads, timeLimiters,
+                Caffeine.newBuilder().build());
+        InvocationHandlerFactory feign = (target, dispatch) -> (proxy, method, args) -> {
+            llamadas.incrementAndGet();
+            return respuesta.apply(args);
+        };
+        InvocationHandler handler = capability.enrich(feign).create(null, Map.of());
+        return (Cliente) Proxy.newProxyInstance(Cliente.class.getClassLoader(), new Class<?>[]{Cliente.class}, handler);
+    }
+
+    @Test
+    void success_passesThrough() {
+        assertEquals("producto 1", cliente(args -> "producto " + args[0]).leer(1L));
+        assertEquals(1, llamadas.get());
+    }
+
+    @Test
+    void clientError_isRethrownAndDoesNotOpenCircuit() {
+        Cliente cliente = cliente(args -> {
+            throw new FeignException.NotFound("no existe", REQUEST, null, null);
+        });
+
+        for (int i = 0; i < 10; i++) {
+            assertThrows(FeignException.NotFound.class, () -> cliente.escribir(1L));
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreakers.circuitBreaker("escribir").getState());
+        assertEquals(10, llamadas.get());
+    }
+
+    @Test
+    void openCircuit_failsFastWithoutCallingDataService() {
+        Cliente cliente = cliente(args -> {
+            throw new FeignException.InternalServerError("error", REQUEST, null, null);
+        });
+        for (int i = 0; i < 4; i++) {
+            assertThrows(FeignException.InternalServerError.class, () -> cliente.escribir(1L));
+        }
+
+        assertThrows(MicroserviceCommunicationException.class, () -> cliente.escribir(1L));
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreakers.circuitBreaker("escribir").getState());
+        assertEquals(4, llamadas.get());
+    }
+
+    @Test
+    void circuitsAreIndependentPerMethod() {
+        circuitBreakers.circuitBreaker("escribir").transitionToOpenState();
+
+        assertEquals("producto 1", cliente(args -> "producto " + args[0]).leer(1L));
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreakers.circuitBreaker("leer").getState());
+    }
+
+    @Test
+    void slowCall_isCutByTimeLimiter() {
+        Cliente cliente = cliente(args -> {
+            try {
+                Thread.sleep(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "tarde";
+        });
+
+        long inicio = System.nanoTime();
+        assertThrows(MicroserviceCommunicationException.class, () -> cliente.escribir(1L));
+        assertTrue(System.nanoTime() - inicio < TimeUnit.SECONDS.toNanos(2));
+    }
+
+    @Test
+    void fullBulkhead_rejectsImmediately() throws Exception {
+        CountDownLatch enCurso = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        timeLimiters.replace("escribir", timeLimiters.timeLimiter("escribir",
+                TimeLimiterConfig.custom().timeoutDuration(Duration.ofSeconds(10)).build()));
+        Cliente cliente = cliente(args -> {
+            enCurso.countDown();
+            try {
+                liberar.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "ok";
+        });
+
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            Future<String> primera = executor.submit(() -> cliente.escribir(1L));
+            assertTrue(enCurso.await(5, TimeUnit.SECONDS));
+
+            assertThrows(MicroserviceCommunicationException.class, () -> cliente.escribir(2L));
+            liberar.countDown();
+            assertEquals("ok", primera.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, llamadas.get());
+    }
+
+    @Test
+    void failedRead_servesLastKnownResponseForSameArguments() {
+        AtomicInteger intentos = new AtomicInteger();
+        Cliente cliente = cliente(args -> {
+            if (intentos.incrementAndGet() > 1) {
+                throw new FeignException.ServiceUnavailable("caído", REQUEST, null, null);
+            }
+            return "producto " + args[0];
+        });
+
+        assertEquals("producto 1", cliente.leer(1L));
+        assertEquals("producto 1", cliente.leer(1L));
+        assertThrows(FeignException.ServiceUnavailable.class, () -> cliente.leer(2L));
+    }
+
+    @Test
+    void failedWrite_isNotServedFromPreviousResponse() {
+        AtomicInteger intentos = new AtomicInteger();
+        Cliente cliente = cliente(args -> {
+            if (intentos.incrementAndGet() > 1) {
+                throw new FeignException.ServiceUnavailable("caído", REQUEST, null, null);
+            }
+            return "guardado";
+        });
+
+        assertEquals("guardado", cliente.escribir(1L));
+        assertThrows(FeignException.ServiceUnavailable.class, () -> cliente.escribir(1L));
+    }
+}
@@ -4,6 +4,8 @@ import com.business_service.business_service.dto.CategoriaDTO;
 import com.business_service.business_service.dto.ProductoRequest;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.tomakehurst.wiremock.WireMockServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -15,10 +17,13 @@ import java.math.BigDecimal;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.cache.type=none", "business.eventos.habilitado=false"})
 @AutoConfigureMockMvc
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 class BusinessServiceCommunicationTest {
@@ -29,6 +34,9 @@ class BusinessServiceCommunicationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private WireMockServer wireMockServer;
 
     @BeforeAll
@@ -64,7 +72,7 @@ class BusinessServiceCommunicationTest {
 
     @Test
     void POSTProduct_success() throws Exception {
-        ProductoRequest request = new ProductoRequest("Producto B","Desc B", BigDecimal.valueOf(15),5,1L);
+        ProductoRequest request = new ProductoRequest("Producto B","Desc B", BigDecimal.valueOf(15),5,1L, null);
 
         wireMockServer.stubFor(com.github.tomakehurst.wiremock.client.WireMock.post(
                         urlEqualTo("/data/productos"))
@@ -85,7 +93,7 @@ class BusinessServiceCommunicationTest {
 
     @Test
     void PUTProduct_success() throws Exception {
-        ProductoRequest request = new ProductoRequest("Producto D","Desc D", BigDecimal.valueOf(20),10,1L);
+        ProductoRequest request = new ProductoRequest("Producto D","Desc D", BigDecimal.valueOf(20),10,1L, null);
 
         wireMockServer.stubFor(com.github.tomakehurst.wiremock.client.WireMock.put(
                         urlEqualTo("/data/productos/1"))
@@ -127,20 +135,41 @@ class BusinessServiceCommunicationTest {
 
     @Test
     void GETProductById_serviceUnavailable() throws Exception {
+        // Un ID que ningún otro test leyó, para que no haya una respuesta previa que servir
         wireMockServer.stubFor(com.github.tomakehurst.wiremock.client.WireMock.get(
-                        com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo("/data/productos/1"))
+                        com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo("/data/productos/2"))
                 .willReturn(com.github.tomakehurst.wiremock.client.WireMock.aResponse()
                         .withStatus(500)));
 
-        mockMvc.perform(get("/api/productos/1"))
+        mockMvc.perform(get("/api/productos/2"))
                 .andExpect(status().isServiceUnavailable())
                 .andExpect(jsonPath("$.error").value("Error de comunicación con el servicio de datos"));
     }
 
+    @Test
+    void GETProductById_serviceError_servesLastKnownResponse() throws Exception {
+        wireMockServer.stubFor(com.github.tomakehurst.wiremock.client.WireMock.get(
+                        urlEqualTo("/data/productos/3"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"id\":3,\"nombre\":\"Producto C\",\"precio\":10}")));
+        mockMvc.perform(get("/api/productos/3"))
+                .andExpect(status().isOk());
+
+        wireMockServer.stubFor(com.github.tomakehurst.wiremock.client.WireMock.get(
+                        urlEqualTo("/data/productos/3"))
+                .willReturn(aResponse().withStatus(500)));
+
+        mockMvc.perform(get("/api/productos/3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nombre").value("Producto C"));
+    }
+
     @Test
     void POSTProduct_validationError() throws Exception {
         // Precio negativo para disparar ValidacionNegocioException
-        ProductoRequest request = new ProductoRequest("Producto X","Desc", BigDecimal.valueOf(-10),5,1L);
+        ProductoRequest request = new ProductoRequest("Producto X","Desc", BigDecimal.valueOf(-10),5,1L, null);
 
         mockMvc.perform(post("/api/productos")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -155,7 +184,7 @@ class BusinessServiceCommunicationTest {
     @Test
     void GETAllCategories_success() throws Exception {
         wireMockServer.stubFor(com.github.tomakehurst.wiremock.client.WireMock.get(
-                        urlEqualTo("/data/categorias"))
+                        urlEqualTo("/data/categoria"))
                 .willReturn(aResponse()
                         .withStatus(200)
                         .withHeader("Content-Type", "application/json")
@@ -172,7 +201,7 @@ class BusinessServiceCommunicationTest {
         CategoriaDTO categoria = new CategoriaDTO(null,"Cat C","Desc C");
 
         wireMockServer.stubFor(com.github.tomakehurst.wiremock.client.WireMock.put(
-                        urlEqualTo("/data/categorias/1"))
+                        urlEqualTo("/data/categoria/1"))
                 .withRequestBody(com.github.tomakehurst.wiremock.client.WireMock.equalToJson(
                         objectMapper.writeValueAsString(categoria)))
                 .willReturn(aResponse()
@@ -190,7 +219,7 @@ class BusinessServiceCommunicationTest {
     @Test
     void DELETECategory_success() throws Exception {
         wireMockServer.stubFor(com.github.tomakehurst.wiremock.client.WireMock.delete(
-                        urlEqualTo("/data/categorias/1"))
+                        urlEqualTo("/data/categoria/1"))
                 .willReturn(aResponse().withStatus(204)));
 
         mockMvc.perform(delete("/api/categorias/1"))
@@ -224,5 +253,26 @@ class BusinessServiceCommunicationTest {
                 .andExpect(jsonPath("$.error").value("Inventario no encontrado"));
     }
 
+    //================ METRICAS =================//
 
+    @Test
+    void feignCalls_recordTimerByClientMethodAndStatus() throws Exception {
+        wireMockServer.stubFor(com.github.tomakehurst.wiremock.client.WireMock.get(
+                        urlEqualTo("/data/inventario/valor"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("150.00")));
+
+        mockMvc.perform(get("/api/inventario/valor"))
+                .andExpect(status().isOk());
+
+        Timer timer = meterRegistry.find("http.client.requests")
+                .tag("method", "calculateTotalValue")
+                .tag("http.status_code", "200")
+                .tag("http.url", "/data/inventario/valor")
+                .timer();
+        assertNotNull(timer);
+        assertTrue(timer.count() >= 1);
+    }
 }
@@ -0,0 +1,59 @@
+package com.business_service.business_service.communication;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.matching;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.cache.type=none")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class TracingPropagationTest {
+
+    private static final WireMockServer dataService = new WireMockServer(options().dynamicPort());
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @DynamicPropertySource
+    static void dataServiceUrl(DynamicPropertyRegistry registry) {
+        dataService.start();
+        registry.add("data.service.url", () -> "http://localhost:" + dataService.port());
+    }
+
+    @AfterAll
+    static void tearDown() {
+        dataService.stop();
+    }
+
+    @Test
+    void feignCall_propagatesIncomingTraceToDataService() throws Exception {
+        dataService.stubFor(com.github.tomakehurst.wiremock.client.WireMock.get(urlEqualTo("/data/inventario/valor"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("150.00")));
+        String traceId = "4bf92f3577b34da6a3ce929d0e0e4736";
+
+        mockMvc.perform(get("/api/inventario/valor")
+                        .header("traceparent", "00-" + traceId + "-00f067aa0ba902b7-01"))
+                .andExpect(status().isOk());
+
+        dataService.verify(getRequestedFor(urlEqualTo("/data/inventario/valor"))
+                .withHeader("traceparent", matching("00-" + traceId + "-[0-9a-f]{16}-01")));
+    }
+}
@@ -0,0 +1,114 @@
+package com.business_service.business_service.config;
+
+import com.business_service.business_service.client.DataServiceClient;
+import com.business_service.business_service.dto.CategoriaDTO;
+import com.business_service.business_service.dto.InventarioDTO;
+import com.business_service.business_service.dto.ProductoDTO;
+import com.business_service.business_service.dto.ProductoRequest;
+import com.business_service.business_service.service.CategoriaBusinessService;
+import com.business_service.business_service.service.InventarioBusinessService;
+import com.business_service.business_service.service.ProductoBusinessService;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(properties = "business.eventos.habilitado=false")
+class CacheConfigTest {
+
+    @MockitoBean
+    private DataServiceClient dataServiceClient;
+
+    @Autowired
+    private ProductoBusinessService productoBusinessService;
+
+    @Autowired
+    private CategoriaBusinessService categoriaBusinessService;
+
+    @Autowired
+    private InventarioBusinessService inventarioBusinessService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(nombre -> cacheManager.getCache(nombre).clear());
+    }
+
+    @Test
+    void findProductById_isServedFromCacheUntilUpdated() {
+        ProductoDTO producto = new ProductoDTO();
+        producto.setId(1L);
+        when(dataServiceClient.findProductById(1L)).thenReturn(producto);
+        when(dataServiceClient.updateProduct(eq(1L), any())).thenReturn(producto);
+
+        productoBusinessService.findProductById(1L);
+        productoBusinessService.findProductById(1L);
+        verify(dataServiceClient, times(1)).findProductById(1L);
+
+        productoBusinessService.updateProduct(1L, new ProductoRequest("A", "", BigDecimal.TEN, 5, 1L, null));
+        productoBusinessService.findProductById(1L);
+        verify(dataServiceClient, times(2)).findProductById(1L);
+    }
+
+    @Test
+    void updateInventory_evictsOnlyThatProduct() {
+        when(dataServiceClient.findProductById(anyLong())).thenReturn(new ProductoDTO());
+        when(dataServiceClient.findInventoriesByProductId(1L)).thenReturn(new InventarioDTO());
+
+        productoBusinessService.findProductById(1L);
+        productoBusinessService.findProductById(2L);
+        inventarioBusinessService.findInventoriesByProductId(1L);
+
+        inventarioBusinessService.updateInventory(1L, 3);
+
+        productoBusinessService.findProductById(1L);
+        productoBusinessService.findProductById(2L);
+        inventarioBusinessService.findInventoriesByProductId(1L);
+        verify(dataServiceClient, times(2)).findProductById(1L);
+        verify(dataServiceClient, times(1)).findProductById(2L);
+        verify(dataServiceClient, times(2)).findInventoriesByProductId(1L);
+    }
+
+    @Test
+    void updateCategory_evictsCategoriesAndProducts() {
+        when(dataServiceClient.findAllCategory()).thenReturn(List.of(new CategoriaDTO()));
+        when(dataServiceClient.findProductById(1L)).thenReturn(new ProductoDTO());
+
+        categoriaBusinessService.findAllCategory();
+        productoBusinessService.findProductById(1L);
+        categoriaBusinessService.updateCategory(1L, new CategoriaDTO());
+        categoriaBusinessService.findAllCategory();
+        productoBusinessService.findProductById(1L);
+
+        verify(dataServiceClient, times(2)).findAllCategory();
+        verify(dataServiceClient, times(2)).findProductById(1L);
+    }
+
+    @Test
+    void caches_recordHitsAndMisses() {
+        when(dataServiceClient.findAllCategory()).thenReturn(List.of());
+        CaffeineCache cache = (CaffeineCache) cacheManager.getCache(CacheConfig.CATEGORIAS);
+        CacheStats antes = cache.getNativeCache().stats();
+
+        categoriaBusinessService.findAllCategory();
+        categoriaBusinessService.findAllCategory();
+
+        CacheStats stats = cache.getNativeCache().stats().minus(antes);
+        assertEquals(1, stats.hitCount());
+        assertEquals(1, stats.missCount());
+    }
+}
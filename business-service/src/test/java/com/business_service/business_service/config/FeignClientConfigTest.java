@@ -0,0 +1,36 @@
+package com.business_service.business_service.config;
+
+import feign.Client;
+import feign.hc5.ApacheHttp5Client;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class FeignClientConfigTest {
+
+    @Autowired
+    private Client feignClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void feignUsesPooledHttpClient5() {
+        assertInstanceOf(ApacheHttp5Client.class, feignClient);
+    }
+
+    @Test
+    void connectionPoolMetricsArePublished() {
+        Gauge maximo = meterRegistry.find("httpcomponents.httpclient.pool.total.max")
+                .tag("httpclient", "data-service")
+                .gauge();
+
+        assertNotNull(maximo);
+        assertEquals(200, maximo.value());
+    }
+}
@@ -1,11 +1,22 @@
 package com.business_service.business_service.controller;
 
 
+import com.business_service.business_service.dto.ReservaDTO;
+import com.business_service.business_service.dto.ReservaRequest;
+import com.business_service.business_service.dto.DisponibilidadDTO;
 import com.business_service.business_service.dto.CategoriaDTO;
 import com.business_service.business_service.dto.ProductoDTO;
 import com.business_service.business_service.dto.InventarioDTO;
+import com.business_service.business_service.dto.ErrorCargaDTO;
+import com.business_service.business_service.dto.PaginaDTO;
 import com.business_service.business_service.dto.ProductoRequest;
+import com.business_service.business_service.dto.ResultadoCargaDTO;
+import com.business_service.business_service.dto.ResumenCatalogoDTO;
+import com.business_service.business_service.dto.ValorCategoriaDTO;
+import com.business_service.business_service.exception.ReservaNoVigente;
+import com.business_service.business_service.exception.MicroserviceCommunicationException;
 import com.business_service.business_service.exception.ProductoNoEncontrado;
+import com.business_service.business_service.exception.StockInsuficiente;
 import com.business_service.business_service.exception.ValidacionNegocioException;
 import com.business_service.business_service.service.CategoriaBusinessService;
 import com.business_service.business_service.service.InventarioBusinessService;
@@ -18,9 +29,13 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayInputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -55,12 +70,40 @@ public class BusinessControllerTest {
         producto.setId(1L);
         producto.setNombre("Producto A");
 
-        when(productoBusinessService.findAllProducts()).thenReturn(List.of(producto));
+        when(productoBusinessService.findAllProducts(0, 20, null))
+                .thenReturn(new PaginaDTO<>(List.of(producto), 0, 20, 1L, 1, null));
 
         mockMvc.perform(get("/api/productos")
+                        .param("page", "0")
+                        .param("size", "20")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].nombre").value("Producto A"));
+                .andExpect(jsonPath("$.contenido[0].nombre").value("Producto A"))
+                .andExpect(jsonPath("$.totalElementos").value(1));
+    }
+
+    @Test
+    void GETExportProducts_streamsDataServiceBody() throws Exception {
+        String ndjson = "{\"id\":1,\"nombre\":\"Producto A\"}\n{\"id\":2,\"nombre\":\"Producto B\"}\n";
+        when(productoBusinessService.exportProducts())
+                .thenReturn(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        MvcResult result = mockMvc.perform(get("/api/productos/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(ndjson));
+    }
+
+    @Test
+    void GETExportProducts_serviceUnavailable() throws Exception {
+        when(productoBusinessService.exportProducts()).thenThrow(new MicroserviceCommunicationException());
+
+        mockMvc.perform(get("/api/productos/export"))
+                .andExpect(status().isServiceUnavailable());
     }
 
     @Test
@@ -109,6 +152,25 @@ public class BusinessControllerTest {
                 .andExpect(jsonPath("$.nombre").value("Producto A"));
     }
 
+    @Test
+    void POSTBulkProducts_returnsResultWithRejectedRows() throws Exception {
+        ProductoRequest request = new ProductoRequest();
+        request.setNombre("Producto A");
+        request.setPrecio(BigDecimal.ZERO);
+        request.setStock(5);
+        request.setCategoriaId(1L);
+
+        when(productoBusinessService.saveProducts(any())).thenReturn(new ResultadoCargaDTO(1, 0,
+                List.of(new ErrorCargaDTO(0, "El precio debe ser mayor a cero"))));
+
+        mockMvc.perform(post("/api/productos/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(request))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.creados").value(0))
+                .andExpect(jsonPath("$.errores[0].detalle").value("El precio debe ser mayor a cero"));
+    }
+
     @Test
     void POSTProduct_invalidPrice_returnsBadRequest() throws Exception {
         ProductoRequest request = new ProductoRequest();
@@ -233,4 +295,131 @@ public class BusinessControllerTest {
                 .andExpect(jsonPath("$.cantidad").value(5));
     }
 
+    @Test
+    void POSTDecrementStock_returnsInventoryAndStatus200() throws Exception {
+        InventarioDTO inv = new InventarioDTO();
+        inv.setCantidad(8);
+        when(inventarioBusinessService.decrementStock(1L, 2)).thenReturn(inv);
+
+        mockMvc.perform(post("/api/inventario/1/decrement").param("cantidad", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cantidad").value(8));
+    }
+
+    @Test
+    void GETAvailability_returnsAvailable() throws Exception {
+        when(inventarioBusinessService.checkAvailability(1L, 3)).thenReturn(new DisponibilidadDTO(1L, 10L, true));
+
+        mockMvc.perform(get("/api/inventario/1/disponibilidad").param("cantidad", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.available").value(true));
+    }
+
+    @Test
+    void POSTReservation_returns201() throws Exception {
+        ReservaDTO reserva = new ReservaDTO(7L, 1L, 2, "PENDIENTE", null, null);
+        when(inventarioBusinessService.reserveStock(any(ReservaRequest.class))).thenReturn(reserva);
+
+        mockMvc.perform(post("/api/reservas")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"productoId\":1,\"cantidad\":2}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(7))
+                .andExpect(jsonPath("$.estado").value("PENDIENTE"));
+    }
+
+    @Test
+    void POSTConfirmExpiredReservation_returns409() throws Exception {
+        when(inventarioBusinessService.confirmReservation(7L)).thenThrow(new ReservaNoVigente(7L));
+
+        mockMvc.perform(post("/api/reservas/7/confirmar"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void POSTDecrementStock_insufficientStockReturns409() throws Exception {
+        when(inventarioBusinessService.decrementStock(1L, 99)).thenThrow(new StockInsuficiente(1L, 99));
+
+        mockMvc.perform(post("/api/inventario/1/decrement").param("cantidad", "99"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void GETTotalInventoryValue_returnsValueAndStatus200() throws Exception {
+        when(inventarioBusinessService.calculateTotalValue()).thenReturn(new BigDecimal("1500.00"));
+
+        mockMvc.perform(get("/api/inventario/valor"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalValue").value(1500.00));
+    }
+
+    @Test
+    void GETInventoryValueByCategory_returnsListAndStatus200() throws Exception {
+        when(inventarioBusinessService.calculateTotalValueByCategory())
+                .thenReturn(List.of(new ValorCategoriaDTO("Categoria A", 2L, new BigDecimal("250.00"))));
+
+        mockMvc.perform(get("/api/inventario/valor/categoria"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].categoriaNombre").value("Categoria A"));
+    }
+
+    //================ ASYNC =================//
+
+    @Test
+    void GETProductByIdAsync_returnsProductAndStatus200() throws Exception {
+        ProductoDTO producto = new ProductoDTO();
+        producto.setId(1L);
+        producto.setNombre("Producto A");
+        when(productoBusinessService.findProductByIdAsync(1L)).thenReturn(CompletableFuture.completedFuture(producto));
+
+        MvcResult result = mockMvc.perform(get("/api/async/productos/1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nombre").value("Producto A"));
+    }
+
+    @Test
+    void GETProductByIdAsync_notFound() throws Exception {
+        when(productoBusinessService.findProductByIdAsync(99L))
+                .thenReturn(CompletableFuture.failedFuture(new ProductoNoEncontrado(99L)));
+
+        MvcResult result = mockMvc.perform(get("/api/async/productos/99"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void GETCatalogSummaryAsync_returnsSummaryAndStatus200() throws Exception {
+        ResumenCatalogoDTO resumen = new ResumenCatalogoDTO(List.of(new CategoriaDTO()), new BigDecimal("250.00"),
+                List.of(new ValorCategoriaDTO("Categoria A", 2L, new BigDecimal("250.00"))));
+        when(inventarioBusinessService.getCatalogSummaryAsync()).thenReturn(CompletableFuture.completedFuture(resumen));
+
+        MvcResult result = mockMvc.perform(get("/api/async/resumen"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.valorTotal").value(250.00))
+                .andExpect(jsonPath("$.valorPorCategoria[0].categoriaNombre").value("Categoria A"));
+    }
+
+    @Test
+    void GETCatalogSummaryAsync_serviceUnavailable() throws Exception {
+        when(inventarioBusinessService.getCatalogSummaryAsync())
+                .thenReturn(CompletableFuture.failedFuture(new MicroserviceCommunicationException()));
+
+        MvcResult result = mockMvc.perform(get("/api/async/resumen"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isServiceUnavailable());
+    }
 }
@@ -0,0 +1,74 @@
+package com.business_service.business_service.service;
+
+import com.business_service.business_service.config.CacheConfig;
+import com.business_service.business_service.dto.EventoCambioDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InvalidadorCachesTest {
+
+    private final CacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.PRODUCTOS,
+            CacheConfig.CATEGORIAS, CacheConfig.INVENTARIOS);
+    private final InvalidadorCaches invalidadorCaches = new InvalidadorCaches(cacheManager);
+
+    @BeforeEach
+    void setUp() {
+        for (long id = 1; id <= 2; id++) {
+            cacheManager.getCache(CacheConfig.PRODUCTOS).put(id, "producto " + id);
+            cacheManager.getCache(CacheConfig.INVENTARIOS).put(id, "inventario " + id);
+        }
+        cacheManager.getCache(CacheConfig.CATEGORIAS).put("todas", "categorias");
+    }
+
+    @Test
+    void productChange_evictsProductAndInventory() {
+        invalidadorCaches.aplicar(evento("PRODUCTO", 1L, "ACTUALIZADO"));
+
+        assertNull(cacheManager.getCache(CacheConfig.PRODUCTOS).get(1L));
+        assertNull(cacheManager.getCache(CacheConfig.INVENTARIOS).get(1L));
+        assertNotNull(cacheManager.getCache(CacheConfig.PRODUCTOS).get(2L));
+        assertNotNull(cacheManager.getCache(CacheConfig.CATEGORIAS).get("todas"));
+    }
+
+    @Test
+    void inventoryChange_evictsByProductId() {
+        invalidadorCaches.aplicar(evento("INVENTARIO", 2L, "ACTUALIZADO"));
+
+        assertNull(cacheManager.getCache(CacheConfig.INVENTARIOS).get(2L));
+        assertNull(cacheManager.getCache(CacheConfig.PRODUCTOS).get(2L));
+        assertNotNull(cacheManager.getCache(CacheConfig.INVENTARIOS).get(1L));
+    }
+
+    @Test
+    void categoryUpdate_clearsCategoriesAndProducts() {
+        invalidadorCaches.aplicar(evento("CATEGORIA", 7L, "ACTUALIZADO"));
+
+        assertNull(cacheManager.getCache(CacheConfig.CATEGORIAS).get("todas"));
+        assertNull(cacheManager.getCache(CacheConfig.PRODUCTOS).get(1L));
+        assertNotNull(cacheManager.getCache(CacheConfig.INVENTARIOS).get(1L));
+    }
+
+    @Test
+    void categoryDeletion_alsoClearsInventories() {
+        invalidadorCaches.aplicar(evento("CATEGORIA", 7L, "ELIMINADO"));
+
+        assertNull(cacheManager.getCache(CacheConfig.INVENTARIOS).get(1L));
+    }
+
+    @Test
+    void unknownEntity_clearsEverything() {
+        invalidadorCaches.aplicar(evento("RESERVA", 1L, "CREADO"));
+
+        assertNull(cacheManager.getCache(CacheConfig.PRODUCTOS).get(2L));
+        assertNull(cacheManager.getCache(CacheConfig.INVENTARIOS).get(2L));
+        assertNull(cacheManager.getCache(CacheConfig.CATEGORIAS).get("todas"));
+    }
+
+    private EventoCambioDTO evento(String entidad, Long entidadId, String operacion) {
+        return new EventoCambioDTO(1L, entidad, entidadId, operacion, null);
+    }
+}
@@ -1,8 +1,18 @@
 package com.business_service.business_service.service;
 
+import com.business_service.business_service.client.AsyncDataServiceClient;
 import com.business_service.business_service.client.DataServiceClient;
+import com.business_service.business_service.dto.ReservaRequest;
+import com.business_service.business_service.dto.DisponibilidadDTO;
+import com.business_service.business_service.dto.CategoriaDTO;
 import com.business_service.business_service.dto.InventarioDTO;
+import com.business_service.business_service.dto.ResumenCatalogoDTO;
+import com.business_service.business_service.dto.ValorCategoriaDTO;
+import com.business_service.business_service.exception.ReservaNoEncontrada;
+import com.business_service.business_service.exception.ReservaNoVigente;
 import com.business_service.business_service.exception.InventarioNoEncontrado;
+import com.business_service.business_service.exception.StockInsuficiente;
+import com.business_service.business_service.exception.ValidacionNegocioException;
 import com.business_service.business_service.exception.MicroserviceCommunicationException;
 import feign.FeignException;
 import org.junit.jupiter.api.Test;
@@ -11,7 +21,10 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -22,6 +35,9 @@ class InventarioBusinessServiceTest {
     @Mock
     private DataServiceClient dataServiceClient;
 
+    @Mock
+    private AsyncDataServiceClient asyncDataServiceClient;
+
     @InjectMocks
     private InventarioBusinessService inventarioBusinessService;
 
@@ -64,6 +80,82 @@ class InventarioBusinessServiceTest {
                 () -> inventarioBusinessService.findInventoriesByProductId(1L));
     }
 
+    @Test
+    void decrementStock_success() {
+        InventarioDTO dto = new InventarioDTO();
+        when(dataServiceClient.decrementStock(1L, 2)).thenReturn(dto);
+
+        assertEquals(dto, inventarioBusinessService.decrementStock(1L, 2));
+    }
+
+    @Test
+    void decrementStock_conflictMapsToStockInsuficiente() {
+        when(dataServiceClient.decrementStock(1L, 2)).thenThrow(FeignException.Conflict.class);
+
+        assertThrows(StockInsuficiente.class, () -> inventarioBusinessService.decrementStock(1L, 2));
+    }
+
+    @Test
+    void checkAvailability_success() {
+        DisponibilidadDTO dto = new DisponibilidadDTO(1L, 10L, true);
+        when(dataServiceClient.checkAvailability(1L, 3)).thenReturn(dto);
+
+        assertEquals(dto, inventarioBusinessService.checkAvailability(1L, 3));
+    }
+
+    @Test
+    void checkAvailability_notFound() {
+        when(dataServiceClient.checkAvailability(1L, 3)).thenThrow(FeignException.NotFound.class);
+
+        assertThrows(InventarioNoEncontrado.class, () -> inventarioBusinessService.checkAvailability(1L, 3));
+    }
+
+    @Test
+    void reserveStock_conflictMapsToStockInsuficiente() {
+        ReservaRequest request = new ReservaRequest(1L, 5, null);
+        when(dataServiceClient.reserveStock(request)).thenThrow(FeignException.Conflict.class);
+
+        assertThrows(StockInsuficiente.class, () -> inventarioBusinessService.reserveStock(request));
+    }
+
+    @Test
+    void reserveStock_invalidCantidad() {
+        assertThrows(ValidacionNegocioException.class,
+                () -> inventarioBusinessService.reserveStock(new ReservaRequest(1L, 0, null)));
+        verifyNoInteractions(dataServiceClient);
+    }
+
+    @Test
+    void confirmReservation_conflictMapsToReservaNoVigente() {
+        when(dataServiceClient.confirmReservation(7L)).thenThrow(FeignException.Conflict.class);
+
+        assertThrows(ReservaNoVigente.class, () -> inventarioBusinessService.confirmReservation(7L));
+    }
+
+    @Test
+    void releaseReservation_notFound() {
+        when(dataServiceClient.releaseReservation(7L)).thenThrow(FeignException.NotFound.class);
+
+        assertThrows(ReservaNoEncontrada.class, () -> inventarioBusinessService.releaseReservation(7L));
+    }
+
+    @Test
+    void incrementStock_invalidCantidad() {
+        assertThrows(ValidacionNegocioException.class, () -> inventarioBusinessService.incrementStock(1L, 0));
+        verifyNoInteractions(dataServiceClient);
+    }
+
+    @Test
+    void findInventoriesByProductIds_success() {
+        InventarioDTO dto = new InventarioDTO();
+        dto.setProductoId(1L);
+        when(dataServiceClient.findInventoriesByProductIds(List.of(1L))).thenReturn(List.of(dto));
+
+        List<InventarioDTO> result = inventarioBusinessService.findInventoriesByProductIds(List.of(1L));
+
+        assertEquals(1L, result.get(0).getProductoId());
+    }
+
     @Test
     void updateInventory_success() {
         InventarioDTO dto = new InventarioDTO();
@@ -82,4 +174,83 @@ class InventarioBusinessServiceTest {
         assertThrows(MicroserviceCommunicationException.class,
                 () -> inventarioBusinessService.updateInventory(1L, 5));
     }
+
+    @Test
+    void calculateTotalValue_success() {
+        when(dataServiceClient.calculateTotalValue()).thenReturn(new BigDecimal("1500.00"));
+
+        BigDecimal result = inventarioBusinessService.calculateTotalValue();
+
+        assertEquals(new BigDecimal("1500.00"), result);
+        verify(dataServiceClient).calculateTotalValue();
+        verify(dataServiceClient, never()).findAllProducts(any(), any(), any());
+    }
+
+    @Test
+    void calculateTotalValue_emptyInventoryReturnsZero() {
+        when(dataServiceClient.calculateTotalValue()).thenReturn(null);
+
+        assertEquals(BigDecimal.ZERO, inventarioBusinessService.calculateTotalValue());
+    }
+
+    @Test
+    void calculateTotalValue_communicationError() {
+        when(dataServiceClient.calculateTotalValue()).thenThrow(FeignException.FeignServerException.class);
+
+        assertThrows(MicroserviceCommunicationException.class,
+                () -> inventarioBusinessService.calculateTotalValue());
+    }
+
+    @Test
+    void getCatalogSummaryAsync_requestsAllPartsBeforeAnyCompletes() {
+        CompletableFuture<List<CategoriaDTO>> categorias = new CompletableFuture<>();
+        CompletableFuture<BigDecimal> valorTotal = new CompletableFuture<>();
+        CompletableFuture<List<ValorCategoriaDTO>> valorPorCategoria = new CompletableFuture<>();
+        when(asyncDataServiceClient.findAllCategory()).thenReturn(categorias);
+        when(asyncDataServiceClient.calculateTotalValue()).thenReturn(valorTotal);
+        when(asyncDataServiceClient.calculateTotalValueByCategory()).thenReturn(valorPorCategoria);
+
+        CompletableFuture<ResumenCatalogoDTO> resumen = inventarioBusinessService.getCatalogSummaryAsync();
+
+        verify(asyncDataServiceClient).findAllCategory();
+        verify(asyncDataServiceClient).calculateTotalValue();
+        verify(asyncDataServiceClient).calculateTotalValueByCategory();
+        assertFalse(resumen.isDone());
+
+        valorPorCategoria.complete(List.of(new ValorCategoriaDTO("Electrónica", 2L, new BigDecimal("1500.00"))));
+        valorTotal.complete(new BigDecimal("1500.00"));
+        categorias.complete(List.of(new CategoriaDTO()));
+        ResumenCatalogoDTO result = resumen.join();
+        assertEquals(1, result.getCategorias().size());
+        assertEquals(new BigDecimal("1500.00"), result.getValorTotal());
+        assertEquals("Electrónica", result.getValorPorCategoria().get(0).getCategoriaNombre());
+    }
+
+    @Test
+    void getCatalogSummaryAsync_communicationError() {
+        when(asyncDataServiceClient.findAllCategory()).thenReturn(CompletableFuture.completedFuture(List.of()));
+        when(asyncDataServiceClient.calculateTotalValue())
+                .thenReturn(CompletableFuture.failedFuture(mock(FeignException.FeignServerException.class)));
+        when(asyncDataServiceClient.calculateTotalValueByCategory()).thenReturn(CompletableFuture.completedFuture(List.of()));
+
+        CompletionException e = assertThrows(CompletionException.class,
+                () -> inventarioBusinessService.getCatalogSummaryAsync().join());
+        assertInstanceOf(MicroserviceCommunicationException.class, e.getCause());
+    }
+
+    @Test
+    void checkAvailabilityAsync_notFound() {
+        when(asyncDataServiceClient.checkAvailability(99L, 1))
+                .thenReturn(CompletableFuture.failedFuture(mock(FeignException.NotFound.class)));
+
+        CompletionException e = assertThrows(CompletionException.class,
+                () -> inventarioBusinessService.checkAvailabilityAsync(99L, 1).join());
+        assertInstanceOf(InventarioNoEncontrado.class, e.getCause());
+    }
+
+    @Test
+    void checkAvailabilityAsync_invalidQuantityFailsBeforeCallingDataService() {
+        assertThrows(ValidacionNegocioException.class, () -> inventarioBusinessService.checkAvailabilityAsync(1L, 0));
+        verifyNoInteractions(asyncDataServiceClient);
+    }
 }
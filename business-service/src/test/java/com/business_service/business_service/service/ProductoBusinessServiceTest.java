@@ -1,20 +1,35 @@
 package com.business_service.business_service.service;
 
+import com.business_service.business_service.client.AsyncDataServiceClient;
+import com.business_service.business_service.client.CoalescingLoader;
+import com.business_service.business_service.client.ConflictRetry;
 import com.business_service.business_service.client.DataServiceClient;
+import com.business_service.business_service.dto.ErrorCargaDTO;
+import com.business_service.business_service.dto.PaginaDTO;
 import com.business_service.business_service.dto.ProductoDTO;
 import com.business_service.business_service.dto.ProductoRequest;
+import com.business_service.business_service.dto.ResultadoCargaDTO;
+import com.business_service.business_service.exception.ConflictoDeVersion;
 import com.business_service.business_service.exception.MicroserviceCommunicationException;
 import com.business_service.business_service.exception.ProductoNoEncontrado;
 import com.business_service.business_service.exception.ValidacionNegocioException;
 import feign.FeignException;
+import feign.Request;
+import feign.Response;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -25,26 +40,65 @@ class ProductoBusinessServiceTest {
     @Mock
     private DataServiceClient dataServiceClient;
 
-    @InjectMocks
+    @Mock
+    private AsyncDataServiceClient asyncDataServiceClient;
+
     private ProductoBusinessService productoBusinessService;
 
+    @BeforeEach
+    void setUp() {
+        CoalescingLoader<ProductoDTO> productoLoader = new CoalescingLoader<>(dataServiceClient::findProductById,
+                dataServiceClient::findProductsByIds, ProductoDTO::getId, Duration.ZERO, 100);
+        productoBusinessService = new ProductoBusinessService(dataServiceClient, productoLoader,
+                new ConflictRetry(3, Duration.ZERO), asyncDataServiceClient, 2);
+    }
+
     @Test
     void findAllProducts_success() {
         ProductoDTO dto = new ProductoDTO();
-        when(dataServiceClient.findAllProducts()).thenReturn(List.of(dto));
+        PaginaDTO<ProductoDTO> pagina = new PaginaDTO<>(List.of(dto), 0, 20, 1L, 1, null);
+        when(dataServiceClient.findAllProducts(0, 20, null)).thenReturn(pagina);
 
-        List<ProductoDTO> result = productoBusinessService.findAllProducts();
+        PaginaDTO<ProductoDTO> result = productoBusinessService.findAllProducts(0, 20, null);
 
-        assertEquals(1, result.size());
-        verify(dataServiceClient).findAllProducts();
+        assertEquals(1, result.getContenido().size());
+        verify(dataServiceClient).findAllProducts(0, 20, null);
+    }
+
+    @Test
+    void findAllProducts_withCursor() {
+        PaginaDTO<ProductoDTO> pagina = new PaginaDTO<>(List.of(new ProductoDTO()), null, 1, null, null, 11L);
+        when(dataServiceClient.findAllProducts(null, 1, 10L)).thenReturn(pagina);
+
+        PaginaDTO<ProductoDTO> result = productoBusinessService.findAllProducts(null, 1, 10L);
+
+        assertEquals(11L, result.getSiguienteCursor());
+        verify(dataServiceClient).findAllProducts(null, 1, 10L);
     }
 
     @Test
     void findAllProducts_communicationError() {
-        when(dataServiceClient.findAllProducts()).thenThrow(FeignException.FeignServerException.class);
+        when(dataServiceClient.findAllProducts(any(), any(), any())).thenThrow(FeignException.FeignServerException.class);
+
+        assertThrows(MicroserviceCommunicationException.class,
+                () -> productoBusinessService.findAllProducts(0, 20, null));
+    }
+
+    @Test
+    void exportProducts_returnsUnbufferedBody() throws Exception {
+        when(dataServiceClient.exportProducts()).thenReturn(response(200, "{\"id\":1}\n"));
+
+        try (InputStream export = productoBusinessService.exportProducts()) {
+            assertEquals("{\"id\":1}\n", new String(export.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void exportProducts_errorStatus() {
+        when(dataServiceClient.exportProducts()).thenReturn(response(500, "error"));
 
         assertThrows(MicroserviceCommunicationException.class,
-                () -> productoBusinessService.findAllProducts());
+                () -> productoBusinessService.exportProducts());
     }
 
     @Test
@@ -66,6 +120,25 @@ class ProductoBusinessServiceTest {
                 () -> productoBusinessService.findProductById(1L));
     }
 
+    @Test
+    void findProductsByIds_success() {
+        ProductoDTO dto = new ProductoDTO();
+        dto.setId(2L);
+        when(dataServiceClient.findProductsByIds(List.of(1L, 2L))).thenReturn(List.of(dto));
+
+        List<ProductoDTO> result = productoBusinessService.findProductsByIds(List.of(1L, 2L));
+
+        assertEquals(1, result.size());
+    }
+
+    @Test
+    void findProductsByIds_communicationError() {
+        when(dataServiceClient.findProductsByIds(anyList())).thenThrow(FeignException.class);
+
+        assertThrows(MicroserviceCommunicationException.class,
+                () -> productoBusinessService.findProductsByIds(List.of(1L)));
+    }
+
     @Test
     void saveProduct_success() {
         ProductoRequest request = new ProductoRequest();
@@ -91,6 +164,42 @@ class ProductoBusinessServiceTest {
                 () -> productoBusinessService.saveProduct(request));
     }
 
+    @Test
+    void saveProducts_rejectsInvalidRowsAndSendsTheRestInChunks() {
+        ProductoRequest a = bulkRequest("A", BigDecimal.TEN);
+        ProductoRequest invalido = bulkRequest("Inválido", BigDecimal.ZERO);
+        ProductoRequest b = bulkRequest("B", BigDecimal.TEN);
+        ProductoRequest c = bulkRequest("C", BigDecimal.TEN);
+        when(dataServiceClient.saveProducts(List.of(a, b))).thenReturn(new ResultadoCargaDTO(2, 2, List.of()));
+        when(dataServiceClient.saveProducts(List.of(c)))
+                .thenReturn(new ResultadoCargaDTO(1, 0, List.of(new ErrorCargaDTO(0, "No se encontre categoria con el id: 1"))));
+
+        ResultadoCargaDTO result = productoBusinessService.saveProducts(List.of(a, invalido, b, c));
+
+        assertEquals(4, result.getRecibidos());
+        assertEquals(2, result.getCreados());
+        assertEquals(List.of(1, 3), result.getErrores().stream().map(ErrorCargaDTO::getFila).toList());
+        assertEquals("El precio debe ser mayor a cero", result.getErrores().get(0).getDetalle());
+    }
+
+    @Test
+    void saveProducts_communicationError() {
+        when(dataServiceClient.saveProducts(any())).thenThrow(FeignException.FeignServerException.class);
+
+        assertThrows(MicroserviceCommunicationException.class,
+                () -> productoBusinessService.saveProducts(List.of(bulkRequest("A", BigDecimal.TEN))));
+    }
+
+    @Test
+    void saveProduct_missingPrice() {
+        ProductoRequest request = new ProductoRequest();
+        request.setStock(10);
+
+        assertThrows(ValidacionNegocioException.class,
+                () -> productoBusinessService.saveProduct(request));
+        verifyNoInteractions(dataServiceClient);
+    }
+
     @Test
     void saveProduct_invalidStock() {
         ProductoRequest request = new ProductoRequest();
@@ -148,6 +257,50 @@ class ProductoBusinessServiceTest {
                 () -> productoBusinessService.updateProduct(1L, request));
     }
 
+    @Test
+    void updateProduct_withoutVersion_retriesConflict() {
+        ProductoRequest request = new ProductoRequest();
+        request.setPrecio(BigDecimal.TEN);
+        request.setStock(5);
+
+        ProductoDTO dto = new ProductoDTO();
+        when(dataServiceClient.updateProduct(1L, request))
+                .thenThrow(FeignException.Conflict.class)
+                .thenReturn(dto);
+
+        ProductoDTO result = productoBusinessService.updateProduct(1L, request);
+
+        assertEquals(dto, result);
+        verify(dataServiceClient, times(2)).updateProduct(1L, request);
+    }
+
+    @Test
+    void updateProduct_withoutVersion_givesUpAfterMaxAttempts() {
+        ProductoRequest request = new ProductoRequest();
+        request.setPrecio(BigDecimal.TEN);
+        request.setStock(5);
+
+        when(dataServiceClient.updateProduct(1L, request)).thenThrow(FeignException.Conflict.class);
+
+        assertThrows(ConflictoDeVersion.class,
+                () -> productoBusinessService.updateProduct(1L, request));
+        verify(dataServiceClient, times(3)).updateProduct(1L, request);
+    }
+
+    @Test
+    void updateProduct_withStaleVersion_doesNotRetry() {
+        ProductoRequest request = new ProductoRequest();
+        request.setPrecio(BigDecimal.TEN);
+        request.setStock(5);
+        request.setVersion(2L);
+
+        when(dataServiceClient.updateProduct(1L, request)).thenThrow(FeignException.Conflict.class);
+
+        assertThrows(ConflictoDeVersion.class,
+                () -> productoBusinessService.updateProduct(1L, request));
+        verify(dataServiceClient, times(1)).updateProduct(1L, request);
+    }
+
     @Test
     void updateProduct_communicationError() {
         ProductoRequest request = new ProductoRequest();
@@ -183,4 +336,53 @@ class ProductoBusinessServiceTest {
         assertThrows(MicroserviceCommunicationException.class,
                 () -> productoBusinessService.deleteProduct(1L));
     }
-}
\ No newline at end of file
+
+    private Response response(int status, String body) {
+        Request request = Request.create(Request.HttpMethod.GET, "/data/productos/export",
+                Collections.emptyMap(), null, StandardCharsets.UTF_8, null);
+        return Response.builder()
+                .status(status)
+                .request(request)
+                .body(body, StandardCharsets.UTF_8)
+                .build();
+    }
+
+    @Test
+    void findProductByIdAsync_success() {
+        ProductoDTO dto = new ProductoDTO();
+        dto.setId(1L);
+        when(asyncDataServiceClient.findProductById(1L)).thenReturn(CompletableFuture.completedFuture(dto));
+
+        assertEquals(1L, productoBusinessService.findProductByIdAsync(1L).join().getId());
+        verifyNoInteractions(dataServiceClient);
+    }
+
+    @Test
+    void findProductByIdAsync_notFound() {
+        when(asyncDataServiceClient.findProductById(99L))
+                .thenReturn(CompletableFuture.failedFuture(mock(FeignException.NotFound.class)));
+
+        CompletionException e = assertThrows(CompletionException.class,
+                () -> productoBusinessService.findProductByIdAsync(99L).join());
+        assertInstanceOf(ProductoNoEncontrado.class, e.getCause());
+    }
+
+    @Test
+    void findAllProductsAsync_communicationError() {
+        when(asyncDataServiceClient.findAllProducts(0, 20, null))
+                .thenReturn(CompletableFuture.failedFuture(mock(FeignException.FeignServerException.class)));
+
+        CompletionException e = assertThrows(CompletionException.class,
+                () -> productoBusinessService.findAllProductsAsync(0, 20, null).join());
+        assertInstanceOf(MicroserviceCommunicationException.class, e.getCause());
+    }
+
+    private static ProductoRequest bulkRequest(String nombre, BigDecimal precio) {
+        ProductoRequest request = new ProductoRequest();
+        request.setNombre(nombre);
+        request.setPrecio(precio);
+        request.setStock(10);
+        request.setCategoriaId(1L);
+        return request;
+    }
+}
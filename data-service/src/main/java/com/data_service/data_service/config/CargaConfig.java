@@ -0,0 +1,29 @@
+package com.data_service.data_service.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties({CargaConfig.CargaProperties.class, CargaConfig.ImportacionProperties.class})
+public class CargaConfig {
+
+    /**
+     * @param tamanioLote Productos que se insertan por transacción en una carga masiva
+     */
+    @ConfigurationProperties(prefix = "data.carga")
+    public record CargaProperties(@DefaultValue("500") int tamanioLote) {}
+
+    /**
+     * @param trabajadores Hilos que escriben los lotes de cada importación
+     * @param lotesEnCola Lotes leídos que pueden esperar escritura; con la cola llena se deja de leer el archivo
+     * @param maxErrores Filas rechazadas que se informan con su motivo (el total se cuenta igual)
+     * @param historial Importaciones terminadas que se conservan para consultar su estado
+     */
+    @ConfigurationProperties(prefix = "data.importacion")
+    public record ImportacionProperties(@DefaultValue("2") int trabajadores,
+                                        @DefaultValue("4") int lotesEnCola,
+                                        @DefaultValue("1000") int maxErrores,
+                                        @DefaultValue("100") int historial) {}
+}
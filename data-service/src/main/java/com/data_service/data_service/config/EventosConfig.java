@@ -0,0 +1,27 @@
+package com.data_service.data_service.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableConfigurationProperties(EventosConfig.EventosProperties.class)
+public class EventosConfig {
+
+    /**
+     * @param tamanioLote Eventos que se publican por transacción y que se leen por consulta para cada suscriptor
+     * @param latido Sin eventos nuevos, cada cuánto se manda un comentario para detectar conexiones cortadas
+     * @param timeoutConexion Duración máxima de una suscripción; el cliente vuelve a conectarse con Last-Event-ID
+     * @param retencion Antigüedad a partir de la cual se borran los eventos publicados
+     * @param intervaloRevision Cada cuánto se revisa la tabla aunque ningún cambio de esta instancia haya avisado
+     */
+    @ConfigurationProperties(prefix = "data.eventos")
+    public record EventosProperties(@DefaultValue("500") int tamanioLote,
+                                    @DefaultValue("15s") Duration latido,
+                                    @DefaultValue("30m") Duration timeoutConexion,
+                                    @DefaultValue("7d") Duration retencion,
+                                    @DefaultValue("30s") Duration intervaloRevision) {}
+}
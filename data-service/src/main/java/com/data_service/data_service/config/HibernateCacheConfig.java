@@ -0,0 +1,59 @@
+package com.data_service.data_service.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Caché de segundo nivel de Hibernate sobre JCache (Caffeine, en memoria).
+ * Las regiones declaradas en data.cache.regiones se crean con su tamaño máximo y expiración;
+ * las que no están declaradas (por ejemplo default-update-timestamps-region) se crean sin límites.
+ */
+@Configuration
+@EnableConfigurationProperties(HibernateCacheConfig.RegionesCacheProperties.class)
+public class HibernateCacheConfig {
+    public static final String REGION_CATEGORIAS = "categorias";
+    public static final String REGION_PRODUCTOS = "productos";
+    public static final String REGION_PRODUCTOS_DE_CATEGORIA = "categorias.productos";
+    public static final String REGION_PRODUCTOS_POR_CATEGORIA = "productos-por-categoria";
+
+    @ConfigurationProperties(prefix = "data.cache")
+    public record RegionesCacheProperties(Map<String, Region> regiones) {
+        public record Region(long tamanioMaximo, Duration expiracion) {}
+    }
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(RegionesCacheProperties properties){
+        // Un CacheManager propio por contexto, para no compartir regiones entre contextos de Spring
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("data-service:" + UUID.randomUUID()), getClass().getClassLoader());
+        if (properties.regiones() != null) {
+            properties.regiones().forEach((nombre, region) -> {
+                CaffeineConfiguration<Object, Object> configuracion = new CaffeineConfiguration<>()
+                        .setStoreByValue(false)
+                        .setMaximumSize(OptionalLong.of(region.tamanioMaximo()))
+                        .setExpireAfterWrite(OptionalLong.of(region.expiracion().toNanos()));
+                cacheManager.createCache(nombre, configuracion);
+            });
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager){
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+}
@@ -0,0 +1,23 @@
+package com.data_service.data_service.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableConfigurationProperties(ReservasConfig.ReservasProperties.class)
+public class ReservasConfig {
+
+    /**
+     * @param ttlPorDefecto Vigencia de una reserva cuando el pedido no la indica
+     * @param ttlMaximo Vigencia máxima que se acepta
+     * @param tamanioLote Reservas vencidas que se expiran por transacción
+     */
+    @ConfigurationProperties(prefix = "data.reservas")
+    public record ReservasProperties(@DefaultValue("15m") Duration ttlPorDefecto,
+                                     @DefaultValue("2h") Duration ttlMaximo,
+                                     @DefaultValue("500") int tamanioLote) {}
+}
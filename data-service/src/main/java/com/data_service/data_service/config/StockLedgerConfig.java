@@ -0,0 +1,28 @@
+package com.data_service.data_service.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.nio.file.Path;
+import java.util.Set;
+
+/**
+ * Modo opcional en el que el stock de los productos calientes (data.stock.ledger.productos)
+ * se lleva en memoria y se escribe en la tabla inventario de forma diferida.
+ * Cada movimiento se agrega antes a un journal local, que se reaplica al arrancar si el
+ * proceso terminó antes de escribirlo en la base.
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(StockLedgerConfig.StockLedgerProperties.class)
+public class StockLedgerConfig {
+
+    @ConfigurationProperties(prefix = "data.stock.ledger")
+    public record StockLedgerProperties(boolean habilitado,
+                                        @DefaultValue Set<Long> productos,
+                                        @DefaultValue("stock-ledger.journal") Path journal,
+                                        @DefaultValue("true") boolean sincronizarDisco) {}
+}
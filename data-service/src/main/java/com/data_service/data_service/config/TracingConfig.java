@@ -0,0 +1,87 @@
+package com.data_service.data_service.config;
+
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Las trazas se arman con Micrometer Tracing sobre OpenTelemetry y continúan el contexto
+ * que llega de business-service en el encabezado traceparent. Hay un span por pedido HTTP,
+ * por método de los servicios (@Observed), por método de repositorio (RepositoryObservationAspect)
+ * y por conexión y sentencia SQL (datasource-micrometer).
+ * Se exportan por OTLP cuando está configurado management.otlp.tracing.endpoint, y al log
+ * cuando data.tracing.exportar-log=true, para poder verlas sin un colector.
+ */
+@Configuration
+public class TracingConfig {
+    public static final String OBSERVACION_REPOSITORIO = "data.repository";
+
+    @Bean
+    @ConditionalOnProperty(name = "data.tracing.exportar-log", havingValue = "true")
+    public SpanExporter logSpanExporter(){
+        return LoggingSpanExporter.create();
+    }
+
+    /**
+     * Las observaciones de repositorio sólo aportan spans: el tiempo de cada consulta ya lo mide
+     * spring.data.repository.invocations, así que se descartan los timers data.repository*.
+     */
+    @Bean
+    public MeterFilter repositoryObservationMeterFilter(){
+        return MeterFilter.denyNameStartsWith(OBSERVACION_REPOSITORIO);
+    }
+
+    @Bean
+    public RepositoryObservationAspect repositoryObservationAspect(ObservationRegistry observationRegistry){
+        return new RepositoryObservationAspect(observationRegistry);
+    }
+
+    /**
+     * Los repositorios son proxies de Spring Data y @Observed no se aplica sobre ellos, así que
+     * cada llamada se envuelve acá en una observación con el repositorio y el método.
+     */
+    @Aspect
+    public static class RepositoryObservationAspect {
+        private final ObservationRegistry observationRegistry;
+
+        RepositoryObservationAspect(ObservationRegistry observationRegistry){
+            this.observationRegistry = observationRegistry;
+        }
+
+        @Around("this(org.springframework.data.repository.Repository)")
+        public Object observe(ProceedingJoinPoint joinPoint) throws Throwable {
+            String repositorio = repositoryName(joinPoint);
+            String metodo = joinPoint.getSignature().getName();
+            Observation observation = Observation.createNotStarted(OBSERVACION_REPOSITORIO, observationRegistry)
+                    .contextualName(repositorio + "#" + metodo)
+                    .lowCardinalityKeyValue("repository", repositorio)
+                    .lowCardinalityKeyValue("method", metodo)
+                    .start();
+            try (Observation.Scope scope = observation.openScope()) {
+                return joinPoint.proceed();
+            } catch (Throwable e) {
+                observation.error(e);
+                throw e;
+            } finally {
+                observation.stop();
+            }
+        }
+
+        private String repositoryName(ProceedingJoinPoint joinPoint){
+            for (Class<?> tipo : joinPoint.getThis().getClass().getInterfaces()) {
+                if (tipo.getPackageName().startsWith("com.data_service")) {
+                    return tipo.getSimpleName();
+                }
+            }
+            return joinPoint.getSignature().getDeclaringType().getSimpleName();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.data_service.data_service.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Con hilos virtuales Tomcat ya no limita la cantidad de pedidos en curso: todos compiten
+ * por las conexiones de Hikari. Al arrancar se revisa que la espera por una conexión sea
+ * corta, para que la falta de conexiones se vea como un error rápido y no como pedidos
+ * que se acumulan sin límite.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadsConfig {
+    static final long ESPERA_MAXIMA_CONEXION_MS = 5000;
+
+    @Bean
+    public ApplicationRunner hikariPoolCheck(DataSource dataSource){
+        return args -> {
+            if (!(dataSource.isWrapperFor(HikariDataSource.class))) {
+                return;
+            }
+            HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+            log.info("Hilos virtuales activos: pool de Hikari con {} conexiones y espera máxima de {} ms",
+                    hikari.getMaximumPoolSize(), hikari.getConnectionTimeout());
+            if (hikari.getConnectionTimeout() > ESPERA_MAXIMA_CONEXION_MS) {
+                log.warn("connection-timeout de Hikari ({} ms) mayor a {} ms: con hilos virtuales los pedidos "
+                        + "esperan conexión en lugar de fallar cuando el pool se agota",
+                        hikari.getConnectionTimeout(), ESPERA_MAXIMA_CONEXION_MS);
+            }
+        };
+    }
+}
@@ -0,0 +1,30 @@
+package com.data_service.data_service.controller;
+
+import com.data_service.data_service.dto.EstadisticaCacheDTO;
+import com.data_service.data_service.service.CacheService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/data/cache")
+public class CacheController {
+    private final CacheService cacheService;
+
+    public CacheController(CacheService cacheService){
+        this.cacheService = cacheService;
+    }
+
+    /**
+     * Obtiene las estadísticas de cada región de la caché de segundo nivel de Hibernate.
+     * Los contadores se acumulan desde el arranque y requieren hibernate.generate_statistics.
+     * @return Lista de EstadisticaCacheDTO con aciertos, fallos, inserciones y tasa de aciertos
+     */
+    @GetMapping("/estadisticas")
+    public ResponseEntity<List<EstadisticaCacheDTO>> findRegionStatistics(){
+        return ResponseEntity.ok(cacheService.findRegionStatistics());
+    }
+}
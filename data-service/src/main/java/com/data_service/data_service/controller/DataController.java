@@ -1,50 +1,104 @@
 package com.data_service.data_service.controller;
 
+import com.data_service.data_service.dto.DisponibilidadDTO;
 import com.data_service.data_service.dto.CategoriaDTO;
 import com.data_service.data_service.dto.InventarioDTO;
+import com.data_service.data_service.dto.PaginaDTO;
 import com.data_service.data_service.dto.ProductoDTO;
 import com.data_service.data_service.dto.ProductoRequest;
+import com.data_service.data_service.dto.ResultadoCargaDTO;
+import com.data_service.data_service.dto.ValorCategoriaDTO;
+import com.data_service.data_service.dto.ValorRangoPrecioDTO;
 import com.data_service.data_service.entity.Categoria;
 import com.data_service.data_service.entity.Inventario;
 import com.data_service.data_service.entity.Producto;
+import com.data_service.data_service.exception.IdsInvalidos;
 import com.data_service.data_service.mapper.CategoriaMapper;
 import com.data_service.data_service.mapper.InventarioMapper;
+import com.data_service.data_service.mapper.PaginaMapper;
 import com.data_service.data_service.mapper.ProductoMapper;
 import com.data_service.data_service.service.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/data")
 public class DataController {
+    private static final int MAX_TAMANIO_PAGINA = 100;
+
     private final ProductoService productoService;
     private final InventarioService inventarioService;
     private final CategoriaService categoriaService;
+    private final ProductoQueryService productoQueryService;
+    private final InventarioQueryService inventarioQueryService;
+    private final CargaProductosService cargaProductosService;
+    private final ObjectWriter productoWriter;
 
-    public DataController(ProductoService productoService, InventarioService inventarioService, CategoriaService categoriaService){
+    public DataController(ProductoService productoService, InventarioService inventarioService, CategoriaService categoriaService,
+                          ProductoQueryService productoQueryService, InventarioQueryService inventarioQueryService,
+                          CargaProductosService cargaProductosService, ObjectMapper objectMapper){
         this.productoService = productoService;
         this.inventarioService = inventarioService;
         this.categoriaService = categoriaService;
+        this.productoQueryService = productoQueryService;
+        this.inventarioQueryService = inventarioQueryService;
+        this.cargaProductosService = cargaProductosService;
+        this.productoWriter = objectMapper.writerFor(ProductoDTO.class);
     }
 
     //---Producto---//
 
     /**
-     * Obtiene la lista de todos los productos.
-     * @return Lista de ProductoDTO
+     * Obtiene los productos paginados. Si se indica afterId se pagina por cursor
+     * (productos con id mayor a afterId), si no se pagina por número de página.
+     * @param page Número de página (desde 0)
+     * @param size Tamaño de página, como máximo 100
+     * @param afterId Id del último producto recibido
+     * @return PaginaDTO con los ProductoDTO de la página
      */
-    @GetMapping
-    public ResponseEntity<List<ProductoDTO>> findAllProducts() {
-        List<ProductoDTO> productos = productoService.findAll()
-                .stream()
-                .map(ProductoMapper::toDTO)
-                .toList();
-        return ResponseEntity.ok(productos);
+    @GetMapping("/productos")
+    public ResponseEntity<PaginaDTO<ProductoDTO>> findAllProducts(@RequestParam(defaultValue = "0") int page,
+                                                                 @RequestParam(defaultValue = "20") int size,
+                                                                 @RequestParam(required = false) Long afterId) {
+        int tamanio = Math.max(1, Math.min(size, MAX_TAMANIO_PAGINA));
+        if (afterId != null) {
+            List<ProductoDTO> productos = productoQueryService.findAllAfter(afterId, tamanio);
+            return ResponseEntity.ok(PaginaMapper.toDTO(productos, tamanio, ProductoDTO::getId));
+        }
+        PageRequest pageRequest = PageRequest.of(Math.max(page, 0), tamanio, Sort.by("id"));
+        return ResponseEntity.ok(PaginaMapper.toDTO(productoQueryService.findAll(pageRequest)));
+    }
+
+    /**
+     * Exporta el catálogo completo como JSON delimitado por saltos de línea (NDJSON).
+     * Los productos se leen y escriben de a uno, sin armar la lista completa en memoria.
+     * @return Flujo con un ProductoDTO por línea
+     */
+    @GetMapping(value = "/productos/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportProducts() {
+        StreamingResponseBody body = outputStream -> productoService.forEachProducto(producto -> {
+            try {
+                outputStream.write(productoWriter.writeValueAsBytes(ProductoMapper.toDTO(producto)));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     /**
@@ -54,8 +108,18 @@ public class DataController {
      */
     @GetMapping("/productos/{id}")
     public ResponseEntity<ProductoDTO> findProductById(@PathVariable Long id) {
-        Producto producto = productoService.findById(id);
-        return ResponseEntity.ok(ProductoMapper.toDTO(producto));
+        return ResponseEntity.ok(productoQueryService.findById(id));
+    }
+
+    /**
+     * Obtiene varios productos en una sola consulta. Los IDs inexistentes se omiten.
+     * @param ids IDs de los productos, como máximo 100 y sin nulos
+     * @return Lista de ProductoDTO encontrados, o BAD_REQUEST si la lista no es válida
+     */
+    @PostMapping("/productos/batch")
+    public ResponseEntity<List<ProductoDTO>> findProductsByIds(@RequestBody List<Long> ids) {
+        validarIds(ids);
+        return ResponseEntity.ok(productoQueryService.findAllById(ids));
     }
 
     /**
@@ -66,11 +130,7 @@ public class DataController {
      */
     @GetMapping("/productos/rango-precio")
     public ResponseEntity<List<ProductoDTO>> findByPrecioBetween(@RequestParam BigDecimal min, @RequestParam BigDecimal max) {
-        List<ProductoDTO> productos = productoService.findByPrecioBetween(min, max)
-                .stream()
-                .map(ProductoMapper::toDTO)
-                .toList();
-        return ResponseEntity.ok(productos);
+        return ResponseEntity.ok(productoQueryService.findByPrecioBetween(min, max));
     }
 
     /**
@@ -79,11 +139,7 @@ public class DataController {
      */
     @GetMapping("/productos/stock-bajo")
     public ResponseEntity<List<ProductoDTO>> findProductosWithLowStock() {
-        List<ProductoDTO> productos = productoService.findProductosWithLowStock()
-                .stream()
-                .map(ProductoMapper::toDTO)
-                .toList();
-        return ResponseEntity.ok(productos);
+        return ResponseEntity.ok(productoQueryService.findProductosWithLowStock());
     }
 
     /**
@@ -93,11 +149,7 @@ public class DataController {
      */
     @GetMapping("/productos/categoria/{nombre}")
     public ResponseEntity<List<ProductoDTO>> findByCategoryName(@PathVariable String nombre) {
-        List<ProductoDTO> productos = productoService.findByCategoryName(nombre)
-                .stream()
-                .map(ProductoMapper::toDTO)
-                .toList();
-        return ResponseEntity.ok(productos);
+        return ResponseEntity.ok(productoQueryService.findByCategoryName(nombre));
     }
 
     /**
@@ -113,6 +165,17 @@ public class DataController {
         return ResponseEntity.status(HttpStatus.CREATED).body(ProductoMapper.toDTO(saved));
     }
 
+    /**
+     * Crea muchos productos en una sola llamada, en lotes con inserts agrupados. Las filas
+     * inválidas o que la base rechaza no impiden guardar las demás.
+     * @param requests Productos a crear
+     * @return ResultadoCargaDTO con la cantidad creada y las filas rechazadas con su motivo
+     */
+    @PostMapping("/productos/bulk")
+    public ResponseEntity<ResultadoCargaDTO> saveProducts(@RequestBody List<ProductoRequest> requests) {
+        return ResponseEntity.ok(cargaProductosService.cargar(requests));
+    }
+
     /**
      * Actualiza un producto existente.
      * @param id ID del producto a actualizar
@@ -147,11 +210,28 @@ public class DataController {
      */
     @GetMapping("/inventario")
     public ResponseEntity<List<InventarioDTO>> findAllInventories(){
-        List<InventarioDTO> inventories= inventarioService.findAll()
-                .stream()
-                .map(InventarioMapper::toDTO)
-                .toList();
-        return ResponseEntity.ok(inventories);
+        return ResponseEntity.ok(inventarioQueryService.findAll());
+    }
+
+    /**
+     * Obtiene los inventarios de varios productos en una sola consulta.
+     * Los productos sin inventario se omiten.
+     * @param productoIds IDs de los productos, como máximo 100 y sin nulos
+     * @return Lista de InventarioDTO con su productoId, o BAD_REQUEST si la lista no es válida
+     */
+    @PostMapping("/inventario/batch")
+    public ResponseEntity<List<InventarioDTO>> findInventoriesByProductIds(@RequestBody List<Long> productoIds){
+        validarIds(productoIds);
+        return ResponseEntity.ok(inventarioQueryService.findByProductoIds(productoIds));
+    }
+
+    /**
+     * Obtiene los inventarios con stock bajo (cantidad menor al stock mínimo), ordenados por producto.
+     * @return Lista de InventarioDTO
+     */
+    @GetMapping("/inventario/stock-bajo")
+    public ResponseEntity<List<InventarioDTO>> findInventoriesWithLowStock() {
+        return ResponseEntity.ok(inventarioQueryService.findWithLowStock());
     }
 
     /**
@@ -161,8 +241,7 @@ public class DataController {
      */
     @GetMapping("/inventario/{id}")
     public ResponseEntity<InventarioDTO> findInventoryById(@PathVariable Long id){
-        Inventario inventory = inventarioService.findById(id);
-        return ResponseEntity.ok(InventarioMapper.toDTO(inventory));
+        return ResponseEntity.ok(inventarioQueryService.findById(id));
     }
 
     /**
@@ -174,6 +253,25 @@ public class DataController {
         return ResponseEntity.ok(inventarioService.calculateTotalValue());
     }
 
+    /**
+     * Calcula el valor del inventario agrupado por categoría.
+     * @return Lista de ValorCategoriaDTO
+     */
+    @GetMapping("/inventario/valor/categoria")
+    public ResponseEntity<List<ValorCategoriaDTO>> calculateTotalValueByCategory(){
+        return ResponseEntity.ok(inventarioService.calculateTotalValueByCategory());
+    }
+
+    /**
+     * Calcula el valor del inventario agrupado por rangos de precio.
+     * @param limites Límites superiores de cada rango (el último rango queda abierto)
+     * @return Lista de ValorRangoPrecioDTO
+     */
+    @GetMapping("/inventario/valor/rango-precio")
+    public ResponseEntity<List<ValorRangoPrecioDTO>> calculateTotalValueByPriceRange(@RequestParam List<BigDecimal> limites){
+        return ResponseEntity.ok(inventarioService.calculateTotalValueByPriceRange(limites));
+    }
+
     /**
      * Crea un nuevo inventario.
      * @param dto Datos del inventario
@@ -197,6 +295,40 @@ public class DataController {
         return ResponseEntity.ok(InventarioMapper.toDTO(updated));
     }
 
+    /**
+     * Descuenta stock de un producto de forma atómica.
+     * @param productoId ID del producto
+     * @param cantidad Unidades a descontar, mayor a cero
+     * @return InventarioDTO actualizado, CONFLICT si no alcanza el stock o NOT_FOUND si no hay inventario
+     */
+    @PostMapping("/inventario/{productoId}/decrement")
+    public ResponseEntity<InventarioDTO> decrementStock(@PathVariable Long productoId, @RequestParam Integer cantidad){
+        return ResponseEntity.ok(InventarioMapper.toDTO(inventarioService.decrementStock(productoId, cantidad)));
+    }
+
+    /**
+     * Suma stock a un producto de forma atómica.
+     * @param productoId ID del producto
+     * @param cantidad Unidades a sumar, mayor a cero
+     * @return InventarioDTO actualizado o NOT_FOUND si no hay inventario
+     */
+    @PostMapping("/inventario/{productoId}/increment")
+    public ResponseEntity<InventarioDTO> incrementStock(@PathVariable Long productoId, @RequestParam Integer cantidad){
+        return ResponseEntity.ok(InventarioMapper.toDTO(inventarioService.incrementStock(productoId, cantidad)));
+    }
+
+    /**
+     * Indica si hay stock suficiente de un producto. Para los productos que lleva el ledger
+     * de stock responde desde memoria.
+     * @param productoId ID del producto
+     * @param cantidad Unidades requeridas, mayor a cero
+     * @return DisponibilidadDTO o NOT_FOUND si no hay inventario
+     */
+    @GetMapping("/inventario/{productoId}/disponibilidad")
+    public ResponseEntity<DisponibilidadDTO> checkAvailability(@PathVariable Long productoId, @RequestParam Integer cantidad){
+        return ResponseEntity.ok(inventarioService.checkAvailability(productoId, cantidad));
+    }
+
     /**
      * Elimina un inventario por su ID.
      * @param id ID del inventario a eliminar
@@ -268,4 +400,14 @@ public class DataController {
         categoriaService.delete(id);
         return ResponseEntity.noContent().build();
     }
+
+    // Las búsquedas por lote tienen el mismo límite que una página
+    private void validarIds(List<Long> ids){
+        if (ids.size() > MAX_TAMANIO_PAGINA) {
+            throw new IdsInvalidos("Se pueden pedir como máximo " + MAX_TAMANIO_PAGINA + " IDs por lote, se pidieron " + ids.size());
+        }
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new IdsInvalidos("La lista de IDs no puede contener valores nulos");
+        }
+    }
 }
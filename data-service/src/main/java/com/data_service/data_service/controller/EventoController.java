@@ -0,0 +1,29 @@
+package com.data_service.data_service.controller;
+
+import com.data_service.data_service.service.RelayCambios;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/data/eventos")
+public class EventoController {
+    private final RelayCambios relayCambios;
+
+    public EventoController(RelayCambios relayCambios){
+        this.relayCambios = relayCambios;
+    }
+
+    /**
+     * Suscripción a los cambios de productos, inventarios y categorías por Server-Sent Events.
+     * Cada evento "cambio" trae un EventoCambioDTO y su posición como id.
+     * @param ultimoEventoId Última posición recibida; la mandan los clientes SSE al reconectarse
+     * @param desde Posición desde la que retomar, para clientes que no manejan Last-Event-ID
+     * @return Flujo de eventos; sin posición, sólo los eventos nuevos
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@RequestHeader(value = "Last-Event-ID", required = false) Long ultimoEventoId,
+                                @RequestParam(required = false) Long desde){
+        return relayCambios.suscribir(ultimoEventoId != null ? ultimoEventoId : desde);
+    }
+}
@@ -1,12 +1,24 @@
 package com.data_service.data_service.controller;
 
+import com.data_service.data_service.exception.ArchivoImportacionInvalido;
+import com.data_service.data_service.exception.CantidadInvalida;
+import com.data_service.data_service.exception.CategoriaDuplicada;
 import com.data_service.data_service.exception.CategoriaNoEncontrada;
+import com.data_service.data_service.exception.ConflictoDeVersion;
+import com.data_service.data_service.exception.IdsInvalidos;
+import com.data_service.data_service.exception.ImportacionNoEncontrada;
 import com.data_service.data_service.exception.InventarioNoEncontrado;
+import com.data_service.data_service.exception.LimitesPrecioInvalidos;
 import com.data_service.data_service.exception.ProductoNoEncontrado;
+import com.data_service.data_service.exception.ReservaNoEncontrada;
+import com.data_service.data_service.exception.ReservaNoVigente;
+import com.data_service.data_service.exception.StockInsuficiente;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.async.AsyncRequestNotUsableException;
 
 import java.util.Map;
 
@@ -40,6 +52,113 @@ public class GlobalExceptionHandler {
                 ));
     }
 
+    @ExceptionHandler(ReservaNoEncontrada.class)
+    public ResponseEntity<Map<String, Object>> handleReservaNoEncontrada(ReservaNoEncontrada ex) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Map.of(
+                        "error", "Reserva no encontrada",
+                        "detalle", ex.getMessage()
+                ));
+    }
+
+    @ExceptionHandler(CategoriaDuplicada.class)
+    public ResponseEntity<Map<String, Object>> handleCategoriaDuplicada(CategoriaDuplicada ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of(
+                        "error", "Categoria duplicada",
+                        "detalle", ex.getMessage()
+                ));
+    }
+
+    @ExceptionHandler(ReservaNoVigente.class)
+    public ResponseEntity<Map<String, Object>> handleReservaNoVigente(ReservaNoVigente ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of(
+                        "error", "Reserva no vigente",
+                        "detalle", ex.getMessage()
+                ));
+    }
+
+    @ExceptionHandler(StockInsuficiente.class)
+    public ResponseEntity<Map<String, Object>> handleStockInsuficiente(StockInsuficiente ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of(
+                        "error", "Stock insuficiente",
+                        "detalle", ex.getMessage()
+                ));
+    }
+
+    @ExceptionHandler(CantidadInvalida.class)
+    public ResponseEntity<Map<String, Object>> handleCantidadInvalida(CantidadInvalida ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Map.of(
+                        "error", "Cantidad inválida",
+                        "detalle", ex.getMessage()
+                ));
+    }
+
+    @ExceptionHandler(IdsInvalidos.class)
+    public ResponseEntity<Map<String, Object>> handleIdsInvalidos(IdsInvalidos ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Map.of(
+                        "error", "Lista de IDs inválida",
+                        "detalle", ex.getMessage()
+                ));
+    }
+
+    @ExceptionHandler(LimitesPrecioInvalidos.class)
+    public ResponseEntity<Map<String, Object>> handleLimitesPrecioInvalidos(LimitesPrecioInvalidos ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Map.of(
+                        "error", "Límites de precio inválidos",
+                        "detalle", ex.getMessage()
+                ));
+    }
+
+    @ExceptionHandler(ImportacionNoEncontrada.class)
+    public ResponseEntity<Map<String, Object>> handleImportacionNoEncontrada(ImportacionNoEncontrada ex) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Map.of(
+                        "error", "Importación no encontrada",
+                        "detalle", ex.getMessage()
+                ));
+    }
+
+    @ExceptionHandler(ArchivoImportacionInvalido.class)
+    public ResponseEntity<Map<String, Object>> handleArchivoImportacionInvalido(ArchivoImportacionInvalido ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Map.of(
+                        "error", "Archivo de importación inválido",
+                        "detalle", ex.getMessage()
+                ));
+    }
+
+    @ExceptionHandler(ConflictoDeVersion.class)
+    public ResponseEntity<Map<String, Object>> handleConflictoDeVersion(ConflictoDeVersion ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of(
+                        "error", "Conflicto de versión",
+                        "detalle", ex.getMessage(),
+                        "versionActual", ex.getVersionActual()
+                ));
+    }
+
+    // Otra transacción confirmó entre la lectura y el UPDATE. Las ediciones de producto e inventario
+    // lo informan como ConflictoDeVersion, con la versión actual; acá llegan los demás casos
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, Object>> handleOptimisticLocking(ObjectOptimisticLockingFailureException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of(
+                        "error", "Conflicto de versión",
+                        "detalle", ex.getMessage()
+                ));
+    }
+
+    // El cliente cortó la conexión (por ejemplo, una suscripción a /data/eventos): no hay a quién responder
+    @ExceptionHandler(AsyncRequestNotUsableException.class)
+    public void handleAsyncRequestNotUsable(AsyncRequestNotUsableException ex) {
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, Object>> handleGeneral(Exception ex) {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
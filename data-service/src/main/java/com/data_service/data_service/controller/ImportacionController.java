@@ -0,0 +1,63 @@
+package com.data_service.data_service.controller;
+
+import com.data_service.data_service.dto.ImportacionDTO;
+import com.data_service.data_service.mapper.ImportacionMapper;
+import com.data_service.data_service.service.Importacion;
+import com.data_service.data_service.service.ImportacionService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+import java.net.URI;
+
+@RestController
+@RequestMapping("/data/importaciones")
+public class ImportacionController {
+    private static final String TEXT_CSV = "text/csv";
+
+    private final ImportacionService importacionService;
+
+    public ImportacionController(ImportacionService importacionService){
+        this.importacionService = importacionService;
+    }
+
+    /**
+     * Importa un catálogo CSV (encabezado nombre,descripcion,precio,stock,categoriaId). El archivo
+     * se lee a medida que llega; la respuesta sale cuando se terminó de leer, aunque los últimos
+     * lotes todavía se estén guardando.
+     * @param cuerpo Archivo CSV
+     * @return ImportacionDTO con el estado, ACCEPTED, y su URL en Location
+     */
+    @PostMapping(consumes = TEXT_CSV)
+    public ResponseEntity<ImportacionDTO> importCsv(InputStream cuerpo){
+        return aceptada(importacionService.importar(cuerpo, ImportacionService.Formato.CSV));
+    }
+
+    /**
+     * Importa un catálogo NDJSON, un ProductoRequest por línea.
+     * @param cuerpo Archivo NDJSON
+     * @return ImportacionDTO con el estado, ACCEPTED, y su URL en Location
+     */
+    @PostMapping(consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ImportacionDTO> importNdjson(InputStream cuerpo){
+        return aceptada(importacionService.importar(cuerpo, ImportacionService.Formato.NDJSON));
+    }
+
+    /**
+     * Progreso de una importación: filas leídas, creadas y rechazadas (con línea y motivo) y
+     * filas procesadas por segundo.
+     * @param id ID de la importación
+     * @return ImportacionDTO o NOT_FOUND si no existe
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ImportacionDTO> findById(@PathVariable String id){
+        return ResponseEntity.ok(ImportacionMapper.toDTO(importacionService.findById(id)));
+    }
+
+    private static ResponseEntity<ImportacionDTO> aceptada(Importacion importacion){
+        return ResponseEntity.accepted()
+                .location(URI.create("/data/importaciones/" + importacion.getId()))
+                .body(ImportacionMapper.toDTO(importacion));
+    }
+}
@@ -0,0 +1,63 @@
+package com.data_service.data_service.controller;
+
+import com.data_service.data_service.dto.ReservaDTO;
+import com.data_service.data_service.dto.ReservaRequest;
+import com.data_service.data_service.mapper.ReservaMapper;
+import com.data_service.data_service.service.ReservaService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/data/reservas")
+public class ReservaController {
+    private final ReservaService reservaService;
+
+    public ReservaController(ReservaService reservaService){
+        this.reservaService = reservaService;
+    }
+
+    /**
+     * Aparta stock de un producto hasta que la reserva se confirme, se libere o venza.
+     * @param request Producto, cantidad y vigencia en segundos (opcional)
+     * @return ReservaDTO creada, CONFLICT si no alcanza el stock disponible o NOT_FOUND si no hay inventario
+     */
+    @PostMapping
+    public ResponseEntity<ReservaDTO> reserve(@RequestBody ReservaRequest request){
+        Duration ttl = request.getTtlSegundos() != null ? Duration.ofSeconds(request.getTtlSegundos()) : null;
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ReservaMapper.toDTO(reservaService.reserve(request.getProductoId(), request.getCantidad(), ttl)));
+    }
+
+    /**
+     * Obtiene una reserva por su ID.
+     * @param id ID de la reserva
+     * @return ReservaDTO o NOT_FOUND si no existe
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ReservaDTO> findById(@PathVariable Long id){
+        return ResponseEntity.ok(ReservaMapper.toDTO(reservaService.findById(id)));
+    }
+
+    /**
+     * Confirma una reserva pendiente: las unidades reservadas se descuentan del stock.
+     * @param id ID de la reserva
+     * @return ReservaDTO confirmada, CONFLICT si ya no está vigente o NOT_FOUND si no existe
+     */
+    @PostMapping("/{id}/confirmar")
+    public ResponseEntity<ReservaDTO> confirm(@PathVariable Long id){
+        return ResponseEntity.ok(ReservaMapper.toDTO(reservaService.confirm(id)));
+    }
+
+    /**
+     * Libera una reserva pendiente: las unidades vuelven a estar disponibles.
+     * @param id ID de la reserva
+     * @return ReservaDTO liberada, CONFLICT si ya no está vigente o NOT_FOUND si no existe
+     */
+    @PostMapping("/{id}/liberar")
+    public ResponseEntity<ReservaDTO> release(@PathVariable Long id){
+        return ResponseEntity.ok(ReservaMapper.toDTO(reservaService.release(id)));
+    }
+}
@@ -0,0 +1,14 @@
+package com.data_service.data_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DisponibilidadDTO {
+    private Long productoId;
+    private Long cantidadDisponible;
+    private Boolean disponible;
+}
@@ -0,0 +1,17 @@
+package com.data_service.data_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Fila rechazada de una carga masiva; fila es la posición en la lista enviada, desde 0, o el
+ * número de línea del archivo en una importación.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ErrorCargaDTO {
+    private Integer fila;
+    private String detalle;
+}
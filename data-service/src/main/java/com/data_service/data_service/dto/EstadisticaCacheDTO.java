@@ -0,0 +1,16 @@
+package com.data_service.data_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstadisticaCacheDTO {
+    private String region;
+    private Long aciertos;
+    private Long fallos;
+    private Long inserciones;
+    private Double tasaAciertos;
+}
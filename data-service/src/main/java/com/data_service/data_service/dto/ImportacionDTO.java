@@ -0,0 +1,27 @@
+package com.data_service.data_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Estado de una importación de catálogo. En los errores, fila es el número de línea del archivo.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportacionDTO {
+    private String id;
+    private String formato;
+    private String estado;
+    private Long leidas;
+    private Long creadas;
+    private Long rechazadas;
+    private Double filasPorSegundo;
+    private Instant inicio;
+    private Instant fin;
+    private List<ErrorCargaDTO> errores;
+}
@@ -12,6 +12,9 @@ import java.time.LocalDateTime;
 public class InventarioDTO {
     private Long id;
     private Integer cantidad;
+    private Integer cantidadReservada;
     private Integer stockMinimo;
     private LocalDateTime fechaActualizacion;
+    private Long productoId;
+    private Long version;
 }
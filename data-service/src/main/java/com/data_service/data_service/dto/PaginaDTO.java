@@ -0,0 +1,19 @@
+package com.data_service.data_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaDTO<T> {
+    private List<T> contenido;
+    private Integer pagina;
+    private Integer tamanio;
+    private Long totalElementos;
+    private Integer totalPaginas;
+    private Long siguienteCursor;
+}
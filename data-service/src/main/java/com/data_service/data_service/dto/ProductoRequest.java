@@ -15,4 +15,5 @@ public class ProductoRequest {
     private BigDecimal precio;
     private Integer stock;
     private Long categoriaId;
+    private Long version;
 }
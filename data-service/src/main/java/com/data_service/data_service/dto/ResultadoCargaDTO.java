@@ -0,0 +1,16 @@
+package com.data_service.data_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ResultadoCargaDTO {
+    private Integer recibidos;
+    private Integer creados;
+    private List<ErrorCargaDTO> errores;
+}
@@ -0,0 +1,17 @@
+package com.data_service.data_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ValorRangoPrecioDTO {
+    private BigDecimal precioMinimo;
+    private BigDecimal precioMaximo;
+    private Long cantidadProductos;
+    private BigDecimal valorTotal;
+}
@@ -1,15 +1,19 @@
 package com.data_service.data_service.entity;
 
+import com.data_service.data_service.config.HibernateCacheConfig;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "categorias")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.REGION_CATEGORIAS)
+@Table(name = "categorias", uniqueConstraints = @UniqueConstraint(name = "uk_categorias_nombre", columnNames = "nombre"))
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -24,6 +28,7 @@ public class Categoria {
     @Column(length = 500)
     private String descripcion;
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.REGION_PRODUCTOS_DE_CATEGORIA)
     @OneToMany(mappedBy = "categoria",fetch = FetchType.LAZY, cascade = CascadeType.ALL)
     private List<Producto> productos = new ArrayList<>();
 }
\ No newline at end of file
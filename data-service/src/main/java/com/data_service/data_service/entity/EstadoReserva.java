@@ -0,0 +1,8 @@
+package com.data_service.data_service.entity;
+
+public enum EstadoReserva {
+    PENDIENTE,
+    CONFIRMADA,
+    LIBERADA,
+    EXPIRADA
+}
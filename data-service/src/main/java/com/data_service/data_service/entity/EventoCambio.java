@@ -0,0 +1,45 @@
+package com.data_service.data_service.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Fila del outbox de cambios: se guarda en la misma transacción que la escritura que describe,
+ * así sólo existe si la escritura se confirmó.
+ * posicion queda nula hasta que RelayCambios la publica; las posiciones son consecutivas y
+ * siguen el orden de publicación, que es el que usan los suscriptores para retomar.
+ */
+@Entity
+@Table(name = "evento_cambio",
+        uniqueConstraints = @UniqueConstraint(name = "uk_evento_cambio_posicion", columnNames = "posicion"),
+        indexes = @Index(name = "idx_evento_cambio_fecha", columnList = "fecha"))
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EventoCambio {
+    // Ids de secuencia reservados de a 50: los eventos de una carga masiva se insertan en lotes JDBC
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "evento_cambio_seq")
+    @SequenceGenerator(name = "evento_cambio_seq", sequenceName = "evento_cambio_seq", allocationSize = 50)
+    private Long id;
+
+    private Long posicion;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TipoEntidad entidad;
+
+    @Column(name = "entidad_id", nullable = false)
+    private Long entidadId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OperacionCambio operacion;
+
+    @Column(nullable = false)
+    private LocalDateTime fecha;
+}
@@ -8,26 +8,39 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "inventario")
+@Table(name = "inventario", uniqueConstraints = @UniqueConstraint(name = "uk_inventario_producto_id", columnNames = "producto_id"))
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 public class Inventario {
 
+    // Ids de secuencia reservados de a 50: a diferencia de IDENTITY permiten agrupar los INSERT en lotes JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inventario_seq")
+    @SequenceGenerator(name = "inventario_seq", sequenceName = "inventario_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
     private Integer cantidad;
 
+    // Unidades de cantidad apartadas por reservas pendientes; lo disponible es la diferencia
+    @Column(name = "cantidad_reservada", nullable = false)
+    private Integer cantidadReservada = 0;
+
     @Column(name = "stock_minimo")
     private Integer stockMinimo;
 
     @Column(name = "fecha_actualizacion")
     private LocalDateTime fechaActualizacion;
 
+    // Columna generada por la base (cantidad < stock_minimo); en una entidad ya cargada no refleja los cambios
+    @Column(name = "stock_bajo", insertable = false, updatable = false)
+    private Boolean stockBajo;
+
     @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "producto_id")
     private Producto producto;
+
+    @Version
+    private Long version;
 }
\ No newline at end of file
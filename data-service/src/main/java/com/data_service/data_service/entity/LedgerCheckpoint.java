@@ -0,0 +1,24 @@
+package com.data_service.data_service.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Última secuencia del journal del ledger de stock que ya está aplicada en inventario.
+ * Se actualiza en la misma transacción que los movimientos, así al reaplicar el journal
+ * no se cuenta dos veces ningún movimiento.
+ */
+@Entity
+@Table(name = "stock_ledger_checkpoint")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LedgerCheckpoint {
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private Long secuencia;
+}
@@ -0,0 +1,7 @@
+package com.data_service.data_service.entity;
+
+public enum OperacionCambio {
+    CREADO,
+    ACTUALIZADO,
+    ELIMINADO
+}
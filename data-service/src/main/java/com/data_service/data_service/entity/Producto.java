@@ -1,20 +1,29 @@
 package com.data_service.data_service.entity;
 
+import com.data_service.data_service.config.HibernateCacheConfig;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "productos")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.REGION_PRODUCTOS)
+@Table(name = "productos", indexes = {
+        @Index(name = "idx_productos_precio", columnList = "precio"),
+        @Index(name = "idx_productos_categoria_id", columnList = "categoria_id")
+})
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 public class Producto {
+    // Ids de secuencia reservados de a 50: a diferencia de IDENTITY permiten agrupar los INSERT en lotes JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "productos_seq")
+    @SequenceGenerator(name = "productos_seq", sequenceName = "productos_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 100)
@@ -32,4 +41,7 @@ public class Producto {
 
     @OneToOne(mappedBy = "producto", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
     private Inventario inventario;
+
+    @Version
+    private Long version;
 }
\ No newline at end of file
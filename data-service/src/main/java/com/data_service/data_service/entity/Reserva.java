@@ -0,0 +1,45 @@
+package com.data_service.data_service.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Unidades apartadas de un producto hasta expiraEn, por ejemplo mientras se procesa un pago.
+ * Las reservas pendientes están sumadas en Inventario.cantidadReservada, salvo las de productos
+ * que lleva el ledger de stock (enLedger), que se descuentan del stock en memoria.
+ * El índice por estado y vencimiento es el que usa la tarea que expira reservas.
+ */
+@Entity
+@Table(name = "reserva", indexes = @Index(name = "idx_reserva_estado_expira_en", columnList = "estado, expira_en"))
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class Reserva {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "producto_id", nullable = false)
+    private Producto producto;
+
+    @Column(nullable = false)
+    private Integer cantidad;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private EstadoReserva estado;
+
+    @Column(name = "expira_en", nullable = false)
+    private LocalDateTime expiraEn;
+
+    @Column(name = "fecha_creacion", nullable = false)
+    private LocalDateTime fechaCreacion;
+
+    @Column(name = "en_ledger", nullable = false)
+    private boolean enLedger;
+}
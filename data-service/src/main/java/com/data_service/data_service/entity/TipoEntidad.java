@@ -0,0 +1,11 @@
+package com.data_service.data_service.entity;
+
+/**
+ * Entidad de un EventoCambio. Los eventos de INVENTARIO se identifican por el id del producto,
+ * como las rutas de stock (/data/inventario/{productoId}/...).
+ */
+public enum TipoEntidad {
+    PRODUCTO,
+    INVENTARIO,
+    CATEGORIA
+}
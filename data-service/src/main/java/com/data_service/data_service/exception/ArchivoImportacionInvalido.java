@@ -0,0 +1,7 @@
+package com.data_service.data_service.exception;
+
+public class ArchivoImportacionInvalido extends RuntimeException{
+    public ArchivoImportacionInvalido(String detalle){
+        super(detalle);
+    }
+}
@@ -0,0 +1,11 @@
+package com.data_service.data_service.exception;
+
+public class CantidadInvalida extends RuntimeException{
+    public CantidadInvalida(Integer cantidad){
+        super("La cantidad debe ser mayor a cero: "+cantidad);
+    }
+
+    public CantidadInvalida(Integer cantidad, Integer cantidadReservada){
+        super("La cantidad "+cantidad+" es menor que las unidades reservadas: "+cantidadReservada);
+    }
+}
@@ -0,0 +1,7 @@
+package com.data_service.data_service.exception;
+
+public class CategoriaDuplicada extends RuntimeException{
+    public CategoriaDuplicada(String nombre){
+        super("Ya existe una categoria con el nombre: "+nombre);
+    }
+}
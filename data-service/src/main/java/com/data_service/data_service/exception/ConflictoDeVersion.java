@@ -0,0 +1,14 @@
+package com.data_service.data_service.exception;
+
+import lombok.Getter;
+
+@Getter
+public class ConflictoDeVersion extends RuntimeException{
+    private final Long versionActual;
+
+    public ConflictoDeVersion(String entidad, Long id, Long versionEsperada, Long versionActual){
+        super("El "+entidad+" con el id: "+id+" fue modificado por otra operación (versión enviada: "
+                +versionEsperada+", versión actual: "+versionActual+")");
+        this.versionActual = versionActual;
+    }
+}
@@ -0,0 +1,7 @@
+package com.data_service.data_service.exception;
+
+public class IdsInvalidos extends RuntimeException{
+    public IdsInvalidos(String detalle){
+        super(detalle);
+    }
+}
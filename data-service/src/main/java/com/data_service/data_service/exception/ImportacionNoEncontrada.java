@@ -0,0 +1,7 @@
+package com.data_service.data_service.exception;
+
+public class ImportacionNoEncontrada extends RuntimeException{
+    public ImportacionNoEncontrada(String id){
+        super("No se encontro la importacion con el id: "+id);
+    }
+}
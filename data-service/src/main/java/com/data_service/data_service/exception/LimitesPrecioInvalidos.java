@@ -0,0 +1,7 @@
+package com.data_service.data_service.exception;
+
+public class LimitesPrecioInvalidos extends RuntimeException{
+    public LimitesPrecioInvalidos(String detalle){
+        super(detalle);
+    }
+}
@@ -0,0 +1,7 @@
+package com.data_service.data_service.exception;
+
+public class ReservaNoEncontrada extends RuntimeException{
+    public ReservaNoEncontrada(Long id){
+        super("No se encontro la reserva con el id: "+id);
+    }
+}
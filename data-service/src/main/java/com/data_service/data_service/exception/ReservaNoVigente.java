@@ -0,0 +1,9 @@
+package com.data_service.data_service.exception;
+
+import com.data_service.data_service.entity.EstadoReserva;
+
+public class ReservaNoVigente extends RuntimeException{
+    public ReservaNoVigente(Long id, EstadoReserva estado){
+        super("La reserva con el id: "+id+" ya no está vigente (estado: "+estado+")");
+    }
+}
@@ -0,0 +1,15 @@
+package com.data_service.data_service.mapper;
+
+import com.data_service.data_service.dto.EventoCambioDTO;
+import com.data_service.data_service.entity.EventoCambio;
+
+public class EventoCambioMapper {
+
+    public static EventoCambioDTO toDTO(EventoCambio evento) {
+        if (evento == null) {
+            return null;
+        }
+        return new EventoCambioDTO(evento.getPosicion(), evento.getEntidad().name(), evento.getEntidadId(),
+                evento.getOperacion().name(), evento.getFecha());
+    }
+}
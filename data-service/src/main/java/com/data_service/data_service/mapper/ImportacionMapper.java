@@ -0,0 +1,27 @@
+package com.data_service.data_service.mapper;
+
+import com.data_service.data_service.dto.ErrorCargaDTO;
+import com.data_service.data_service.dto.ImportacionDTO;
+import com.data_service.data_service.service.Importacion;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ImportacionMapper {
+
+    public static ImportacionDTO toDTO(Importacion importacion) {
+        Instant hasta = importacion.getFin() != null ? importacion.getFin() : Instant.now();
+        long procesadas = importacion.getCreadas().get() + importacion.getRechazadas().get();
+        double segundos = Math.max(Duration.between(importacion.getInicio(), hasta).toMillis(), 1) / 1000.0;
+
+        List<ErrorCargaDTO> errores = new ArrayList<>(importacion.getErrores());
+        if (importacion.getDetalleFalla() != null) {
+            errores.add(new ErrorCargaDTO(null, importacion.getDetalleFalla()));
+        }
+        return new ImportacionDTO(importacion.getId(), importacion.getFormato().name(), importacion.getEstado().name(),
+                importacion.getLeidas().get(), importacion.getCreadas().get(), importacion.getRechazadas().get(),
+                procesadas / segundos, importacion.getInicio(), importacion.getFin(), errores);
+    }
+}
@@ -13,8 +13,13 @@ public class InventarioMapper {
         InventarioDTO dto = new InventarioDTO();
         dto.setId(inventario.getId());
         dto.setCantidad(inventario.getCantidad());
+        dto.setCantidadReservada(inventario.getCantidadReservada());
         dto.setStockMinimo(inventario.getStockMinimo());
         dto.setFechaActualizacion(inventario.getFechaActualizacion());
+        if (inventario.getProducto() != null) {
+            dto.setProductoId(inventario.getProducto().getId());
+        }
+        dto.setVersion(inventario.getVersion());
 
         return dto;
     }
@@ -30,6 +35,7 @@ public class InventarioMapper {
         inventario.setCantidad(dto.getCantidad());
         inventario.setStockMinimo(dto.getStockMinimo());
         inventario.setFechaActualizacion(dto.getFechaActualizacion());
+        inventario.setVersion(dto.getVersion());
 
         return inventario;
     }
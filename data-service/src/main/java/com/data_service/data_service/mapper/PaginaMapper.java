@@ -0,0 +1,31 @@
+package com.data_service.data_service.mapper;
+
+import com.data_service.data_service.dto.PaginaDTO;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+import java.util.function.Function;
+
+public class PaginaMapper {
+
+    public static <T> PaginaDTO<T> toDTO(Page<T> page) {
+        PaginaDTO<T> dto = new PaginaDTO<>();
+        dto.setContenido(page.getContent());
+        dto.setPagina(page.getNumber());
+        dto.setTamanio(page.getSize());
+        dto.setTotalElementos(page.getTotalElements());
+        dto.setTotalPaginas(page.getTotalPages());
+        return dto;
+    }
+
+    // Página por cursor: si vino completa, el id del último elemento es el cursor de la siguiente
+    public static <T> PaginaDTO<T> toDTO(List<T> contenido, int tamanio, Function<T, Long> id) {
+        PaginaDTO<T> dto = new PaginaDTO<>();
+        dto.setContenido(contenido);
+        dto.setTamanio(tamanio);
+        if (!contenido.isEmpty() && contenido.size() == tamanio) {
+            dto.setSiguienteCursor(id.apply(contenido.get(contenido.size() - 1)));
+        }
+        return dto;
+    }
+}
@@ -7,6 +7,7 @@ import com.data_service.data_service.entity.Inventario;
 import com.data_service.data_service.entity.Producto;
 
 public class ProductoMapper {
+    public static final int UMBRAL_STOCK_BAJO = 5;
 
     public static ProductoDTO toDTO(Producto producto) {
         ProductoDTO dto = new ProductoDTO();
@@ -20,8 +21,9 @@ public class ProductoMapper {
         }
 
         if (producto.getInventario() != null) {
-            dto.setStockBajo(producto.getInventario().getCantidad() < 5);
+            dto.setStockBajo(producto.getInventario().getCantidad() < UMBRAL_STOCK_BAJO);
         }
+        dto.setVersion(producto.getVersion());
         return dto;
     }
 
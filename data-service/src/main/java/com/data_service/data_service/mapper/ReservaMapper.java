@@ -0,0 +1,18 @@
+package com.data_service.data_service.mapper;
+
+import com.data_service.data_service.dto.ReservaDTO;
+import com.data_service.data_service.entity.Reserva;
+
+public class ReservaMapper {
+
+    public static ReservaDTO toDTO(Reserva reserva) {
+        ReservaDTO dto = new ReservaDTO();
+        dto.setId(reserva.getId());
+        dto.setProductoId(reserva.getProducto().getId());
+        dto.setCantidad(reserva.getCantidad());
+        dto.setEstado(reserva.getEstado().name());
+        dto.setExpiraEn(reserva.getExpiraEn());
+        dto.setFechaCreacion(reserva.getFechaCreacion());
+        return dto;
+    }
+}
@@ -0,0 +1,36 @@
+package com.data_service.data_service.repository;
+
+import com.data_service.data_service.entity.EventoCambio;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface EventoCambioRepository extends JpaRepository<EventoCambio, Long> {
+    // Bloquea las filas: otra instancia que publica al mismo tiempo espera a que se confirmen sus posiciones
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM EventoCambio e WHERE e.posicion IS NULL ORDER BY e.id")
+    List<EventoCambio> findPendientes(Limit limit);
+
+    @Query("SELECT e FROM EventoCambio e WHERE e.posicion > :desde ORDER BY e.posicion")
+    List<EventoCambio> findPublicadosDesde(@Param("desde") long desde, Limit limit);
+
+    @Query("SELECT MAX(e.posicion) FROM EventoCambio e")
+    Optional<Long> findUltimaPosicion();
+
+    @Query("SELECT MIN(e.posicion) FROM EventoCambio e")
+    Optional<Long> findPrimeraPosicion();
+
+    @Modifying
+    @Query("DELETE FROM EventoCambio e WHERE e.posicion < :ultimaPosicion AND e.fecha < :limite")
+    int deletePublicadosAntesDe(@Param("limite") LocalDateTime limite, @Param("ultimaPosicion") long ultimaPosicion);
+}
@@ -1,14 +1,121 @@
 package com.data_service.data_service.repository;
 
+import com.data_service.data_service.dto.InventarioDTO;
+import com.data_service.data_service.dto.ValorCategoriaDTO;
 import com.data_service.data_service.entity.Inventario;
+import com.data_service.data_service.repository.projection.EstadoStockBajo;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface InventarioRepository extends JpaRepository<Inventario, Long> {
+public interface InventarioRepository extends JpaRepository<Inventario, Long>, InventarioRepositoryCustom {
     @Query("SELECT SUM(i.cantidad * p.precio) FROM Inventario i JOIN i.producto p")
     BigDecimal calculateTotalValue();
+
+    @Query("SELECT new com.data_service.data_service.dto.ValorCategoriaDTO(c.nombre, COUNT(p), SUM(i.cantidad * p.precio)) " +
+            "FROM Inventario i JOIN i.producto p LEFT JOIN p.categoria c " +
+            "GROUP BY c.nombre ORDER BY c.nombre")
+    List<ValorCategoriaDTO> calculateTotalValueByCategory();
+
+    @Query("SELECT new com.data_service.data_service.dto.InventarioDTO(i.id, i.cantidad, i.cantidadReservada, i.stockMinimo, i.fechaActualizacion, i.producto.id, i.version) " +
+            "FROM Inventario i WHERE i.id = :id")
+    Optional<InventarioDTO> findDTOById(@Param("id") Long id);
+
+    @Query("SELECT new com.data_service.data_service.dto.InventarioDTO(i.id, i.cantidad, i.cantidadReservada, i.stockMinimo, i.fechaActualizacion, i.producto.id, i.version) " +
+            "FROM Inventario i ORDER BY i.id")
+    List<InventarioDTO> findAllDTO();
+
+    @Query("SELECT new com.data_service.data_service.dto.InventarioDTO(i.id, i.cantidad, i.cantidadReservada, i.stockMinimo, i.fechaActualizacion, i.producto.id, i.version) " +
+            "FROM Inventario i WHERE i.producto.id IN :productoIds")
+    List<InventarioDTO> findDTOByProductoIdIn(@Param("productoIds") Collection<Long> productoIds);
+
+    Optional<Inventario> findByProductoId(Long productoId);
+
+    @Query("SELECT i.producto.id FROM Inventario i WHERE i.id = :id")
+    Optional<Long> findProductoIdById(@Param("id") Long id);
+
+    /**
+     * Inventarios con stock bajo según la columna generada stock_bajo; usa idx_inventario_stock_bajo,
+     * así el costo depende de cuántos tienen stock bajo y no del tamaño de la tabla.
+     */
+    @Query("SELECT i.producto.id AS productoId, i.version AS version, i.stockBajo AS stockBajo " +
+            "FROM Inventario i WHERE i.stockBajo = true")
+    List<EstadoStockBajo> findEstadoStockBajo();
+
+    @Query("SELECT i.producto.id AS productoId, i.version AS version, i.stockBajo AS stockBajo " +
+            "FROM Inventario i WHERE i.producto.id IN :productoIds")
+    List<EstadoStockBajo> findEstadoStockBajoByProductoIdIn(@Param("productoIds") Collection<Long> productoIds);
+
+    @Query("SELECT i.cantidad - i.cantidadReservada FROM Inventario i WHERE i.producto.id = :productoId")
+    Optional<Integer> findDisponibleByProductoId(@Param("productoId") Long productoId);
+
+    boolean existsByProductoId(Long productoId);
+
+    /**
+     * Versión confirmada del inventario, leída en una transacción aparte: la transacción que
+     * detectó el conflicto al escribir ya no puede consultar.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    @Query("SELECT i.version FROM Inventario i WHERE i.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * Descuenta stock en un solo UPDATE condicional: la fila sólo cambia si alcanza la cantidad,
+     * así dos ventas concurrentes no pueden pisarse ni dejar el stock negativo. Las unidades
+     * reservadas no se pueden vender.
+     * Incrementa la versión, así una edición que leyó el stock anterior recibe un conflicto.
+     * @return Filas actualizadas (0 si no hay inventario o no alcanza el stock)
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Inventario i SET i.cantidad = i.cantidad - :cantidad, i.fechaActualizacion = LOCAL DATETIME, " +
+            "i.version = i.version + 1 " +
+            "WHERE i.producto.id = :productoId AND i.cantidad - i.cantidadReservada >= :cantidad")
+    int decrementStock(@Param("productoId") Long productoId, @Param("cantidad") int cantidad);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Inventario i SET i.cantidad = i.cantidad + :cantidad, i.fechaActualizacion = LOCAL DATETIME, " +
+            "i.version = i.version + 1 " +
+            "WHERE i.producto.id = :productoId")
+    int incrementStock(@Param("productoId") Long productoId, @Param("cantidad") int cantidad);
+
+    /**
+     * Aplica el neto de los movimientos del ledger de stock; puede ser negativo.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Inventario i SET i.cantidad = i.cantidad + :delta, i.fechaActualizacion = LOCAL DATETIME, " +
+            "i.version = i.version + 1 " +
+            "WHERE i.producto.id = :productoId")
+    int applyStockDelta(@Param("productoId") Long productoId, @Param("delta") int delta);
+
+    /**
+     * Aparta unidades para una reserva si alcanza lo disponible (cantidad menos lo ya reservado).
+     * @return Filas actualizadas (0 si no hay inventario o no alcanza el stock)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Inventario i SET i.cantidadReservada = i.cantidadReservada + :cantidad, i.version = i.version + 1 " +
+            "WHERE i.producto.id = :productoId AND i.cantidad - i.cantidadReservada >= :cantidad")
+    int reserveStock(@Param("productoId") Long productoId, @Param("cantidad") int cantidad);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Inventario i SET i.cantidad = i.cantidad - :cantidad, i.cantidadReservada = i.cantidadReservada - :cantidad, " +
+            "i.fechaActualizacion = LOCAL DATETIME, i.version = i.version + 1 " +
+            "WHERE i.producto.id = :productoId")
+    int confirmReservation(@Param("productoId") Long productoId, @Param("cantidad") int cantidad);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Inventario i SET i.cantidadReservada = i.cantidadReservada - :cantidad, i.version = i.version + 1 " +
+            "WHERE i.producto.id = :productoId")
+    int releaseReservation(@Param("productoId") Long productoId, @Param("cantidad") int cantidad);
 }
@@ -0,0 +1,16 @@
+package com.data_service.data_service.repository;
+
+import com.data_service.data_service.dto.ValorRangoPrecioDTO;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public interface InventarioRepositoryCustom {
+    /**
+     * Calcula el valor del inventario de todos los rangos de precio con una sola consulta.
+     * @param limites Límites superiores de cada rango, positivos, ordenados y sin repetir;
+     *                el primer rango empieza en cero y el último queda abierto
+     * @return Un ValorRangoPrecioDTO por rango, en el mismo orden que los límites
+     */
+    List<ValorRangoPrecioDTO> calculateTotalValueByPrecioRanges(List<BigDecimal> limites);
+}
@@ -0,0 +1,53 @@
+package com.data_service.data_service.repository;
+
+import com.data_service.data_service.dto.ValorRangoPrecioDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+class InventarioRepositoryCustomImpl implements InventarioRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Arma un SELECT con un COUNT(CASE ...) y un SUM(CASE ...) por rango sobre el mismo JOIN, así
+     * la base recorre el inventario una vez sin importar cuántos rangos se pidan. Las filas que no
+     * caen en un rango dan NULL en su CASE, que COUNT y SUM ignoran.
+     */
+    @Override
+    public List<ValorRangoPrecioDTO> calculateTotalValueByPrecioRanges(List<BigDecimal> limites){
+        List<BigDecimal> bordes = new ArrayList<>();
+        bordes.add(BigDecimal.ZERO);
+        bordes.addAll(limites);
+
+        StringBuilder jpql = new StringBuilder("SELECT ");
+        for (int i = 0; i < bordes.size(); i++) {
+            String condicion = "p.precio >= :b" + i + (i + 1 < bordes.size() ? " AND p.precio < :b" + (i + 1) : "");
+            if (i > 0) {
+                jpql.append(", ");
+            }
+            jpql.append("COUNT(CASE WHEN ").append(condicion).append(" THEN 1 END), ")
+                    .append("SUM(CASE WHEN ").append(condicion).append(" THEN i.cantidad * p.precio END)");
+        }
+        jpql.append(" FROM Inventario i JOIN i.producto p");
+
+        TypedQuery<Object[]> query = entityManager.createQuery(jpql.toString(), Object[].class);
+        for (int i = 0; i < bordes.size(); i++) {
+            query.setParameter("b" + i, bordes.get(i));
+        }
+        Object[] fila = query.getSingleResult();
+
+        List<ValorRangoPrecioDTO> rangos = new ArrayList<>(bordes.size());
+        for (int i = 0; i < bordes.size(); i++) {
+            BigDecimal max = i + 1 < bordes.size() ? bordes.get(i + 1) : null;
+            Long cantidad = ((Number) fila[2 * i]).longValue();
+            BigDecimal valor = fila[2 * i + 1] != null ? (BigDecimal) fila[2 * i + 1] : BigDecimal.ZERO;
+            rangos.add(new ValorRangoPrecioDTO(bordes.get(i), max, cantidad, valor));
+        }
+        return rangos;
+    }
+}
@@ -1,21 +1,111 @@
 package com.data_service.data_service.repository;
 
+import com.data_service.data_service.config.HibernateCacheConfig;
+import com.data_service.data_service.dto.ProductoDTO;
 import com.data_service.data_service.entity.Producto;
+import com.data_service.data_service.mapper.ProductoMapper;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+/**
+ * Las consultas que devuelven productos traen categoria e inventario en el mismo SELECT,
+ * porque ProductoMapper.toDTO lee ambas relaciones y cargarlas de forma diferida genera
+ * una consulta extra por fila.
+ * Las consultas findDTO* arman el ProductoDTO directamente en el SELECT y no cargan
+ * entidades en el contexto de persistencia.
+ * Las búsquedas por categoría usan la caché de consultas de Hibernate; se invalidan solas
+ * cuando se modifica alguna de las tablas consultadas.
+ */
 @Repository
 public interface ProductoRepository extends JpaRepository<Producto, Long> {
+    String SELECT_PRODUCTO_DTO = "SELECT new com.data_service.data_service.dto.ProductoDTO(" +
+            "p.id, p.nombre, p.descripcion, p.precio, c.nombre, " +
+            "CASE WHEN i.cantidad < " + ProductoMapper.UMBRAL_STOCK_BAJO + " THEN true " +
+            "WHEN i.cantidad >= " + ProductoMapper.UMBRAL_STOCK_BAJO + " THEN false END, p.version) " +
+            "FROM Producto p LEFT JOIN p.categoria c LEFT JOIN p.inventario i ";
+
+    @EntityGraph(attributePaths = {"categoria", "inventario"})
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<Producto> findByPrecioBetween(BigDecimal min, BigDecimal max);
 
-    @Query("SELECT p FROM Producto p JOIN p.inventario i WHERE i.cantidad < i.stockMinimo")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT p FROM Producto p JOIN FETCH p.inventario i LEFT JOIN FETCH p.categoria WHERE i.stockBajo = true")
     List<Producto> findProductosWithLowStock();
-    @Query("SELECT p FROM Producto p WHERE p.categoria.nombre = :categoriaNombre")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = HibernateCacheConfig.REGION_PRODUCTOS_POR_CATEGORIA)
+    })
+    @Query("SELECT p FROM Producto p JOIN FETCH p.categoria c LEFT JOIN FETCH p.inventario WHERE c.nombre = :categoriaNombre")
     List<Producto> findByCategoryName(@Param("categoriaNombre") String categoriaNombre);
 
+    @EntityGraph(attributePaths = {"categoria", "inventario"})
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<Producto> findByIdGreaterThanOrderByIdAsc(Long lastId, Limit limit);
+
+    @Query(SELECT_PRODUCTO_DTO + "WHERE p.id = :id")
+    Optional<ProductoDTO> findDTOById(@Param("id") Long id);
+
+    @Query(SELECT_PRODUCTO_DTO + "WHERE p.id IN :ids")
+    List<ProductoDTO> findDTOByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(value = SELECT_PRODUCTO_DTO, countQuery = "SELECT COUNT(p) FROM Producto p")
+    Page<ProductoDTO> findAllDTO(Pageable pageable);
+
+    @Query(SELECT_PRODUCTO_DTO + "WHERE p.id > :lastId ORDER BY p.id")
+    List<ProductoDTO> findDTOByIdGreaterThan(@Param("lastId") Long lastId, Limit limit);
+
+    @Query(SELECT_PRODUCTO_DTO + "WHERE p.precio BETWEEN :min AND :max")
+    List<ProductoDTO> findDTOByPrecioBetween(@Param("min") BigDecimal min, @Param("max") BigDecimal max);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = HibernateCacheConfig.REGION_PRODUCTOS_POR_CATEGORIA)
+    })
+    @Query(SELECT_PRODUCTO_DTO + "WHERE c.nombre = :categoriaNombre")
+    List<ProductoDTO> findDTOByCategoryName(@Param("categoriaNombre") String categoriaNombre);
+
+    @Override
+    @EntityGraph(attributePaths = {"categoria", "inventario"})
+    List<Producto> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = {"categoria", "inventario"})
+    Page<Producto> findAll(Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = {"categoria", "inventario"})
+    Optional<Producto> findById(Long id);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Producto p LEFT JOIN FETCH p.categoria LEFT JOIN FETCH p.inventario ORDER BY p.id")
+    Stream<Producto> streamAll();
+
+    /**
+     * Versión confirmada del producto, leída en una transacción aparte: la transacción que
+     * detectó el conflicto al escribir ya no puede consultar.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    @Query("SELECT p.version FROM Producto p WHERE p.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
 }
@@ -0,0 +1,37 @@
+package com.data_service.data_service.repository;
+
+import com.data_service.data_service.entity.EstadoReserva;
+import com.data_service.data_service.entity.Reserva;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Las reservas se bloquean al leerlas para cambiar su estado, así una confirmación y la
+ * expiración de la misma reserva no pueden devolver o descontar el stock dos veces.
+ */
+@Repository
+public interface ReservaRepository extends JpaRepository<Reserva, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Reserva r WHERE r.id = :id")
+    Optional<Reserva> findByIdForUpdate(@Param("id") Long id);
+
+    // Recorre el índice (estado, expira_en) desde la reserva más vieja
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Reserva r WHERE r.estado = :estado AND r.expiraEn <= :ahora ORDER BY r.expiraEn")
+    List<Reserva> findExpired(@Param("estado") EstadoReserva estado, @Param("ahora") LocalDateTime ahora, Limit limit);
+
+    // Unidades de reservas pendientes que el ledger de stock ya descontó de su stock en memoria
+    @Query("SELECT COALESCE(SUM(r.cantidad), 0) FROM Reserva r " +
+            "WHERE r.producto.id = :productoId AND r.estado = com.data_service.data_service.entity.EstadoReserva.PENDIENTE AND r.enLedger = true")
+    long sumPendientesEnLedger(@Param("productoId") Long productoId);
+}
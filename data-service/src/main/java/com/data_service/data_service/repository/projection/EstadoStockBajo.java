@@ -0,0 +1,7 @@
+package com.data_service.data_service.repository.projection;
+
+public interface EstadoStockBajo {
+    Long getProductoId();
+    Long getVersion();
+    Boolean getStockBajo();
+}
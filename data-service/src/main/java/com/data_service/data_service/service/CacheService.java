@@ -0,0 +1,9 @@
+package com.data_service.data_service.service;
+
+import com.data_service.data_service.dto.EstadisticaCacheDTO;
+
+import java.util.List;
+
+public interface CacheService {
+    List<EstadisticaCacheDTO> findRegionStatistics();
+}
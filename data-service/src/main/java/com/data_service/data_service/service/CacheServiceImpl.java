@@ -0,0 +1,37 @@
+package com.data_service.data_service.service;
+
+import com.data_service.data_service.dto.EstadisticaCacheDTO;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+
+@Service
+public class CacheServiceImpl implements CacheService{
+    private final Statistics statistics;
+
+    public CacheServiceImpl(EntityManagerFactory entityManagerFactory){
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Override
+    public List<EstadisticaCacheDTO> findRegionStatistics(){
+        return Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(this::toDTO)
+                .toList();
+    }
+
+    private EstadisticaCacheDTO toDTO(String region){
+        CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+        long aciertos = regionStatistics.getHitCount();
+        long fallos = regionStatistics.getMissCount();
+        long consultas = aciertos + fallos;
+        double tasaAciertos = consultas == 0 ? 0.0 : (double) aciertos / consultas;
+        return new EstadisticaCacheDTO(region, aciertos, fallos, regionStatistics.getPutCount(), tasaAciertos);
+    }
+}
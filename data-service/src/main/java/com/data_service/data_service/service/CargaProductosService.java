@@ -0,0 +1,10 @@
+package com.data_service.data_service.service;
+
+import com.data_service.data_service.dto.ProductoRequest;
+import com.data_service.data_service.dto.ResultadoCargaDTO;
+
+import java.util.List;
+
+public interface CargaProductosService {
+    ResultadoCargaDTO cargar(List<ProductoRequest> filas);
+}
@@ -0,0 +1,135 @@
+package com.data_service.data_service.service;
+
+import com.data_service.data_service.config.CargaConfig.CargaProperties;
+import com.data_service.data_service.dto.ErrorCargaDTO;
+import com.data_service.data_service.dto.ProductoRequest;
+import com.data_service.data_service.dto.ResultadoCargaDTO;
+import com.data_service.data_service.entity.Categoria;
+import com.data_service.data_service.exception.CategoriaNoEncontrada;
+import com.data_service.data_service.mapper.ProductoMapper;
+import com.data_service.data_service.repository.CategoriaRepository;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Crea muchos productos de una vez. Las filas se validan primero y las válidas se insertan en
+ * lotes de data.carga.tamanio-lote, cada uno en su propia transacción: un error sólo deshace su
+ * lote, que se reintenta fila por fila para saber cuál lo causó. El resultado informa la
+ * posición y el motivo de cada fila rechazada.
+ */
+@Service
+@Observed
+@Slf4j
+public class CargaProductosServiceImpl implements CargaProductosService {
+    private final CategoriaRepository categoriaRepository;
+    private final CargaProductosWriter writer;
+    private final CargaProperties properties;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public CargaProductosServiceImpl(CategoriaRepository categoriaRepository, CargaProductosWriter writer,
+                                     CargaProperties properties, EntityManagerFactory entityManagerFactory){
+        this.categoriaRepository = categoriaRepository;
+        this.writer = writer;
+        this.properties = properties;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public ResultadoCargaDTO cargar(List<ProductoRequest> filas){
+        Map<Long, Categoria> categorias = categorias(filas);
+        List<ErrorCargaDTO> errores = new ArrayList<>();
+        List<Integer> lote = new ArrayList<>();
+        int creados = 0;
+        for (int i = 0; i < filas.size(); i++) {
+            String error = validar(filas.get(i), categorias);
+            if (error != null) {
+                errores.add(new ErrorCargaDTO(i, error));
+                continue;
+            }
+            lote.add(i);
+            if (lote.size() == properties.tamanioLote()) {
+                creados += escribir(filas, lote, categorias, errores);
+                lote.clear();
+            }
+        }
+        if (!lote.isEmpty()) {
+            creados += escribir(filas, lote, categorias, errores);
+        }
+        errores.sort(Comparator.comparing(ErrorCargaDTO::getFila));
+        log.debug("Carga masiva: {} productos creados, {} filas rechazadas", creados, errores.size());
+        return new ResultadoCargaDTO(filas.size(), creados, errores);
+    }
+
+    // Las categorías que están en la caché de segundo nivel se leen de ahí (findById no llega a la
+    // base); las demás se buscan todas juntas con un solo SELECT ... IN
+    private Map<Long, Categoria> categorias(List<ProductoRequest> filas){
+        Map<Long, Categoria> categorias = new HashMap<>();
+        List<Long> faltantes = new ArrayList<>();
+        Cache cache = entityManagerFactory.getCache();
+        filas.stream()
+                .map(ProductoRequest::getCategoriaId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .forEach(id -> {
+                    if (cache.contains(Categoria.class, id)) {
+                        categoriaRepository.findById(id).ifPresent(categoria -> categorias.put(id, categoria));
+                    } else {
+                        faltantes.add(id);
+                    }
+                });
+        if (!faltantes.isEmpty()) {
+            categoriaRepository.findAllById(faltantes).forEach(categoria -> categorias.put(categoria.getId(), categoria));
+        }
+        return categorias;
+    }
+
+    private static String validar(ProductoRequest fila, Map<Long, Categoria> categorias){
+        if (fila.getNombre() == null || fila.getNombre().isBlank()) {
+            return "El nombre es obligatorio";
+        }
+        if (fila.getPrecio() == null) {
+            return "El precio es obligatorio";
+        }
+        if (fila.getStock() == null) {
+            return "El stock es obligatorio";
+        }
+        if (!categorias.containsKey(fila.getCategoriaId())) {
+            return new CategoriaNoEncontrada(fila.getCategoriaId()).getMessage();
+        }
+        return null;
+    }
+
+    // Las entidades se arman en cada intento: las de un lote que falló ya tienen id asignado
+    private int escribir(List<ProductoRequest> filas, List<Integer> lote, Map<Long, Categoria> categorias,
+                         List<ErrorCargaDTO> errores){
+        try {
+            writer.escribir(lote.stream()
+                    .map(i -> ProductoMapper.toEntity(filas.get(i), categorias.get(filas.get(i).getCategoriaId())))
+                    .toList());
+            return lote.size();
+        } catch (RuntimeException e) {
+            log.warn("Falló un lote de {} productos, se reintenta fila por fila: {}", lote.size(), e.getMessage());
+        }
+        int creados = 0;
+        for (Integer i : lote) {
+            try {
+                writer.escribir(List.of(ProductoMapper.toEntity(filas.get(i), categorias.get(filas.get(i).getCategoriaId()))));
+                creados++;
+            } catch (RuntimeException e) {
+                errores.add(new ErrorCargaDTO(i, NestedExceptionUtils.getMostSpecificCause(e).getMessage()));
+            }
+        }
+        return creados;
+    }
+}
@@ -0,0 +1,47 @@
+package com.data_service.data_service.service;
+
+import com.data_service.data_service.entity.OperacionCambio;
+import com.data_service.data_service.entity.Producto;
+import com.data_service.data_service.entity.TipoEntidad;
+import com.data_service.data_service.repository.ProductoRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Inserta un lote de productos nuevos, con sus inventarios, en una sola transacción.
+ */
+@Component
+public class CargaProductosWriter {
+    private final ProductoRepository productoRepository;
+    private final VistaStockBajo vistaStockBajo;
+    private final RegistroCambios registroCambios;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public CargaProductosWriter(ProductoRepository productoRepository, VistaStockBajo vistaStockBajo,
+                                RegistroCambios registroCambios){
+        this.productoRepository = productoRepository;
+        this.vistaStockBajo = vistaStockBajo;
+        this.registroCambios = registroCambios;
+    }
+
+    /**
+     * Con ids de secuencia, hibernate.jdbc.batch_size y order_inserts, Hibernate manda los INSERT
+     * de productos y después los de inventarios en lotes JDBC. Al terminar se vacía el contexto
+     * de persistencia para que no crezca de un lote a otro.
+     */
+    @Transactional
+    public void escribir(List<Producto> lote){
+        productoRepository.saveAll(lote);
+        List<Long> ids = lote.stream().map(Producto::getId).toList();
+        registroCambios.registrar(TipoEntidad.PRODUCTO, ids, OperacionCambio.CREADO);
+        vistaStockBajo.marcar(ids);
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
@@ -1,40 +1,65 @@
 package com.data_service.data_service.service;
 
 import com.data_service.data_service.entity.Categoria;
+import com.data_service.data_service.entity.OperacionCambio;
+import com.data_service.data_service.entity.TipoEntidad;
+import com.data_service.data_service.exception.CategoriaDuplicada;
 import com.data_service.data_service.exception.CategoriaNoEncontrada;
 import com.data_service.data_service.repository.CategoriaRepository;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 @Service
+@Observed
 public class CategoriaServiceImpl implements CategoriaService{
     private final CategoriaRepository categoriaRepository;
+    private final VistaStockBajo vistaStockBajo;
+    private final RegistroCambios registroCambios;
 
-    public CategoriaServiceImpl(CategoriaRepository categoriaRepository){
+    public CategoriaServiceImpl(CategoriaRepository categoriaRepository, VistaStockBajo vistaStockBajo,
+                                RegistroCambios registroCambios){
         this.categoriaRepository = categoriaRepository;
+        this.vistaStockBajo = vistaStockBajo;
+        this.registroCambios = registroCambios;
     }
 
     @Override
+    @Transactional
     public Categoria save(Categoria categoria){
-        return categoriaRepository.save(categoria);
+        OperacionCambio operacion = categoria.getId() == null ? OperacionCambio.CREADO : OperacionCambio.ACTUALIZADO;
+        validarNombre(categoria);
+        Categoria guardada = categoriaRepository.save(categoria);
+        registroCambios.registrar(TipoEntidad.CATEGORIA, guardada.getId(), operacion);
+        return guardada;
     }
 
     @Override
+    @Transactional
     public Categoria update(Long id, Categoria categoria){
         if(!categoriaRepository.existsById(id)){
             throw new CategoriaNoEncontrada(id);
         }
         categoria.setId(id);
-        return categoriaRepository.save(categoria);
+        validarNombre(categoria);
+        Categoria guardada = categoriaRepository.save(categoria);
+        registroCambios.registrar(TipoEntidad.CATEGORIA, id, OperacionCambio.ACTUALIZADO);
+        return guardada;
     }
 
     @Override
+    @Transactional
     public void delete(Long id){
         if (!categoriaRepository.existsById(id)){
             throw new CategoriaNoEncontrada(id);
         }
+        // Borra en cascada los productos de la categoría y sus inventarios; el evento de la
+        // categoría los cubre
         categoriaRepository.deleteById(id);
+        registroCambios.registrar(TipoEntidad.CATEGORIA, id, OperacionCambio.ELIMINADO);
+        vistaStockBajo.marcarTodos();
     }
 
     @Override
@@ -46,4 +71,14 @@ public class CategoriaServiceImpl implements CategoriaService{
     public List<Categoria> findAll(){
         return categoriaRepository.findAll();
     }
+
+    // El nombre es único (uk_categorias_nombre); se informa antes de que falle el INSERT o el UPDATE
+    private void validarNombre(Categoria categoria){
+        boolean duplicada = categoria.getId() == null
+                ? categoriaRepository.existsByNombre(categoria.getNombre())
+                : categoriaRepository.existsByNombreAndIdNot(categoria.getNombre(), categoria.getId());
+        if (duplicada) {
+            throw new CategoriaDuplicada(categoria.getNombre());
+        }
+    }
 }
@@ -0,0 +1,14 @@
+package com.data_service.data_service.service;
+
+import com.data_service.data_service.dto.EventoCambioDTO;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface EventoCambioService {
+    int publicarPendientes(int lote);
+    List<EventoCambioDTO> findPublicadosDesde(long posicion, int limite);
+    long ultimaPosicion();
+    long primeraPosicion();
+    int purgar(LocalDateTime limite);
+}
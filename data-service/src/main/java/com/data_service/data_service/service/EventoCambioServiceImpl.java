@@ -0,0 +1,77 @@
+package com.data_service.data_service.service;
+
+import com.data_service.data_service.dto.EventoCambioDTO;
+import com.data_service.data_service.entity.EventoCambio;
+import com.data_service.data_service.mapper.EventoCambioMapper;
+import com.data_service.data_service.repository.EventoCambioRepository;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@Observed
+public class EventoCambioServiceImpl implements EventoCambioService{
+    private final EventoCambioRepository eventoCambioRepository;
+
+    public EventoCambioServiceImpl(EventoCambioRepository eventoCambioRepository){
+        this.eventoCambioRepository = eventoCambioRepository;
+    }
+
+    /**
+     * Asigna posiciones consecutivas, a continuación de la última publicada, a los eventos
+     * confirmados que todavía no tienen. Un evento que se confirma tarde, con un id menor a otros
+     * ya publicados, recibe igual una posición mayor, así un suscriptor que retoma desde su
+     * última posición no lo pierde.
+     * @return Eventos publicados; si es igual a lote puede haber más pendientes
+     */
+    @Override
+    @Transactional
+    public int publicarPendientes(int lote){
+        // La última posición se lee antes que los pendientes: si otra instancia publica al mismo
+        // tiempo, las posiciones chocan con uk_evento_cambio_posicion y este lote se reintenta,
+        // en lugar de renumerar eventos que ella ya publicó
+        long posicion = eventoCambioRepository.findUltimaPosicion().orElse(0L);
+        List<EventoCambio> pendientes = eventoCambioRepository.findPendientes(Limit.of(lote));
+        if (pendientes.isEmpty()) {
+            return 0;
+        }
+        for (EventoCambio evento : pendientes) {
+            evento.setPosicion(++posicion);
+        }
+        return pendientes.size();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EventoCambioDTO> findPublicadosDesde(long posicion, int limite){
+        return eventoCambioRepository.findPublicadosDesde(posicion, Limit.of(limite)).stream()
+                .map(EventoCambioMapper::toDTO)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long ultimaPosicion(){
+        return eventoCambioRepository.findUltimaPosicion().orElse(0L);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long primeraPosicion(){
+        return eventoCambioRepository.findPrimeraPosicion().orElse(0L);
+    }
+
+    /**
+     * Borra los eventos publicados antes de limite, salvo el último: las posiciones nuevas se
+     * calculan a partir de él.
+     */
+    @Override
+    @Transactional
+    public int purgar(LocalDateTime limite){
+        return eventoCambioRepository.deletePublicadosAntesDe(limite, ultimaPosicion());
+    }
+}
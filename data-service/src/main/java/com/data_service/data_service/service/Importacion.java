@@ -0,0 +1,68 @@
+package com.data_service.data_service.service;
+
+import com.data_service.data_service.dto.ErrorCargaDTO;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progreso de una importación de catálogo. La actualizan a la vez el hilo que lee el archivo y
+ * los que escriben los lotes; sólo se guardan los primeros maxErrores rechazos.
+ */
+@Getter
+public class Importacion {
+    public enum Estado { EN_CURSO, COMPLETADA, FALLIDA }
+
+    private final String id = UUID.randomUUID().toString();
+    private final ImportacionService.Formato formato;
+    private final Instant inicio = Instant.now();
+    private final AtomicLong leidas = new AtomicLong();
+    private final AtomicLong creadas = new AtomicLong();
+    private final AtomicLong rechazadas = new AtomicLong();
+    private final List<ErrorCargaDTO> errores = new ArrayList<>();
+    private final int maxErrores;
+    private volatile Estado estado = Estado.EN_CURSO;
+    private volatile Instant fin;
+    private volatile String detalleFalla;
+
+    Importacion(ImportacionService.Formato formato, int maxErrores){
+        this.formato = formato;
+        this.maxErrores = maxErrores;
+    }
+
+    void rechazar(int linea, String detalle){
+        rechazadas.incrementAndGet();
+        synchronized (errores) {
+            if (errores.size() < maxErrores) {
+                errores.add(new ErrorCargaDTO(linea, detalle));
+            }
+        }
+    }
+
+    public List<ErrorCargaDTO> getErrores(){
+        synchronized (errores) {
+            return List.copyOf(errores);
+        }
+    }
+
+    void terminar(){
+        if (estado == Estado.EN_CURSO) {
+            fin = Instant.now();
+            estado = Estado.COMPLETADA;
+        }
+    }
+
+    void fallar(String detalle){
+        detalleFalla = detalle;
+        fin = Instant.now();
+        estado = Estado.FALLIDA;
+    }
+
+    public boolean terminada(){
+        return estado != Estado.EN_CURSO;
+    }
+}
@@ -0,0 +1,10 @@
+package com.data_service.data_service.service;
+
+import java.io.InputStream;
+
+public interface ImportacionService {
+    enum Formato { CSV, NDJSON }
+
+    Importacion importar(InputStream entrada, Formato formato);
+    Importacion findById(String id);
+}
@@ -0,0 +1,173 @@
+package com.data_service.data_service.service;
+
+import com.data_service.data_service.config.CargaConfig.CargaProperties;
+import com.data_service.data_service.config.CargaConfig.ImportacionProperties;
+import com.data_service.data_service.dto.ProductoRequest;
+import com.data_service.data_service.dto.ResultadoCargaDTO;
+import com.data_service.data_service.exception.ArchivoImportacionInvalido;
+import com.data_service.data_service.exception.ImportacionNoEncontrada;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Importa catálogos de proveedores sin tenerlos en memoria. El hilo del pedido lee el archivo,
+ * arma lotes de data.carga.tamanio-lote filas y los deja en una cola de data.importacion.lotes-en-cola
+ * lugares. data.importacion.trabajadores hilos toman los lotes y los guardan con
+ * CargaProductosService. Si la base escribe más lento de lo que llega el archivo, la cola se
+ * llena y la lectura espera, así que la memoria usada no depende del tamaño del archivo.
+ */
+@Service
+@Observed
+@Slf4j
+public class ImportacionServiceImpl implements ImportacionService {
+    // Marca de fin de archivo; cada trabajador la vuelve a poner para que la vean los demás
+    private static final List<LectorCatalogo.Fila> FIN = List.of();
+
+    private final CargaProductosService cargaProductosService;
+    private final CargaProperties cargaProperties;
+    private final ImportacionProperties properties;
+    private final ObjectReader productoReader;
+    private final Map<String, Importacion> importaciones = new LinkedHashMap<>();
+    private final ExecutorService trabajadores = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ImportacionServiceImpl(CargaProductosService cargaProductosService, CargaProperties cargaProperties,
+                                  ImportacionProperties properties, ObjectMapper objectMapper){
+        this.cargaProductosService = cargaProductosService;
+        this.cargaProperties = cargaProperties;
+        this.properties = properties;
+        this.productoReader = objectMapper.readerFor(ProductoRequest.class);
+    }
+
+    /**
+     * Lee todo el archivo y vuelve cuando terminó de leerlo; los últimos lotes pueden seguir
+     * escribiéndose. El progreso se consulta con findById desde que empieza la lectura.
+     */
+    @Override
+    public Importacion importar(InputStream entrada, Formato formato){
+        Importacion importacion = new Importacion(formato, properties.maxErrores());
+        try (LectorCatalogo lector = abrir(entrada, formato)) {
+            registrar(importacion);
+            BlockingQueue<List<LectorCatalogo.Fila>> cola = new ArrayBlockingQueue<>(properties.lotesEnCola());
+            AtomicInteger activos = new AtomicInteger(properties.trabajadores());
+            for (int i = 0; i < properties.trabajadores(); i++) {
+                trabajadores.execute(() -> escribir(importacion, cola, activos));
+            }
+            try {
+                leer(lector, importacion, cola);
+            } catch (IOException | RuntimeException e) {
+                log.error("Falló la lectura de la importación {}", importacion.getId(), e);
+                importacion.fallar("Error al leer el archivo en la línea " + (importacion.getLeidas().get() + 1) + ": " + e.getMessage());
+            } finally {
+                cola.put(FIN);
+            }
+        } catch (IOException e) {
+            throw new ArchivoImportacionInvalido("No se pudo leer el archivo: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            importacion.fallar("Importación interrumpida");
+        }
+        return importacion;
+    }
+
+    @Override
+    public Importacion findById(String id){
+        synchronized (importaciones) {
+            Importacion importacion = importaciones.get(id);
+            if (importacion == null) {
+                throw new ImportacionNoEncontrada(id);
+            }
+            return importacion;
+        }
+    }
+
+    @PreDestroy
+    void cerrar(){
+        trabajadores.shutdownNow();
+    }
+
+    private LectorCatalogo abrir(InputStream entrada, Formato formato) throws IOException {
+        return formato == Formato.CSV ? LectorCatalogo.csv(entrada) : LectorCatalogo.ndjson(entrada, productoReader);
+    }
+
+    // Se descartan las importaciones terminadas más viejas; las que están en curso se conservan
+    private void registrar(Importacion importacion){
+        synchronized (importaciones) {
+            importaciones.put(importacion.getId(), importacion);
+            Iterator<Importacion> anteriores = importaciones.values().iterator();
+            while (importaciones.size() > properties.historial() && anteriores.hasNext()) {
+                if (anteriores.next().terminada()) {
+                    anteriores.remove();
+                }
+            }
+        }
+    }
+
+    private void leer(LectorCatalogo lector, Importacion importacion, BlockingQueue<List<LectorCatalogo.Fila>> cola)
+            throws IOException, InterruptedException {
+        List<LectorCatalogo.Fila> lote = new ArrayList<>(cargaProperties.tamanioLote());
+        LectorCatalogo.Fila fila;
+        while ((fila = lector.siguiente()) != null) {
+            importacion.getLeidas().incrementAndGet();
+            if (fila.error() != null) {
+                importacion.rechazar(fila.linea(), fila.error());
+                continue;
+            }
+            lote.add(fila);
+            if (lote.size() == cargaProperties.tamanioLote()) {
+                cola.put(lote);
+                lote = new ArrayList<>(cargaProperties.tamanioLote());
+            }
+        }
+        if (!lote.isEmpty()) {
+            cola.put(lote);
+        }
+    }
+
+    private void escribir(Importacion importacion, BlockingQueue<List<LectorCatalogo.Fila>> cola, AtomicInteger activos){
+        try {
+            List<LectorCatalogo.Fila> lote;
+            while ((lote = cola.take()) != FIN) {
+                guardar(importacion, lote);
+            }
+            cola.put(FIN);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            importacion.fallar("Importación interrumpida");
+        } finally {
+            if (activos.decrementAndGet() == 0) {
+                importacion.terminar();
+                log.info("Importación {} terminada: {} filas leídas, {} productos creados, {} filas rechazadas",
+                        importacion.getId(), importacion.getLeidas().get(), importacion.getCreadas().get(),
+                        importacion.getRechazadas().get());
+            }
+        }
+    }
+
+    private void guardar(Importacion importacion, List<LectorCatalogo.Fila> lote){
+        try {
+            ResultadoCargaDTO resultado = cargaProductosService.cargar(lote.stream().map(LectorCatalogo.Fila::request).toList());
+            importacion.getCreadas().addAndGet(resultado.getCreados());
+            resultado.getErrores().forEach(error -> importacion.rechazar(lote.get(error.getFila()).linea(), error.getDetalle()));
+        } catch (RuntimeException e) {
+            log.error("Falló un lote de la importación {}", importacion.getId(), e);
+            lote.forEach(fila -> importacion.rechazar(fila.linea(), e.getMessage()));
+        }
+    }
+}
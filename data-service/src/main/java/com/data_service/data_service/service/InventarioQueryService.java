@@ -0,0 +1,12 @@
+package com.data_service.data_service.service;
+
+import com.data_service.data_service.dto.InventarioDTO;
+
+import java.util.List;
+
+public interface InventarioQueryService {
+    InventarioDTO findById(Long id);
+    List<InventarioDTO> findAll();
+    List<InventarioDTO> findByProductoIds(List<Long> productoIds);
+    List<InventarioDTO> findWithLowStock();
+}
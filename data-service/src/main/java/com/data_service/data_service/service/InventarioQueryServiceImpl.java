@@ -0,0 +1,56 @@
+package com.data_service.data_service.service;
+
+import com.data_service.data_service.dto.InventarioDTO;
+import com.data_service.data_service.exception.InventarioNoEncontrado;
+import com.data_service.data_service.repository.InventarioRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+@Service
+@Transactional(readOnly = true)
+public class InventarioQueryServiceImpl implements InventarioQueryService{
+    private final InventarioRepository inventarioRepository;
+    private final VistaStockBajo vistaStockBajo;
+
+    public InventarioQueryServiceImpl(InventarioRepository inventarioRepository, VistaStockBajo vistaStockBajo){
+        this.inventarioRepository = inventarioRepository;
+        this.vistaStockBajo = vistaStockBajo;
+    }
+
+    @Override
+    public InventarioDTO findById(Long id){
+        return inventarioRepository.findDTOById(id).orElseThrow(()-> new InventarioNoEncontrado(id));
+    }
+
+    @Override
+    public List<InventarioDTO> findAll(){
+        return inventarioRepository.findAllDTO();
+    }
+
+    @Override
+    public List<InventarioDTO> findByProductoIds(List<Long> productoIds){
+        if (productoIds.isEmpty()) {
+            return List.of();
+        }
+        return inventarioRepository.findDTOByProductoIdIn(Set.copyOf(productoIds));
+    }
+
+    /**
+     * Busca los inventarios de los productos de VistaStockBajo, en lotes de tamaño fijo para
+     * no armar un IN sin límite.
+     */
+    @Override
+    public List<InventarioDTO> findWithLowStock(){
+        List<InventarioDTO> inventarios = new ArrayList<>();
+        for (List<Long> lote : vistaStockBajo.productoIdsEnLotes()) {
+            inventarios.addAll(inventarioRepository.findDTOByProductoIdIn(lote));
+        }
+        inventarios.sort(Comparator.comparing(InventarioDTO::getProductoId));
+        return inventarios;
+    }
+}
@@ -1,5 +1,8 @@
 package com.data_service.data_service.service;
 
+import com.data_service.data_service.dto.DisponibilidadDTO;
+import com.data_service.data_service.dto.ValorCategoriaDTO;
+import com.data_service.data_service.dto.ValorRangoPrecioDTO;
 import com.data_service.data_service.entity.Inventario;
 
 import java.math.BigDecimal;
@@ -7,8 +10,13 @@ import java.util.List;
 
 public interface InventarioService {
     BigDecimal calculateTotalValue();
+    List<ValorCategoriaDTO> calculateTotalValueByCategory();
+    List<ValorRangoPrecioDTO> calculateTotalValueByPriceRange(List<BigDecimal> limites);
     Inventario save(Inventario inventario);
     Inventario update(Long id, Inventario inventario);
+    Inventario decrementStock(Long productoId, Integer cantidad);
+    Inventario incrementStock(Long productoId, Integer cantidad);
+    DisponibilidadDTO checkAvailability(Long productoId, Integer cantidad);
     void delete(Long id);
     Inventario findById(Long id);
     List<Inventario> findAll();
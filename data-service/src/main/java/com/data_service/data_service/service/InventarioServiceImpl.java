@@ -1,19 +1,47 @@
 package com.data_service.data_service.service;
 
+import com.data_service.data_service.dto.DisponibilidadDTO;
+import com.data_service.data_service.dto.ValorCategoriaDTO;
+import com.data_service.data_service.dto.ValorRangoPrecioDTO;
 import com.data_service.data_service.entity.Inventario;
+import com.data_service.data_service.entity.OperacionCambio;
+import com.data_service.data_service.entity.TipoEntidad;
+import com.data_service.data_service.exception.CantidadInvalida;
+import com.data_service.data_service.exception.ConflictoDeVersion;
 import com.data_service.data_service.exception.InventarioNoEncontrado;
+import com.data_service.data_service.exception.LimitesPrecioInvalidos;
+import com.data_service.data_service.exception.StockInsuficiente;
 import com.data_service.data_service.repository.InventarioRepository;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.OptionalLong;
+import java.util.TreeSet;
 
 @Service
+@Observed
 public class InventarioServiceImpl implements InventarioService{
+    static final int MAX_LIMITES_PRECIO = 20;
+
     private final InventarioRepository inventarioRepository;
+    private final StockLedger stockLedger;
+    private final VistaStockBajo vistaStockBajo;
+    private final RegistroCambios registroCambios;
+    private final TransactionTemplate transactionTemplate;
 
-    public InventarioServiceImpl(InventarioRepository inventarioRepository){
+    public InventarioServiceImpl(InventarioRepository inventarioRepository, StockLedger stockLedger,
+                                 VistaStockBajo vistaStockBajo, RegistroCambios registroCambios,
+                                 TransactionTemplate transactionTemplate){
         this.inventarioRepository = inventarioRepository;
+        this.stockLedger = stockLedger;
+        this.vistaStockBajo = vistaStockBajo;
+        this.registroCambios = registroCambios;
+        this.transactionTemplate = transactionTemplate;
     }
 
     @Override
@@ -22,25 +50,159 @@ public class InventarioServiceImpl implements InventarioService{
     }
 
     @Override
+    public List<ValorCategoriaDTO> calculateTotalValueByCategory(){
+        return inventarioRepository.calculateTotalValueByCategory();
+    }
+
+    /**
+     * Calcula el valor del inventario por rangos de precio con una sola consulta de agregación,
+     * por lo que el costo no depende del tamaño del catálogo. Los límites repetidos se comparan
+     * por valor (100 y 100.00 son el mismo límite) y uno nulo, cero o negativo se rechaza.
+     * Cada límite agrega dos columnas y un parámetro a la consulta, por eso se aceptan a lo sumo
+     * MAX_LIMITES_PRECIO.
+     * @param limites Límites superiores de cada rango; el último rango queda abierto
+     * @return Un ValorRangoPrecioDTO por rango, ordenados por precio
+     * @throws LimitesPrecioInvalidos si hay demasiados límites o alguno no es positivo
+     */
+    @Override
+    public List<ValorRangoPrecioDTO> calculateTotalValueByPriceRange(List<BigDecimal> limites){
+        if (limites.size() > MAX_LIMITES_PRECIO) {
+            throw new LimitesPrecioInvalidos("Se pueden pedir como máximo " + MAX_LIMITES_PRECIO
+                    + " límites de precio, se pidieron " + limites.size());
+        }
+        TreeSet<BigDecimal> ordenados = new TreeSet<>();
+        for (BigDecimal limite : limites) {
+            if (limite == null || limite.signum() <= 0) {
+                throw new LimitesPrecioInvalidos("El límite de precio debe ser mayor a cero: " + limite);
+            }
+            ordenados.add(limite);
+        }
+        return inventarioRepository.calculateTotalValueByPrecioRanges(List.copyOf(ordenados));
+    }
+
+    @Override
+    @Transactional
     public Inventario save(Inventario inventario){
-        return inventarioRepository.save(inventario);
+        OperacionCambio operacion = inventario.getId() == null ? OperacionCambio.CREADO : OperacionCambio.ACTUALIZADO;
+        Inventario guardado = inventarioRepository.save(inventario);
+        Long productoId = guardado.getProducto() != null ? guardado.getProducto().getId() : null;
+        registroCambios.registrar(TipoEntidad.INVENTARIO, productoId, operacion);
+        vistaStockBajo.marcar(productoId);
+        return guardado;
     }
 
+    /**
+     * Aplica los cambios sobre el inventario cargado en la transacción; Hibernate escribe un solo
+     * UPDATE al final del método, condicionado a la versión leída. Si el pedido trae una versión
+     * distinta de la actual se rechaza sin escribir, igual que una cantidad menor a la reservada;
+     * si otra transacción cambia la fila antes del UPDATE también se responde ConflictoDeVersion,
+     * con la versión que dejó.
+     */
     @Override
+    @Transactional
     public Inventario update(Long id, Inventario inventario){
-        if(!inventarioRepository.existsById(id)){
-            throw new InventarioNoEncontrado(id);
+        Inventario actual = inventarioRepository.findById(id).orElseThrow(() -> new InventarioNoEncontrado(id));
+        if (inventario.getVersion() != null && !inventario.getVersion().equals(actual.getVersion())) {
+            throw new ConflictoDeVersion("inventario", id, inventario.getVersion(), actual.getVersion());
+        }
+        if (inventario.getCantidad() != null && inventario.getCantidad() < actual.getCantidadReservada()) {
+            throw new CantidadInvalida(inventario.getCantidad(), actual.getCantidadReservada());
+        }
+        Long productoId = actual.getProducto() != null ? actual.getProducto().getId() : null;
+        if (productoId != null && stockLedger.gestiona(productoId)) {
+            // La fila recibe el cambio con la próxima escritura del ledger
+            if (inventario.getCantidad() != null) {
+                stockLedger.fijar(productoId, inventario.getCantidad(), actual.getCantidadReservada());
+            }
+        } else {
+            actual.setCantidad(inventario.getCantidad());
+        }
+        actual.setStockMinimo(inventario.getStockMinimo());
+        actual.setFechaActualizacion(inventario.getFechaActualizacion());
+        registroCambios.registrar(TipoEntidad.INVENTARIO, productoId, OperacionCambio.ACTUALIZADO);
+        vistaStockBajo.marcar(productoId);
+        try {
+            inventarioRepository.flush();
+        } catch (ObjectOptimisticLockingFailureException e) {
+            // Si la otra transacción la borró, la fila ya no existe
+            Long versionActual = inventarioRepository.findVersionById(id).orElseThrow(() -> new InventarioNoEncontrado(id));
+            throw new ConflictoDeVersion("inventario", id, actual.getVersion(), versionActual);
+        }
+        return actual;
+    }
+
+    /**
+     * Los productos que lleva el ledger de stock se descuentan en memoria, sin abrir una
+     * transacción; el resto con un UPDATE condicional en la base, en la misma transacción que
+     * su evento de cambio.
+     */
+    @Override
+    public Inventario decrementStock(Long productoId, Integer cantidad){
+        validateCantidad(cantidad);
+        if (stockLedger.gestiona(productoId)) {
+            return stockLedger.decrement(productoId, cantidad);
+        }
+        return transactionTemplate.execute(status -> {
+            if (inventarioRepository.decrementStock(productoId, cantidad) == 0) {
+                if (!inventarioRepository.existsByProductoId(productoId)) {
+                    throw new InventarioNoEncontrado(productoId);
+                }
+                throw new StockInsuficiente(productoId, cantidad);
+            }
+            return cambioDeStock(productoId);
+        });
+    }
+
+    @Override
+    public Inventario incrementStock(Long productoId, Integer cantidad){
+        validateCantidad(cantidad);
+        if (stockLedger.gestiona(productoId)) {
+            return stockLedger.increment(productoId, cantidad);
+        }
+        return transactionTemplate.execute(status -> {
+            if (inventarioRepository.incrementStock(productoId, cantidad) == 0) {
+                throw new InventarioNoEncontrado(productoId);
+            }
+            return cambioDeStock(productoId);
+        });
+    }
+
+    private Inventario cambioDeStock(Long productoId){
+        registroCambios.registrar(TipoEntidad.INVENTARIO, productoId, OperacionCambio.ACTUALIZADO);
+        vistaStockBajo.marcar(productoId);
+        return findByProductoId(productoId);
+    }
+
+    @Override
+    public DisponibilidadDTO checkAvailability(Long productoId, Integer cantidad){
+        validateCantidad(cantidad);
+        OptionalLong enMemoria = stockLedger.disponible(productoId);
+        long disponible = enMemoria.isPresent() ? enMemoria.getAsLong() : inventarioRepository.findDisponibleByProductoId(productoId)
+                .orElseThrow(() -> new InventarioNoEncontrado(productoId));
+        return new DisponibilidadDTO(productoId, disponible, disponible >= cantidad);
+    }
+
+    private Inventario findByProductoId(Long productoId){
+        return inventarioRepository.findByProductoId(productoId)
+                .orElseThrow(() -> new InventarioNoEncontrado(productoId));
+    }
+
+    private void validateCantidad(Integer cantidad){
+        if (cantidad == null || cantidad <= 0) {
+            throw new CantidadInvalida(cantidad);
         }
-        inventario.setId(id);
-        return inventarioRepository.save(inventario);
     }
 
     @Override
+    @Transactional
     public void delete(Long id){
         if(!inventarioRepository.existsById(id)){
             throw new InventarioNoEncontrado(id);
         }
+        Long productoId = inventarioRepository.findProductoIdById(id).orElse(null);
         inventarioRepository.deleteById(id);
+        registroCambios.registrar(TipoEntidad.INVENTARIO, productoId, OperacionCambio.ELIMINADO);
+        vistaStockBajo.marcarTodos();
     }
 
     @Override
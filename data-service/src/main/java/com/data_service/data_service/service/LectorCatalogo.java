@@ -0,0 +1,177 @@
+package com.data_service.data_service.service;
+
+import com.data_service.data_service.dto.ProductoRequest;
+import com.data_service.data_service.exception.ArchivoImportacionInvalido;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Lee un catálogo CSV o NDJSON línea por línea, sin cargar el archivo en memoria. Una línea que
+ * no se puede interpretar se devuelve con su error y la lectura sigue con la próxima.
+ * El CSV lleva encabezado con las columnas nombre, precio, stock y categoriaId (descripcion es
+ * opcional y el orden es libre), separadas por comas; los valores con comas van entre comillas.
+ */
+abstract class LectorCatalogo implements Closeable {
+    private static final List<String> COLUMNAS_OBLIGATORIAS = List.of("nombre", "precio", "stock", "categoriaid");
+
+    /** Línea leída: request si se pudo interpretar, error si no. */
+    record Fila(int linea, ProductoRequest request, String error) {}
+
+    private final BufferedReader reader;
+    private int linea;
+
+    private LectorCatalogo(InputStream entrada){
+        this.reader = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+    }
+
+    static LectorCatalogo csv(InputStream entrada) throws IOException {
+        return new Csv(entrada);
+    }
+
+    static LectorCatalogo ndjson(InputStream entrada, ObjectReader productoReader){
+        return new Ndjson(entrada, productoReader);
+    }
+
+    /** @return La próxima fila, o null al terminar el archivo */
+    Fila siguiente() throws IOException {
+        String texto;
+        do {
+            texto = reader.readLine();
+            if (texto == null) {
+                return null;
+            }
+            linea++;
+        } while (texto.isBlank());
+        try {
+            return new Fila(linea, interpretar(texto), null);
+        } catch (IllegalArgumentException e) {
+            return new Fila(linea, null, e.getMessage());
+        }
+    }
+
+    protected abstract ProductoRequest interpretar(String texto);
+
+    protected String leerLinea() throws IOException {
+        linea++;
+        return reader.readLine();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private static final class Ndjson extends LectorCatalogo {
+        private final ObjectReader productoReader;
+
+        private Ndjson(InputStream entrada, ObjectReader productoReader){
+            super(entrada);
+            this.productoReader = productoReader;
+        }
+
+        @Override
+        protected ProductoRequest interpretar(String texto){
+            try {
+                return productoReader.readValue(texto);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("JSON inválido: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    private static final class Csv extends LectorCatalogo {
+        private final Map<String, Integer> columnas = new HashMap<>();
+
+        private Csv(InputStream entrada) throws IOException {
+            super(entrada);
+            String encabezado = leerLinea();
+            if (encabezado == null) {
+                throw new ArchivoImportacionInvalido("El archivo CSV está vacío");
+            }
+            List<String> nombres;
+            try {
+                nombres = dividir(encabezado.replace("\uFEFF", ""));
+            } catch (IllegalArgumentException e) {
+                throw new ArchivoImportacionInvalido("Encabezado del CSV inválido: " + e.getMessage());
+            }
+            for (int i = 0; i < nombres.size(); i++) {
+                columnas.put(nombres.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+            List<String> faltantes = COLUMNAS_OBLIGATORIAS.stream().filter(c -> !columnas.containsKey(c)).toList();
+            if (!faltantes.isEmpty()) {
+                throw new ArchivoImportacionInvalido("Faltan columnas en el encabezado del CSV: " + faltantes);
+            }
+        }
+
+        @Override
+        protected ProductoRequest interpretar(String texto){
+            List<String> campos = dividir(texto);
+            ProductoRequest request = new ProductoRequest();
+            request.setNombre(campo(campos, "nombre", Function.identity()));
+            request.setDescripcion(campo(campos, "descripcion", Function.identity()));
+            request.setPrecio(campo(campos, "precio", BigDecimal::new));
+            request.setStock(campo(campos, "stock", Integer::valueOf));
+            request.setCategoriaId(campo(campos, "categoriaId", Long::valueOf));
+            return request;
+        }
+
+        private <T> T campo(List<String> campos, String columna, Function<String, T> conversion){
+            Integer posicion = columnas.get(columna.toLowerCase(Locale.ROOT));
+            if (posicion == null || posicion >= campos.size() || campos.get(posicion).isBlank()) {
+                return null;
+            }
+            String valor = campos.get(posicion).trim();
+            try {
+                return conversion.apply(valor);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Valor inválido en la columna " + columna + ": '" + valor + "'");
+            }
+        }
+
+        // Comillas dobles alrededor de un valor; dos comillas seguidas dentro de él son una comilla
+        private static List<String> dividir(String texto){
+            List<String> campos = new ArrayList<>();
+            StringBuilder actual = new StringBuilder();
+            boolean entreComillas = false;
+            for (int i = 0; i < texto.length(); i++) {
+                char c = texto.charAt(i);
+                if (entreComillas) {
+                    if (c == '"' && i + 1 < texto.length() && texto.charAt(i + 1) == '"') {
+                        actual.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        entreComillas = false;
+                    } else {
+                        actual.append(c);
+                    }
+                } else if (c == '"') {
+                    entreComillas = true;
+                } else if (c == ',') {
+                    campos.add(actual.toString());
+                    actual.setLength(0);
+                } else {
+                    actual.append(c);
+                }
+            }
+            if (entreComillas) {
+                throw new IllegalArgumentException("Comillas sin cerrar");
+            }
+            campos.add(actual.toString());
+            return campos;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.data_service.data_service.service;
+
+import com.data_service.data_service.dto.ProductoDTO;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public interface ProductoQueryService {
+    ProductoDTO findById(Long id);
+    List<ProductoDTO> findAllById(List<Long> ids);
+    Page<ProductoDTO> findAll(Pageable pageable);
+    List<ProductoDTO> findAllAfter(Long lastId, int size);
+    List<ProductoDTO> findByPrecioBetween(BigDecimal min, BigDecimal max);
+    List<ProductoDTO> findProductosWithLowStock();
+    List<ProductoDTO> findByCategoryName(String categoriaNombre);
+}
@@ -0,0 +1,80 @@
+package com.data_service.data_service.service;
+
+import com.data_service.data_service.dto.ProductoDTO;
+import com.data_service.data_service.exception.ProductoNoEncontrado;
+import com.data_service.data_service.repository.ProductoRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Lecturas de productos que devuelven DTOs armados por la consulta, sin entidades
+ * administradas ni snapshots para dirty checking.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ProductoQueryServiceImpl implements ProductoQueryService{
+    private final ProductoRepository productoRepository;
+    private final VistaStockBajo vistaStockBajo;
+
+    public ProductoQueryServiceImpl(ProductoRepository productoRepository, VistaStockBajo vistaStockBajo){
+        this.productoRepository = productoRepository;
+        this.vistaStockBajo = vistaStockBajo;
+    }
+
+    @Override
+    public ProductoDTO findById(Long id){
+        return productoRepository.findDTOById(id).orElseThrow(()-> new ProductoNoEncontrado(id));
+    }
+
+    @Override
+    public List<ProductoDTO> findAllById(List<Long> ids){
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return productoRepository.findDTOByIdIn(Set.copyOf(ids));
+    }
+
+    @Override
+    public Page<ProductoDTO> findAll(Pageable pageable){
+        return productoRepository.findAllDTO(pageable);
+    }
+
+    @Override
+    public List<ProductoDTO> findAllAfter(Long lastId, int size){
+        return productoRepository.findDTOByIdGreaterThan(lastId, Limit.of(size));
+    }
+
+    @Override
+    public List<ProductoDTO> findByPrecioBetween(BigDecimal min, BigDecimal max){
+        return productoRepository.findDTOByPrecioBetween(min, max);
+    }
+
+    /**
+     * Toma los ids de VistaStockBajo y busca sólo esos productos por clave primaria; el costo
+     * depende de cuántos tienen stock bajo y no del tamaño del catálogo. Los ids se consultan
+     * en lotes de tamaño fijo para no armar un IN sin límite.
+     */
+    @Override
+    public List<ProductoDTO> findProductosWithLowStock(){
+        List<ProductoDTO> productos = new ArrayList<>();
+        for (List<Long> lote : vistaStockBajo.productoIdsEnLotes()) {
+            productos.addAll(productoRepository.findDTOByIdIn(lote));
+        }
+        productos.sort(Comparator.comparing(ProductoDTO::getId));
+        return productos;
+    }
+
+    @Override
+    public List<ProductoDTO> findByCategoryName(String categoriaNombre){
+        return productoRepository.findDTOByCategoryName(categoriaNombre);
+    }
+}
@@ -1,9 +1,12 @@
 package com.data_service.data_service.service;
 
 import com.data_service.data_service.entity.Producto;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ProductoService {
     List<Producto> findByPrecioBetween(BigDecimal min, BigDecimal max);
@@ -14,4 +17,7 @@ public interface ProductoService {
     void delete(Long id);
     Producto findById(Long id);
     List<Producto>findAll();
+    Page<Producto> findAll(Pageable pageable);
+    List<Producto> findAllAfter(Long lastId, int size);
+    void forEachProducto(Consumer<Producto> accion);
 }
@@ -1,19 +1,44 @@
 package com.data_service.data_service.service;
 
+import com.data_service.data_service.entity.Inventario;
+import com.data_service.data_service.entity.OperacionCambio;
 import com.data_service.data_service.entity.Producto;
+import com.data_service.data_service.entity.TipoEntidad;
+import com.data_service.data_service.exception.ConflictoDeVersion;
 import com.data_service.data_service.exception.ProductoNoEncontrado;
 import com.data_service.data_service.repository.ProductoRepository;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
+@Observed
 public class ProductoServiceImpl implements ProductoService{
     private ProductoRepository productoRepository;
+    private StockLedger stockLedger;
+    private VistaStockBajo vistaStockBajo;
+    private RegistroCambios registroCambios;
 
-    public ProductoServiceImpl(ProductoRepository productoRepository){
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ProductoServiceImpl(ProductoRepository productoRepository, StockLedger stockLedger, VistaStockBajo vistaStockBajo,
+                               RegistroCambios registroCambios){
         this.productoRepository = productoRepository;
+        this.stockLedger = stockLedger;
+        this.vistaStockBajo = vistaStockBajo;
+        this.registroCambios = registroCambios;
     }
 
     @Override
@@ -32,25 +57,71 @@ public class ProductoServiceImpl implements ProductoService{
     }
 
     @Override
+    @Transactional
     public Producto save(Producto producto){
-        return productoRepository.save(producto);
+        OperacionCambio operacion = producto.getId() == null ? OperacionCambio.CREADO : OperacionCambio.ACTUALIZADO;
+        Producto guardado = productoRepository.save(producto);
+        registroCambios.registrar(TipoEntidad.PRODUCTO, guardado.getId(), operacion);
+        if (guardado.getInventario() != null) {
+            vistaStockBajo.marcar(guardado.getId());
+        }
+        return guardado;
     }
 
+    /**
+     * Aplica los cambios sobre el producto cargado en la transacción; Hibernate escribe un solo
+     * UPDATE al final del método, condicionado a la versión leída. Si el pedido trae una versión
+     * distinta de la actual se rechaza sin escribir; si otra transacción cambia la fila antes del
+     * UPDATE también se responde ConflictoDeVersion, con la versión que dejó.
+     * @param id ID del producto
+     * @param producto Datos nuevos; version es opcional
+     * @return Producto actualizado, con la versión nueva
+     */
     @Override
+    @Transactional
     public Producto update(Long id, Producto producto){
-        if(!productoRepository.existsById(id)){
-            throw new ProductoNoEncontrado(id);
+        Producto actual = productoRepository.findById(id).orElseThrow(() -> new ProductoNoEncontrado(id));
+        if (producto.getVersion() != null && !producto.getVersion().equals(actual.getVersion())) {
+            throw new ConflictoDeVersion("producto", id, producto.getVersion(), actual.getVersion());
         }
-        producto.setId(id);
-        return productoRepository.save(producto);
+        actual.setNombre(producto.getNombre());
+        actual.setDescripcion(producto.getDescripcion());
+        actual.setPrecio(producto.getPrecio());
+        actual.setCategoria(producto.getCategoria());
+        registroCambios.registrar(TipoEntidad.PRODUCTO, id, OperacionCambio.ACTUALIZADO);
+        Inventario inventario = producto.getInventario();
+        if (inventario != null && inventario.getCantidad() != null) {
+            if (stockLedger.gestiona(id)) {
+                int reservadas = actual.getInventario() != null ? actual.getInventario().getCantidadReservada() : 0;
+                stockLedger.fijar(id, inventario.getCantidad(), reservadas);
+            } else if (actual.getInventario() != null) {
+                actual.getInventario().setCantidad(inventario.getCantidad());
+                registroCambios.registrar(TipoEntidad.INVENTARIO, id, OperacionCambio.ACTUALIZADO);
+            } else {
+                inventario.setProducto(actual);
+                actual.setInventario(inventario);
+            }
+            vistaStockBajo.marcar(id);
+        }
+        try {
+            productoRepository.flush();
+        } catch (ObjectOptimisticLockingFailureException e) {
+            // Si la otra transacción la borró, la fila ya no existe
+            Long versionActual = productoRepository.findVersionById(id).orElseThrow(() -> new ProductoNoEncontrado(id));
+            throw new ConflictoDeVersion("producto", id, actual.getVersion(), versionActual);
+        }
+        return actual;
     }
 
     @Override
+    @Transactional
     public void delete(Long id){
         if(!productoRepository.existsById(id)){
             throw new ProductoNoEncontrado(id);
         }
         productoRepository.deleteById(id);
+        registroCambios.registrar(TipoEntidad.PRODUCTO, id, OperacionCambio.ELIMINADO);
+        vistaStockBajo.marcar(id);
     }
 
     @Override
@@ -62,4 +133,30 @@ public class ProductoServiceImpl implements ProductoService{
     public List<Producto> findAll(){
         return productoRepository.findAll();
     }
+
+    @Override
+    public Page<Producto> findAll(Pageable pageable){
+        return productoRepository.findAll(pageable);
+    }
+
+    @Override
+    public List<Producto> findAllAfter(Long lastId, int size){
+        return productoRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(size));
+    }
+
+    /**
+     * Recorre todo el catálogo con un cursor de base de datos. Cada producto se separa del
+     * contexto de persistencia después de procesarlo, así la memoria no crece con la cantidad
+     * de filas.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachProducto(Consumer<Producto> accion){
+        try (Stream<Producto> productos = productoRepository.streamAll()) {
+            productos.forEach(producto -> {
+                accion.accept(producto);
+                entityManager.detach(producto);
+            });
+        }
+    }
 }
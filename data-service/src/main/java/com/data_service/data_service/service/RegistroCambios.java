@@ -0,0 +1,61 @@
+package com.data_service.data_service.service;
+
+import com.data_service.data_service.entity.EventoCambio;
+import com.data_service.data_service.entity.OperacionCambio;
+import com.data_service.data_service.entity.TipoEntidad;
+import com.data_service.data_service.repository.EventoCambioRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Agrega al outbox los cambios de productos, inventarios y categorías. Exige una transacción en
+ * curso para que el evento se confirme o se revierta junto con la escritura.
+ * Lo que se borra o se crea en cascada queda cubierto por el evento de la entidad padre: un
+ * producto creado con su inventario o una categoría borrada con sus productos generan un evento.
+ * Al confirmarse la transacción avisa al relay, que así publica enseguida sin revisar la tabla
+ * en cada ciclo.
+ */
+@Component
+public class RegistroCambios {
+    private final EventoCambioRepository eventoCambioRepository;
+    private final RelayCambios relayCambios;
+
+    public RegistroCambios(EventoCambioRepository eventoCambioRepository, RelayCambios relayCambios){
+        this.eventoCambioRepository = eventoCambioRepository;
+        this.relayCambios = relayCambios;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrar(TipoEntidad entidad, Long entidadId, OperacionCambio operacion){
+        if (entidadId != null) {
+            eventoCambioRepository.save(new EventoCambio(null, null, entidad, entidadId, operacion, LocalDateTime.now()));
+            avisarAlConfirmar();
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrar(TipoEntidad entidad, Collection<Long> entidadIds, OperacionCambio operacion){
+        LocalDateTime ahora = LocalDateTime.now();
+        eventoCambioRepository.saveAll(entidadIds.stream()
+                .map(entidadId -> new EventoCambio(null, null, entidad, entidadId, operacion, ahora))
+                .toList());
+        if (!entidadIds.isEmpty()) {
+            avisarAlConfirmar();
+        }
+    }
+
+    private void avisarAlConfirmar(){
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                relayCambios.hayPendientes();
+            }
+        });
+    }
+}
@@ -0,0 +1,199 @@
+package com.data_service.data_service.service;
+
+import com.data_service.data_service.config.EventosConfig.EventosProperties;
+import com.data_service.data_service.dto.EventoCambioDTO;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Publica el outbox de cambios y lo reparte por Server-Sent Events.
+ * Una tarea periódica asigna posición a los eventos confirmados y despierta a los suscriptores.
+ * Sólo va a la base cuando RegistroCambios avisó que se confirmaron eventos nuevos, o cada
+ * intervaloRevision para tomar los que quedaron sin publicar (por ejemplo, de una instancia que
+ * se cayó) y las posiciones que publicó otra instancia.
+ * Cada suscriptor tiene su propio hilo virtual que lee de la base los eventos posteriores a su
+ * última posición, así uno lento no frena a los demás y retomar es leer desde otra posición.
+ * Cada evento sale con su posición como id: al reconectarse, el cliente manda Last-Event-ID y
+ * recibe lo que se perdió. Si esos eventos ya se purgaron recibe un evento reinicio y debe
+ * descartar todo lo que tenga guardado.
+ * Las posiciones las asigna una sola instancia a la vez: con varias, una de las transacciones
+ * falla por la restricción única y se reintenta en el próximo ciclo.
+ * Al apagar se cierran las suscripciones antes que el servidor web, que si no esperaría a que
+ * terminen.
+ */
+@Component
+@Slf4j
+public class RelayCambios implements SmartLifecycle {
+    public static final String EVENTO_CAMBIO = "cambio";
+    public static final String EVENTO_REINICIO = "reinicio";
+
+    private final EventoCambioService eventoCambioService;
+    private final EventosProperties properties;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition publicados = lock.newCondition();
+    // Al arrancar puede haber eventos de antes sin publicar
+    private final AtomicBoolean pendientes = new AtomicBoolean(true);
+    private long ultimaRevision;
+    private volatile long ultimaPosicion;
+    private volatile boolean cerrado;
+
+    public RelayCambios(EventoCambioService eventoCambioService, EventosProperties properties){
+        this.eventoCambioService = eventoCambioService;
+        this.properties = properties;
+    }
+
+    @PostConstruct
+    public void iniciar(){
+        ultimaPosicion = eventoCambioService.ultimaPosicion();
+    }
+
+    public long ultimaPosicion(){
+        return ultimaPosicion;
+    }
+
+    /** Hay eventos confirmados sin publicar; se publican en el próximo ciclo. */
+    public void hayPendientes(){
+        pendientes.set(true);
+    }
+
+    @Scheduled(fixedDelayString = "${data.eventos.intervalo-publicacion:200ms}")
+    public synchronized void publicar(){
+        long ahora = System.nanoTime();
+        if (!pendientes.getAndSet(false) && ahora - ultimaRevision < properties.intervaloRevision().toNanos()) {
+            return;
+        }
+        ultimaRevision = ahora;
+        try {
+            int publicadosLote;
+            do {
+                publicadosLote = eventoCambioService.publicarPendientes(properties.tamanioLote());
+            } while (publicadosLote == properties.tamanioLote());
+            long ultima = eventoCambioService.ultimaPosicion();
+            if (ultima > ultimaPosicion) {
+                avisar(ultima);
+            }
+        } catch (RuntimeException e) {
+            pendientes.set(true);
+            log.warn("No se pudieron publicar los eventos de cambio, se reintenta en el próximo ciclo: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${data.eventos.intervalo-limpieza:1h}")
+    public void purgar(){
+        int borrados = eventoCambioService.purgar(LocalDateTime.now().minus(properties.retencion()));
+        if (borrados > 0) {
+            log.info("Se borraron {} eventos de cambio publicados", borrados);
+        }
+    }
+
+    /**
+     * @param desde Última posición que recibió el cliente; si es nula recibe sólo los eventos nuevos
+     */
+    public SseEmitter suscribir(Long desde){
+        SseEmitter emitter = new SseEmitter(properties.timeoutConexion().toMillis());
+        AtomicBoolean activa = new AtomicBoolean(true);
+        Runnable cerrar = () -> {
+            activa.set(false);
+            avisar(ultimaPosicion);
+        };
+        emitter.onCompletion(cerrar);
+        emitter.onTimeout(cerrar);
+        emitter.onError(error -> cerrar.run());
+        executor.submit(() -> enviar(emitter, activa, desde));
+        return emitter;
+    }
+
+    private void enviar(SseEmitter emitter, AtomicBoolean activa, Long desde){
+        try {
+            long cursor = desde != null ? desde : ultimaPosicion;
+            // Manda los encabezados: el cliente sabe que quedó suscripto aunque no haya cambios
+            emitter.send(SseEmitter.event().comment("suscripto"));
+            if (desde != null && sePerdieron(desde)) {
+                cursor = eventoCambioService.ultimaPosicion();
+                emitter.send(SseEmitter.event().id(String.valueOf(cursor)).name(EVENTO_REINICIO).data(cursor));
+            }
+            while (activa.get() && !cerrado) {
+                List<EventoCambioDTO> eventos = eventoCambioService.findPublicadosDesde(cursor, properties.tamanioLote());
+                for (EventoCambioDTO evento : eventos) {
+                    emitter.send(SseEmitter.event()
+                            .id(String.valueOf(evento.getPosicion()))
+                            .name(EVENTO_CAMBIO)
+                            .data(evento, MediaType.APPLICATION_JSON));
+                    cursor = evento.getPosicion();
+                }
+                if (eventos.size() < properties.tamanioLote() && !esperar(cursor)) {
+                    emitter.send(SseEmitter.event().comment("latido"));
+                }
+            }
+            emitter.complete();
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Suscripción a eventos de cambio terminada: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            emitter.complete();
+        }
+    }
+
+    // Los eventos siguientes a desde ya se purgaron, o desde es de otra base
+    private boolean sePerdieron(long desde){
+        long primera = eventoCambioService.primeraPosicion();
+        return desde > eventoCambioService.ultimaPosicion() || (primera > 0 && desde < primera - 1);
+    }
+
+    /** @return false si pasó el intervalo de latido sin eventos nuevos */
+    private boolean esperar(long cursor) throws InterruptedException {
+        lock.lock();
+        try {
+            if (ultimaPosicion > cursor || cerrado) {
+                return true;
+            }
+            return publicados.await(properties.latido().toMillis(), TimeUnit.MILLISECONDS);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void avisar(long posicion){
+        lock.lock();
+        try {
+            ultimaPosicion = Math.max(ultimaPosicion, posicion);
+            publicados.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void start(){
+        cerrado = false;
+    }
+
+    @Override
+    public void stop(){
+        cerrado = true;
+        avisar(ultimaPosicion);
+        executor.shutdown();
+    }
+
+    @Override
+    public boolean isRunning(){
+        return !cerrado;
+    }
+}
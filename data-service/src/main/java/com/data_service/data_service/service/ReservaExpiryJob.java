@@ -0,0 +1,35 @@
+package com.data_service.data_service.service;
+
+import com.data_service.data_service.config.ReservasConfig.ReservasProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Expira las reservas vencidas en lotes, cada lote en su propia transacción, hasta que no
+ * queden vencidas.
+ */
+@Component
+@Slf4j
+public class ReservaExpiryJob {
+    private final ReservaService reservaService;
+    private final ReservasProperties properties;
+
+    public ReservaExpiryJob(ReservaService reservaService, ReservasProperties properties){
+        this.reservaService = reservaService;
+        this.properties = properties;
+    }
+
+    @Scheduled(fixedDelayString = "${data.reservas.intervalo-expiracion:30s}")
+    public void expire(){
+        int total = 0;
+        int expiradas;
+        do {
+            expiradas = reservaService.expireBatch();
+            total += expiradas;
+        } while (expiradas == properties.tamanioLote());
+        if (total > 0) {
+            log.info("Se expiraron {} reservas vencidas", total);
+        }
+    }
+}
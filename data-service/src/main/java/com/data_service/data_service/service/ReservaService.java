@@ -0,0 +1,13 @@
+package com.data_service.data_service.service;
+
+import com.data_service.data_service.entity.Reserva;
+
+import java.time.Duration;
+
+public interface ReservaService {
+    Reserva reserve(Long productoId, Integer cantidad, Duration ttl);
+    Reserva confirm(Long id);
+    Reserva release(Long id);
+    Reserva findById(Long id);
+    int expireBatch();
+}
@@ -0,0 +1,208 @@
+package com.data_service.data_service.service;
+
+import com.data_service.data_service.config.ReservasConfig.ReservasProperties;
+import com.data_service.data_service.entity.EstadoReserva;
+import com.data_service.data_service.entity.OperacionCambio;
+import com.data_service.data_service.entity.Reserva;
+import com.data_service.data_service.entity.TipoEntidad;
+import com.data_service.data_service.exception.CantidadInvalida;
+import com.data_service.data_service.exception.InventarioNoEncontrado;
+import com.data_service.data_service.exception.ReservaNoEncontrada;
+import com.data_service.data_service.exception.ReservaNoVigente;
+import com.data_service.data_service.exception.StockInsuficiente;
+import com.data_service.data_service.repository.InventarioRepository;
+import com.data_service.data_service.repository.ProductoRepository;
+import com.data_service.data_service.repository.ReservaRepository;
+import io.micrometer.observation.annotation.Observed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reservar aparta unidades en Inventario.cantidadReservada con un UPDATE condicional;
+ * confirmar las descuenta de cantidad y liberar o expirar las devuelve.
+ * Para los productos que lleva el ledger de stock la reserva se descuenta del stock en memoria
+ * en el momento, así dos reservas no pueden tomar las mismas unidades, y se vuelve a sumar si
+ * la transacción se revierte. Liberarla suma las unidades al ledger recién cuando la transacción
+ * se confirma. Si una de esas devoluciones al ledger falla se reintenta y, si sigue fallando,
+ * queda registrada en el log con el producto y la cantidad.
+ */
+@Service
+@Observed
+@Slf4j
+public class ReservaServiceImpl implements ReservaService{
+    private static final int INTENTOS_DEVOLUCION = 3;
+
+    private final ReservaRepository reservaRepository;
+    private final InventarioRepository inventarioRepository;
+    private final ProductoRepository productoRepository;
+    private final StockLedger stockLedger;
+    private final ReservasProperties properties;
+    private final VistaStockBajo vistaStockBajo;
+    private final RegistroCambios registroCambios;
+
+    public ReservaServiceImpl(ReservaRepository reservaRepository, InventarioRepository inventarioRepository,
+                              ProductoRepository productoRepository, StockLedger stockLedger,
+                              ReservasProperties properties, VistaStockBajo vistaStockBajo,
+                              RegistroCambios registroCambios){
+        this.reservaRepository = reservaRepository;
+        this.inventarioRepository = inventarioRepository;
+        this.productoRepository = productoRepository;
+        this.stockLedger = stockLedger;
+        this.properties = properties;
+        this.vistaStockBajo = vistaStockBajo;
+        this.registroCambios = registroCambios;
+    }
+
+    /**
+     * @param ttl Vigencia de la reserva; si es nula o no positiva se usa la vigencia por defecto
+     *            y nunca supera la vigencia máxima
+     */
+    @Override
+    @Transactional
+    public Reserva reserve(Long productoId, Integer cantidad, Duration ttl){
+        if (cantidad == null || cantidad <= 0) {
+            throw new CantidadInvalida(cantidad);
+        }
+        boolean enLedger = stockLedger.gestiona(productoId);
+        if (enLedger) {
+            stockLedger.decrement(productoId, cantidad);
+            alTerminar(null, () -> devolverAlLedger(productoId, cantidad));
+        } else if (inventarioRepository.reserveStock(productoId, cantidad) == 0) {
+            if (!inventarioRepository.existsByProductoId(productoId)) {
+                throw new InventarioNoEncontrado(productoId);
+            }
+            throw new StockInsuficiente(productoId, cantidad);
+        } else {
+            registroCambios.registrar(TipoEntidad.INVENTARIO, productoId, OperacionCambio.ACTUALIZADO);
+        }
+
+        LocalDateTime ahora = LocalDateTime.now();
+        Reserva reserva = new Reserva(null, productoRepository.getReferenceById(productoId), cantidad,
+                EstadoReserva.PENDIENTE, ahora.plus(vigencia(ttl)), ahora, enLedger);
+        return reservaRepository.save(reserva);
+    }
+
+    @Override
+    @Transactional
+    public Reserva confirm(Long id){
+        Reserva reserva = findPendiente(id);
+        reserva.setEstado(EstadoReserva.CONFIRMADA);
+        if (!reserva.isEnLedger()) {
+            inventarioRepository.confirmReservation(reserva.getProducto().getId(), reserva.getCantidad());
+            registroCambios.registrar(TipoEntidad.INVENTARIO, reserva.getProducto().getId(), OperacionCambio.ACTUALIZADO);
+            vistaStockBajo.marcar(reserva.getProducto().getId());
+        }
+        return reserva;
+    }
+
+    @Override
+    @Transactional
+    public Reserva release(Long id){
+        Reserva reserva = findPendiente(id);
+        reserva.setEstado(EstadoReserva.LIBERADA);
+        devolver(Map.of(reserva.getProducto().getId(), reserva.getCantidad()), reserva.isEnLedger());
+        return reserva;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Reserva findById(Long id){
+        return reservaRepository.findById(id).orElseThrow(() -> new ReservaNoEncontrada(id));
+    }
+
+    /**
+     * Expira un lote de reservas vencidas y devuelve su stock agrupado por producto.
+     * @return Cantidad de reservas expiradas; si es igual al tamaño del lote puede haber más
+     */
+    @Override
+    @Transactional
+    public int expireBatch(){
+        List<Reserva> vencidas = reservaRepository.findExpired(EstadoReserva.PENDIENTE, LocalDateTime.now(),
+                Limit.of(properties.tamanioLote()));
+        Map<Long, Integer> enBase = new HashMap<>();
+        Map<Long, Integer> enLedger = new HashMap<>();
+        for (Reserva reserva : vencidas) {
+            reserva.setEstado(EstadoReserva.EXPIRADA);
+            (reserva.isEnLedger() ? enLedger : enBase).merge(reserva.getProducto().getId(), reserva.getCantidad(), Integer::sum);
+        }
+        devolver(enBase, false);
+        devolver(enLedger, true);
+        return vencidas.size();
+    }
+
+    private Duration vigencia(Duration ttl){
+        if (ttl == null || ttl.isZero() || ttl.isNegative()) {
+            return properties.ttlPorDefecto();
+        }
+        return ttl.compareTo(properties.ttlMaximo()) > 0 ? properties.ttlMaximo() : ttl;
+    }
+
+    private Reserva findPendiente(Long id){
+        Reserva reserva = reservaRepository.findByIdForUpdate(id).orElseThrow(() -> new ReservaNoEncontrada(id));
+        // Una reserva vencida que la tarea todavía no expiró tampoco se puede usar
+        if (reserva.getEstado() != EstadoReserva.PENDIENTE || !reserva.getExpiraEn().isAfter(LocalDateTime.now())) {
+            throw new ReservaNoVigente(id, reserva.getEstado());
+        }
+        return reserva;
+    }
+
+    private void devolver(Map<Long, Integer> cantidades, boolean enLedger){
+        cantidades.forEach((productoId, cantidad) -> {
+            if (stockLedger.gestiona(productoId)) {
+                if (!enLedger) {
+                    // Se reservó en la base antes de que el ledger llevara el producto: el ledger ya
+                    // la descontó al arrancar, así que las unidades salen de la fila y vuelven por el ledger
+                    inventarioRepository.confirmReservation(productoId, cantidad);
+                    registroCambios.registrar(TipoEntidad.INVENTARIO, productoId, OperacionCambio.ACTUALIZADO);
+                }
+                alTerminar(() -> devolverAlLedger(productoId, cantidad), null);
+            } else if (!enLedger) {
+                inventarioRepository.releaseReservation(productoId, cantidad);
+                registroCambios.registrar(TipoEntidad.INVENTARIO, productoId, OperacionCambio.ACTUALIZADO);
+            } else {
+                // El ledger ya no lleva el producto: su stock en memoria se escribió en la base
+                inventarioRepository.incrementStock(productoId, cantidad);
+                registroCambios.registrar(TipoEntidad.INVENTARIO, productoId, OperacionCambio.ACTUALIZADO);
+                vistaStockBajo.marcar(productoId);
+            }
+        });
+    }
+
+    private void devolverAlLedger(Long productoId, int cantidad){
+        for (int intento = 1; ; intento++) {
+            try {
+                stockLedger.increment(productoId, cantidad);
+                return;
+            } catch (RuntimeException e) {
+                if (intento == INTENTOS_DEVOLUCION) {
+                    log.error("No se pudieron devolver {} unidades del producto {} al ledger de stock", cantidad, productoId, e);
+                    return;
+                }
+                log.warn("Falló el intento {} de devolver {} unidades del producto {} al ledger de stock",
+                        intento, cantidad, productoId, e);
+            }
+        }
+    }
+
+    private void alTerminar(Runnable siConfirma, Runnable siRevierte){
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                Runnable accion = status == STATUS_COMMITTED ? siConfirma : siRevierte;
+                if (accion != null) {
+                    accion.run();
+                }
+            }
+        });
+    }
+}
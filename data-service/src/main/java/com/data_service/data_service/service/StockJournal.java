@@ -0,0 +1,271 @@
+package com.data_service.data_service.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Archivo de sólo-agregado con los movimientos del ledger de stock, una línea
+ * "secuencia;productoId;delta" por movimiento.
+ * Los movimientos quedan pendientes en el mismo orden de sus secuencias, así quien los escribe
+ * en la base puede marcar como aplicados todos hasta la última secuencia que tomó.
+ * Una línea incompleta al final (el proceso terminó a mitad de una escritura) se descarta al abrir.
+ * Con sincronizarDisco, un hilo propio fuerza a disco todas las líneas escritas desde la última
+ * vez (group commit) y cada registro espera a que su línea quede sincronizada; así el lock sólo
+ * cubre la escritura de la línea y no un fsync por movimiento.
+ * El lock es un ReentrantLock y no synchronized: un hilo virtual que espera el fsync dentro de
+ * un monitor deja tomado el hilo de plataforma que lo ejecuta.
+ */
+class StockJournal implements Closeable {
+    record Movimiento(long secuencia, long productoId, long delta) {}
+
+    private final Path archivo;
+    private final boolean sincronizarDisco;
+    private final ReentrantLock lock = new ReentrantLock();
+    // Hay líneas escritas para el próximo fsync, o se cerró el journal
+    private final Condition hayLineas = lock.newCondition();
+    // Avanzó sincronizado o falló un fsync
+    private final Condition sincronizadas = lock.newCondition();
+    // Movimientos ya sincronizados que todavía no tomó la escritura en la base
+    private final Queue<Movimiento> pendientes = new ArrayDeque<>();
+    // Movimientos escritos en el archivo que esperan el próximo fsync
+    private final Queue<Movimiento> sinSincronizar = new ArrayDeque<>();
+    private FileChannel canal;
+    private Thread sincronizador;
+    private boolean abierto;
+    private long secuencia;
+    private long sincronizado;
+    private long posicionEscrita;
+    private long posicionSincronizada;
+    // Aumenta cada vez que falla un fsync y se descartan los movimientos sin sincronizar
+    private long fallos;
+
+    StockJournal(Path archivo, boolean sincronizarDisco){
+        this.archivo = archivo;
+        this.sincronizarDisco = sincronizarDisco;
+    }
+
+    /**
+     * Abre el journal para agregar movimientos.
+     * @param checkpoint Última secuencia ya aplicada en la base
+     * @return Movimientos del archivo posteriores al checkpoint, en orden
+     */
+    List<Movimiento> abrir(long checkpoint) throws IOException {
+        lock.lock();
+        try {
+            Path directorio = archivo.toAbsolutePath().getParent();
+            if (directorio != null) {
+                Files.createDirectories(directorio);
+            }
+            String contenido = Files.exists(archivo) ? Files.readString(archivo, StandardCharsets.UTF_8) : "";
+            int fin = contenido.lastIndexOf('\n') + 1;
+
+            List<Movimiento> sinAplicar = new ArrayList<>();
+            secuencia = checkpoint;
+            for (String linea : contenido.substring(0, fin).split("\n")) {
+                if (linea.isBlank()) {
+                    continue;
+                }
+                String[] campos = linea.split(";");
+                Movimiento movimiento = new Movimiento(Long.parseLong(campos[0]), Long.parseLong(campos[1]), Long.parseLong(campos[2]));
+                if (movimiento.secuencia() > checkpoint) {
+                    sinAplicar.add(movimiento);
+                }
+                secuencia = Math.max(secuencia, movimiento.secuencia());
+            }
+
+            canal = FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            canal.truncate(contenido.substring(0, fin).getBytes(StandardCharsets.UTF_8).length);
+            canal.position(canal.size());
+            sincronizado = secuencia;
+            posicionEscrita = canal.position();
+            posicionSincronizada = posicionEscrita;
+            abierto = true;
+            if (sincronizarDisco) {
+                sincronizador = Thread.ofPlatform().daemon().name("stock-journal-fsync").start(this::sincronizar);
+            }
+            return sinAplicar;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Agrega un movimiento. Con sincronizarDisco vuelve recién cuando la línea está en disco;
+     * si el fsync falla, el movimiento se descarta del archivo y se informa con IOException.
+     */
+    Movimiento registrar(long productoId, long delta) throws IOException {
+        lock.lock();
+        try {
+            Movimiento movimiento = new Movimiento(secuencia + 1, productoId, delta);
+            ByteBuffer linea = ByteBuffer.wrap((movimiento.secuencia() + ";" + productoId + ";" + delta + "\n")
+                    .getBytes(StandardCharsets.UTF_8));
+            long posicion = canal.position();
+            try {
+                while (linea.hasRemaining()) {
+                    canal.write(linea);
+                }
+            } catch (IOException e) {
+                // No dejar una línea a medias delante de los movimientos siguientes
+                canal.truncate(posicion);
+                canal.position(posicion);
+                throw e;
+            }
+            secuencia = movimiento.secuencia();
+            posicionEscrita = posicion + linea.limit();
+            if (!sincronizarDisco) {
+                pendientes.add(movimiento);
+                return movimiento;
+            }
+            sinSincronizar.add(movimiento);
+            hayLineas.signal();
+            esperarDisco(movimiento.secuencia(), fallos);
+            return movimiento;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    List<Movimiento> tomarPendientes(){
+        lock.lock();
+        try {
+            List<Movimiento> movimientos = new ArrayList<>(pendientes);
+            pendientes.clear();
+            return movimientos;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Vacía el archivo si no quedan movimientos sin tomar. Sólo debe llamarse cuando todos
+     * los movimientos tomados ya están aplicados en la base.
+     */
+    void compactar() throws IOException {
+        lock.lock();
+        try {
+            if (pendientes.isEmpty() && sinSincronizar.isEmpty()) {
+                canal.truncate(0);
+                canal.position(0);
+                posicionEscrita = 0;
+                posicionSincronizada = 0;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        Thread hilo;
+        lock.lock();
+        try {
+            abierto = false;
+            hayLineas.signal();
+            hilo = sincronizador;
+        } finally {
+            lock.unlock();
+        }
+        if (hilo != null) {
+            // Sincroniza lo que quedó escrito antes de cerrar el canal
+            boolean interrumpido = false;
+            while (hilo.isAlive()) {
+                try {
+                    hilo.join();
+                } catch (InterruptedException e) {
+                    interrumpido = true;
+                }
+            }
+            if (interrumpido) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        lock.lock();
+        try {
+            if (canal != null) {
+                canal.close();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Se llama con el lock tomado; await lo libera mientras espera el fsync. */
+    private void esperarDisco(long secuenciaMovimiento, long intento) throws IOException {
+        // La línea ya está escrita: abandonar la espera dejaría un movimiento que nadie confirmó
+        while (sincronizado < secuenciaMovimiento && fallos == intento) {
+            sincronizadas.awaitUninterruptibly();
+        }
+        if (fallos != intento && sincronizado < secuenciaMovimiento) {
+            throw new IOException("No se pudo sincronizar el journal de stock " + archivo);
+        }
+    }
+
+    private void sincronizar(){
+        while (true) {
+            long hasta;
+            long posicion;
+            lock.lock();
+            try {
+                while (abierto && sinSincronizar.isEmpty()) {
+                    hayLineas.awaitUninterruptibly();
+                }
+                if (sinSincronizar.isEmpty()) {
+                    return;
+                }
+                hasta = secuencia;
+                posicion = posicionEscrita;
+            } finally {
+                lock.unlock();
+            }
+            try {
+                // Fuera del lock: mientras tanto se siguen escribiendo líneas para el próximo fsync
+                canal.force(false);
+                lock.lock();
+                try {
+                    while (!sinSincronizar.isEmpty() && sinSincronizar.peek().secuencia() <= hasta) {
+                        pendientes.add(sinSincronizar.poll());
+                    }
+                    sincronizado = hasta;
+                    posicionSincronizada = posicion;
+                    sincronizadas.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            } catch (IOException e) {
+                descartarSinSincronizar();
+            }
+        }
+    }
+
+    /** Quita del archivo las líneas que no llegaron a disco; quienes las esperan reciben el error. */
+    private void descartarSinSincronizar(){
+        lock.lock();
+        try {
+            try {
+                canal.truncate(posicionSincronizada);
+                canal.position(posicionSincronizada);
+            } catch (IOException e) {
+                // El canal quedó inutilizable: los registros siguientes fallan al escribir
+            }
+            sinSincronizar.clear();
+            secuencia = sincronizado;
+            posicionEscrita = posicionSincronizada;
+            fallos++;
+            sincronizadas.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.data_service.data_service.service;
+
+import com.data_service.data_service.config.StockLedgerConfig.StockLedgerProperties;
+import com.data_service.data_service.entity.Inventario;
+import com.data_service.data_service.entity.Producto;
+import com.data_service.data_service.exception.CantidadInvalida;
+import com.data_service.data_service.exception.StockInsuficiente;
+import com.data_service.data_service.repository.InventarioRepository;
+import com.data_service.data_service.repository.ReservaRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Stock en memoria de los productos calientes, para que las ventas de esos productos no
+ * compitan por la misma fila de inventario.
+ * Cada producto tiene su propio contador y los descuentos se resuelven con compare-and-set,
+ * sin locks compartidos entre productos. Cada movimiento se registra en el journal antes de
+ * confirmarse y una tarea periódica escribe el neto por producto en la base.
+ * Mientras está habilitado, el stock de estos productos sólo debe cambiar a través del ledger.
+ * Las unidades que ya estaban reservadas en la base al arrancar no se cuentan como disponibles.
+ * Si está deshabilitado no gestiona ningún producto.
+ */
+@Component
+@Slf4j
+public class StockLedger {
+    private final StockLedgerProperties properties;
+    private final InventarioRepository inventarioRepository;
+    private final ReservaRepository reservaRepository;
+    private final StockLedgerWriter writer;
+
+    private final Map<Long, Entrada> entradas = new ConcurrentHashMap<>();
+    // Una escritura en la base a la vez; no es un monitor para no fijar el hilo virtual durante la transacción
+    private final ReentrantLock escritura = new ReentrantLock();
+    private StockJournal journal;
+    // Movimientos tomados del journal que todavía no se pudieron escribir en la base
+    private List<StockJournal.Movimiento> sinEscribir = new ArrayList<>();
+
+    private record Entrada(Long inventarioId, Integer stockMinimo, AtomicLong disponible) {}
+
+    public StockLedger(StockLedgerProperties properties, InventarioRepository inventarioRepository,
+                       ReservaRepository reservaRepository, StockLedgerWriter writer){
+        this.properties = properties;
+        this.inventarioRepository = inventarioRepository;
+        this.reservaRepository = reservaRepository;
+        this.writer = writer;
+    }
+
+    /**
+     * Reaplica en la base los movimientos del journal posteriores al checkpoint y después
+     * carga el stock de los productos calientes.
+     */
+    @PostConstruct
+    public void iniciar() throws IOException {
+        if (!properties.habilitado()) {
+            return;
+        }
+        journal = new StockJournal(properties.journal(), properties.sincronizarDisco());
+        List<StockJournal.Movimiento> sinAplicar = journal.abrir(writer.checkpoint());
+        if (!sinAplicar.isEmpty()) {
+            log.info("Reaplicando {} movimientos de stock del journal {}", sinAplicar.size(), properties.journal());
+            aplicar(sinAplicar);
+        }
+        journal.compactar();
+
+        for (Long productoId : properties.productos()) {
+            inventarioRepository.findByProductoId(productoId).ifPresentOrElse(
+                    inventario -> entradas.put(productoId, new Entrada(inventario.getId(), inventario.getStockMinimo(),
+                            new AtomicLong(inventario.getCantidad() - inventario.getCantidadReservada()))),
+                    () -> log.warn("El producto {} no tiene inventario, su stock no se lleva en memoria", productoId));
+        }
+        log.info("Ledger de stock en memoria para {} productos", entradas.size());
+    }
+
+    public boolean gestiona(Long productoId){
+        return entradas.containsKey(productoId);
+    }
+
+    public OptionalLong disponible(Long productoId){
+        Entrada entrada = entradas.get(productoId);
+        return entrada == null ? OptionalLong.empty() : OptionalLong.of(entrada.disponible().get());
+    }
+
+    public Inventario decrement(Long productoId, int cantidad){
+        Entrada entrada = entrada(productoId);
+        long actual;
+        do {
+            actual = entrada.disponible().get();
+            if (actual < cantidad) {
+                throw new StockInsuficiente(productoId, cantidad);
+            }
+        } while (!entrada.disponible().compareAndSet(actual, actual - cantidad));
+        registrar(productoId, entrada, -cantidad);
+        return inventario(productoId, entrada, actual - cantidad);
+    }
+
+    public Inventario increment(Long productoId, int cantidad){
+        Entrada entrada = entrada(productoId);
+        long nuevo = entrada.disponible().addAndGet(cantidad);
+        registrar(productoId, entrada, cantidad);
+        return inventario(productoId, entrada, nuevo);
+    }
+
+    /**
+     * Fija el stock de un producto al confirmarse la transacción en curso; si no hay transacción,
+     * en el momento. Si la transacción se revierte el ledger no cambia.
+     * La cantidad es el stock total, como en la fila de inventario: el ledger lleva el disponible,
+     * así que se le restan las unidades reservadas en la base y las reservas pendientes tomadas
+     * por el ledger. Al liberarse esas reservas el stock vuelve a ser la cantidad pedida.
+     * Se registra como la diferencia con el valor anterior, así se combina con los movimientos
+     * que todavía no llegaron a la base.
+     * @param reservadasEnBase Inventario.cantidadReservada de la fila
+     * @throws CantidadInvalida si la cantidad es menor que las unidades reservadas
+     */
+    public void fijar(Long productoId, int cantidad, int reservadasEnBase){
+        Entrada entrada = entrada(productoId);
+        long reservadas = reservadasEnBase + reservaRepository.sumPendientesEnLedger(productoId);
+        if (cantidad < reservadas) {
+            throw new CantidadInvalida(cantidad, Math.toIntExact(reservadas));
+        }
+        long disponible = cantidad - reservadas;
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            fijar(productoId, entrada, disponible);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                fijar(productoId, entrada, disponible);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${data.stock.ledger.intervalo-escritura:200ms}")
+    public void escribir(){
+        if (journal == null) {
+            return;
+        }
+        escritura.lock();
+        try {
+            sinEscribir.addAll(journal.tomarPendientes());
+            if (sinEscribir.isEmpty()) {
+                return;
+            }
+            aplicar(sinEscribir);
+            sinEscribir = new ArrayList<>();
+            journal.compactar();
+        } catch (RuntimeException | IOException e) {
+            log.error("No se pudo escribir el stock del ledger en la base, se reintenta en el próximo ciclo", e);
+        } finally {
+            escritura.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void cerrar() throws IOException {
+        if (journal == null) {
+            return;
+        }
+        escribir();
+        journal.close();
+    }
+
+    private Entrada entrada(Long productoId){
+        Entrada entrada = entradas.get(productoId);
+        if (entrada == null) {
+            throw new IllegalStateException("El stock del producto " + productoId + " no se lleva en memoria");
+        }
+        return entrada;
+    }
+
+    private void fijar(Long productoId, Entrada entrada, long disponible){
+        long anterior = entrada.disponible().getAndSet(disponible);
+        registrar(productoId, entrada, disponible - anterior);
+    }
+
+    private void registrar(Long productoId, Entrada entrada, long delta){
+        if (delta == 0) {
+            return;
+        }
+        try {
+            journal.registrar(productoId, delta);
+        } catch (IOException e) {
+            // El movimiento no quedó registrado: se deshace en memoria
+            entrada.disponible().addAndGet(-delta);
+            throw new UncheckedIOException("No se pudo registrar el movimiento de stock del producto " + productoId, e);
+        }
+    }
+
+    private void aplicar(List<StockJournal.Movimiento> movimientos){
+        Map<Long, Long> deltas = new HashMap<>();
+        for (StockJournal.Movimiento movimiento : movimientos) {
+            deltas.merge(movimiento.productoId(), movimiento.delta(), Long::sum);
+        }
+        writer.escribir(deltas, movimientos.getLast().secuencia());
+    }
+
+    private Inventario inventario(Long productoId, Entrada entrada, long cantidad){
+        Producto producto = new Producto();
+        producto.setId(productoId);
+        Inventario inventario = new Inventario();
+        inventario.setId(entrada.inventarioId());
+        inventario.setCantidad(Math.toIntExact(cantidad));
+        inventario.setStockMinimo(entrada.stockMinimo());
+        inventario.setFechaActualizacion(LocalDateTime.now());
+        inventario.setProducto(producto);
+        return inventario;
+    }
+}
@@ -0,0 +1,56 @@
+package com.data_service.data_service.service;
+
+import com.data_service.data_service.entity.LedgerCheckpoint;
+import com.data_service.data_service.entity.OperacionCambio;
+import com.data_service.data_service.entity.TipoEntidad;
+import com.data_service.data_service.repository.InventarioRepository;
+import com.data_service.data_service.repository.LedgerCheckpointRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Escribe en inventario los movimientos acumulados por el ledger de stock junto con el
+ * checkpoint del journal, en una sola transacción.
+ */
+@Component
+public class StockLedgerWriter {
+    private static final Long CHECKPOINT_ID = 1L;
+
+    private final InventarioRepository inventarioRepository;
+    private final LedgerCheckpointRepository checkpointRepository;
+    private final VistaStockBajo vistaStockBajo;
+    private final RegistroCambios registroCambios;
+
+    public StockLedgerWriter(InventarioRepository inventarioRepository, LedgerCheckpointRepository checkpointRepository,
+                             VistaStockBajo vistaStockBajo, RegistroCambios registroCambios){
+        this.inventarioRepository = inventarioRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.vistaStockBajo = vistaStockBajo;
+        this.registroCambios = registroCambios;
+    }
+
+    @Transactional(readOnly = true)
+    public long checkpoint(){
+        return checkpointRepository.findById(CHECKPOINT_ID).map(LedgerCheckpoint::getSecuencia).orElse(0L);
+    }
+
+    /**
+     * @param deltas Neto de movimientos por producto
+     * @param secuencia Última secuencia del journal incluida en deltas
+     */
+    @Transactional
+    public void escribir(Map<Long, Long> deltas, long secuencia){
+        List<Long> cambiados = deltas.entrySet().stream()
+                .filter(delta -> delta.getValue() != 0)
+                .map(Map.Entry::getKey)
+                .toList();
+        cambiados.forEach(productoId -> inventarioRepository.applyStockDelta(productoId, Math.toIntExact(deltas.get(productoId))));
+        checkpointRepository.save(new LedgerCheckpoint(CHECKPOINT_ID, secuencia));
+        // Un solo evento por producto y escritura, por muchos movimientos que haya acumulado
+        registroCambios.registrar(TipoEntidad.INVENTARIO, cambiados, OperacionCambio.ACTUALIZADO);
+        vistaStockBajo.marcar(deltas.keySet());
+    }
+}
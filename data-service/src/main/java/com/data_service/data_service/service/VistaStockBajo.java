@@ -0,0 +1,165 @@
+package com.data_service.data_service.service;
+
+import com.data_service.data_service.repository.InventarioRepository;
+import com.data_service.data_service.repository.projection.EstadoStockBajo;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Productos con stock bajo (cantidad menor al stock mínimo), ordenados por id, para responder
+ * los listados de stock bajo sin recorrer el catálogo.
+ * Se mantiene de forma incremental: cada escritura que puede cambiar cantidad o stock mínimo
+ * avisa con marcar y, al confirmarse la transacción, se relee la columna stock_bajo de esos
+ * inventarios. Cada cambio se aplica sólo si trae una versión del inventario más nueva que la
+ * ya aplicada, así dos relecturas concurrentes no se pisan.
+ * Una reconciliación periódica con la base corrige lo que cambie por fuera de los servicios.
+ */
+@Component
+@Slf4j
+public class VistaStockBajo {
+    // Tope de ids por consulta IN; Oracle no acepta más de 1000 y SQL Server más de 2100 parámetros
+    static final int TAMANIO_LOTE = 500;
+
+    private final InventarioRepository inventarioRepository;
+
+    private final NavigableSet<Long> productoIds = new ConcurrentSkipListSet<>();
+    // Última versión de inventario aplicada por producto
+    private final Map<Long, Long> versiones = new ConcurrentHashMap<>();
+
+    public VistaStockBajo(InventarioRepository inventarioRepository){
+        this.inventarioRepository = inventarioRepository;
+    }
+
+    @PostConstruct
+    public void cargar(){
+        reconciliar();
+        log.info("Vista de stock bajo cargada con {} productos", productoIds.size());
+    }
+
+    /** Ids de los productos con stock bajo, en orden ascendente. */
+    public List<Long> productoIds(){
+        return List.copyOf(productoIds);
+    }
+
+    /**
+     * Los mismos ids que productoIds, partidos en lotes de a lo sumo TAMANIO_LOTE para que cada
+     * consulta IN tenga una cantidad acotada de parámetros aunque crezca la vista.
+     */
+    public List<List<Long>> productoIdsEnLotes(){
+        List<Long> ids = productoIds();
+        List<List<Long>> lotes = new ArrayList<>();
+        for (int desde = 0; desde < ids.size(); desde += TAMANIO_LOTE) {
+            lotes.add(ids.subList(desde, Math.min(desde + TAMANIO_LOTE, ids.size())));
+        }
+        return lotes;
+    }
+
+    public void marcar(Long productoId){
+        if (productoId != null) {
+            marcar(List.of(productoId));
+        }
+    }
+
+    /**
+     * Relee el estado de los productos al confirmarse la transacción en curso; si no hay
+     * transacción, en el momento. Si la transacción se revierte no cambia nada.
+     */
+    public void marcar(Collection<Long> productoIds){
+        if (productoIds.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            actualizar(productoIds);
+            return;
+        }
+        Set<Long> ids = Set.copyOf(productoIds);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                actualizar(ids);
+            }
+        });
+    }
+
+    /** Reconcilia la vista al confirmarse la transacción en curso; para borrados, donde no se conoce el producto. */
+    public void marcarTodos(){
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            reconciliar();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                reconciliar();
+            }
+        });
+    }
+
+    /**
+     * Compara la vista con los inventarios marcados en la base. Cuesta lo mismo que la cantidad
+     * de productos con stock bajo, no que el catálogo.
+     */
+    @Scheduled(fixedDelayString = "${data.stock-bajo.intervalo-reconciliacion:5m}",
+            initialDelayString = "${data.stock-bajo.intervalo-reconciliacion:5m}")
+    public void reconciliar(){
+        Set<Long> sinStockBajo = new HashSet<>(productoIds);
+        for (EstadoStockBajo estado : inventarioRepository.findEstadoStockBajo()) {
+            aplicar(estado);
+            sinStockBajo.remove(estado.getProductoId());
+        }
+        if (!sinStockBajo.isEmpty()) {
+            actualizar(sinStockBajo);
+        }
+    }
+
+    private void actualizar(Collection<Long> ids){
+        try {
+            List<EstadoStockBajo> estados = inventarioRepository.findEstadoStockBajoByProductoIdIn(ids);
+            Set<Long> sinInventario = new HashSet<>(ids);
+            for (EstadoStockBajo estado : estados) {
+                aplicar(estado);
+                sinInventario.remove(estado.getProductoId());
+            }
+            sinInventario.forEach(this::quitar);
+        } catch (RuntimeException e) {
+            // La escritura ya se confirmó; la próxima reconciliación corrige la vista
+            log.warn("No se pudo actualizar la vista de stock bajo para {}: {}", ids, e.getMessage());
+        }
+    }
+
+    private void aplicar(EstadoStockBajo estado){
+        versiones.compute(estado.getProductoId(), (productoId, aplicada) -> {
+            Long version = estado.getVersion();
+            if (aplicada != null && version != null && aplicada > version) {
+                return aplicada;
+            }
+            if (Boolean.TRUE.equals(estado.getStockBajo())) {
+                productoIds.add(productoId);
+            } else {
+                productoIds.remove(productoId);
+            }
+            return version != null ? version : aplicada;
+        });
+    }
+
+    private void quitar(Long productoId){
+        versiones.compute(productoId, (id, aplicada) -> {
+            productoIds.remove(id);
+            return null;
+        });
+    }
+}
@@ -0,0 +1,5 @@
+-- Índices de findByPrecioBetween y findByCategoryName. H2 ya crea un índice para cada FK
+-- (productos.categoria_id) y para uk_inventario_producto_id.
+-- H2 no tiene índices parciales ni de expresión, así que cantidad < stock_minimo no lleva índice.
+CREATE INDEX idx_productos_precio ON productos (precio);
+ALTER TABLE categorias ADD CONSTRAINT uk_categorias_nombre UNIQUE (nombre);
@@ -0,0 +1,4 @@
+-- Marca de stock bajo mantenida por la base en cada INSERT/UPDATE, con cualquier camino de escritura
+-- (entidades, UPDATE masivos, ledger). El índice permite listar sólo los inventarios marcados.
+ALTER TABLE inventario ADD COLUMN stock_bajo BOOLEAN GENERATED ALWAYS AS (cantidad < stock_minimo);
+CREATE INDEX idx_inventario_stock_bajo ON inventario (stock_bajo, producto_id);
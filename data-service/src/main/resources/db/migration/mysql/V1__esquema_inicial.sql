@@ -0,0 +1,68 @@
+-- Esquema de las entidades tal como lo generaba ddl-auto. Es idempotente para poder aplicarlo
+-- sobre una base ya creada por ddl-auto update (spring.flyway.baseline-version=0): las tablas
+-- existentes se dejan como están.
+-- MySQL no tiene secuencias: Hibernate las emula con una tabla de una fila (next_val).
+CREATE TABLE IF NOT EXISTS productos_seq (
+    next_val BIGINT
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS inventario_seq (
+    next_val BIGINT
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS categorias (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    nombre VARCHAR(100) NOT NULL,
+    descripcion VARCHAR(500),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS productos (
+    id BIGINT NOT NULL,
+    nombre VARCHAR(100) NOT NULL,
+    descripcion VARCHAR(500),
+    precio DECIMAL(10,2) NOT NULL,
+    categoria_id BIGINT,
+    version BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_productos_categoria FOREIGN KEY (categoria_id) REFERENCES categorias (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS inventario (
+    id BIGINT NOT NULL,
+    cantidad INTEGER NOT NULL,
+    cantidad_reservada INTEGER NOT NULL,
+    stock_minimo INTEGER,
+    fecha_actualizacion DATETIME(6),
+    producto_id BIGINT,
+    version BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_inventario_producto_id UNIQUE (producto_id),
+    CONSTRAINT fk_inventario_producto FOREIGN KEY (producto_id) REFERENCES productos (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS reserva (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    producto_id BIGINT NOT NULL,
+    cantidad INTEGER NOT NULL,
+    estado ENUM ('CONFIRMADA','EXPIRADA','LIBERADA','PENDIENTE') NOT NULL,
+    expira_en DATETIME(6) NOT NULL,
+    fecha_creacion DATETIME(6) NOT NULL,
+    en_ledger BIT NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_reserva_estado_expira_en (estado, expira_en),
+    CONSTRAINT fk_reserva_producto FOREIGN KEY (producto_id) REFERENCES productos (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS stock_ledger_checkpoint (
+    id BIGINT NOT NULL,
+    secuencia BIGINT NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+-- Las bases creadas antes de usar secuencias ya tienen ids: las secuencias arrancan después
+-- del mayor. Hibernate reserva de a 50 ids terminando en el valor leído (optimizador pooled).
+DELETE FROM productos_seq;
+INSERT INTO productos_seq (next_val) SELECT COALESCE(MAX(id), 0) + 50 FROM productos;
+DELETE FROM inventario_seq;
+INSERT INTO inventario_seq (next_val) SELECT COALESCE(MAX(id), 0) + 50 FROM inventario;
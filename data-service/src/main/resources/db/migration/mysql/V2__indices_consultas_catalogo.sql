@@ -0,0 +1,11 @@
+-- Índices de findByPrecioBetween, findByCategoryName y del join productos-categorias.
+-- inventario.producto_id ya tiene el índice de uk_inventario_producto_id (o el de la restricción
+-- única que creó ddl-auto en las bases anteriores). El índice implícito de la FK de categoria_id
+-- lo reemplaza MySQL por idx_productos_categoria_id.
+CREATE INDEX idx_productos_precio ON productos (precio);
+CREATE INDEX idx_productos_categoria_id ON productos (categoria_id);
+ALTER TABLE categorias ADD CONSTRAINT uk_categorias_nombre UNIQUE (nombre);
+
+-- findProductosWithLowStock: MySQL no tiene índices parciales; el índice funcional (8.0.13+)
+-- guarda el resultado de la comparación y lo usan las consultas con la misma expresión.
+CREATE INDEX idx_inventario_stock_bajo ON inventario ((cantidad < stock_minimo));
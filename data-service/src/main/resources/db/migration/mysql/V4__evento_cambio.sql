@@ -0,0 +1,19 @@
+-- Outbox de cambios del catálogo: cada escritura de productos, inventarios o categorías agrega una
+-- fila en la misma transacción. posicion la asigna el relay al publicarla (ver RelayCambios).
+CREATE TABLE evento_cambio_seq (
+    next_val BIGINT
+) ENGINE=InnoDB;
+
+INSERT INTO evento_cambio_seq (next_val) VALUES (1);
+
+CREATE TABLE evento_cambio (
+    id BIGINT NOT NULL,
+    posicion BIGINT,
+    entidad ENUM ('CATEGORIA','INVENTARIO','PRODUCTO') NOT NULL,
+    entidad_id BIGINT NOT NULL,
+    operacion ENUM ('ACTUALIZADO','CREADO','ELIMINADO') NOT NULL,
+    fecha DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_evento_cambio_posicion UNIQUE (posicion),
+    INDEX idx_evento_cambio_fecha (fecha)
+) ENGINE=InnoDB;
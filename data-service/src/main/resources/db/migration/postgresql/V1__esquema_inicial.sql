@@ -0,0 +1,61 @@
+-- Esquema de las entidades tal como lo generaba ddl-auto. Es idempotente para poder aplicarlo
+-- sobre una base ya creada por ddl-auto update (spring.flyway.baseline-version=0): las tablas
+-- existentes se dejan como están.
+CREATE SEQUENCE IF NOT EXISTS productos_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS inventario_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS categorias (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    nombre VARCHAR(100) NOT NULL,
+    descripcion VARCHAR(500),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS productos (
+    id BIGINT NOT NULL,
+    nombre VARCHAR(100) NOT NULL,
+    descripcion VARCHAR(500),
+    precio NUMERIC(10,2) NOT NULL,
+    categoria_id BIGINT,
+    version BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_productos_categoria FOREIGN KEY (categoria_id) REFERENCES categorias (id)
+);
+
+CREATE TABLE IF NOT EXISTS inventario (
+    id BIGINT NOT NULL,
+    cantidad INTEGER NOT NULL,
+    cantidad_reservada INTEGER NOT NULL,
+    stock_minimo INTEGER,
+    fecha_actualizacion TIMESTAMP(6),
+    producto_id BIGINT,
+    version BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_inventario_producto_id UNIQUE (producto_id),
+    CONSTRAINT fk_inventario_producto FOREIGN KEY (producto_id) REFERENCES productos (id)
+);
+
+CREATE TABLE IF NOT EXISTS reserva (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    producto_id BIGINT NOT NULL,
+    cantidad INTEGER NOT NULL,
+    estado VARCHAR(20) NOT NULL CHECK (estado IN ('PENDIENTE','CONFIRMADA','LIBERADA','EXPIRADA')),
+    expira_en TIMESTAMP(6) NOT NULL,
+    fecha_creacion TIMESTAMP(6) NOT NULL,
+    en_ledger BOOLEAN NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_reserva_producto FOREIGN KEY (producto_id) REFERENCES productos (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_reserva_estado_expira_en ON reserva (estado, expira_en);
+
+CREATE TABLE IF NOT EXISTS stock_ledger_checkpoint (
+    id BIGINT NOT NULL,
+    secuencia BIGINT NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- Las bases creadas antes de usar secuencias ya tienen ids: las secuencias arrancan después
+-- del mayor. Hibernate reserva de a 50 ids terminando en el valor devuelto (optimizador pooled).
+SELECT setval('productos_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM productos), false);
+SELECT setval('inventario_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM inventario), false);
@@ -0,0 +1,10 @@
+-- Índices de findByPrecioBetween, findByCategoryName y del join productos-categorias.
+-- inventario.producto_id ya tiene el índice de uk_inventario_producto_id (o el de la restricción
+-- única que creó ddl-auto en las bases anteriores).
+CREATE INDEX idx_productos_precio ON productos (precio);
+CREATE INDEX idx_productos_categoria_id ON productos (categoria_id);
+ALTER TABLE categorias ADD CONSTRAINT uk_categorias_nombre UNIQUE (nombre);
+
+-- findProductosWithLowStock: el índice parcial sólo contiene los inventarios con stock bajo,
+-- así la consulta recorre esas filas y no toda la tabla.
+CREATE INDEX idx_inventario_stock_bajo ON inventario (producto_id) WHERE cantidad < stock_minimo;
@@ -0,0 +1,5 @@
+-- Marca de stock bajo mantenida por la base en cada INSERT/UPDATE, con cualquier camino de escritura
+-- (entidades, UPDATE masivos, ledger). Reemplaza al índice parcial sobre la comparación.
+ALTER TABLE inventario ADD COLUMN stock_bajo BOOLEAN GENERATED ALWAYS AS (cantidad < stock_minimo) STORED;
+DROP INDEX idx_inventario_stock_bajo;
+CREATE INDEX idx_inventario_stock_bajo ON inventario (producto_id) WHERE stock_bajo;
@@ -0,0 +1,16 @@
+-- Outbox de cambios del catálogo: cada escritura de productos, inventarios o categorías agrega una
+-- fila en la misma transacción. posicion la asigna el relay al publicarla (ver RelayCambios).
+CREATE SEQUENCE IF NOT EXISTS evento_cambio_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE evento_cambio (
+    id BIGINT NOT NULL,
+    posicion BIGINT,
+    entidad VARCHAR(20) NOT NULL CHECK (entidad IN ('PRODUCTO','INVENTARIO','CATEGORIA')),
+    entidad_id BIGINT NOT NULL,
+    operacion VARCHAR(20) NOT NULL CHECK (operacion IN ('CREADO','ACTUALIZADO','ELIMINADO')),
+    fecha TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_evento_cambio_posicion UNIQUE (posicion)
+);
+
+CREATE INDEX idx_evento_cambio_fecha ON evento_cambio (fecha);
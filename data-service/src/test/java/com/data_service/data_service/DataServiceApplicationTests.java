@@ -1,13 +1,73 @@
 package com.data_service.data_service;
 
+import com.data_service.data_service.config.TracingConfig;
+import com.data_service.data_service.repository.CategoriaRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
 @SpringBootTest
 class DataServiceApplicationTests {
 
+	@Autowired
+	private CategoriaRepository categoriaRepository;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private ObservationRegistry observationRegistry;
+
 	@Test
 	void contextLoads() {
 	}
 
+	@Test
+	void repositoryQueriesAndPoolsArePublishedAsMetrics() {
+		categoriaRepository.findAll();
+
+		Timer consulta = meterRegistry.find("spring.data.repository.invocations")
+				.tag("repository", "CategoriaRepository")
+				.tag("method", "findAll")
+				.tag("state", "SUCCESS")
+				.timer();
+		assertNotNull(consulta);
+		assertTrue(consulta.count() >= 1);
+		assertNotNull(meterRegistry.find("hikaricp.connections.max").gauge());
+		assertNotNull(meterRegistry.find("hibernate.statements").functionCounter());
+	}
+
+	@Test
+	void repositoryCallsAreObservedWithoutDuplicateTimers() {
+		List<String> observadas = new CopyOnWriteArrayList<>();
+		observationRegistry.observationConfig().observationHandler(new ObservationHandler<>() {
+			@Override
+			public void onStart(Observation.Context context) {
+				if (TracingConfig.OBSERVACION_REPOSITORIO.equals(context.getName())) {
+					observadas.add(context.getContextualName());
+				}
+			}
+
+			@Override
+			public boolean supportsContext(Observation.Context context) {
+				return true;
+			}
+		});
+
+		categoriaRepository.count();
+
+		assertTrue(observadas.contains("CategoriaRepository#count"));
+		assertTrue(meterRegistry.find(TracingConfig.OBSERVACION_REPOSITORIO).meters().isEmpty());
+	}
+
 }
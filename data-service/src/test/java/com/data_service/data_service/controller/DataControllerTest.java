@@ -2,32 +2,58 @@ package com.data_service.data_service.controller;
 
 
 import com.data_service.data_service.controller.DataController;
+import com.data_service.data_service.dto.DisponibilidadDTO;
+import com.data_service.data_service.dto.ErrorCargaDTO;
 import com.data_service.data_service.dto.ProductoRequest;
 import com.data_service.data_service.dto.CategoriaDTO;
 import com.data_service.data_service.dto.InventarioDTO;
+import com.data_service.data_service.dto.ProductoDTO;
+import com.data_service.data_service.dto.ResultadoCargaDTO;
+import com.data_service.data_service.dto.ValorCategoriaDTO;
+import com.data_service.data_service.dto.ValorRangoPrecioDTO;
 import com.data_service.data_service.entity.Categoria;
 import com.data_service.data_service.entity.Inventario;
 import com.data_service.data_service.entity.Producto;
+import com.data_service.data_service.exception.ConflictoDeVersion;
 import com.data_service.data_service.exception.ProductoNoEncontrado;
+import com.data_service.data_service.exception.StockInsuficiente;
+import com.data_service.data_service.exception.CantidadInvalida;
 import com.data_service.data_service.exception.InventarioNoEncontrado;
+import com.data_service.data_service.exception.CategoriaDuplicada;
 import com.data_service.data_service.exception.CategoriaNoEncontrada;
+import com.data_service.data_service.exception.LimitesPrecioInvalidos;
+import com.data_service.data_service.service.CargaProductosServiceImpl;
 import com.data_service.data_service.service.CategoriaServiceImpl;
+import com.data_service.data_service.service.InventarioQueryServiceImpl;
 import com.data_service.data_service.service.InventarioServiceImpl;
+import com.data_service.data_service.service.ProductoQueryServiceImpl;
 import com.data_service.data_service.service.ProductoServiceImpl;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -50,29 +76,111 @@ public class DataControllerTest {
     @MockitoBean
     private CategoriaServiceImpl categoriaService;
 
+    @MockitoBean
+    private ProductoQueryServiceImpl productoQueryService;
+
+    @MockitoBean
+    private InventarioQueryServiceImpl inventarioQueryService;
+
+    @MockitoBean
+    private CargaProductosServiceImpl cargaProductosService;
+
     //================ PRODUCTOS =================//
 
     @Test
     void GETAllProducts_returnsListAndStatus200() throws Exception {
-        Producto producto = new Producto();
+        ProductoDTO producto = new ProductoDTO();
         producto.setId(1L);
         producto.setNombre("Producto A");
 
-        when(productoService.findAll()).thenReturn(List.of(producto));
+        when(productoQueryService.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(producto)));
 
-        mockMvc.perform(get("/data")
+        mockMvc.perform(get("/data/productos")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].nombre").value("Producto A"));
+                .andExpect(jsonPath("$.contenido[0].nombre").value("Producto A"))
+                .andExpect(jsonPath("$.totalElementos").value(1));
+    }
+
+    @Test
+    void GETProductsAfterCursor_returnsPageWithNextCursor() throws Exception {
+        ProductoDTO producto = new ProductoDTO();
+        producto.setId(11L);
+        producto.setNombre("Producto B");
+
+        when(productoQueryService.findAllAfter(10L, 1)).thenReturn(List.of(producto));
+
+        mockMvc.perform(get("/data/productos")
+                        .param("afterId", "10")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.contenido[0].id").value(11L))
+                .andExpect(jsonPath("$.siguienteCursor").value(11L));
+    }
+
+    @Test
+    void POSTBulkProducts_returnsCreatedCountAndRejectedRows() throws Exception {
+        List<ProductoRequest> requests = List.of(
+                new ProductoRequest("Producto A", null, new BigDecimal("10.00"), 5, 1L, null),
+                new ProductoRequest("Producto B", null, new BigDecimal("20.00"), 5, 99L, null));
+        when(cargaProductosService.cargar(requests)).thenReturn(new ResultadoCargaDTO(2, 1,
+                List.of(new ErrorCargaDTO(1, "No se encontre categoria con el id: 99"))));
+
+        mockMvc.perform(post("/data/productos/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.creados").value(1))
+                .andExpect(jsonPath("$.errores[0].fila").value(1));
+    }
+
+    @Test
+    void GETProducts_clampsPageSize() throws Exception {
+        when(productoQueryService.findAll(any(Pageable.class))).thenReturn(Page.empty());
+
+        mockMvc.perform(get("/data/productos").param("size", "5000"))
+                .andExpect(status().isOk());
+
+        verify(productoQueryService).findAll(PageRequest.of(0, 100, Sort.by("id")));
+    }
+
+    @Test
+    void GETExportProducts_streamsOneJsonObjectPerLine() throws Exception {
+        Producto primero = new Producto();
+        primero.setId(1L);
+        primero.setNombre("Producto A");
+        Producto segundo = new Producto();
+        segundo.setId(2L);
+        segundo.setNombre("Producto B");
+
+        doAnswer(invocation -> {
+            Consumer<Producto> accion = invocation.getArgument(0);
+            accion.accept(primero);
+            accion.accept(segundo);
+            return null;
+        }).when(productoService).forEachProducto(any());
+
+        MvcResult result = mockMvc.perform(get("/data/productos/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lineas = body.split("\n");
+        assertEquals(2, lineas.length);
+        assertEquals("Producto B", objectMapper.readTree(lineas[1]).get("nombre").asText());
     }
 
     @Test
     void GETProductById_returnsProductoAndStatus200() throws Exception {
-        Producto producto = new Producto();
+        ProductoDTO producto = new ProductoDTO();
         producto.setId(1L);
         producto.setNombre("Producto A");
 
-        when(productoService.findById(1L)).thenReturn(producto);
+        when(productoQueryService.findById(1L)).thenReturn(producto);
 
         mockMvc.perform(get("/data/productos/1")
                         .contentType(MediaType.APPLICATION_JSON))
@@ -83,13 +191,52 @@ public class DataControllerTest {
 
     @Test
     void GETNonExistentProductById_returnsStatus404() throws Exception {
-        when(productoService.findById(1L)).thenThrow(new ProductoNoEncontrado(1L));
+        when(productoQueryService.findById(1L)).thenThrow(new ProductoNoEncontrado(1L));
 
         mockMvc.perform(get("/data/productos/1")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void POSTProductsBatch_returnsFoundProducts() throws Exception {
+        ProductoDTO producto = new ProductoDTO();
+        producto.setId(2L);
+        producto.setNombre("Producto B");
+
+        when(productoQueryService.findAllById(List.of(1L, 2L))).thenReturn(List.of(producto));
+
+        mockMvc.perform(post("/data/productos/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1,2]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(2L));
+    }
+
+    @Test
+    void POSTProductsBatchWithNullId_returnsStatus400() throws Exception {
+        mockMvc.perform(post("/data/productos/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1,null]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Lista de IDs inválida"));
+
+        verifyNoInteractions(productoQueryService);
+    }
+
+    @Test
+    void POSTInventoriesBatchOverPageLimit_returnsStatus400() throws Exception {
+        List<Long> ids = LongStream.rangeClosed(1, 101).boxed().toList();
+
+        mockMvc.perform(post("/data/inventario/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(ids)))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(inventarioQueryService);
+    }
+
     @Test
     void POSTProduct_createsProductAndReturns201() throws Exception {
         Producto producto = new Producto();
@@ -158,11 +305,11 @@ public class DataControllerTest {
 
     @Test
     void GETAllInventories_returnsListAndStatus200() throws Exception {
-        Inventario inventario = new Inventario();
+        InventarioDTO inventario = new InventarioDTO();
         inventario.setId(1L);
         inventario.setCantidad(5);
 
-        when(inventarioService.findAll()).thenReturn(List.of(inventario));
+        when(inventarioQueryService.findAll()).thenReturn(List.of(inventario));
 
         mockMvc.perform(get("/data/inventario")
                         .contentType(MediaType.APPLICATION_JSON))
@@ -171,12 +318,85 @@ public class DataControllerTest {
     }
 
     @Test
-    void GETInventoryById_returnsInventoryAndStatus200() throws Exception {
+    void GETLowStockInventories_returnsListAndStatus200() throws Exception {
+        InventarioDTO inventario = new InventarioDTO();
+        inventario.setId(3L);
+        inventario.setCantidad(2);
+        inventario.setStockMinimo(10);
+        inventario.setProductoId(4L);
+
+        when(inventarioQueryService.findWithLowStock()).thenReturn(List.of(inventario));
+
+        mockMvc.perform(get("/data/inventario/stock-bajo"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].productoId").value(4L))
+                .andExpect(jsonPath("$[0].cantidad").value(2));
+    }
+
+    @Test
+    void POSTInventoriesBatch_returnsInventoriesWithProductoId() throws Exception {
+        InventarioDTO inventario = new InventarioDTO();
+        inventario.setId(7L);
+        inventario.setCantidad(5);
+        inventario.setProductoId(1L);
+
+        when(inventarioQueryService.findByProductoIds(List.of(1L))).thenReturn(List.of(inventario));
+
+        mockMvc.perform(post("/data/inventario/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].productoId").value(1L))
+                .andExpect(jsonPath("$[0].cantidad").value(5));
+    }
+
+    @Test
+    void POSTDecrementStock_returnsUpdatedInventory() throws Exception {
         Inventario inventario = new Inventario();
         inventario.setId(1L);
+        inventario.setCantidad(4);
+
+        when(inventarioService.decrementStock(1L, 2)).thenReturn(inventario);
+
+        mockMvc.perform(post("/data/inventario/1/decrement").param("cantidad", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cantidad").value(4));
+    }
+
+    @Test
+    void GETAvailability_returnsDisponibilidad() throws Exception {
+        when(inventarioService.checkAvailability(1L, 3)).thenReturn(new DisponibilidadDTO(1L, 10L, true));
+
+        mockMvc.perform(get("/data/inventario/1/disponibilidad").param("cantidad", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cantidadDisponible").value(10))
+                .andExpect(jsonPath("$.disponible").value(true));
+    }
+
+    @Test
+    void POSTDecrementStock_insufficientStockReturns409() throws Exception {
+        when(inventarioService.decrementStock(1L, 50)).thenThrow(new StockInsuficiente(1L, 50));
+
+        mockMvc.perform(post("/data/inventario/1/decrement").param("cantidad", "50"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("Stock insuficiente"));
+    }
+
+    @Test
+    void POSTIncrementStock_invalidCantidadReturns400() throws Exception {
+        when(inventarioService.incrementStock(1L, -1)).thenThrow(new CantidadInvalida(-1));
+
+        mockMvc.perform(post("/data/inventario/1/increment").param("cantidad", "-1"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void GETInventoryById_returnsInventoryAndStatus200() throws Exception {
+        InventarioDTO inventario = new InventarioDTO();
+        inventario.setId(1L);
         inventario.setCantidad(5);
 
-        when(inventarioService.findById(1L)).thenReturn(inventario);
+        when(inventarioQueryService.findById(1L)).thenReturn(inventario);
 
         mockMvc.perform(get("/data/inventario/1")
                         .contentType(MediaType.APPLICATION_JSON))
@@ -187,7 +407,7 @@ public class DataControllerTest {
 
     @Test
     void GETNonExistentInventoryById_returnsStatus404() throws Exception {
-        when(inventarioService.findById(1L)).thenThrow(new InventarioNoEncontrado(1L));
+        when(inventarioQueryService.findById(1L)).thenThrow(new InventarioNoEncontrado(1L));
 
         mockMvc.perform(get("/data/inventario/1")
                         .contentType(MediaType.APPLICATION_JSON))
@@ -232,6 +452,22 @@ public class DataControllerTest {
                 .andExpect(jsonPath("$.cantidad").value(10));
     }
 
+    @Test
+    void PUTInventoryWithStaleVersion_returns409WithCurrentVersion() throws Exception {
+        InventarioDTO dto = new InventarioDTO();
+        dto.setCantidad(10);
+        dto.setVersion(1L);
+
+        when(inventarioService.update(eq(1L), any(Inventario.class)))
+                .thenThrow(new ConflictoDeVersion("inventario", 1L, 1L, 3L));
+
+        mockMvc.perform(put("/data/inventario/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.versionActual").value(3L));
+    }
+
     @Test
     void DELETEInventory_returnsStatus204() throws Exception {
         mockMvc.perform(delete("/data/inventario/1"))
@@ -246,6 +482,40 @@ public class DataControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void GETInventoryValueByCategory_returnsListAndStatus200() throws Exception {
+        when(inventarioService.calculateTotalValueByCategory())
+                .thenReturn(List.of(new ValorCategoriaDTO("Categoria A", 2L, new BigDecimal("250.00"))));
+
+        mockMvc.perform(get("/data/inventario/valor/categoria"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].categoriaNombre").value("Categoria A"))
+                .andExpect(jsonPath("$[0].valorTotal").value(250.00));
+    }
+
+    @Test
+    void GETInventoryValueByPriceRange_returnsListAndStatus200() throws Exception {
+        when(inventarioService.calculateTotalValueByPriceRange(List.of(BigDecimal.valueOf(100))))
+                .thenReturn(List.of(
+                        new ValorRangoPrecioDTO(BigDecimal.ZERO, BigDecimal.valueOf(100), 1L, BigDecimal.TEN),
+                        new ValorRangoPrecioDTO(BigDecimal.valueOf(100), null, 0L, BigDecimal.ZERO)));
+
+        mockMvc.perform(get("/data/inventario/valor/rango-precio").param("limites", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].valorTotal").value(10));
+    }
+
+    @Test
+    void GETInventoryValueByPriceRangeWithInvalidLimit_returnsStatus400() throws Exception {
+        when(inventarioService.calculateTotalValueByPriceRange(List.of(BigDecimal.ZERO)))
+                .thenThrow(new LimitesPrecioInvalidos("El límite de precio debe ser mayor a cero: 0"));
+
+        mockMvc.perform(get("/data/inventario/valor/rango-precio").param("limites", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Límites de precio inválidos"));
+    }
+
     //================ CATEGORIAS =================//
 
     @Test
@@ -305,6 +575,20 @@ public class DataControllerTest {
                 .andExpect(jsonPath("$.nombre").value("Categoria A"));
     }
 
+    @Test
+    void POSTCategoryWithDuplicateName_returnsStatus409() throws Exception {
+        when(categoriaService.save(any(Categoria.class))).thenThrow(new CategoriaDuplicada("Categoria A"));
+
+        CategoriaDTO dto = new CategoriaDTO();
+        dto.setNombre("Categoria A");
+
+        mockMvc.perform(post("/data/categoria")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("Categoria duplicada"));
+    }
+
     @Test
     void PUTCategory_updatesCategoryAndReturns200() throws Exception {
         Categoria categoria = new Categoria();
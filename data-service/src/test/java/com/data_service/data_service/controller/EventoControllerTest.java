@@ -0,0 +1,168 @@
+package com.data_service.data_service.controller;
+
+import com.data_service.data_service.entity.Categoria;
+import com.data_service.data_service.service.CategoriaService;
+import com.data_service.data_service.service.EventoCambioService;
+import com.data_service.data_service.service.RelayCambios;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class EventoControllerTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CategoriaService categoriaService;
+
+    @Autowired
+    private EventoCambioService eventoCambioService;
+
+    @Autowired
+    private RelayCambios relayCambios;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @Test
+    void subscribe_receivesNewChanges() throws Exception {
+        relayCambios.publicar();
+        long desde = eventoCambioService.ultimaPosicion();
+        try (Suscripcion suscripcion = suscribir("?desde=" + desde, null)) {
+            Long categoriaId = crearCategoria();
+            relayCambios.publicar();
+
+            Map<String, String> evento = suscripcion.siguienteDe(categoriaId);
+            assertEquals("cambio", evento.get("event"));
+            assertTrue(Long.parseLong(evento.get("id")) > desde);
+            assertTrue(evento.get("data").contains("\"entidad\":\"CATEGORIA\""));
+            assertTrue(evento.get("data").contains("\"operacion\":\"CREADO\""));
+        }
+    }
+
+    @Test
+    void subscribe_resumesFromLastEventId() throws Exception {
+        relayCambios.publicar();
+        long desde = eventoCambioService.ultimaPosicion();
+        Long primera = crearCategoria();
+        Long segunda = crearCategoria();
+        relayCambios.publicar();
+        long posicionPrimera = eventoCambioService.findPublicadosDesde(desde, 1000).stream()
+                .filter(evento -> evento.getEntidadId().equals(primera))
+                .findFirst().orElseThrow().getPosicion();
+
+        try (Suscripcion suscripcion = suscribir("", String.valueOf(posicionPrimera))) {
+            Map<String, String> evento = suscripcion.siguiente();
+            assertEquals(String.valueOf(posicionPrimera + 1), evento.get("id"));
+            while (!esDe(evento, segunda)) {
+                assertFalse(esDe(evento, primera));
+                evento = suscripcion.siguiente();
+            }
+            assertTrue(evento.get("data").contains("\"operacion\":\"CREADO\""));
+        }
+    }
+
+    @Test
+    void subscribe_unknownPosition_sendsReinicio() throws Exception {
+        long ultima = eventoCambioService.ultimaPosicion();
+        try (Suscripcion suscripcion = suscribir("", String.valueOf(ultima + 1000))) {
+            Map<String, String> evento = suscripcion.siguiente();
+            assertEquals("reinicio", evento.get("event"));
+            assertEquals(String.valueOf(ultima), evento.get("id"));
+        }
+    }
+
+    private static boolean esDe(Map<String, String> evento, Long entidadId) {
+        return evento.getOrDefault("data", "").contains("\"entidadId\":" + entidadId + ",");
+    }
+
+    private Long crearCategoria() {
+        Categoria categoria = new Categoria();
+        categoria.setNombre("Categoria con eventos " + UUID.randomUUID());
+        return categoriaService.save(categoria).getId();
+    }
+
+    private Suscripcion suscribir(String query, String ultimoEventoId) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/data/eventos" + query))
+                .header("Accept", "text/event-stream");
+        if (ultimoEventoId != null) {
+            request.header("Last-Event-ID", ultimoEventoId);
+        }
+        HttpResponse<Stream<String>> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofLines());
+        assertEquals(200, response.statusCode());
+        return new Suscripcion(response.body());
+    }
+
+    /** Lee los eventos del flujo en otro hilo; los comentarios de latido se descartan. */
+    private static class Suscripcion implements AutoCloseable {
+        private final Stream<String> lineas;
+        private final BlockingQueue<Map<String, String>> eventos = new LinkedBlockingQueue<>();
+
+        Suscripcion(Stream<String> lineas) {
+            this.lineas = lineas;
+            Thread.ofVirtual().start(() -> {
+                Map<String, String> evento = new HashMap<>();
+                Iterator<String> iterator = lineas.iterator();
+                while (hayMas(iterator)) {
+                    String linea = iterator.next();
+                    if (linea.isEmpty()) {
+                        if (!evento.isEmpty()) {
+                            eventos.add(evento);
+                        }
+                        evento = new HashMap<>();
+                    } else if (!linea.startsWith(":")) {
+                        int separador = linea.indexOf(':');
+                        evento.merge(linea.substring(0, separador), linea.substring(separador + 1), (a, b) -> a + "\n" + b);
+                    }
+                }
+            });
+        }
+
+        // Al cerrar el flujo la lectura pendiente falla
+        private static boolean hayMas(Iterator<String> iterator) {
+            try {
+                return iterator.hasNext();
+            } catch (UncheckedIOException e) {
+                return false;
+            }
+        }
+
+        Map<String, String> siguiente() throws InterruptedException {
+            Map<String, String> evento = eventos.poll(10, TimeUnit.SECONDS);
+            assertNotNull(evento, "no llegó ningún evento");
+            return evento;
+        }
+
+        /** Salta los eventos de otros cambios hasta el de la entidad. */
+        Map<String, String> siguienteDe(Long entidadId) throws InterruptedException {
+            Map<String, String> evento = siguiente();
+            while (!esDe(evento, entidadId)) {
+                evento = siguiente();
+            }
+            return evento;
+        }
+
+        @Override
+        public void close() {
+            lineas.close();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.data_service.data_service.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica con EXPLAIN que las consultas del catálogo usan los índices de las migraciones
+ * (db/migration/h2) sobre el esquema que crea Flyway. Las consultas son las que genera
+ * Hibernate para ProductoRepository, sin las columnas del SELECT.
+ */
+@DataJpaTest
+class IndicesConsultasTest {
+
+    private static final int CATEGORIAS = 20;
+    private static final int PRODUCTOS_POR_CATEGORIA = 50;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Con las tablas vacías el optimizador de H2 elige cualquier orden de join
+    @BeforeEach
+    void setUp() {
+        for (int c = 1; c <= CATEGORIAS; c++) {
+            jdbcTemplate.update("INSERT INTO categorias (id, nombre) VALUES (?, ?)", c, "Categoria " + c);
+            for (int p = 1; p <= PRODUCTOS_POR_CATEGORIA; p++) {
+                long id = (long) c * PRODUCTOS_POR_CATEGORIA + p;
+                jdbcTemplate.update("INSERT INTO productos (id, nombre, precio, categoria_id, version) VALUES (?, ?, ?, ?, 0)",
+                        id, "Producto " + id, id % 100, c);
+                jdbcTemplate.update("INSERT INTO inventario (id, cantidad, cantidad_reservada, stock_minimo, producto_id, version) " +
+                        "VALUES (?, ?, 0, 10, ?, 0)", id, id % 30, id);
+            }
+        }
+    }
+
+    @Test
+    void findByPrecioBetween_usesPrecioIndex() {
+        String plan = plan("SELECT p.id FROM productos p " +
+                "LEFT JOIN categorias c ON c.id = p.categoria_id " +
+                "LEFT JOIN inventario i ON i.producto_id = p.id " +
+                "WHERE p.precio BETWEEN 10 AND 20");
+
+        assertTrue(plan.contains("IDX_PRODUCTOS_PRECIO"), plan);
+        assertTrue(plan.contains("UK_INVENTARIO_PRODUCTO_ID"), plan);
+        assertFalse(plan.contains("TABLESCAN"), plan);
+    }
+
+    @Test
+    void findByCategoryName_usesNombreAndCategoriaIdIndexes() {
+        String plan = plan("SELECT p.id FROM productos p " +
+                "JOIN categorias c ON c.id = p.categoria_id " +
+                "LEFT JOIN inventario i ON i.producto_id = p.id " +
+                "WHERE c.nombre = 'Categoria 7'");
+
+        assertTrue(plan.contains("UK_CATEGORIAS_NOMBRE"), plan);
+        assertTrue(plan.contains("FK_PRODUCTOS_CATEGORIA"), plan);
+        assertFalse(plan.contains("TABLESCAN"), plan);
+    }
+
+    @Test
+    void findProductosWithLowStock_usesStockBajoIndex() {
+        String plan = plan("SELECT p.id FROM productos p " +
+                "JOIN inventario i ON i.producto_id = p.id " +
+                "LEFT JOIN categorias c ON c.id = p.categoria_id " +
+                "WHERE i.stock_bajo = TRUE");
+
+        assertTrue(plan.contains("IDX_INVENTARIO_STOCK_BAJO"), plan);
+        assertFalse(plan.contains("TABLESCAN"), plan);
+    }
+
+    private String plan(String sql) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class).toUpperCase();
+    }
+}
@@ -0,0 +1,207 @@
+package com.data_service.data_service.repository;
+
+import com.data_service.data_service.dto.ProductoDTO;
+import com.data_service.data_service.dto.ValorRangoPrecioDTO;
+import com.data_service.data_service.entity.Categoria;
+import com.data_service.data_service.entity.Inventario;
+import com.data_service.data_service.entity.Producto;
+import com.data_service.data_service.mapper.ProductoMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ProductoRepositoryTest {
+
+    private static final int CANTIDAD_PRODUCTOS = 5;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Autowired
+    private InventarioRepository inventarioRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        Categoria categoria = new Categoria();
+        categoria.setNombre("Electrónica");
+        entityManager.persist(categoria);
+
+        for (int i = 1; i <= CANTIDAD_PRODUCTOS; i++) {
+            Producto producto = new Producto();
+            producto.setNombre("Producto " + i);
+            producto.setPrecio(BigDecimal.valueOf(i * 10L));
+            producto.setCategoria(categoria);
+
+            Inventario inventario = new Inventario();
+            inventario.setCantidad(i);
+            inventario.setStockMinimo(10);
+            inventario.setProducto(producto);
+            producto.setInventario(inventario);
+
+            entityManager.persist(producto);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findAll_mapsToDTOWithSingleStatement() {
+        assertSingleStatement(() -> productoRepository.findAll());
+    }
+
+    @Test
+    void findByPrecioBetween_mapsToDTOWithSingleStatement() {
+        assertSingleStatement(() -> productoRepository.findByPrecioBetween(BigDecimal.ZERO, BigDecimal.valueOf(1000)));
+    }
+
+    @Test
+    void findByCategoryName_mapsToDTOWithSingleStatement() {
+        assertSingleStatement(() -> productoRepository.findByCategoryName("Electrónica"));
+    }
+
+    @Test
+    void findProductosWithLowStock_mapsToDTOWithSingleStatement() {
+        assertSingleStatement(() -> productoRepository.findProductosWithLowStock());
+    }
+
+    @Test
+    void findByIdGreaterThan_mapsToDTOWithSingleStatement() {
+        assertSingleStatement(() -> productoRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(CANTIDAD_PRODUCTOS)));
+    }
+
+    @Test
+    void findAllPaged_doesNotLoadRelationsPerRow() {
+        List<ProductoDTO> productos = productoRepository.findAll(PageRequest.of(0, CANTIDAD_PRODUCTOS - 1, Sort.by("id")))
+                .map(ProductoMapper::toDTO)
+                .getContent();
+
+        assertEquals(CANTIDAD_PRODUCTOS - 1, productos.size());
+        // Una consulta para la página y otra para el total de elementos
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findByIdGreaterThan_returnsNextRowsOrderedById() {
+        Long primerId = productoRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(1)).get(0).getId();
+
+        List<Producto> siguientes = productoRepository.findByIdGreaterThanOrderByIdAsc(primerId, Limit.of(2));
+
+        assertEquals(2, siguientes.size());
+        assertTrue(siguientes.get(0).getId() > primerId);
+        assertTrue(siguientes.get(0).getId() < siguientes.get(1).getId());
+    }
+
+    @Test
+    void findDTOByCategoryName_buildsDTOsWithoutLoadingEntities() {
+        List<ProductoDTO> productos = productoRepository.findDTOByCategoryName("Electrónica");
+
+        assertEquals(CANTIDAD_PRODUCTOS, productos.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(4, productos.stream().filter(ProductoDTO::getStockBajo).count());
+        assertTrue(productos.stream().allMatch(dto -> "Electrónica".equals(dto.getCategoriaNombre())));
+    }
+
+    @Test
+    void findAllDTO_returnsRequestedPageAndTotal() {
+        var pagina = productoRepository.findAllDTO(PageRequest.of(1, 2, Sort.by("id")));
+
+        assertEquals(2, pagina.getContent().size());
+        assertEquals(CANTIDAD_PRODUCTOS, pagina.getTotalElements());
+        assertEquals("Producto 3", pagina.getContent().get(0).getNombre());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void findDTOByIdGreaterThan_appliesLimitAndOrder() {
+        Long primerId = productoRepository.findDTOByIdGreaterThan(0L, Limit.of(1)).get(0).getId();
+
+        List<ProductoDTO> siguientes = productoRepository.findDTOByIdGreaterThan(primerId, Limit.of(2));
+
+        assertEquals(2, siguientes.size());
+        assertTrue(siguientes.get(0).getId() > primerId);
+        assertTrue(siguientes.get(0).getId() < siguientes.get(1).getId());
+    }
+
+    @Test
+    void findDTOByIdIn_returnsOnlyExistingIdsInOneStatement() {
+        List<Long> ids = productoRepository.findDTOByIdGreaterThan(0L, Limit.of(2)).stream()
+                .map(ProductoDTO::getId)
+                .toList();
+        statistics.clear();
+
+        List<ProductoDTO> productos = productoRepository.findDTOByIdIn(List.of(ids.get(0), ids.get(1), -1L));
+
+        assertEquals(2, productos.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void calculateTotalValueByPrecioRanges_aggregatesEveryRangeInOneStatement() {
+        List<ValorRangoPrecioDTO> rangos = inventarioRepository.calculateTotalValueByPrecioRanges(
+                List.of(BigDecimal.valueOf(25), BigDecimal.valueOf(40), BigDecimal.valueOf(1000)));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(4, rangos.size());
+        // Precios 10..50 con cantidades 1..5: [0, 25) = 10 + 40, [25, 40) = 90, [40, 1000) = 160 + 250
+        assertEquals(2L, rangos.get(0).getCantidadProductos());
+        assertEquals(0, new BigDecimal("50").compareTo(rangos.get(0).getValorTotal()));
+        assertEquals(1L, rangos.get(1).getCantidadProductos());
+        assertEquals(0, new BigDecimal("90").compareTo(rangos.get(1).getValorTotal()));
+        assertEquals(2L, rangos.get(2).getCantidadProductos());
+        assertEquals(0, new BigDecimal("410").compareTo(rangos.get(2).getValorTotal()));
+        assertEquals(0L, rangos.get(3).getCantidadProductos());
+        assertEquals(BigDecimal.ZERO, rangos.get(3).getValorTotal());
+        assertNull(rangos.get(3).getPrecioMaximo());
+    }
+
+    @Test
+    void findDTOById_keepsProductWithoutCategoriaOrInventario() {
+        Producto producto = new Producto();
+        producto.setNombre("Suelto");
+        producto.setPrecio(BigDecimal.ONE);
+        Long id = entityManager.persistAndFlush(producto).getId();
+
+        ProductoDTO dto = productoRepository.findDTOById(id).orElseThrow();
+
+        assertEquals("Suelto", dto.getNombre());
+        assertNull(dto.getCategoriaNombre());
+        assertNull(dto.getStockBajo());
+    }
+
+    private void assertSingleStatement(Supplier<List<Producto>> consulta) {
+        List<ProductoDTO> productos = consulta.get().stream()
+                .map(ProductoMapper::toDTO)
+                .toList();
+
+        assertEquals(CANTIDAD_PRODUCTOS, productos.size());
+        assertTrue(productos.stream().allMatch(dto -> dto.getCategoriaNombre() != null && dto.getStockBajo() != null));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
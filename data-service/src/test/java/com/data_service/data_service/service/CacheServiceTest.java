@@ -0,0 +1,109 @@
+package com.data_service.data_service.service;
+
+import com.data_service.data_service.config.HibernateCacheConfig;
+import com.data_service.data_service.dto.EstadisticaCacheDTO;
+import com.data_service.data_service.entity.Categoria;
+import com.data_service.data_service.entity.Inventario;
+import com.data_service.data_service.entity.Producto;
+import com.data_service.data_service.repository.CategoriaRepository;
+import com.data_service.data_service.repository.ProductoRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class CacheServiceTest {
+
+    @Autowired
+    private CategoriaService categoriaService;
+
+    @Autowired
+    private ProductoQueryService productoQueryService;
+
+    @Autowired
+    private CacheService cacheService;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Categoria categoria;
+
+    @BeforeEach
+    void setUp() {
+        categoria = new Categoria();
+        categoria.setNombre("Categoria " + UUID.randomUUID());
+        categoria = categoriaRepository.save(categoria);
+
+        Producto producto = new Producto();
+        producto.setNombre("Producto");
+        producto.setPrecio(BigDecimal.TEN);
+        producto.setCategoria(categoria);
+        Inventario inventario = new Inventario();
+        inventario.setCantidad(3);
+        inventario.setStockMinimo(1);
+        inventario.setProducto(producto);
+        producto.setInventario(inventario);
+        productoRepository.save(producto);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findCategoriaById_isServedFromSecondLevelCache() {
+        categoriaService.findById(categoria.getId());
+        statistics.clear();
+
+        categoriaService.findById(categoria.getId());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getCacheRegionStatistics(HibernateCacheConfig.REGION_CATEGORIAS).getHitCount());
+    }
+
+    @Test
+    void findByCategoryName_usesQueryCacheUntilProductosChange() {
+        productoQueryService.findByCategoryName(categoria.getNombre());
+        productoQueryService.findByCategoryName(categoria.getNombre());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+
+        Producto otro = new Producto();
+        otro.setNombre("Otro");
+        otro.setPrecio(BigDecimal.ONE);
+        otro.setCategoria(categoria);
+        productoRepository.save(otro);
+
+        assertEquals(2, productoQueryService.findByCategoryName(categoria.getNombre()).size());
+    }
+
+    @Test
+    void findRegionStatistics_reportsHitRatioPerRegion() {
+        categoriaService.findById(categoria.getId());
+        categoriaService.findById(categoria.getId());
+
+        EstadisticaCacheDTO estadistica = cacheService.findRegionStatistics().stream()
+                .filter(e -> e.getRegion().equals(HibernateCacheConfig.REGION_CATEGORIAS))
+                .findFirst()
+                .orElseThrow();
+
+        assertEquals(1L, estadistica.getAciertos());
+        assertEquals(1L, estadistica.getFallos());
+        assertEquals(0.5, estadistica.getTasaAciertos());
+    }
+}
@@ -0,0 +1,122 @@
+package com.data_service.data_service.service;
+
+import com.data_service.data_service.config.HibernateCacheConfig;
+import com.data_service.data_service.dto.ErrorCargaDTO;
+import com.data_service.data_service.dto.ProductoRequest;
+import com.data_service.data_service.dto.ResultadoCargaDTO;
+import com.data_service.data_service.entity.Categoria;
+import com.data_service.data_service.repository.CategoriaRepository;
+import com.data_service.data_service.repository.InventarioRepository;
+import com.data_service.data_service.repository.ProductoRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = "data.carga.tamanio-lote=50")
+class CargaProductosServiceTest {
+
+    @Autowired
+    private CargaProductosService cargaProductosService;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Autowired
+    private InventarioRepository inventarioRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long categoriaId;
+
+    @BeforeEach
+    void setUp() {
+        Categoria categoria = new Categoria();
+        categoria.setNombre("Proveedor " + UUID.randomUUID());
+        categoriaId = categoriaRepository.save(categoria).getId();
+    }
+
+    @Test
+    void cargar_insertsRowsInJdbcBatches() {
+        List<ProductoRequest> filas = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            filas.add(fila("Producto " + i, categoriaId));
+        }
+        long productosAntes = productoRepository.count();
+        long inventariosAntes = inventarioRepository.count();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ResultadoCargaDTO resultado = cargaProductosService.cargar(filas);
+
+        assertEquals(120, resultado.getRecibidos());
+        assertEquals(120, resultado.getCreados());
+        assertTrue(resultado.getErrores().isEmpty());
+        assertEquals(productosAntes + 120, productoRepository.count());
+        assertEquals(inventariosAntes + 120, inventarioRepository.count());
+        // Sin lotes JDBC serían 240 INSERT; con lotes de 50 son 3 por tabla más las lecturas de secuencia
+        assertTrue(statistics.getPrepareStatementCount() < 30,
+                "sentencias preparadas: " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void cargar_reportsRejectedRowsAndSavesTheRest() {
+        List<ProductoRequest> filas = List.of(
+                fila("Válido 1", categoriaId),
+                fila(" ", categoriaId),
+                fila("Sin categoría", 999_999L),
+                fila("x".repeat(101), categoriaId),
+                fila("Válido 2", categoriaId));
+        long productosAntes = productoRepository.count();
+
+        ResultadoCargaDTO resultado = cargaProductosService.cargar(filas);
+
+        assertEquals(5, resultado.getRecibidos());
+        assertEquals(2, resultado.getCreados());
+        assertEquals(List.of(1, 2, 3), resultado.getErrores().stream().map(ErrorCargaDTO::getFila).toList());
+        assertEquals("El nombre es obligatorio", resultado.getErrores().get(0).getDetalle());
+        assertTrue(resultado.getErrores().get(1).getDetalle().contains("999999"));
+        assertEquals(productosAntes + 2, productoRepository.count());
+    }
+
+    @Test
+    void cargar_looksUpUncachedCategoriesInOneQuery() {
+        // Filas sin nombre: sólo se buscan las categorías, no se escribe nada
+        List<ProductoRequest> filas = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Categoria categoria = new Categoria();
+            categoria.setNombre("Proveedor " + UUID.randomUUID());
+            filas.add(fila(" ", categoriaRepository.save(categoria).getId()));
+        }
+        filas.add(fila(" ", categoriaId));
+        entityManagerFactory.getCache().evict(Categoria.class);
+        categoriaRepository.findById(categoriaId);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ResultadoCargaDTO resultado = cargaProductosService.cargar(filas);
+
+        assertEquals(6, resultado.getErrores().size());
+        // Una sola consulta para las cinco categorías que no estaban en la caché
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics(HibernateCacheConfig.REGION_CATEGORIAS).getHitCount());
+    }
+
+    private static ProductoRequest fila(String nombre, Long categoriaId) {
+        return new ProductoRequest(nombre, null, new BigDecimal("10.00"), 5, categoriaId, null);
+    }
+}
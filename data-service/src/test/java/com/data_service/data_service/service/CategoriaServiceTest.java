@@ -1,6 +1,9 @@
 package com.data_service.data_service.service;
 
 import com.data_service.data_service.entity.Categoria;
+import com.data_service.data_service.entity.OperacionCambio;
+import com.data_service.data_service.entity.TipoEntidad;
+import com.data_service.data_service.exception.CategoriaDuplicada;
 import com.data_service.data_service.exception.CategoriaNoEncontrada;
 import com.data_service.data_service.repository.CategoriaRepository;
 import org.junit.jupiter.api.Test;
@@ -21,6 +24,12 @@ class CategoriaServiceTest {
     @Mock
     private CategoriaRepository categoriaRepository;
 
+    @Mock
+    private VistaStockBajo vistaStockBajo;
+
+    @Mock
+    private RegistroCambios registroCambios;
+
     @InjectMocks
     private CategoriaServiceImpl categoriaService;
 
@@ -54,6 +63,31 @@ class CategoriaServiceTest {
         verify(categoriaRepository).save(categoria);
     }
 
+    @Test
+    void saveCategoria_duplicateName() {
+        Categoria categoria = new Categoria();
+        categoria.setNombre("Electrónica");
+
+        when(categoriaRepository.existsByNombre("Electrónica")).thenReturn(true);
+
+        assertThrows(CategoriaDuplicada.class, () -> categoriaService.save(categoria));
+
+        verify(categoriaRepository, never()).save(any());
+    }
+
+    @Test
+    void updateCategoria_nameOfAnotherCategory() {
+        Categoria categoria = new Categoria();
+        categoria.setNombre("Electrónica");
+
+        when(categoriaRepository.existsById(1L)).thenReturn(true);
+        when(categoriaRepository.existsByNombreAndIdNot("Electrónica", 1L)).thenReturn(true);
+
+        assertThrows(CategoriaDuplicada.class, () -> categoriaService.update(1L, categoria));
+
+        verify(categoriaRepository, never()).save(any());
+    }
+
     @Test
     void updateCategoria_notFound() {
         Categoria categoria = new Categoria();
@@ -73,6 +107,7 @@ class CategoriaServiceTest {
         categoriaService.delete(1L);
 
         verify(categoriaRepository).deleteById(1L);
+        verify(registroCambios).registrar(TipoEntidad.CATEGORIA, 1L, OperacionCambio.ELIMINADO);
     }
 
     @Test
@@ -0,0 +1,183 @@
+package com.data_service.data_service.service;
+
+import com.data_service.data_service.config.CargaConfig.CargaProperties;
+import com.data_service.data_service.config.CargaConfig.ImportacionProperties;
+import com.data_service.data_service.dto.ErrorCargaDTO;
+import com.data_service.data_service.dto.ProductoRequest;
+import com.data_service.data_service.dto.ResultadoCargaDTO;
+import com.data_service.data_service.exception.ArchivoImportacionInvalido;
+import com.data_service.data_service.exception.ImportacionNoEncontrada;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImportacionServiceTest {
+
+    @Mock
+    private CargaProductosService cargaProductosService;
+
+    private ImportacionServiceImpl importacionService;
+
+    private ImportacionServiceImpl servicio(int tamanioLote, int trabajadores, int lotesEnCola) {
+        importacionService = new ImportacionServiceImpl(cargaProductosService, new CargaProperties(tamanioLote),
+                new ImportacionProperties(trabajadores, lotesEnCola, 1000, 100), new ObjectMapper());
+        return importacionService;
+    }
+
+    @AfterEach
+    void tearDown() {
+        importacionService.cerrar();
+    }
+
+    @Test
+    void importCsv_reportsRejectedRowsByLineNumber() throws Exception {
+        when(cargaProductosService.cargar(anyList())).thenAnswer(invocacion -> {
+            List<ProductoRequest> filas = invocacion.getArgument(0);
+            List<ErrorCargaDTO> errores = filas.get(0).getCategoriaId() == 99L
+                    ? List.of(new ErrorCargaDTO(0, "No se encontre categoria con el id: 99")) : List.of();
+            return new ResultadoCargaDTO(filas.size(), filas.size() - errores.size(), errores);
+        });
+        String csv = String.join("\n",
+                "nombre,precio,stock,categoriaId,descripcion",
+                "Mouse,10.50,5,1,\"Inalámbrico, negro\"",
+                "Teclado,abc,5,1,",
+                "Monitor,200,3,99,",
+                "",
+                "Cable,2,100,1,\"Con \"\"malla\"\"\"");
+
+        Importacion importacion = servicio(1, 2, 1).importar(entrada(csv), ImportacionService.Formato.CSV);
+
+        esperar(importacion);
+        assertEquals(Importacion.Estado.COMPLETADA, importacion.getEstado());
+        assertEquals(4, importacion.getLeidas().get());
+        assertEquals(2, importacion.getCreadas().get());
+        assertEquals(2, importacion.getRechazadas().get());
+        List<ErrorCargaDTO> errores = importacion.getErrores().stream()
+                .sorted((a, b) -> a.getFila() - b.getFila()).toList();
+        assertEquals(3, errores.get(0).getFila());
+        assertEquals("Valor inválido en la columna precio: 'abc'", errores.get(0).getDetalle());
+        assertEquals(4, errores.get(1).getFila());
+        verify(cargaProductosService).cargar(List.of(
+                new ProductoRequest("Cable", "Con \"malla\"", new BigDecimal("2"), 100, 1L, null)));
+        verify(cargaProductosService).cargar(List.of(
+                new ProductoRequest("Mouse", "Inalámbrico, negro", new BigDecimal("10.50"), 5, 1L, null)));
+    }
+
+    @Test
+    void importNdjson_rejectsMalformedLinesAndKeepsReading() throws Exception {
+        when(cargaProductosService.cargar(anyList()))
+                .thenAnswer(invocacion -> {
+                    List<ProductoRequest> filas = invocacion.getArgument(0);
+                    return new ResultadoCargaDTO(filas.size(), filas.size(), List.of());
+                });
+        String ndjson = """
+                {"nombre":"Mouse","precio":10,"stock":5,"categoriaId":1}
+                {"nombre":
+                {"nombre":"Teclado","precio":20,"stock":5,"categoriaId":1}
+                """;
+
+        Importacion importacion = servicio(10, 1, 1).importar(entrada(ndjson), ImportacionService.Formato.NDJSON);
+
+        esperar(importacion);
+        assertEquals(2, importacion.getCreadas().get());
+        assertEquals(1, importacion.getRechazadas().get());
+        assertEquals(2, importacion.getErrores().get(0).getFila());
+        assertSame(importacion, importacionService.findById(importacion.getId()));
+    }
+
+    @Test
+    void importCsv_missingColumnsIsRejectedBeforeStarting() {
+        assertThrows(ArchivoImportacionInvalido.class, () -> servicio(10, 1, 1)
+                .importar(entrada("nombre,precio\nMouse,10\n"), ImportacionService.Formato.CSV));
+        verifyNoInteractions(cargaProductosService);
+    }
+
+    @Test
+    void findById_unknownImport() {
+        assertThrows(ImportacionNoEncontrada.class, () -> servicio(10, 1, 1).findById("no-existe"));
+    }
+
+    @Test
+    void importar_stopsReadingWhileWritersAreBehind() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(cargaProductosService.cargar(anyList())).thenAnswer(invocacion -> {
+            liberar.await();
+            List<ProductoRequest> filas = invocacion.getArgument(0);
+            return new ResultadoCargaDTO(filas.size(), filas.size(), List.of());
+        });
+        CatalogoGenerado catalogo = new CatalogoGenerado(200_000);
+        ImportacionServiceImpl servicio = servicio(100, 1, 1);
+
+        CompletableFuture<Importacion> importacion = CompletableFuture.supplyAsync(
+                () -> servicio.importar(catalogo, ImportacionService.Formato.NDJSON));
+
+        Thread.sleep(500);
+        assertFalse(importacion.isDone());
+        // Un lote en escritura, uno en la cola y uno esperando lugar, más el buffer del lector
+        assertTrue(catalogo.bytesLeidos.get() < 100_000, "bytes leídos: " + catalogo.bytesLeidos.get());
+
+        liberar.countDown();
+        Importacion terminada = importacion.get(30, TimeUnit.SECONDS);
+        esperar(terminada);
+        assertEquals(200_000, terminada.getCreadas().get());
+    }
+
+    private static InputStream entrada(String texto) {
+        return new ByteArrayInputStream(texto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void esperar(Importacion importacion) throws InterruptedException {
+        long limite = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        while (!importacion.terminada() && System.nanoTime() < limite) {
+            Thread.sleep(10);
+        }
+        assertTrue(importacion.terminada());
+    }
+
+    /** Archivo NDJSON de filas productos generado a medida que se lee. */
+    private static class CatalogoGenerado extends InputStream {
+        private final AtomicLong bytesLeidos = new AtomicLong();
+        private final int filas;
+        private int fila;
+        private byte[] actual = new byte[0];
+        private int posicion;
+
+        CatalogoGenerado(int filas) {
+            this.filas = filas;
+        }
+
+        @Override
+        public int read() {
+            if (posicion == actual.length) {
+                if (fila == filas) {
+                    return -1;
+                }
+                fila++;
+                actual = ("{\"nombre\":\"Producto " + fila + "\",\"precio\":10,\"stock\":5,\"categoriaId\":1}\n")
+                        .getBytes(StandardCharsets.UTF_8);
+                posicion = 0;
+            }
+            bytesLeidos.incrementAndGet();
+            return actual[posicion++];
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.data_service.data_service.service;
+
+import com.data_service.data_service.entity.Inventario;
+import com.data_service.data_service.entity.Producto;
+import com.data_service.data_service.exception.ConflictoDeVersion;
+import com.data_service.data_service.exception.StockInsuficiente;
+import com.data_service.data_service.repository.InventarioRepository;
+import com.data_service.data_service.repository.ProductoRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Muchos hilos descuentan stock del mismo producto a la vez: no se pierden actualizaciones
+ * y el stock nunca queda negativo. También verifica que los descuentos atómicos invalidan
+ * las ediciones hechas sobre una versión anterior, también cuando el cambio llega entre la
+ * lectura y el UPDATE de la edición.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class InventarioConcurrencyTest {
+    private static final int STOCK_INICIAL = 100;
+    private static final int HILOS = 16;
+    private static final int DESCUENTOS_POR_HILO = 10;
+
+    @Autowired
+    private InventarioService inventarioService;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Autowired
+    private InventarioRepository inventarioRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void concurrentDecrements_neverOversell() throws Exception {
+        Long productoId = crearProducto(STOCK_INICIAL);
+        AtomicInteger exitosos = new AtomicInteger();
+        AtomicInteger rechazados = new AtomicInteger();
+        CountDownLatch inicio = new CountDownLatch(1);
+
+        List<Future<?>> tareas = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(HILOS)) {
+            for (int h = 0; h < HILOS; h++) {
+                tareas.add(executor.submit(() -> {
+                    inicio.await();
+                    for (int i = 0; i < DESCUENTOS_POR_HILO; i++) {
+                        try {
+                            inventarioService.decrementStock(productoId, 1);
+                            exitosos.incrementAndGet();
+                        } catch (StockInsuficiente e) {
+                            rechazados.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            inicio.countDown();
+            for (Future<?> tarea : tareas) {
+                tarea.get();
+            }
+        }
+
+        assertEquals(STOCK_INICIAL, exitosos.get());
+        assertEquals(HILOS * DESCUENTOS_POR_HILO - STOCK_INICIAL, rechazados.get());
+        assertEquals(0, inventarioRepository.findByProductoId(productoId).orElseThrow().getCantidad());
+    }
+
+    @Test
+    void concurrentIncrementsAndDecrements_keepTotal() throws Exception {
+        Long productoId = crearProducto(STOCK_INICIAL);
+        CountDownLatch inicio = new CountDownLatch(1);
+
+        List<Future<?>> tareas = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(HILOS)) {
+            for (int h = 0; h < HILOS; h++) {
+                boolean suma = h % 2 == 0;
+                tareas.add(executor.submit(() -> {
+                    inicio.await();
+                    for (int i = 0; i < DESCUENTOS_POR_HILO; i++) {
+                        if (suma) {
+                            inventarioService.incrementStock(productoId, 2);
+                        } else {
+                            inventarioService.decrementStock(productoId, 1);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            inicio.countDown();
+            for (Future<?> tarea : tareas) {
+                tarea.get();
+            }
+        }
+
+        // La mitad de los hilos suma 2 por operación y la otra mitad resta 1
+        int esperado = STOCK_INICIAL + (HILOS / 2) * DESCUENTOS_POR_HILO * 2 - (HILOS / 2) * DESCUENTOS_POR_HILO;
+        assertEquals(esperado, inventarioRepository.findByProductoId(productoId).orElseThrow().getCantidad());
+    }
+
+    @Test
+    void updateWithStaleVersion_isRejectedAfterDecrement() {
+        Long productoId = crearProducto(STOCK_INICIAL);
+        Inventario leido = inventarioRepository.findByProductoId(productoId).orElseThrow();
+
+        inventarioService.decrementStock(productoId, 1);
+
+        Inventario cambios = new Inventario();
+        cambios.setCantidad(STOCK_INICIAL + 50);
+        cambios.setVersion(leido.getVersion());
+        ConflictoDeVersion ex = assertThrows(ConflictoDeVersion.class,
+                () -> inventarioService.update(leido.getId(), cambios));
+
+        assertEquals(leido.getVersion() + 1, ex.getVersionActual());
+        assertEquals(STOCK_INICIAL - 1, inventarioRepository.findByProductoId(productoId).orElseThrow().getCantidad());
+    }
+
+    @Test
+    void updateWithCurrentVersion_bumpsVersion() {
+        Long productoId = crearProducto(STOCK_INICIAL);
+        Inventario leido = inventarioRepository.findByProductoId(productoId).orElseThrow();
+
+        Inventario cambios = new Inventario();
+        cambios.setCantidad(7);
+        cambios.setVersion(leido.getVersion());
+        Inventario actualizado = inventarioService.update(leido.getId(), cambios);
+
+        assertEquals(leido.getVersion() + 1, actualizado.getVersion());
+        assertEquals(7, inventarioRepository.findByProductoId(productoId).orElseThrow().getCantidad());
+    }
+
+    @Test
+    void updateRacingWithDecrement_reportsCurrentVersion() {
+        Long productoId = crearProducto(STOCK_INICIAL);
+
+        ConflictoDeVersion ex = assertThrows(ConflictoDeVersion.class,
+                () -> transactionTemplate.executeWithoutResult(status -> {
+                    Inventario leido = inventarioRepository.findByProductoId(productoId).orElseThrow();
+                    // Otra transacción descuenta después de la lectura y antes del UPDATE
+                    CompletableFuture.runAsync(() -> inventarioService.decrementStock(productoId, 1)).join();
+                    Inventario cambios = new Inventario();
+                    cambios.setCantidad(STOCK_INICIAL + 50);
+                    inventarioService.update(leido.getId(), cambios);
+                }));
+
+        Inventario inventario = inventarioRepository.findByProductoId(productoId).orElseThrow();
+        assertEquals(inventario.getVersion(), ex.getVersionActual());
+        assertEquals(STOCK_INICIAL - 1, inventario.getCantidad());
+    }
+
+    private Long crearProducto(int stock) {
+        Producto producto = new Producto();
+        producto.setNombre("SKU concurrente");
+        producto.setPrecio(BigDecimal.TEN);
+        Inventario inventario = new Inventario();
+        inventario.setCantidad(stock);
+        inventario.setStockMinimo(1);
+        inventario.setProducto(producto);
+        producto.setInventario(inventario);
+        return productoRepository.save(producto).getId();
+    }
+}
@@ -1,20 +1,39 @@
 package com.data_service.data_service.service;
 
+import com.data_service.data_service.dto.DisponibilidadDTO;
+import com.data_service.data_service.dto.ValorCategoriaDTO;
+import com.data_service.data_service.dto.ValorRangoPrecioDTO;
 import com.data_service.data_service.entity.Inventario;
+import com.data_service.data_service.entity.OperacionCambio;
+import com.data_service.data_service.entity.Producto;
+import com.data_service.data_service.entity.TipoEntidad;
+import com.data_service.data_service.exception.CantidadInvalida;
+import com.data_service.data_service.exception.ConflictoDeVersion;
 import com.data_service.data_service.exception.InventarioNoEncontrado;
+import com.data_service.data_service.exception.LimitesPrecioInvalidos;
+import com.data_service.data_service.exception.StockInsuficiente;
 import com.data_service.data_service.repository.InventarioRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.List;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -23,9 +42,27 @@ class InventarioServiceTest {
     @Mock
     private InventarioRepository inventarioRepository;
 
+    @Mock
+    private StockLedger stockLedger;
+
+    @Mock
+    private VistaStockBajo vistaStockBajo;
+
+    @Mock
+    private RegistroCambios registroCambios;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     @InjectMocks
     private InventarioServiceImpl inventarioService;
 
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
     @Test
     void saveInventario_success() {
         Inventario inventario = new Inventario();
@@ -42,25 +79,85 @@ class InventarioServiceTest {
 
     @Test
     void updateInventario_success() {
+        Inventario actual = new Inventario();
+        actual.setId(1L);
+        actual.setCantidad(10);
+        actual.setVersion(0L);
         Inventario inventario = new Inventario();
         inventario.setCantidad(20);
+        inventario.setVersion(0L);
 
-        when(inventarioRepository.existsById(1L)).thenReturn(true);
-        when(inventarioRepository.save(inventario)).thenReturn(inventario);
+        when(inventarioRepository.findById(1L)).thenReturn(Optional.of(actual));
 
         Inventario resultado = inventarioService.update(1L, inventario);
 
-        assertNotNull(resultado);
+        assertSame(actual, resultado);
         assertEquals(20, resultado.getCantidad());
         assertEquals(1L, resultado.getId());
-        verify(inventarioRepository).save(inventario);
+        verify(inventarioRepository, never()).existsById(any());
+    }
+
+    @Test
+    void updateInventario_versionMismatch() {
+        Inventario actual = new Inventario();
+        actual.setId(1L);
+        actual.setCantidad(10);
+        actual.setVersion(4L);
+        Inventario inventario = new Inventario();
+        inventario.setCantidad(20);
+        inventario.setVersion(1L);
+
+        when(inventarioRepository.findById(1L)).thenReturn(Optional.of(actual));
+
+        ConflictoDeVersion ex = assertThrows(ConflictoDeVersion.class,
+                () -> inventarioService.update(1L, inventario));
+
+        assertEquals(4L, ex.getVersionActual());
+        assertEquals(10, actual.getCantidad());
+    }
+
+    @Test
+    void updateInventario_belowReservedUnits() {
+        Inventario actual = new Inventario();
+        actual.setId(1L);
+        actual.setCantidad(10);
+        actual.setCantidadReservada(6);
+        actual.setVersion(0L);
+        Inventario inventario = new Inventario();
+        inventario.setCantidad(5);
+
+        when(inventarioRepository.findById(1L)).thenReturn(Optional.of(actual));
+
+        assertThrows(CantidadInvalida.class, () -> inventarioService.update(1L, inventario));
+
+        assertEquals(10, actual.getCantidad());
+    }
+
+    @Test
+    void updateInventario_ledgerProductWithoutCantidad_keepsStock() {
+        Producto producto = new Producto();
+        producto.setId(3L);
+        Inventario actual = new Inventario();
+        actual.setId(1L);
+        actual.setCantidad(10);
+        actual.setProducto(producto);
+        Inventario inventario = new Inventario();
+        inventario.setStockMinimo(4);
+
+        when(inventarioRepository.findById(1L)).thenReturn(Optional.of(actual));
+        when(stockLedger.gestiona(3L)).thenReturn(true);
+
+        Inventario resultado = inventarioService.update(1L, inventario);
+
+        assertEquals(4, resultado.getStockMinimo());
+        verify(stockLedger, never()).fijar(anyLong(), anyInt(), anyInt());
     }
 
     @Test
     void updateInventario_notFound() {
         Inventario inventario = new Inventario();
 
-        when(inventarioRepository.existsById(1L)).thenReturn(false);
+        when(inventarioRepository.findById(1L)).thenReturn(Optional.empty());
 
         assertThrows(InventarioNoEncontrado.class,
                 () -> inventarioService.update(1L, inventario));
@@ -72,9 +169,12 @@ class InventarioServiceTest {
     void deleteInventario_success() {
         when(inventarioRepository.existsById(1L)).thenReturn(true);
 
+        when(inventarioRepository.findProductoIdById(1L)).thenReturn(Optional.of(5L));
+
         inventarioService.delete(1L);
 
         verify(inventarioRepository).deleteById(1L);
+        verify(registroCambios).registrar(TipoEntidad.INVENTARIO, 5L, OperacionCambio.ELIMINADO);
     }
 
     @Test
@@ -122,6 +222,94 @@ class InventarioServiceTest {
         verify(inventarioRepository).findAll();
     }
 
+    @Test
+    void decrementStock_hotProductGoesToLedger() {
+        Inventario enMemoria = new Inventario();
+        enMemoria.setCantidad(7);
+
+        when(stockLedger.gestiona(1L)).thenReturn(true);
+        when(stockLedger.decrement(1L, 3)).thenReturn(enMemoria);
+
+        Inventario resultado = inventarioService.decrementStock(1L, 3);
+
+        assertEquals(7, resultado.getCantidad());
+        verify(inventarioRepository, never()).decrementStock(anyLong(), anyInt());
+        verifyNoInteractions(transactionTemplate);
+    }
+
+    @Test
+    void checkAvailability_fromDatabase() {
+        when(inventarioRepository.findDisponibleByProductoId(1L)).thenReturn(Optional.of(4));
+
+        DisponibilidadDTO resultado = inventarioService.checkAvailability(1L, 5);
+
+        assertEquals(4L, resultado.getCantidadDisponible());
+        assertFalse(resultado.getDisponible());
+    }
+
+    @Test
+    void checkAvailability_fromLedger() {
+        when(stockLedger.disponible(1L)).thenReturn(OptionalLong.of(9));
+
+        DisponibilidadDTO resultado = inventarioService.checkAvailability(1L, 5);
+
+        assertTrue(resultado.getDisponible());
+        verify(inventarioRepository, never()).findDisponibleByProductoId(any());
+    }
+
+    @Test
+    void checkAvailability_notFound() {
+        when(inventarioRepository.findDisponibleByProductoId(1L)).thenReturn(Optional.empty());
+
+        assertThrows(InventarioNoEncontrado.class,
+                () -> inventarioService.checkAvailability(1L, 5));
+    }
+
+    @Test
+    void decrementStock_success() {
+        Inventario inventario = new Inventario();
+        inventario.setCantidad(7);
+
+        when(inventarioRepository.decrementStock(1L, 3)).thenReturn(1);
+        when(inventarioRepository.findByProductoId(1L)).thenReturn(Optional.of(inventario));
+
+        Inventario resultado = inventarioService.decrementStock(1L, 3);
+
+        assertEquals(7, resultado.getCantidad());
+        verify(vistaStockBajo).marcar(1L);
+        verify(registroCambios).registrar(TipoEntidad.INVENTARIO, 1L, OperacionCambio.ACTUALIZADO);
+    }
+
+    @Test
+    void decrementStock_insufficientStock() {
+        when(inventarioRepository.decrementStock(1L, 3)).thenReturn(0);
+        when(inventarioRepository.existsByProductoId(1L)).thenReturn(true);
+
+        assertThrows(StockInsuficiente.class, () -> inventarioService.decrementStock(1L, 3));
+        verifyNoInteractions(vistaStockBajo, registroCambios);
+    }
+
+    @Test
+    void decrementStock_notFound() {
+        when(inventarioRepository.decrementStock(1L, 3)).thenReturn(0);
+        when(inventarioRepository.existsByProductoId(1L)).thenReturn(false);
+
+        assertThrows(InventarioNoEncontrado.class, () -> inventarioService.decrementStock(1L, 3));
+    }
+
+    @Test
+    void decrementStock_invalidCantidad() {
+        assertThrows(CantidadInvalida.class, () -> inventarioService.decrementStock(1L, 0));
+        verify(inventarioRepository, never()).decrementStock(anyLong(), anyInt());
+    }
+
+    @Test
+    void incrementStock_notFound() {
+        when(inventarioRepository.incrementStock(1L, 2)).thenReturn(0);
+
+        assertThrows(InventarioNoEncontrado.class, () -> inventarioService.incrementStock(1L, 2));
+    }
+
     @Test
     void findAllInventarios_emptyList() {
         when(inventarioRepository.findAll()).thenReturn(List.of());
@@ -154,4 +342,51 @@ class InventarioServiceTest {
         assertNull(resultado);
         verify(inventarioRepository).calculateTotalValue();
     }
+
+    @Test
+    void calculateTotalValueByCategory_success() {
+        ValorCategoriaDTO valor = new ValorCategoriaDTO("Electrónica", 2L, new BigDecimal("300.00"));
+
+        when(inventarioRepository.calculateTotalValueByCategory()).thenReturn(List.of(valor));
+
+        List<ValorCategoriaDTO> resultado = inventarioService.calculateTotalValueByCategory();
+
+        assertEquals(1, resultado.size());
+        assertEquals(new BigDecimal("300.00"), resultado.get(0).getValorTotal());
+        verify(inventarioRepository).calculateTotalValueByCategory();
+    }
+
+    @Test
+    void calculateTotalValueByPriceRange_sortsAndDedupesLimitsByValue() {
+        List<ValorRangoPrecioDTO> rangos = List.of(new ValorRangoPrecioDTO(BigDecimal.ZERO, null, 0L, BigDecimal.ZERO));
+        when(inventarioRepository.calculateTotalValueByPrecioRanges(anyList())).thenReturn(rangos);
+
+        List<ValorRangoPrecioDTO> resultado = inventarioService.calculateTotalValueByPriceRange(
+                List.of(BigDecimal.valueOf(500), new BigDecimal("100.00"), BigDecimal.valueOf(100)));
+
+        assertSame(rangos, resultado);
+        ArgumentCaptor<List<BigDecimal>> limites = ArgumentCaptor.forClass(List.class);
+        verify(inventarioRepository).calculateTotalValueByPrecioRanges(limites.capture());
+        assertEquals(2, limites.getValue().size());
+        assertEquals(0, BigDecimal.valueOf(100).compareTo(limites.getValue().get(0)));
+        assertEquals(BigDecimal.valueOf(500), limites.getValue().get(1));
+        verify(inventarioRepository, never()).findAll();
+    }
+
+    @Test
+    void calculateTotalValueByPriceRange_nonPositiveLimit() {
+        assertThrows(LimitesPrecioInvalidos.class,
+                () -> inventarioService.calculateTotalValueByPriceRange(List.of(BigDecimal.valueOf(100), BigDecimal.ZERO)));
+        verifyNoInteractions(inventarioRepository);
+    }
+
+    @Test
+    void calculateTotalValueByPriceRange_tooManyLimits() {
+        List<BigDecimal> limites = LongStream.rangeClosed(1, InventarioServiceImpl.MAX_LIMITES_PRECIO + 1)
+                .mapToObj(BigDecimal::valueOf)
+                .toList();
+
+        assertThrows(LimitesPrecioInvalidos.class, () -> inventarioService.calculateTotalValueByPriceRange(limites));
+        verifyNoInteractions(inventarioRepository);
+    }
 }
@@ -1,6 +1,10 @@
 package com.data_service.data_service.service;
 
+import com.data_service.data_service.entity.Inventario;
+import com.data_service.data_service.entity.OperacionCambio;
 import com.data_service.data_service.entity.Producto;
+import com.data_service.data_service.entity.TipoEntidad;
+import com.data_service.data_service.exception.ConflictoDeVersion;
 import com.data_service.data_service.exception.ProductoNoEncontrado;
 import com.data_service.data_service.repository.ProductoRepository;
 import org.junit.jupiter.api.Test;
@@ -22,6 +26,15 @@ class ProductoServiceTest {
     @Mock
     private ProductoRepository productoRepository;
 
+    @Mock
+    private StockLedger stockLedger;
+
+    @Mock
+    private VistaStockBajo vistaStockBajo;
+
+    @Mock
+    private RegistroCambios registroCambios;
+
     @InjectMocks
     private ProductoServiceImpl productoService;
 
@@ -41,25 +54,69 @@ class ProductoServiceTest {
 
     @Test
     void updateProducto_success() {
+        Producto actual = new Producto();
+        actual.setId(1L);
+        actual.setNombre("Producto Test");
+        actual.setVersion(2L);
         Producto producto = new Producto();
         producto.setNombre("Producto Actualizado");
 
-        when(productoRepository.existsById(1L)).thenReturn(true);
-        when(productoRepository.save(producto)).thenReturn(producto);
+        when(productoRepository.findById(1L)).thenReturn(Optional.of(actual));
 
         Producto resultado = productoService.update(1L, producto);
 
-        assertNotNull(resultado);
+        assertSame(actual, resultado);
         assertEquals("Producto Actualizado", resultado.getNombre());
         assertEquals(1L, resultado.getId());
-        verify(productoRepository).save(producto);
+        verify(productoRepository, never()).existsById(any());
+        verify(productoRepository, never()).save(any());
+    }
+
+    @Test
+    void updateProducto_updatesExistingInventario() {
+        Inventario inventarioActual = new Inventario();
+        inventarioActual.setId(7L);
+        inventarioActual.setCantidad(3);
+        Producto actual = new Producto();
+        actual.setId(1L);
+        actual.setInventario(inventarioActual);
+        Inventario inventario = new Inventario();
+        inventario.setCantidad(20);
+        Producto producto = new Producto();
+        producto.setInventario(inventario);
+
+        when(productoRepository.findById(1L)).thenReturn(Optional.of(actual));
+
+        Producto resultado = productoService.update(1L, producto);
+
+        assertSame(inventarioActual, resultado.getInventario());
+        assertEquals(20, resultado.getInventario().getCantidad());
+    }
+
+    @Test
+    void updateProducto_versionMismatch() {
+        Producto actual = new Producto();
+        actual.setId(1L);
+        actual.setNombre("Producto Test");
+        actual.setVersion(3L);
+        Producto producto = new Producto();
+        producto.setNombre("Producto Actualizado");
+        producto.setVersion(2L);
+
+        when(productoRepository.findById(1L)).thenReturn(Optional.of(actual));
+
+        ConflictoDeVersion ex = assertThrows(ConflictoDeVersion.class,
+                () -> productoService.update(1L, producto));
+
+        assertEquals(3L, ex.getVersionActual());
+        assertEquals("Producto Test", actual.getNombre());
     }
 
     @Test
     void updateProducto_notFound() {
         Producto producto = new Producto();
 
-        when(productoRepository.existsById(1L)).thenReturn(false);
+        when(productoRepository.findById(1L)).thenReturn(Optional.empty());
 
         assertThrows(ProductoNoEncontrado.class,
                 () -> productoService.update(1L, producto));
@@ -74,6 +131,7 @@ class ProductoServiceTest {
         productoService.delete(1L);
 
         verify(productoRepository).deleteById(1L);
+        verify(registroCambios).registrar(TipoEntidad.PRODUCTO, 1L, OperacionCambio.ELIMINADO);
     }
 
     @Test
@@ -84,6 +142,7 @@ class ProductoServiceTest {
                 () -> productoService.delete(1L));
 
         verify(productoRepository, never()).deleteById(any());
+        verifyNoInteractions(registroCambios);
     }
 
     @Test
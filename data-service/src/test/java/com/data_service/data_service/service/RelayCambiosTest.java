@@ -0,0 +1,123 @@
+package com.data_service.data_service.service;
+
+import com.data_service.data_service.dto.EventoCambioDTO;
+import com.data_service.data_service.entity.Categoria;
+import com.data_service.data_service.entity.Inventario;
+import com.data_service.data_service.entity.Producto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class RelayCambiosTest {
+
+    @Autowired
+    private RelayCambios relayCambios;
+
+    @Autowired
+    private EventoCambioService eventoCambioService;
+
+    @Autowired
+    private ProductoService productoService;
+
+    @Autowired
+    private InventarioService inventarioService;
+
+    @Autowired
+    private CategoriaService categoriaService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void mutations_arePublishedInOrder() {
+        long desde = eventoCambioService.ultimaPosicion();
+        Long productoId = crearProducto();
+        inventarioService.decrementStock(productoId, 2);
+        productoService.delete(productoId);
+
+        relayCambios.publicar();
+
+        List<String> eventos = publicadosDesde(desde).stream()
+                .filter(evento -> evento.getEntidadId().equals(productoId) && !evento.getEntidad().equals("CATEGORIA"))
+                .map(evento -> evento.getEntidad() + " " + evento.getOperacion())
+                .toList();
+        assertEquals(List.of("PRODUCTO CREADO", "INVENTARIO ACTUALIZADO", "PRODUCTO ELIMINADO"), eventos);
+        assertEquals(eventoCambioService.ultimaPosicion(), relayCambios.ultimaPosicion());
+    }
+
+    @Test
+    void positions_areConsecutive() {
+        long desde = eventoCambioService.ultimaPosicion();
+        for (int i = 0; i < 3; i++) {
+            crearProducto();
+        }
+
+        relayCambios.publicar();
+
+        List<EventoCambioDTO> eventos = publicadosDesde(desde);
+        assertTrue(eventos.size() >= 3);
+        for (int i = 0; i < eventos.size(); i++) {
+            assertEquals(desde + i + 1, eventos.get(i).getPosicion());
+        }
+    }
+
+    @Test
+    void rolledBackChange_writesNoEvent() {
+        long desde = eventoCambioService.ultimaPosicion();
+        AtomicLong categoriaId = new AtomicLong();
+
+        assertThrows(IllegalStateException.class, () -> transactionTemplate.executeWithoutResult(status -> {
+            Categoria categoria = new Categoria();
+            categoria.setNombre("Revertida " + UUID.randomUUID());
+            categoriaId.set(categoriaService.save(categoria).getId());
+            throw new IllegalStateException("revertir");
+        }));
+        relayCambios.publicar();
+
+        assertTrue(publicadosDesde(desde).stream()
+                .noneMatch(evento -> evento.getEntidad().equals("CATEGORIA") && evento.getEntidadId() == categoriaId.get()));
+    }
+
+    @Test
+    void purgar_keepsLastPosition() {
+        crearProducto();
+        relayCambios.publicar();
+        long ultima = eventoCambioService.ultimaPosicion();
+
+        eventoCambioService.purgar(LocalDateTime.now().plusDays(1));
+
+        assertEquals(ultima, eventoCambioService.ultimaPosicion());
+        assertEquals(ultima, eventoCambioService.primeraPosicion());
+
+        crearProducto();
+        relayCambios.publicar();
+        assertEquals(ultima + 1, eventoCambioService.ultimaPosicion());
+    }
+
+    private List<EventoCambioDTO> publicadosDesde(long desde) {
+        return eventoCambioService.findPublicadosDesde(desde, 1000);
+    }
+
+    private Long crearProducto() {
+        Producto producto = new Producto();
+        producto.setNombre("Producto con eventos");
+        producto.setPrecio(BigDecimal.TEN);
+        Inventario inventario = new Inventario();
+        inventario.setCantidad(10);
+        inventario.setCantidadReservada(0);
+        inventario.setStockMinimo(1);
+        inventario.setProducto(producto);
+        producto.setInventario(inventario);
+        return productoService.save(producto).getId();
+    }
+}
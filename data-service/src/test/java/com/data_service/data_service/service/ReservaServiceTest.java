@@ -0,0 +1,165 @@
+package com.data_service.data_service.service;
+
+import com.data_service.data_service.entity.EstadoReserva;
+import com.data_service.data_service.entity.Inventario;
+import com.data_service.data_service.entity.Producto;
+import com.data_service.data_service.entity.Reserva;
+import com.data_service.data_service.exception.ReservaNoVigente;
+import com.data_service.data_service.exception.StockInsuficiente;
+import com.data_service.data_service.repository.InventarioRepository;
+import com.data_service.data_service.repository.ProductoRepository;
+import com.data_service.data_service.repository.ReservaRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class ReservaServiceTest {
+
+    @Autowired
+    private ReservaService reservaService;
+
+    @Autowired
+    private InventarioService inventarioService;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Autowired
+    private InventarioRepository inventarioRepository;
+
+    @Autowired
+    private ReservaRepository reservaRepository;
+
+    @MockitoSpyBean
+    private StockLedger stockLedger;
+
+    @Test
+    void reserve_holdsUnitsFromSales() {
+        Long productoId = crearProducto(10);
+
+        reservaService.reserve(productoId, 8, null);
+
+        assertEquals(2L, inventarioService.checkAvailability(productoId, 1).getCantidadDisponible());
+        assertThrows(StockInsuficiente.class, () -> inventarioService.decrementStock(productoId, 3));
+        assertThrows(StockInsuficiente.class, () -> reservaService.reserve(productoId, 3, null));
+    }
+
+    @Test
+    void confirm_deductsReservedUnits() {
+        Long productoId = crearProducto(10);
+        Reserva reserva = reservaService.reserve(productoId, 4, Duration.ofMinutes(5));
+
+        Reserva confirmada = reservaService.confirm(reserva.getId());
+
+        assertEquals(EstadoReserva.CONFIRMADA, confirmada.getEstado());
+        Inventario inventario = inventarioRepository.findByProductoId(productoId).orElseThrow();
+        assertEquals(6, inventario.getCantidad());
+        assertEquals(0, inventario.getCantidadReservada());
+        assertThrows(ReservaNoVigente.class, () -> reservaService.release(reserva.getId()));
+    }
+
+    @Test
+    void release_returnsUnits() {
+        Long productoId = crearProducto(10);
+        Reserva reserva = reservaService.reserve(productoId, 4, null);
+
+        reservaService.release(reserva.getId());
+
+        Inventario inventario = inventarioRepository.findByProductoId(productoId).orElseThrow();
+        assertEquals(10, inventario.getCantidad());
+        assertEquals(0, inventario.getCantidadReservada());
+    }
+
+    @Test
+    void expireBatch_releasesExpiredHolds() {
+        Long productoId = crearProducto(10);
+        Reserva vencida = reservaService.reserve(productoId, 3, null);
+        Reserva vigente = reservaService.reserve(productoId, 2, null);
+        vencida.setExpiraEn(LocalDateTime.now().minusSeconds(1));
+        reservaRepository.save(vencida);
+
+        assertTrue(reservaService.expireBatch() >= 1);
+
+        assertEquals(EstadoReserva.EXPIRADA, reservaService.findById(vencida.getId()).getEstado());
+        assertEquals(EstadoReserva.PENDIENTE, reservaService.findById(vigente.getId()).getEstado());
+        assertEquals(2, inventarioRepository.findByProductoId(productoId).orElseThrow().getCantidadReservada());
+        assertThrows(ReservaNoVigente.class, () -> reservaService.confirm(vencida.getId()));
+    }
+
+    @Test
+    void release_ofHoldTakenBeforeLedger_returnsUnitsThroughLedger() {
+        Long productoId = crearProducto(10);
+        Reserva reserva = reservaService.reserve(productoId, 4, null);
+        doReturn(true).when(stockLedger).gestiona(productoId);
+        doReturn(null).when(stockLedger).increment(productoId, 4);
+
+        reservaService.release(reserva.getId());
+
+        // La fila ya no tiene las unidades reservadas; el ledger las suma a su stock en memoria
+        Inventario inventario = inventarioRepository.findByProductoId(productoId).orElseThrow();
+        assertEquals(6, inventario.getCantidad());
+        assertEquals(0, inventario.getCantidadReservada());
+        verify(stockLedger).increment(productoId, 4);
+    }
+
+    @Test
+    void concurrentReserves_neverExceedStock() throws Exception {
+        Long productoId = crearProducto(50);
+        AtomicInteger exitosas = new AtomicInteger();
+        CountDownLatch inicio = new CountDownLatch(1);
+
+        List<Future<?>> tareas = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int h = 0; h < 8; h++) {
+                tareas.add(executor.submit(() -> {
+                    inicio.await();
+                    for (int i = 0; i < 10; i++) {
+                        try {
+                            reservaService.reserve(productoId, 1, null);
+                            exitosas.incrementAndGet();
+                        } catch (StockInsuficiente e) {
+                            // No quedan unidades disponibles
+                        }
+                    }
+                    return null;
+                }));
+            }
+            inicio.countDown();
+            for (Future<?> tarea : tareas) {
+                tarea.get();
+            }
+        }
+
+        assertEquals(50, exitosas.get());
+        assertEquals(50, inventarioRepository.findByProductoId(productoId).orElseThrow().getCantidadReservada());
+    }
+
+    private Long crearProducto(int stock) {
+        Producto producto = new Producto();
+        producto.setNombre("Producto reservable");
+        producto.setPrecio(BigDecimal.TEN);
+        Inventario inventario = new Inventario();
+        inventario.setCantidad(stock);
+        inventario.setStockMinimo(1);
+        inventario.setProducto(producto);
+        producto.setInventario(inventario);
+        return productoRepository.save(producto).getId();
+    }
+}
@@ -0,0 +1,269 @@
+package com.data_service.data_service.service;
+
+import com.data_service.data_service.config.StockLedgerConfig.StockLedgerProperties;
+import com.data_service.data_service.entity.Inventario;
+import com.data_service.data_service.exception.CantidadInvalida;
+import com.data_service.data_service.exception.StockInsuficiente;
+import com.data_service.data_service.repository.InventarioRepository;
+import com.data_service.data_service.repository.ReservaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockLedgerTest {
+
+    @Mock
+    private InventarioRepository inventarioRepository;
+
+    @Mock
+    private ReservaRepository reservaRepository;
+
+    @Mock
+    private StockLedgerWriter writer;
+
+    @TempDir
+    Path directorio;
+
+    private Path journal;
+
+    @BeforeEach
+    void setUp() {
+        journal = directorio.resolve("stock.journal");
+    }
+
+    @Test
+    void concurrentDecrements_neverOversellAndWriteNet() throws Exception {
+        StockLedger ledger = iniciar(100);
+        AtomicInteger exitosos = new AtomicInteger();
+        CountDownLatch inicio = new CountDownLatch(1);
+
+        List<Future<?>> tareas = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int h = 0; h < 8; h++) {
+                tareas.add(executor.submit(() -> {
+                    inicio.await();
+                    for (int i = 0; i < 20; i++) {
+                        try {
+                            ledger.decrement(1L, 1);
+                            exitosos.incrementAndGet();
+                        } catch (StockInsuficiente e) {
+                            // Se agotó el stock
+                        }
+                    }
+                    return null;
+                }));
+            }
+            inicio.countDown();
+            for (Future<?> tarea : tareas) {
+                tarea.get();
+            }
+        }
+
+        assertEquals(100, exitosos.get());
+        assertEquals(0, ledger.disponible(1L).getAsLong());
+
+        ledger.escribir();
+
+        verify(writer).escribir(Map.of(1L, -100L), 100L);
+        assertEquals(0, Files.size(journal));
+    }
+
+    @Test
+    void restart_replaysMovementsNotWrittenToDatabase() throws Exception {
+        StockLedger ledger = iniciar(10);
+        ledger.decrement(1L, 3);
+        ledger.increment(1L, 1);
+        // Termina sin escribir en la base
+
+        iniciar(10);
+
+        verify(writer).escribir(Map.of(1L, -2L), 2L);
+    }
+
+    @Test
+    void restart_skipsMovementsAlreadyCheckpointed() throws Exception {
+        StockLedger ledger = iniciar(10);
+        ledger.decrement(1L, 3);
+        ledger.decrement(1L, 4);
+
+        when(writer.checkpoint()).thenReturn(1L);
+        iniciar(10);
+
+        verify(writer).escribir(Map.of(1L, -4L), 2L);
+    }
+
+    @Test
+    void restart_ignoresIncompleteLastLine() throws Exception {
+        Files.writeString(journal, "1;1;-2\n2;1;-", StandardCharsets.UTF_8);
+
+        StockLedger ledger = iniciar(10);
+        ledger.decrement(1L, 1);
+        ledger.escribir();
+
+        verify(writer).escribir(Map.of(1L, -2L), 1L);
+        verify(writer).escribir(Map.of(1L, -1L), 2L);
+    }
+
+    @Test
+    void failedWrite_isRetriedWithLaterMovements() throws Exception {
+        StockLedger ledger = iniciar(10);
+        ledger.decrement(1L, 2);
+        doThrow(new IllegalStateException("base caída")).when(writer).escribir(anyMap(), anyLong());
+        ledger.escribir();
+
+        doNothing().when(writer).escribir(anyMap(), anyLong());
+        ledger.decrement(1L, 3);
+        ledger.escribir();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<Long, Long>> deltas = ArgumentCaptor.forClass(Map.class);
+        verify(writer, times(2)).escribir(deltas.capture(), anyLong());
+        assertEquals(Map.of(1L, -5L), deltas.getValue());
+        assertTrue(Files.readString(journal).isEmpty());
+    }
+
+    @Test
+    void concurrentDecrementsWithDiskSync_shareFsyncAndAreAllJournaled() throws Exception {
+        StockLedger ledger = iniciar(1000, true);
+        CountDownLatch inicio = new CountDownLatch(1);
+
+        // Hilos virtuales, como los de los pedidos: la espera del fsync no debe fijarlos
+        List<Future<?>> tareas = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int h = 0; h < 8; h++) {
+                tareas.add(executor.submit(() -> {
+                    inicio.await();
+                    for (int i = 0; i < 25; i++) {
+                        ledger.decrement(1L, 1);
+                    }
+                    return null;
+                }));
+            }
+            inicio.countDown();
+            for (Future<?> tarea : tareas) {
+                tarea.get();
+            }
+        }
+
+        // Cada decremento volvió con su línea ya sincronizada
+        assertEquals(200, Files.readAllLines(journal).size());
+        ledger.escribir();
+        verify(writer).escribir(Map.of(1L, -200L), 200L);
+        ledger.cerrar();
+    }
+
+    @Test
+    void fijar_insideTransaction_waitsForCommitAndIgnoresRollback() throws Exception {
+        StockLedger ledger = iniciar(10);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            ledger.fijar(1L, 50, 0);
+            assertEquals(10, ledger.disponible(1L).getAsLong());
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(10, ledger.disponible(1L).getAsLong());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            ledger.fijar(1L, 50, 0);
+            TransactionSynchronizationUtils.triggerAfterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(50, ledger.disponible(1L).getAsLong());
+    }
+
+    @Test
+    void fijar_subtractsOutstandingReservations_soReleaseRestoresRequestedStock() throws Exception {
+        StockLedger ledger = iniciar(10, 2);
+        // Reserva de 3 unidades tomada por el ledger (ReservaServiceImpl.reserve)
+        ledger.decrement(1L, 3);
+        when(reservaRepository.sumPendientesEnLedger(1L)).thenReturn(3L);
+
+        ledger.fijar(1L, 20, 2);
+        assertEquals(15, ledger.disponible(1L).getAsLong());
+
+        // Se libera la reserva y se escribe en la base
+        ledger.increment(1L, 3);
+        ledger.escribir();
+
+        // La fila tenía 10: queda en 20, lo mismo que un PUT sobre un producto fuera del ledger
+        verify(writer).escribir(Map.of(1L, 10L), 3L);
+        assertEquals(18, ledger.disponible(1L).getAsLong());
+    }
+
+    @Test
+    void fijar_belowReservedUnits_isRejected() throws Exception {
+        StockLedger ledger = iniciar(10, 2);
+        ledger.decrement(1L, 3);
+        when(reservaRepository.sumPendientesEnLedger(1L)).thenReturn(3L);
+
+        assertThrows(CantidadInvalida.class, () -> ledger.fijar(1L, 4, 2));
+        assertEquals(5, ledger.disponible(1L).getAsLong());
+    }
+
+    @Test
+    void disabled_managesNothing() throws Exception {
+        StockLedger ledger = new StockLedger(new StockLedgerProperties(false, Set.of(1L), journal, false),
+                inventarioRepository, reservaRepository, writer);
+        ledger.iniciar();
+
+        assertFalse(ledger.gestiona(1L));
+        assertTrue(ledger.disponible(1L).isEmpty());
+        assertFalse(Files.exists(journal));
+    }
+
+    private StockLedger iniciar(int stock) throws Exception {
+        return iniciar(stock, false);
+    }
+
+    private StockLedger iniciar(int stock, boolean sincronizarDisco) throws Exception {
+        return iniciar(stock, 0, sincronizarDisco);
+    }
+
+    private StockLedger iniciar(int stock, int reservadas) throws Exception {
+        return iniciar(stock, reservadas, false);
+    }
+
+    private StockLedger iniciar(int stock, int reservadas, boolean sincronizarDisco) throws Exception {
+        Inventario inventario = new Inventario();
+        inventario.setId(5L);
+        inventario.setCantidad(stock);
+        inventario.setCantidadReservada(reservadas);
+        lenient().when(inventarioRepository.findByProductoId(1L)).thenReturn(Optional.of(inventario));
+        StockLedger ledger = new StockLedger(new StockLedgerProperties(true, Set.of(1L), journal, sincronizarDisco),
+                inventarioRepository, reservaRepository, writer);
+        ledger.iniciar();
+        return ledger;
+    }
+}
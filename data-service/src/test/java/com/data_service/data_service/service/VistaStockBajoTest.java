@@ -0,0 +1,158 @@
+package com.data_service.data_service.service;
+
+import com.data_service.data_service.dto.InventarioDTO;
+import com.data_service.data_service.dto.ProductoDTO;
+import com.data_service.data_service.entity.Inventario;
+import com.data_service.data_service.entity.Producto;
+import com.data_service.data_service.repository.InventarioRepository;
+import com.data_service.data_service.repository.projection.EstadoStockBajo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class VistaStockBajoTest {
+
+    @Autowired
+    private VistaStockBajo vistaStockBajo;
+
+    @Autowired
+    private ProductoService productoService;
+
+    @Autowired
+    private InventarioService inventarioService;
+
+    @Autowired
+    private ProductoQueryService productoQueryService;
+
+    @Autowired
+    private InventarioQueryService inventarioQueryService;
+
+    @Autowired
+    private InventarioRepository inventarioRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void save_addsProductBelowMinimum() {
+        Long bajo = crearProducto(5, 10);
+        Long normal = crearProducto(50, 10);
+
+        assertTrue(vistaStockBajo.productoIds().contains(bajo));
+        assertFalse(vistaStockBajo.productoIds().contains(normal));
+        assertTrue(productoQueryService.findProductosWithLowStock().stream().map(ProductoDTO::getId).toList().contains(bajo));
+        assertTrue(inventarioQueryService.findWithLowStock().stream().map(InventarioDTO::getProductoId).toList().contains(bajo));
+    }
+
+    @Test
+    void stockChanges_moveProductInAndOut() {
+        Long productoId = crearProducto(12, 10);
+        assertFalse(vistaStockBajo.productoIds().contains(productoId));
+
+        inventarioService.decrementStock(productoId, 5);
+        assertTrue(vistaStockBajo.productoIds().contains(productoId));
+
+        inventarioService.incrementStock(productoId, 5);
+        assertFalse(vistaStockBajo.productoIds().contains(productoId));
+
+        Inventario inventario = inventarioRepository.findByProductoId(productoId).orElseThrow();
+        Inventario cambios = new Inventario();
+        cambios.setCantidad(12);
+        cambios.setStockMinimo(20);
+        inventarioService.update(inventario.getId(), cambios);
+        assertTrue(vistaStockBajo.productoIds().contains(productoId));
+    }
+
+    @Test
+    void rolledBackChange_leavesViewUntouched() {
+        Long productoId = crearProducto(12, 10);
+
+        assertThrows(IllegalStateException.class, () -> transactionTemplate.executeWithoutResult(status -> {
+            inventarioService.decrementStock(productoId, 5);
+            throw new IllegalStateException("revertir");
+        }));
+
+        assertFalse(vistaStockBajo.productoIds().contains(productoId));
+        assertEquals(12, inventarioRepository.findByProductoId(productoId).orElseThrow().getCantidad());
+    }
+
+    @Test
+    void reconciliar_picksUpChangesMadeOutsideServices() {
+        Long productoId = crearProducto(12, 10);
+
+        transactionTemplate.executeWithoutResult(status -> inventarioRepository.applyStockDelta(productoId, -5));
+        assertFalse(vistaStockBajo.productoIds().contains(productoId));
+
+        vistaStockBajo.reconciliar();
+        assertTrue(vistaStockBajo.productoIds().contains(productoId));
+    }
+
+    @Test
+    void delete_removesProduct() {
+        Long productoId = crearProducto(5, 10);
+        assertTrue(vistaStockBajo.productoIds().contains(productoId));
+
+        productoService.delete(productoId);
+
+        assertFalse(vistaStockBajo.productoIds().contains(productoId));
+    }
+
+    @Test
+    void productoIdsEnLotes_splitsIdsInBoundedChunks() {
+        InventarioRepository repository = mock(InventarioRepository.class);
+        List<EstadoStockBajo> estados = LongStream.rangeClosed(1, 2L * VistaStockBajo.TAMANIO_LOTE + 1)
+                .mapToObj(this::conStockBajo)
+                .toList();
+        when(repository.findEstadoStockBajo()).thenReturn(estados);
+        VistaStockBajo vista = new VistaStockBajo(repository);
+        vista.reconciliar();
+
+        List<List<Long>> lotes = vista.productoIdsEnLotes();
+
+        assertEquals(List.of(VistaStockBajo.TAMANIO_LOTE, VistaStockBajo.TAMANIO_LOTE, 1),
+                lotes.stream().map(List::size).toList());
+        assertEquals(vista.productoIds(), lotes.stream().flatMap(List::stream).toList());
+    }
+
+    private EstadoStockBajo conStockBajo(long productoId) {
+        return new EstadoStockBajo() {
+            @Override
+            public Long getProductoId() {
+                return productoId;
+            }
+
+            @Override
+            public Long getVersion() {
+                return 0L;
+            }
+
+            @Override
+            public Boolean getStockBajo() {
+                return true;
+            }
+        };
+    }
+
+    private Long crearProducto(int cantidad, int stockMinimo) {
+        Producto producto = new Producto();
+        producto.setNombre("Producto vigilado");
+        producto.setPrecio(BigDecimal.TEN);
+        Inventario inventario = new Inventario();
+        inventario.setCantidad(cantidad);
+        inventario.setCantidadReservada(0);
+        inventario.setStockMinimo(stockMinimo);
+        inventario.setProducto(producto);
+        producto.setInventario(inventario);
+        return productoService.save(producto).getId();
+    }
+}